@@ -0,0 +1,51 @@
+package com.cs506.t21.enigmabench;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.Reflector;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.Rotor;
+import com.cs506.t21.enigma.RotorType;
+import java.util.Random;
+
+/**
+ * Machines and messages shared by the benchmarks, so every benchmark measures the same settings.
+ *
+ * @version 1.0
+ */
+final class BenchmarkMachines {
+
+  // Plugboard with the ten cables used during the war.
+  static final String PLUGBOARD = "ab cd ef gh ij kl mn op qr st";
+
+  /**
+   * Utility class, no instances allowed.
+   */
+  private BenchmarkMachines() {}
+
+  /**
+   * Creates a machine with rotors I, II and III, reflector B and a full plugboard.
+   *
+   * @return The machine.
+   */
+  static EnigmaM3 createEnigma() {
+    return new EnigmaM3(new Plugboard(PLUGBOARD), new Reflector(ReflectorType.UKW_B),
+        new Rotor(RotorType.I, 'a', 'd'), new Rotor(RotorType.II, 'b', 'e'),
+        new Rotor(RotorType.III, 'c', 'f'));
+  }
+
+  /**
+   * Creates a message of random letters, with a space every five letters.
+   *
+   * @param length The length of the message.
+   * @return The message, as lowercase letters and spaces.
+   */
+  static String createMessage(int length) {
+    Random random = new Random(506);
+    char[] message = new char[length];
+    for (int i = 0; i < length; i++) {
+      message[i] = i % 6 == 5 ? ' ' : (char) ('a' + random.nextInt(26));
+    }
+    return new String(message);
+  }
+}
@@ -0,0 +1,44 @@
+package com.cs506.t21.enigmabench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Runs the benchmarks with the GC profiler, which reports the
+ * bytes allocated per operation and the time spent on garbage collection next to every result.
+ *
+ * <p>
+ * Accepts the same arguments as the JMH runner. E.g. {@code java -jar target/benchmarks.jar
+ * MessageBenchmarks -p length=4096} runs the message benchmarks for a single message size.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * Utility class, no instances allowed.
+   */
+  private BenchmarkRunner() {}
+
+  /**
+   * Runs the benchmarks selected by the given arguments, or every benchmark if none are selected.
+   *
+   * @param args The JMH command line arguments.
+   * @throws org.openjdk.jmh.runner.RunnerException If a benchmark fails.
+   * @throws org.openjdk.jmh.runner.options.CommandLineOptionException If the arguments are
+   *         invalid.
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+}
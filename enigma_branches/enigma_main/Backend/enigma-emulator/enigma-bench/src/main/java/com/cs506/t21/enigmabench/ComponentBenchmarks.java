@@ -0,0 +1,84 @@
+package com.cs506.t21.enigmabench;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.Reflector;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.Rotor;
+import com.cs506.t21.enigma.RotorType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time taken to move a single letter through each component of the machine, and
+ * through the whole machine. The letter changes on every call, so the results do not depend on a
+ * single table entry.
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComponentBenchmarks {
+
+  private Rotor rotor;
+  private Plugboard plugboard;
+  private Reflector reflector;
+  private EnigmaM3 enigma;
+
+  // Index of the next letter to be encrypted.
+  private int next;
+
+  /**
+   * Creates the components, with the settings used by every benchmark of this module.
+   */
+  @Setup
+  public void setUp() {
+    this.rotor = new Rotor(RotorType.I, 'c', 'k');
+    this.plugboard = new Plugboard(BenchmarkMachines.PLUGBOARD);
+    this.reflector = new Reflector(ReflectorType.UKW_B);
+    this.enigma = BenchmarkMachines.createEnigma();
+  }
+
+  /**
+   * Returns the next letter to be encrypted, going through the whole alphabet.
+   *
+   * @return The letter.
+   */
+  private char nextLetter() {
+    this.next = this.next == 25 ? 0 : this.next + 1;
+    return (char) ('a' + this.next);
+  }
+
+  @Benchmark
+  public char rotorEncrypt() {
+    return this.rotor.encrypt(this.nextLetter(), false);
+  }
+
+  @Benchmark
+  public char plugboardSwap() {
+    return this.plugboard.swap(this.nextLetter());
+  }
+
+  @Benchmark
+  public char reflectorSwap() {
+    return this.reflector.swap(this.nextLetter());
+  }
+
+  @Benchmark
+  public char enigmaTranslate() {
+    return this.enigma.translate(this.nextLetter());
+  }
+}
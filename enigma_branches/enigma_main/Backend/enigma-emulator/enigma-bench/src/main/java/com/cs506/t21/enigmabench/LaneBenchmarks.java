@@ -0,0 +1,132 @@
+package com.cs506.t21.enigmabench;
+
+import com.cs506.t21.enigma.BitSlicedEnigma;
+import com.cs506.t21.enigma.MachineSpec;
+import com.cs506.t21.enigma.MachineState;
+import com.cs506.t21.enigma.MultiLaneEnigma;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.Reflector;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.Rotor;
+import com.cs506.t21.enigma.RotorType;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time taken to press a key on 64 machines at once, the way a key search tries many
+ * settings of the same wheel order, with the bit sliced engine and with the engine that keeps a
+ * lane per machine in flat arrays. The letter changes on every call.
+ *
+ * <p>
+ * With {@code settings=random} every lane has its own ring settings and rotor positions, which is
+ * the worst case of the bit sliced engine. With {@code settings=left} the lanes only differ on
+ * the position of the leftmost rotor, so the other rotors are on the same offset on every lane.
+ * </p>
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LaneBenchmarks {
+
+  @Param({"random", "left"})
+  private String settings;
+
+  private BitSlicedEnigma bitSliced;
+  private MultiLaneEnigma multiLane;
+
+  // Letter pressed on every lane, and the result of every lane.
+  private byte[] input;
+  private byte[] output;
+  private long[] planes;
+
+  // Index of the next letter to be encrypted.
+  private int next;
+
+  /**
+   * Creates both engines with the same 64 lanes.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(506);
+    MachineSpec[] specs = new MachineSpec[BitSlicedEnigma.MAX_LANES];
+    MachineState[] states = new MachineState[BitSlicedEnigma.MAX_LANES];
+    for (int lane = 0; lane < specs.length; lane++) {
+      boolean left = "left".equals(this.settings);
+      specs[lane] = new MachineSpec(new Plugboard(BenchmarkMachines.PLUGBOARD),
+          new Reflector(ReflectorType.UKW_B),
+          new Rotor(RotorType.I, left ? 'a' : LaneBenchmarks.letter(random), 'a'),
+          new Rotor(RotorType.II, left ? 'a' : LaneBenchmarks.letter(random), 'a'),
+          new Rotor(RotorType.III, left ? 'a' : LaneBenchmarks.letter(random), 'a'));
+      states[lane] = left
+          ? new MachineState((char) ('a' + lane % 26), 'e', 'f')
+          : new MachineState(LaneBenchmarks.letter(random), LaneBenchmarks.letter(random),
+              LaneBenchmarks.letter(random));
+    }
+
+    this.bitSliced = new BitSlicedEnigma(specs, states);
+    this.multiLane = new MultiLaneEnigma(specs, states);
+    this.input = new byte[specs.length];
+    this.output = new byte[specs.length];
+    this.planes = new long[26];
+  }
+
+  /**
+   * Returns a random letter.
+   *
+   * @param random The source of random numbers.
+   * @return The letter, as lowercase.
+   */
+  private static char letter(Random random) {
+    return (char) ('a' + random.nextInt(26));
+  }
+
+  /**
+   * Returns the index of the next letter to be encrypted, going through the whole alphabet.
+   *
+   * @return The letter index.
+   */
+  private int nextIndex() {
+    this.next = this.next == 25 ? 0 : this.next + 1;
+    return this.next;
+  }
+
+  @Benchmark
+  public long[] bitSlicedTranslateIndex() {
+    this.bitSliced.translateIndex(this.nextIndex(), this.planes);
+    return this.planes;
+  }
+
+  @Benchmark
+  public long bitSlicedMatchIndex() {
+    return this.bitSliced.matchIndex(this.nextIndex(), 4);
+  }
+
+  /**
+   * Presses the same key on every lane of the engine that keeps a lane per machine.
+   *
+   * @return The index encrypted by every lane.
+   */
+  @Benchmark
+  public byte[] multiLaneTranslateIndices() {
+    Arrays.fill(this.input, (byte) this.nextIndex());
+    this.multiLane.translateIndices(this.input, this.output);
+    return this.output;
+  }
+}
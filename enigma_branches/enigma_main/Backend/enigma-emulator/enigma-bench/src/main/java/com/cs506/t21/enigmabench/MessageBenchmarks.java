@@ -0,0 +1,75 @@
+package com.cs506.t21.enigmabench;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import com.cs506.t21.enigma.MachineState;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time taken to encrypt whole messages of several sizes, from a short message to a
+ * large document. Every call starts on the same rotor positions.
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageBenchmarks {
+
+  @Param({"64", "4096", "262144"})
+  private int length;
+
+  private EnigmaM3 enigma;
+  private MachineState start;
+  private String message;
+  private char[] input;
+  private char[] output;
+
+  /**
+   * Creates the machine and the message to be encrypted.
+   */
+  @Setup
+  public void setUp() {
+    this.enigma = BenchmarkMachines.createEnigma();
+    this.start = MachineState.of(this.enigma);
+    this.message = BenchmarkMachines.createMessage(this.length);
+    this.input = this.message.toCharArray();
+    this.output = new char[this.length];
+  }
+
+  /**
+   * Encrypts the message as a string, as the service does.
+   *
+   * @return The encrypted message.
+   */
+  @Benchmark
+  public String translateString() {
+    this.start.applyTo(this.enigma);
+    return this.enigma.translate(this.message);
+  }
+
+  /**
+   * Encrypts the message from an array into another array, which allocates nothing per call.
+   *
+   * @return The array with the encrypted message.
+   */
+  @Benchmark
+  public char[] translateArray() {
+    this.start.applyTo(this.enigma);
+    this.enigma.translate(this.input, 0, this.length, this.output, 0);
+    return this.output;
+  }
+}
@@ -0,0 +1,105 @@
+package com.cs506.t21.enigmabench;
+
+import com.cs506.t21.enigma_service_interface.EnigmaEmulatorGrpc;
+import com.cs506.t21.enigma_service_interface.EnigmaRequest;
+import com.cs506.t21.enigma_service_interface.EnigmaResponse;
+import com.cs506.t21.enigma_service_interface.PlugboardSettings;
+import com.cs506.t21.enigma_service_interface.ReflectorSettings;
+import com.cs506.t21.enigma_service_interface.ReflectorType;
+import com.cs506.t21.enigma_service_interface.RotorSettings;
+import com.cs506.t21.enigma_service_interface.RotorType;
+import com.cs506.t21.enigmaservice.EnigmaEmulator;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a whole encryption request to the service, from the client stub to the response. The
+ * service runs on an in-process gRPC server, so the results include building the machine and
+ * the protobuf messages, but no network.
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmarks {
+
+  @Param({"64", "4096"})
+  private int length;
+
+  private Server server;
+  private ManagedChannel channel;
+  private EnigmaEmulatorGrpc.EnigmaEmulatorBlockingStub stub;
+  private EnigmaRequest request;
+
+  /**
+   * Starts the service on an in-process server, and builds the request sent by every call.
+   *
+   * @throws java.io.IOException If the server cannot be started.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    String name = InProcessServerBuilder.generateName();
+    this.server = InProcessServerBuilder.forName(name).directExecutor()
+        .addService(new EnigmaEmulator()).build().start();
+    this.channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    this.stub = EnigmaEmulatorGrpc.newBlockingStub(this.channel);
+
+    this.request = EnigmaRequest.newBuilder()
+        .setLeftRotor(ServiceBenchmarks.rotor(RotorType.ROTOR_I, 4, 1))
+        .setMiddleRotor(ServiceBenchmarks.rotor(RotorType.ROTOR_II, 5, 2))
+        .setRightRotor(ServiceBenchmarks.rotor(RotorType.ROTOR_III, 6, 3))
+        .setPlugboard(PlugboardSettings.newBuilder().setMappings(BenchmarkMachines.PLUGBOARD))
+        .setReflector(ReflectorSettings.newBuilder().setType(ReflectorType.REFLECTOR_UKW_B))
+        .setMessage(BenchmarkMachines.createMessage(this.length))
+        .build();
+  }
+
+  /**
+   * Builds the settings of a rotor.
+   *
+   * @param type The type of the rotor.
+   * @param startPosition The starting position, from 1 to 26.
+   * @param ringSetting The ring setting, from 1 to 26.
+   * @return The rotor settings.
+   */
+  private static RotorSettings rotor(RotorType type, int startPosition, int ringSetting) {
+    return RotorSettings.newBuilder().setType(type).setStartPosition(startPosition)
+        .setRingSetting(ringSetting).build();
+  }
+
+  /**
+   * Shuts the channel and the server down.
+   *
+   * @throws java.lang.InterruptedException If interrupted while waiting for the shutdown.
+   */
+  @TearDown
+  public void tearDown() throws InterruptedException {
+    this.channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    this.server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public EnigmaResponse encrypt() {
+    return this.stub.encrypt(this.request);
+  }
+}
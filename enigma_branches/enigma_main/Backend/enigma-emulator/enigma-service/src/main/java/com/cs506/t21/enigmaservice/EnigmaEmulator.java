@@ -1,9 +1,13 @@
 package com.cs506.t21.enigmaservice;
 
-import com.cs506.t21.enigma.EnigmaM3;
+import com.cs506.t21.enigma.CompiledEnigmaM3;
+import com.cs506.t21.enigma.CompiledMachineCache;
+import com.cs506.t21.enigma.MachineSpec;
 import com.cs506.t21.enigma.Plugboard;
 import com.cs506.t21.enigma.Reflector;
+import com.cs506.t21.enigma.ReflectorType;
 import com.cs506.t21.enigma.Rotor;
+import com.cs506.t21.enigma.RotorType;
 import com.cs506.t21.enigma_service_interface.EnigmaEmulatorGrpc;
 import com.cs506.t21.enigma_service_interface.EnigmaRequest;
 import com.cs506.t21.enigma_service_interface.EnigmaResponse;
@@ -13,7 +17,6 @@ import com.cs506.t21.enigma_service_interface.RotorSettings;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
-import java.util.ArrayList;
 import net.devh.boot.grpc.server.service.GrpcService;
 
 /**
@@ -27,6 +30,13 @@ import net.devh.boot.grpc.server.service.GrpcService;
 @GrpcService
 public class EnigmaEmulator extends EnigmaEmulatorGrpc.EnigmaEmulatorImplBase {
 
+  // Machines are compiled once per key, since the same keys are used by many requests. The cache
+  // holds up to 144 of them, about 63 MiB of tables.
+  private static final int CACHED_MACHINES = 144;
+
+  private final CompiledMachineCache machines = new CompiledMachineCache(CACHED_MACHINES,
+      (long) CACHED_MACHINES * CompiledEnigmaM3.TABLE_SIZE);
+
   /**
    * Encryption gRPC call. This method creates an enigma machine with the
    * specified settings and
@@ -65,40 +75,43 @@ public class EnigmaEmulator extends EnigmaEmulatorGrpc.EnigmaEmulatorImplBase {
 
       System.out.println("Rotors Complete!");
 
-      // Build enigma machine
-      EnigmaM3 enigma = new EnigmaM3(
-          plugboard,
-          reflector,
-          leftRotor,
-          middleRotor,
-          rightRotor);
+      // Get the compiled enigma machine, and move it to the starting positions
+      final CompiledEnigmaM3 enigma = this.machines.get(
+          new MachineSpec(plugboard, reflector, leftRotor, middleRotor, rightRotor));
+      enigma.setRotorPositions(leftRotor.getCurrentPosition(), middleRotor.getCurrentPosition(),
+          rightRotor.getCurrentPosition());
 
       System.out.println("Enigma Created!");
       
-      // Encrypt message
-      StringBuilder result = new StringBuilder();
-      for (String word : request.getMessage().split(" ")) {
-        for (char c : word.toCharArray()) {
-          result.append(enigma.translate(c));
-        }
-        result.append(" ");
+      // Encrypt message. As when the message was split into words, spaces are kept, trailing
+      // spaces are replaced by a single space, and a message of spaces only encrypts to nothing.
+      // The message is encrypted in place, in a single array that already holds that space.
+      String message = request.getMessage();
+      int messageEnd = message.length();
+      while (messageEnd > 0 && message.charAt(messageEnd - 1) == ' ') {
+        messageEnd--;
+      }
+      boolean blank = messageEnd == 0 && !message.isEmpty();
+      char[] characters = new char[blank ? 0 : messageEnd + 1];
+      message.getChars(0, messageEnd, characters, 0);
+      enigma.translate(characters, 0, messageEnd, characters, 0);
+      if (!blank) {
+        characters[messageEnd] = ' ';
       }
 
       System.out.println("Message encrypted");
 
-      ArrayList<Integer> positions = new ArrayList<Integer>(3);
+      // Build response. Positions are added one at a time, so they are never boxed.
+      EnigmaResponse.Builder builder = EnigmaResponse.newBuilder()
+          .setError("")
+          .setEncryptedMessage(new String(characters));
       for (int i = 0; i < 3; i++) {
-        positions.add((int) (enigma.getRotor(i).getCurrentPosition() - 'a') + 1);
+        builder.addRotorsCurrentPosition(enigma.getRotorPosition(i) - 'a' + 1);
       }
 
       System.out.println("Positions have been calculated");
 
-      // Build response
-      EnigmaResponse response = EnigmaResponse.newBuilder()
-          .setError("")
-          .setEncryptedMessage(result.toString())
-          .addAllRotorsCurrentPosition(positions)
-          .build();
+      EnigmaResponse response = builder.build();
 
       System.out.println("Response built");
 
@@ -189,75 +202,50 @@ public class EnigmaEmulator extends EnigmaEmulatorGrpc.EnigmaEmulatorImplBase {
   }
 
   /**
-   * Method that acts as a mock database and selects the turnover and wiring for a
-   * certain rotor
-   * type. This method also builds a rotor with the given setting information.
+   * Method that selects the rotor type from the catalog of the enigma module. This method also
+   * builds a rotor with the given setting information, sharing the wiring tables of the catalog.
    *
    * @param settings The rotor details to be used to build the rotor
    * @return A rotor with the specified settings
    */
   private Rotor createRotor(RotorSettings settings) {
-    char turnOver;
-    String wiring;
+    char ringSetting = (char) (settings.getRingSetting() - 1 + 'a');
+    char startPosition = (char) (settings.getStartPosition() - 1 + 'a');
+
     switch (settings.getType()) {
       case ROTOR_I:
-        turnOver = 'Q';
-        wiring = "EKMFLGDQVZNTOWYHXUSPAIBRCJ";
-        break;
+        return new Rotor(RotorType.I, ringSetting, startPosition);
 
       case ROTOR_II:
-        turnOver = 'E';
-        wiring = "AJDKSIRUXBLHWTMCQGZNPYFVOE";
-        break;
+        return new Rotor(RotorType.II, ringSetting, startPosition);
 
       case ROTOR_III:
-        turnOver = 'V';
-        wiring = "BDFHJLCPRTXVZNYEIWGAKMUSQO";
-        break;
+        return new Rotor(RotorType.III, ringSetting, startPosition);
 
       default:
-        turnOver = 'A';
-        wiring = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        break;
+        return new Rotor(settings.getType().toString(), "ABCDEFGHIJKLMNOPQRSTUVWXYZ", 'A',
+            ringSetting, startPosition);
     }
-
-    Rotor rotor = new Rotor(
-        settings.getType().toString(),
-        wiring,
-        turnOver,
-        (char) (settings.getRingSetting() - 1 + 'a'),
-        (char) (settings.getStartPosition() - 1 + 'a'));
-
-    return rotor;
   }
 
   /**
-   * Method that acts as a mock database and selects the wiring for a certain
-   * reflector type.
-   * This method also builds a reflector with the given setting information.
+   * Method that selects the reflector type from the catalog of the enigma module. The reflector
+   * shares the wiring table of the catalog.
    *
    * @param settings The reflector details to be used to build the reflector
    * @return A reflector with the specified settings
    */
   private Reflector createReflector(ReflectorSettings settings) {
-    String wiring;
     switch (settings.getType()) {
       case REFLECTOR_UKW_B:
-        wiring = "YRUHQSLDPXNGOKMIEBFZCWVJAT";
-        break;
+        return new Reflector(ReflectorType.UKW_B);
 
       case REFLECTOR_UKW_C:
-        wiring = "FVPJIAOYEDRZXWGCTKUQSBNMHL";
-        break;
+        return new Reflector(ReflectorType.UKW_C);
 
       default:
-        wiring = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        break;
+        return new Reflector("ABCDEFGHIJKLMNOPQRSTUVWXYZ");
     }
-
-    Reflector reflector = new Reflector(wiring);
-
-    return reflector;
   }
 
 }
@@ -0,0 +1,141 @@
+package com.cs506.t21.enigma;
+
+import java.util.Objects;
+
+
+/**
+ * Conversions between letters and letter indices. Every component of the enigma machine has an
+ * index based API, where the letter 'a' is represented by 0, 'b' by 1, and so on until 'z', which
+ * is represented by 25.
+ *
+ * <p>
+ * The index based methods of the components do not validate their input, so applications should
+ * convert and validate letters once, using {@link Alphabet#toIndex(char) toIndex}, before passing
+ * them to the machine.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class Alphabet {
+
+  /**
+   * Number of letters in the alphabet, which is also the number of positions of a rotor.
+   */
+  public static final int SIZE = 26;
+
+  /**
+   * Character the bulk translate methods of every machine copy to the output without encrypting
+   * it, and without stepping the rotors.
+   */
+  public static final char SPACE = ' ';
+
+  /**
+   * Utility class, no instances allowed.
+   */
+  private Alphabet() {}
+
+  /**
+   * Checks whether the given character is an english letter, either uppercase or lowercase.
+   *
+   * @param character The character to be checked.
+   * @return {@code true} if the character is a letter from a to z, {@code false} otherwise.
+   */
+  public static boolean isLetter(char character) {
+    return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+  }
+
+  /**
+   * Checks the characters in the given range of an array before a bulk translate method encrypts
+   * any of them, so that the rotors are not moved if the text is invalid.
+   *
+   * @param text The characters to be encrypted.
+   * @param offset The position of the first character.
+   * @param length The number of characters.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.IndexOutOfBoundsException If the range is outside of the array.
+   */
+  static void checkText(char[] text, int offset, int length)
+      throws java.lang.IllegalArgumentException, java.lang.IndexOutOfBoundsException {
+    Objects.checkFromIndexSize(offset, length, text.length);
+    for (int i = offset; i < offset + length; i++) {
+      Alphabet.checkLetterOrSpace(text[i]);
+    }
+  }
+
+  /**
+   * Checks the ASCII characters in the given range of an array before a bulk translate method
+   * encrypts any of them, so that the rotors are not moved if the text is invalid.
+   *
+   * @param text The ASCII characters to be encrypted.
+   * @param offset The position of the first character.
+   * @param length The number of characters.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.IndexOutOfBoundsException If the range is outside of the array.
+   */
+  static void checkText(byte[] text, int offset, int length)
+      throws java.lang.IllegalArgumentException, java.lang.IndexOutOfBoundsException {
+    Objects.checkFromIndexSize(offset, length, text.length);
+    for (int i = offset; i < offset + length; i++) {
+      Alphabet.checkLetterOrSpace((char) text[i]);
+    }
+  }
+
+  /**
+   * Checks that the given character is either a letter or a space, which are the only characters
+   * accepted by the bulk translate methods.
+   *
+   * @param character The character to be checked.
+   * @throws java.lang.IllegalArgumentException If the character is neither a letter nor a space.
+   */
+  private static void checkLetterOrSpace(char character)
+      throws java.lang.IllegalArgumentException {
+    if (character != SPACE && !Alphabet.isLetter(character)) {
+      throw new java.lang.IllegalArgumentException(
+          "Provided text must only contain letters and spaces.");
+    }
+  }
+
+  /**
+   * Returns the index of the given letter. Case insensitive.
+   *
+   * @param letter The letter to be converted.
+   * @return The index of the letter, where 0 is 'a' and 25 is 'z'.
+   * @throws java.lang.IllegalArgumentException If the character is not an english letter.
+   */
+  public static int toIndex(char letter) throws java.lang.IllegalArgumentException {
+    if (!Alphabet.isLetter(letter)) {
+      throw new java.lang.IllegalArgumentException("Provided character must be a letter.");
+    }
+
+    return (letter | 0x20) - 'a';
+  }
+
+  /**
+   * Returns the lowercase letter represented by the given index.
+   *
+   * <p>Precondition: The index must be between 0 and 25.</p>
+   *
+   * @param index The index of the letter.
+   * @return The letter as lowercase.
+   */
+  public static char toLetter(int index) {
+    return (char) ('a' + index);
+  }
+
+  /**
+   * Wraps the given value around the alphabet. Values between -26 and 51 are accepted, which is
+   * every value that can be made by adding or subtracting two indices.
+   *
+   * @param value The value to be wrapped.
+   * @return The value modulo 26, between 0 and 25.
+   */
+  static int wrap(int value) {
+    if (value < 0) {
+      return value + SIZE;
+    }
+    if (value >= SIZE) {
+      return value - SIZE;
+    }
+    return value;
+  }
+}
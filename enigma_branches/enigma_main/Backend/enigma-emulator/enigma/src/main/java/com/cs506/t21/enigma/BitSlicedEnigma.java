@@ -0,0 +1,417 @@
+package com.cs506.t21.enigma;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * Runs up to 64 machines at once using bit slicing. A letter is represented by 26 bit planes, one
+ * {@code long} per letter, where bit l of plane j is set if lane l holds the letter j. A key press
+ * moves the planes of all the lanes through every stage of the machine with a few boolean
+ * operations, instead of 64 table lookups.
+ *
+ * <p>
+ * All the lanes share the wheel order, reflector and plugboard, and may have different ring
+ * settings and rotor positions, which is the key space searched when the wheel order is known.
+ * The rotor positions and offsets, position minus ring setting, of every lane are bit sliced as
+ * well, as 5 planes per rotor holding the bits of the letter index. Stepping is a ripple carry
+ * increment of those planes on the lanes that step, and the turn over test compares them with
+ * the turn over letters, so no lane is looked at on its own.
+ * </p>
+ *
+ * <p>
+ * A rotor turns the letter planes by the offset of every lane, goes through its wiring, which is
+ * shared by every lane, and turns them back. Each turn is a barrel shifter with a stage per bit
+ * of the offset, which moves the lanes with that bit set by 1, 2, 4, 8 or 16 letters, hence a
+ * rotor costs the same whatever offsets the lanes are on. Stages no lane needs are skipped, so
+ * lanes that share rotor offsets, such as lanes that only differ on the position of the leftmost
+ * rotor, are the cheapest to run.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class BitSlicedEnigma {
+
+  /**
+   * Maximum number of lanes, the number of bits of a {@code long}.
+   */
+  public static final int MAX_LANES = Long.SIZE;
+
+  // Number of letters in the alphabet, and number of planes.
+  private static final int LETTERS = Alphabet.SIZE;
+
+  // Number of bits of a letter index, and number of planes of a rotor position or offset.
+  private static final int INDEX_BITS = 5;
+
+  private final int lanes;
+
+  // Bit mask with a bit set for every lane.
+  private final long laneMask;
+
+  // Substitution done by the plugboard and the reflector, shared by every lane.
+  private final byte[] plugboard;
+  private final byte[] reflector;
+
+  // Wiring of every rotor, shared by every lane. Rotor 0 is the leftmost rotor.
+  private final byte[][] forward;
+  private final byte[][] backward;
+
+  // Turn over positions of the middle and right rotors, as letter indices.
+  private final int[] middleTurnOvers;
+  private final int[] rightTurnOvers;
+
+  // Rotor positions and offsets of every lane, bit sliced: bit l of positions[r][b] is bit b of
+  // the position of rotor r on lane l. Indexed by rotor first.
+  private final long[][] positions;
+  private final long[][] offsets;
+
+  // Planes used while a key is pressed, swapped after every stage.
+  private long[] planes;
+  private long[] scratch;
+
+  /**
+   * Creates an engine with a lane for every specification. Lane i uses specification i, and starts
+   * on the rotor positions of state i.
+   *
+   * @param specs The specification of every lane. All of them must have the same rotor wiring,
+   *        turn overs, reflector and plugboard. Ring settings may differ.
+   * @param states The starting rotor positions of every lane. Must have as many states as
+   *        specifications.
+   * @throws java.lang.IllegalArgumentException If there are no lanes or more than 64, the number
+   *         of specifications and states differ, or the specifications do not share the same
+   *         components.
+   * @throws java.lang.NullPointerException If any specification or state is null.
+   */
+  public BitSlicedEnigma(MachineSpec[] specs, MachineState[] states)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (specs == null || states == null) {
+      throw new java.lang.NullPointerException("Specifications and states cannot be null");
+    }
+    if (specs.length == 0 || specs.length > MAX_LANES || specs.length != states.length) {
+      throw new java.lang.IllegalArgumentException(
+          "There must be as many states as specifications, between 1 and 64");
+    }
+
+    final MachineSpec first = Objects.requireNonNull(specs[0], "Provided specification is null");
+    this.lanes = specs.length;
+    this.laneMask = this.lanes == MAX_LANES ? -1L : (1L << this.lanes) - 1;
+    this.plugboard = first.getPlugboardTable();
+    this.reflector = first.getReflectorTable();
+    this.middleTurnOvers = BitSlicedEnigma.letters(first.getMiddleTurnOverMask());
+    this.rightTurnOvers = BitSlicedEnigma.letters(first.getRightTurnOverMask());
+
+    this.forward = new byte[3][];
+    this.backward = new byte[3][];
+    for (int rotor = 0; rotor < 3; rotor++) {
+      this.forward[rotor] = first.getForwardTable(rotor);
+      this.backward[rotor] = first.getBackwardTable(rotor);
+    }
+
+    this.positions = new long[3][INDEX_BITS];
+    this.offsets = new long[3][INDEX_BITS];
+    for (int lane = 0; lane < this.lanes; lane++) {
+      MachineSpec spec = Objects.requireNonNull(specs[lane], "Provided specification is null");
+      MachineState state = Objects.requireNonNull(states[lane], "Provided state is null");
+      if (!BitSlicedEnigma.sameComponents(first, spec)) {
+        throw new java.lang.IllegalArgumentException(
+            "Lanes must share the rotors, reflector and plugboard");
+      }
+
+      int[] lanePositions = {state.left, state.middle, state.right};
+      for (int rotor = 0; rotor < 3; rotor++) {
+        BitSlicedEnigma.setLane(this.positions[rotor], lane, lanePositions[rotor]);
+        BitSlicedEnigma.setLane(this.offsets[rotor], lane,
+            Alphabet.wrap(lanePositions[rotor] - spec.getRing(rotor)));
+      }
+    }
+
+    this.planes = new long[LETTERS];
+    this.scratch = new long[LETTERS];
+  }
+
+  /**
+   * Returns the letters of a turn over mask.
+   *
+   * @param turnOverMask The turn over positions, see RotorStepping.
+   * @return The letter indices with a bit set in the mask.
+   */
+  private static int[] letters(int turnOverMask) {
+    int[] letters = new int[Integer.bitCount(turnOverMask)];
+    for (int i = 0; i < letters.length; i++) {
+      letters[i] = Integer.numberOfTrailingZeros(turnOverMask);
+      turnOverMask &= turnOverMask - 1;
+    }
+    return letters;
+  }
+
+  /**
+   * Writes a letter index to a lane of bit sliced planes.
+   *
+   * @param bits The planes of the bits of the index.
+   * @param lane The lane.
+   * @param index The letter index.
+   */
+  private static void setLane(long[] bits, int lane, int index) {
+    for (int bit = 0; bit < INDEX_BITS; bit++) {
+      bits[bit] |= (long) (index >>> bit & 1) << lane;
+    }
+  }
+
+  /**
+   * Reads the letter index of a lane of bit sliced planes.
+   *
+   * @param bits The planes of the bits of the index.
+   * @param lane The lane.
+   * @return The letter index.
+   */
+  private static int getLane(long[] bits, int lane) {
+    int index = 0;
+    for (int bit = 0; bit < INDEX_BITS; bit++) {
+      index |= (int) (bits[bit] >>> lane & 1L) << bit;
+    }
+    return index;
+  }
+
+  /**
+   * Checks whether two specifications have the same components, other than ring settings.
+   *
+   * @param first The first specification.
+   * @param second The second specification.
+   * @return {@code true} if the specifications only differ on their ring settings.
+   */
+  private static boolean sameComponents(MachineSpec first, MachineSpec second) {
+    for (int rotor = 0; rotor < 3; rotor++) {
+      if (!Arrays.equals(first.getForwardTable(rotor), second.getForwardTable(rotor))) {
+        return false;
+      }
+    }
+    return Arrays.equals(first.getPlugboardTable(), second.getPlugboardTable())
+        && Arrays.equals(first.getReflectorTable(), second.getReflectorTable())
+        && first.getMiddleTurnOverMask() == second.getMiddleTurnOverMask()
+        && first.getRightTurnOverMask() == second.getRightTurnOverMask();
+  }
+
+  /**
+   * Returns the number of lanes of this engine.
+   *
+   * @return The number of lanes.
+   */
+  public int getLanes() {
+    return this.lanes;
+  }
+
+  /**
+   * Returns the current rotor positions of the specified lane.
+   *
+   * @param lane The lane.
+   * @return A copy of the rotor positions of the lane.
+   * @throws java.lang.IndexOutOfBoundsException If the lane does not exist.
+   */
+  public MachineState getState(int lane) throws java.lang.IndexOutOfBoundsException {
+    Objects.checkIndex(lane, this.lanes);
+    return new MachineState(BitSlicedEnigma.getLane(this.positions[0], lane),
+        BitSlicedEnigma.getLane(this.positions[1], lane),
+        BitSlicedEnigma.getLane(this.positions[2], lane));
+  }
+
+  /**
+   * Presses the key with the given letter index on every lane. The result of every lane is
+   * written to the output planes: bit l of output[j] is set if lane l encrypted the letter as j.
+   *
+   * <p>Precondition: The index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param index The index of the letter encrypted by every lane.
+   * @param output The 26 planes the result is written to.
+   * @throws java.lang.IllegalArgumentException If the output does not have 26 planes.
+   */
+  public void translateIndex(int index, long[] output) throws java.lang.IllegalArgumentException {
+    if (output.length != LETTERS) {
+      throw new java.lang.IllegalArgumentException("Output must have a plane per letter");
+    }
+
+    Arrays.fill(this.planes, 0L);
+    this.planes[index] = this.laneMask;
+    this.pressKey();
+    System.arraycopy(this.planes, 0, output, 0, LETTERS);
+  }
+
+  /**
+   * Presses the key with the given letter index on every lane, and returns the lanes that
+   * encrypted it as the expected letter. This is the test done for every letter of a crib when
+   * searching for a key.
+   *
+   * <p>Precondition: Both indices must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param index The index of the letter encrypted by every lane.
+   * @param expected The index of the expected encrypted letter.
+   * @return A bit mask with a bit set for every lane that produced the expected letter.
+   */
+  public long matchIndex(int index, int expected) {
+    Arrays.fill(this.planes, 0L);
+    this.planes[index] = this.laneMask;
+    this.pressKey();
+    return this.planes[expected];
+  }
+
+  /**
+   * Returns the letter index a lane holds on the given planes.
+   *
+   * @param planes The 26 planes.
+   * @param lane The lane.
+   * @return The index of the letter held by the lane, or -1 if the lane holds no letter.
+   */
+  public static int indexOf(long[] planes, int lane) {
+    for (int letter = 0; letter < LETTERS; letter++) {
+      if ((planes[letter] >>> lane & 1L) != 0) {
+        return letter;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Steps the rotors of every lane, and moves the planes through every stage of the machine.
+   */
+  private void pressKey() {
+    this.stepRotors();
+
+    this.substitute(this.plugboard);
+    this.encrypt(2, this.forward[2]);
+    this.encrypt(1, this.forward[1]);
+    this.encrypt(0, this.forward[0]);
+    this.substitute(this.reflector);
+    this.encrypt(0, this.backward[0]);
+    this.encrypt(1, this.backward[1]);
+    this.encrypt(2, this.backward[2]);
+    this.substitute(this.plugboard);
+  }
+
+  /**
+   * Steps the rotors of every lane, the same way as MachineSpec.step does. The middle rotor steps
+   * on the lanes where the right rotor is on a turn over letter, and the left rotor on the ones
+   * where the middle rotor is on a turn over letter as well.
+   */
+  private void stepRotors() {
+    final long rightTurnOver = this.lanesOn(this.positions[2], this.rightTurnOvers);
+    final long leftSteps = rightTurnOver & this.lanesOn(this.positions[1], this.middleTurnOvers);
+
+    this.increment(0, leftSteps);
+    this.increment(1, rightTurnOver);
+    this.increment(2, this.laneMask);
+  }
+
+  /**
+   * Returns the lanes where the given bit sliced index is any of the given letters.
+   *
+   * @param bits The planes of the bits of the index.
+   * @param letters The letter indices.
+   * @return A bit mask with a bit set for every lane on any of the letters.
+   */
+  private long lanesOn(long[] bits, int... letters) {
+    long lanes = 0L;
+    for (int letter : letters) {
+      long equal = this.laneMask;
+      for (int bit = 0; bit < INDEX_BITS; bit++) {
+        equal &= (letter >>> bit & 1) != 0 ? bits[bit] : ~bits[bit];
+      }
+      lanes |= equal;
+    }
+    return lanes;
+  }
+
+  /**
+   * Moves a rotor one letter forwards on the given lanes, which increments both its positions and
+   * its offsets.
+   *
+   * @param rotor The rotor, 0 being the leftmost rotor.
+   * @param lanes The lanes where the rotor steps.
+   */
+  private void increment(int rotor, long lanes) {
+    if (lanes != 0) {
+      this.increment(this.positions[rotor], lanes);
+      this.increment(this.offsets[rotor], lanes);
+    }
+  }
+
+  /**
+   * Increments a bit sliced index on the given lanes with a ripple carry. The lanes that reach 26
+   * wrap to 0.
+   *
+   * @param bits The planes of the bits of the index.
+   * @param lanes The lanes to be incremented.
+   */
+  private void increment(long[] bits, long lanes) {
+    long carry = lanes;
+    for (int bit = 0; bit < INDEX_BITS && carry != 0; bit++) {
+      final long next = bits[bit] & carry;
+      bits[bit] ^= carry;
+      carry = next;
+    }
+
+    final long wrapped = this.lanesOn(bits, LETTERS);
+    for (int bit = 0; bit < INDEX_BITS; bit++) {
+      if ((LETTERS >>> bit & 1) != 0) {
+        bits[bit] &= ~wrapped;
+      }
+    }
+  }
+
+  /**
+   * Moves the planes through a substitution shared by every lane. Only the planes are reordered.
+   *
+   * @param table The substitution table.
+   */
+  private void substitute(byte[] table) {
+    for (int k = 0; k < LETTERS; k++) {
+      this.scratch[table[k]] = this.planes[k];
+    }
+    this.swapPlanes();
+  }
+
+  /**
+   * Moves the planes through a rotor, the same way {@link Rotor#encryptIndex(int, boolean)} does
+   * on every lane: the planes are turned by the offset of the lane, go through the wiring, and
+   * are turned back.
+   *
+   * @param rotor The rotor, 0 being the leftmost rotor.
+   * @param table The wiring of the rotor.
+   */
+  private void encrypt(int rotor, byte[] table) {
+    this.turn(this.offsets[rotor], 1);
+    this.substitute(table);
+    this.turn(this.offsets[rotor], -1);
+  }
+
+  /**
+   * Turns the letters of every lane by its offset, with a stage per bit of the offsets. The stage
+   * of bit b moves the letters of the lanes with that bit set by 2^b, and is skipped when no lane
+   * has it set.
+   *
+   * @param bits The planes of the bits of the offsets.
+   * @param direction 1 to add the offsets to the letters, -1 to subtract them.
+   */
+  private void turn(long[] bits, int direction) {
+    for (int bit = 0; bit < INDEX_BITS; bit++) {
+      final long lanes = bits[bit];
+      if (lanes == 0) {
+        continue;
+      }
+
+      final int shift = Math.floorMod(direction << bit, LETTERS);
+      for (int k = 0; k < LETTERS; k++) {
+        final int from = k < shift ? k - shift + LETTERS : k - shift;
+        this.scratch[k] = this.planes[k] & ~lanes | this.planes[from] & lanes;
+      }
+      this.swapPlanes();
+    }
+  }
+
+  /**
+   * Makes the planes written by the last stage the input of the next one.
+   */
+  private void swapPlanes() {
+    final long[] swapped = this.planes;
+    this.planes = this.scratch;
+    this.scratch = swapped;
+  }
+}
@@ -0,0 +1,268 @@
+package com.cs506.t21.enigma;
+
+import java.util.Objects;
+
+
+/**
+ * A "compiled" version of an {@link EnigmaM3} machine. All the substitutions the machine can
+ * perform are computed once, when this object is created, for every one of the 26 * 26 * 26
+ * rotor positions. After that, translating a letter is a lookup of the next rotor position and a
+ * lookup of the substitution for that position.
+ *
+ * <p>
+ * The compiled machine takes a snapshot of the rotors, reflector, plugboard and rotor positions of
+ * the given machine. Changes made afterwards to the original machine or its components are not
+ * seen by this object. The stepping of the rotors is the same as the one done by
+ * {@link EnigmaM3#translate(char)}, hence both machines produce the same output when started on
+ * the same position.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class CompiledEnigmaM3 {
+
+  // Number of letters in the alphabet, and number of positions of each rotor.
+  private static final int LETTERS = Alphabet.SIZE;
+
+  // Number of different rotor positions (left, middle, right) a machine can be in.
+  private static final int STATES = LETTERS * LETTERS * LETTERS;
+
+  /**
+   * Size of the compiled tables of a machine, in bytes: a substitution per letter and rotor
+   * position, 446 KiB.
+   */
+  public static final int TABLE_SIZE = STATES * LETTERS;
+
+  // Substitution table for every state. The output for letter i on state s is found at
+  // index s * 26 + i. Values are letter indices, where 0 is 'a'.
+  private final byte[] substitutions;
+
+  // The state the machine moves to after a key is pressed, shared with other machines.
+  private final SteppingTable stepping;
+
+  // Turn over positions of the middle and right rotors, see RotorStepping.
+  private final int middleTurnOverMask;
+  private final int rightTurnOverMask;
+
+  // Current rotor positions, encoded as left * 26 * 26 + middle * 26 + right.
+  private int state;
+
+  /**
+   * Compiles the given enigma machine. The current rotor positions of the machine are used as
+   * the starting positions of the compiled machine.
+   *
+   * @param enigma The machine to be compiled.
+   * @throws java.lang.NullPointerException If the machine is null.
+   */
+  public CompiledEnigmaM3(EnigmaM3 enigma) throws java.lang.NullPointerException {
+    this(MachineSpec.of(enigma));
+
+    this.setRotorPositions(enigma.getRotor(0).getCurrentPosition(),
+        enigma.getRotor(1).getCurrentPosition(), enigma.getRotor(2).getCurrentPosition());
+  }
+
+  /**
+   * Compiles the machine with the given specification. The compiled machine starts on rotor
+   * positions "aaa".
+   *
+   * @param spec The specification of the machine to be compiled.
+   * @throws java.lang.NullPointerException If the specification is null.
+   */
+  public CompiledEnigmaM3(MachineSpec spec) throws java.lang.NullPointerException {
+    if (spec == null) {
+      throw new java.lang.NullPointerException("Provided specification is null");
+    }
+
+    this.substitutions = CompiledEnigmaM3.compileSubstitutions(spec);
+    this.middleTurnOverMask = spec.getMiddleTurnOverMask();
+    this.rightTurnOverMask = spec.getRightTurnOverMask();
+    this.stepping = SteppingTable.of(this.middleTurnOverMask, this.rightTurnOverMask);
+  }
+
+  /**
+   * Creates a machine that shares the compiled tables of the given one, on the same rotor
+   * positions.
+   *
+   * @param compiled The compiled machine.
+   */
+  private CompiledEnigmaM3(CompiledEnigmaM3 compiled) {
+    this.substitutions = compiled.substitutions;
+    this.middleTurnOverMask = compiled.middleTurnOverMask;
+    this.rightTurnOverMask = compiled.rightTurnOverMask;
+    this.stepping = compiled.stepping;
+    this.state = compiled.state;
+  }
+
+  /**
+   * Computes the substitution done by the machine for every letter on every rotor position.
+   *
+   * @param spec The specification of the machine.
+   * @return The substitution table for every state.
+   */
+  private static byte[] compileSubstitutions(MachineSpec spec) {
+    byte[] table = new byte[TABLE_SIZE];
+
+    for (int state = 0; state < STATES; state++) {
+      int left = SteppingTable.leftPosition(state);
+      int middle = SteppingTable.middlePosition(state);
+      int right = SteppingTable.rightPosition(state);
+
+      for (int i = 0; i < LETTERS; i++) {
+        table[state * LETTERS + i] = (byte) spec.encryptIndex(left, middle, right, i);
+      }
+    }
+
+    return table;
+  }
+
+  /**
+   * Returns a machine that shares the compiled tables of this one, on the same rotor positions.
+   * Both machines step independently, hence each thread can encrypt with its own copy while the
+   * tables are only computed once.
+   *
+   * @return The copy of this machine.
+   */
+  public CompiledEnigmaM3 copy() {
+    return new CompiledEnigmaM3(this);
+  }
+
+  /**
+   * Returns the size of the compiled tables of this machine, which are shared with its copies.
+   *
+   * @return The size of the tables, in bytes.
+   */
+  long getTableSize() {
+    return this.substitutions.length;
+  }
+
+  /**
+   * Encrypts the letter the same way {@link EnigmaM3#translate(char)} does, stepping the rotors
+   * before the letter is encrypted.
+   *
+   * @param letter The letter to be encrypted.
+   * @return The encrypted letter, as lowercase.
+   * @throws java.lang.IllegalArgumentException If the character is not an english letter.
+   */
+  public char translate(char letter) throws java.lang.IllegalArgumentException {
+    return Alphabet.toLetter(this.translateIndex(Alphabet.toIndex(letter)));
+  }
+
+  /**
+   * Encrypts the characters in the given range of the input array, and writes the result to the
+   * output array, the same way {@link EnigmaM3#translate(char[], int, int, char[], int)} does.
+   * Spaces are copied to the output without stepping the rotors.
+   *
+   * <p>
+   * The whole input is validated before any letter is encrypted, so if an exception is thrown the
+   * rotors are not moved. The input and output ranges must either be the same range or not
+   * overlap.
+   * </p>
+   *
+   * @param input The characters to be encrypted.
+   * @param inputOffset The position of the first character to be encrypted.
+   * @param length The number of characters to be encrypted.
+   * @param output The array the encrypted characters are written to, as lowercase letters.
+   * @param outputOffset The position of the output array the first character is written to.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.IndexOutOfBoundsException If any range is outside of its array.
+   */
+  public void translate(char[] input, int inputOffset, int length, char[] output,
+      int outputOffset)
+      throws java.lang.IllegalArgumentException, java.lang.IndexOutOfBoundsException {
+    Alphabet.checkText(input, inputOffset, length);
+    Objects.checkFromIndexSize(outputOffset, length, output.length);
+
+    for (int i = 0; i < length; i++) {
+      char character = input[inputOffset + i];
+      output[outputOffset + i] = character == Alphabet.SPACE
+          ? Alphabet.SPACE : Alphabet.toLetter(this.translateIndex(Alphabet.toIndex(character)));
+    }
+  }
+
+  /**
+   * Encrypts the letter with the given index. Works the same way as
+   * {@link CompiledEnigmaM3#translate(char) translate}, but the input is not validated.
+   *
+   * <p>Precondition: The index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param index The index of the letter to be encrypted.
+   * @return The index of the encrypted letter.
+   */
+  public int translateIndex(int index) {
+    this.state = this.stepping.next(this.state);
+    return this.substitutions[this.state * LETTERS + index];
+  }
+
+  /**
+   * Moves the rotors to the positions they would have after the given number of key presses,
+   * without stepping them one key press at a time. See {@link EnigmaM3#advance(long)}.
+   *
+   * @param keyPresses The number of key presses to skip.
+   * @throws java.lang.IllegalArgumentException If the number of key presses is negative.
+   */
+  public void advance(long keyPresses) throws java.lang.IllegalArgumentException {
+    if (keyPresses < 0) {
+      throw new java.lang.IllegalArgumentException("Number of key presses cannot be negative");
+    }
+
+    int[] positions = {
+        this.state / (LETTERS * LETTERS), (this.state / LETTERS) % LETTERS, this.state % LETTERS
+    };
+    RotorStepping.advance(positions, this.middleTurnOverMask, this.rightTurnOverMask, keyPresses);
+
+    this.state = (positions[0] * LETTERS + positions[1]) * LETTERS + positions[2];
+  }
+
+  /**
+   * Moves the rotors to the specified positions, as seen through the window of the machine.
+   *
+   * @param left Position of the leftmost rotor.
+   * @param middle Position of the middle rotor.
+   * @param right Position of the rightmost rotor.
+   * @throws java.lang.IllegalArgumentException If any of the positions is not an english letter.
+   */
+  public void setRotorPositions(char left, char middle, char right)
+      throws java.lang.IllegalArgumentException {
+    int leftIndex = CompiledEnigmaM3.toPositionIndex(left);
+    int middleIndex = CompiledEnigmaM3.toPositionIndex(middle);
+    int rightIndex = CompiledEnigmaM3.toPositionIndex(right);
+
+    this.state = (leftIndex * LETTERS + middleIndex) * LETTERS + rightIndex;
+  }
+
+  /**
+   * Returns the current position of the specified rotor, as seen through the window of the
+   * machine.
+   *
+   * @param position The placement of the rotor. Possible values are 0, 1, 2, where position 2
+   *        represents the rightmost rotor.
+   * @return The letter seen through the window for that rotor, as lowercase.
+   * @throws java.lang.IllegalArgumentException If the provided position is invalid.
+   */
+  public char getRotorPosition(int position) throws java.lang.IllegalArgumentException {
+    switch (position) {
+      case 0:
+        return Alphabet.toLetter(this.state / (LETTERS * LETTERS));
+      case 1:
+        return Alphabet.toLetter((this.state / LETTERS) % LETTERS);
+      case 2:
+        return Alphabet.toLetter(this.state % LETTERS);
+      default:
+        throw new java.lang.IllegalArgumentException("Provided position is invalid");
+    }
+  }
+
+  /**
+   * Converts a rotor position letter to its index in the alphabet.
+   *
+   * @param letter The position letter.
+   * @return The index of the letter, where 0 is 'a'.
+   * @throws java.lang.IllegalArgumentException If the letter is not an english letter.
+   */
+  private static int toPositionIndex(char letter) throws java.lang.IllegalArgumentException {
+    if (!Alphabet.isLetter(letter)) {
+      throw new java.lang.IllegalArgumentException("Rotor positions must be letters");
+    }
+    return Alphabet.toIndex(letter);
+  }
+}
@@ -0,0 +1,179 @@
+package com.cs506.t21.enigma;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Cache of compiled machines, by specification. Compiling a machine computes the substitutions of
+ * every rotor position, see {@link CompiledEnigmaM3}, which is worth doing once per key when the
+ * same key is used for many messages, as it happens with a daily key sheet.
+ *
+ * <p>
+ * The cache is bounded both by number of machines and by the memory taken by their tables. When
+ * any bound is exceeded, the machines used least recently are evicted. Every machine returned is
+ * a {@link CompiledEnigmaM3#copy() copy} of the cached one, so callers can step it freely while
+ * the tables are shared. The number of hits, misses and evictions is kept to tune the bounds.
+ * </p>
+ *
+ * <p>
+ * The cache is thread safe. Machines are compiled outside of the lock, hence threads looking up
+ * other keys are not blocked while a machine is compiled.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class CompiledMachineCache {
+
+  // Bounds of the cache.
+  private final int maxMachines;
+  private final long maxBytes;
+
+  // Compiled machines on rotor positions "aaa", least recently used first. Guarded by this.
+  private final LinkedHashMap<MachineSpec, CompiledEnigmaM3> machines;
+
+  // Size of the tables of every cached machine, in bytes. Guarded by this.
+  private long bytes;
+
+  // Statistics. Guarded by this.
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Creates an empty cache with the given bounds.
+   *
+   * @param maxMachines The maximum number of machines kept.
+   * @param maxBytes The maximum size of the tables of all the machines kept, in bytes.
+   * @throws java.lang.IllegalArgumentException If any bound is not positive.
+   */
+  public CompiledMachineCache(int maxMachines, long maxBytes)
+      throws java.lang.IllegalArgumentException {
+    if (maxMachines < 1 || maxBytes < 1) {
+      throw new java.lang.IllegalArgumentException("Cache bounds must be positive");
+    }
+
+    this.maxMachines = maxMachines;
+    this.maxBytes = maxBytes;
+    this.machines = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Returns a compiled machine with the given specification, on rotor positions "aaa". The
+   * machine is compiled if it is not in the cache.
+   *
+   * @param spec The specification of the machine.
+   * @return A machine that shares the cached tables, and that no other caller has.
+   * @throws java.lang.NullPointerException If the specification is null.
+   */
+  public CompiledEnigmaM3 get(MachineSpec spec) throws java.lang.NullPointerException {
+    if (spec == null) {
+      throw new java.lang.NullPointerException("Provided specification is null");
+    }
+
+    synchronized (this) {
+      CompiledEnigmaM3 cached = this.machines.get(spec);
+      if (cached != null) {
+        this.hits++;
+        return cached.copy();
+      }
+      this.misses++;
+    }
+
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(spec);
+
+    synchronized (this) {
+      // Another thread may have compiled the same machine meanwhile.
+      CompiledEnigmaM3 cached = this.machines.putIfAbsent(spec, compiled);
+      if (cached != null) {
+        return cached.copy();
+      }
+      this.bytes += compiled.getTableSize();
+      this.evict();
+    }
+
+    return compiled.copy();
+  }
+
+  /**
+   * Returns a compiled machine with the specification and rotor positions of the given machine.
+   * The machine is compiled if it is not in the cache.
+   *
+   * @param enigma The machine.
+   * @return A machine that shares the cached tables, and that no other caller has.
+   * @throws java.lang.NullPointerException If the machine is null.
+   */
+  public CompiledEnigmaM3 get(EnigmaM3 enigma) throws java.lang.NullPointerException {
+    CompiledEnigmaM3 compiled = this.get(MachineSpec.of(enigma));
+    compiled.setRotorPositions(enigma.getRotor(0).getCurrentPosition(),
+        enigma.getRotor(1).getCurrentPosition(), enigma.getRotor(2).getCurrentPosition());
+    return compiled;
+  }
+
+  /**
+   * Removes the machines used least recently until the cache is within its bounds.
+   */
+  private void evict() {
+    Iterator<Map.Entry<MachineSpec, CompiledEnigmaM3>> eldest =
+        this.machines.entrySet().iterator();
+    while (this.machines.size() > this.maxMachines || this.bytes > this.maxBytes) {
+      this.bytes -= eldest.next().getValue().getTableSize();
+      eldest.remove();
+      this.evictions++;
+    }
+  }
+
+  /**
+   * Removes every machine from the cache. Statistics are kept.
+   */
+  public synchronized void clear() {
+    this.machines.clear();
+    this.bytes = 0;
+  }
+
+  /**
+   * Returns the number of machines in the cache.
+   *
+   * @return The number of machines.
+   */
+  public synchronized int size() {
+    return this.machines.size();
+  }
+
+  /**
+   * Returns the size of the tables of all the machines in the cache.
+   *
+   * @return The size of the tables, in bytes.
+   */
+  public synchronized long getMemoryUsage() {
+    return this.bytes;
+  }
+
+  /**
+   * Returns the number of lookups that found their machine in the cache.
+   *
+   * @return The number of hits.
+   */
+  public synchronized long getHitCount() {
+    return this.hits;
+  }
+
+  /**
+   * Returns the number of lookups that had to compile their machine.
+   *
+   * @return The number of misses.
+   */
+  public synchronized long getMissCount() {
+    return this.misses;
+  }
+
+  /**
+   * Returns the number of machines removed to keep the cache within its bounds.
+   *
+   * @return The number of evictions.
+   */
+  public synchronized long getEvictionCount() {
+    return this.evictions;
+  }
+}
@@ -0,0 +1,39 @@
+package com.cs506.t21.enigma;
+
+
+/**
+ * Receives the result of each encryption stage when a letter is translated with
+ * {@link EnigmaM3#translate(char, EncryptionStageListener)}. An application can use this interface
+ * to show how the signal travels through the components of the machine.
+ *
+ * <p>
+ * Stages are reported in order:
+ * 0 Plugboard,
+ * 1 Rightmost rotor,
+ * 2 Middle rotor,
+ * 3 Leftmost rotor,
+ * 4 Reflector,
+ * 5 Leftmost rotor (backwards),
+ * 6 Middle rotor (backwards),
+ * 7 Rightmost rotor (backwards),
+ * 8 Plugboard.
+ * </p>
+ *
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface EncryptionStageListener {
+
+  /**
+   * Number of encryption stages reported for each letter.
+   */
+  int ENCRYPTION_STAGES = 9;
+
+  /**
+   * Called after the signal passes through a component of the machine.
+   *
+   * @param stage The stage that was completed, between 0 and 8.
+   * @param result The letter that came out of the component on that stage.
+   */
+  void stageCompleted(int stage, char result);
+}
@@ -0,0 +1,42 @@
+package com.cs506.t21.enigma;
+
+
+/**
+ * Listener that keeps the result of every encryption stage of the last translated letter. See
+ * {@link EncryptionStageListener} for the list of stages.
+ *
+ * @version 1.0
+ */
+public class EncryptionStageRecorder implements EncryptionStageListener {
+
+  // An array containing the input letter after passing through each component.
+  private final char[] encryptionStagesResults;
+
+  /**
+   * Creates a recorder with no results.
+   */
+  public EncryptionStageRecorder() {
+    this.encryptionStagesResults = new char[ENCRYPTION_STAGES];
+  }
+
+  /**
+   * Records the result of the given stage.
+   *
+   * @param stage The stage that was completed, between 0 and 8.
+   * @param result The letter that came out of the component on that stage.
+   */
+  @Override
+  public void stageCompleted(int stage, char result) {
+    this.encryptionStagesResults[stage] = result;
+  }
+
+  /**
+   * Returns the result of passing the last letter through each component in succession. See
+   * {@link EncryptionStageListener} for the list of stages.
+   *
+   * @return The result for each encryption stage
+   */
+  public char[] getEncryptionStagesResults() {
+    return this.encryptionStagesResults.clone();
+  }
+}
@@ -1,5 +1,7 @@
 package com.cs506.t21.enigma;
 
+import java.util.Objects;
+
 
 /**
  * This class implements the enigma machine used by the Nazi army during World War II. An
@@ -22,20 +24,17 @@ public class EnigmaM3 {
   private Reflector reflector;
   private Plugboard plugboard;
 
-  // An an array containing the input letter after passing through each component.
-  private char[] encryptionStagesResults;
+  // Index used on the index buffer of the bulk translate methods to mark a space.
+  private static final byte SPACE_INDEX = -1;
+
+  // Number of characters converted to letter indices at a time by the bulk translate methods.
+  private static final int BUFFER_SIZE = 4096;
+
+  // Buffer used by the bulk translate methods to hold letter indices. Created on first use.
+  private byte[] indexBuffer;
 
-  // Stages:
-  // 0 Plugboard
-  // 1 Rightmost rotor
-  // 2 Middle rotor
-  // 3 Leftmost rotor
-  // 4 Reflector
-  // 5 Rightmost rotor (backwards)
-  // 6 Middle rotor (backwards)
-  // 7 Leftmost rotor (backwards)
-  // 8 Plugboard
-  private static final int ENCRYPTION_STAGES = 9;
+  // Stepping table of the current middle and right rotors, replaced when their notches change.
+  private SteppingTable steppingTable;
 
 
   /**
@@ -73,8 +72,6 @@ public class EnigmaM3 {
 
     EnigmaM3.checkNotNull(plugboard, "Provided plugboard is null");
     this.plugboard = plugboard;
-
-    this.encryptionStagesResults = new char[ENCRYPTION_STAGES];
   }
 
   /**
@@ -90,14 +87,14 @@ public class EnigmaM3 {
   }
 
   /**
-   * Checks that the provided character is a letter. The method {@link Character#isLetter(char)
+   * Checks that the provided character is a letter. The method {@link Alphabet#isLetter(char)
    * isLetter} is used to check whether the provided character is a letter or not.
    *
    * @param character The character to be validated
    * @throws java.lang.IllegalArgumentException If the provided character is not a letter
    */
   private static void checkLetter(char character) throws java.lang.IllegalArgumentException {
-    if (!Character.isLetter(character)) {
+    if (!Alphabet.isLetter(character)) {
       throw new java.lang.IllegalArgumentException("Provided character must be a letter.");
     }
   }
@@ -203,63 +200,362 @@ public class EnigmaM3 {
    */
   public char translate(char letter) {
     EnigmaM3.checkLetter(letter);
-    // ------------------------------------Step rotors----------------------------------------
-    char rightRotorCurrentPosition = this.rotors[2].getCurrentPosition();
-    char rightRotorTurnOver = this.rotors[2].getTurnOver();
-    
-    // First rotor always rotates.
-    this.rotors[2].rotate();
-    
-    // Middle rotor rotates if the right rotor was on the turn-over letter before rotation.
-    if (rightRotorCurrentPosition == rightRotorTurnOver) {
-      
-      char leftRotorCurrentPosition = this.rotors[1].getCurrentPosition();
-      char leftRotorTurnOver = this.rotors[1].getTurnOver();
-      
-      this.rotors[1].rotate();
+    this.stepRotors();
 
-      // Rotate Left rotor if and only if the second rotor is on its turn-over letter right
-      // before it rotates.
-      if (leftRotorCurrentPosition == leftRotorTurnOver) {
-        this.rotors[0].rotate();
-      }
+    // ----------------------------------Encryption-------------------------------------------
+    char encryptedLetter = this.plugboard.swap(letter);
+
+    // Forwards through rotors.
+    for (int i = this.rotors.length - 1; i > -1; i--) {
+      encryptedLetter = this.rotors[i].encrypt(encryptedLetter, false);
     }
 
+    encryptedLetter = this.reflector.swap(encryptedLetter);
+
+    // Backwards through rotors.
+    for (int i = 0; i < this.rotors.length; i++) {
+      encryptedLetter = this.rotors[i].encrypt(encryptedLetter, true);
+    }
+
+    return this.plugboard.swap(encryptedLetter);
+  }
+
+  /**
+   * Encrypts the letter the same way {@link EnigmaM3#translate(char) translate} does, and reports
+   * the result of each encryption stage to the given listener. This is meant for applications
+   * that show the wiring of the machine, the other translate methods do not report any stages.
+   *
+   * @param letter The letter to be encrypted.
+   * @param listener The listener that receives the result of each stage.
+   * @return The encrypted letter.
+   * @throws java.lang.IllegalArgumentException If the character is not a letter.
+   * @throws java.lang.NullPointerException If the listener is null.
+   */
+  public char translate(char letter, EncryptionStageListener listener)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    EnigmaM3.checkLetter(letter);
+    EnigmaM3.checkNotNull(listener, "Provided listener is null");
+    this.stepRotors();
 
-    // ----------------------------------Encryption-------------------------------------------
     char encryptedLetter = this.plugboard.swap(letter);
-    this.encryptionStagesResults[0] = encryptedLetter;
+    listener.stageCompleted(0, encryptedLetter);
 
     // Forwards through rotors.
     for (int i = this.rotors.length - 1; i > -1; i--) {
       encryptedLetter = this.rotors[i].encrypt(encryptedLetter, false);
-      this.encryptionStagesResults[3 - i] = encryptedLetter;
+      listener.stageCompleted(3 - i, encryptedLetter);
     }
 
     encryptedLetter = this.reflector.swap(encryptedLetter);
-    this.encryptionStagesResults[4] = encryptedLetter;
+    listener.stageCompleted(4, encryptedLetter);
 
     // Backwards through rotors.
     for (int i = 0; i < this.rotors.length; i++) {
       encryptedLetter = this.rotors[i].encrypt(encryptedLetter, true);
-      this.encryptionStagesResults[i + 5] = encryptedLetter;
+      listener.stageCompleted(i + 5, encryptedLetter);
     }
 
     encryptedLetter = this.plugboard.swap(encryptedLetter);
-    this.encryptionStagesResults[8] = encryptedLetter;
+    listener.stageCompleted(8, encryptedLetter);
 
     return encryptedLetter;
   }
 
   /**
-   * Returns the result of passing the message through each component in succession. Stages: 0
-   * Plugboard 1 Rightmost rotor 2 Middle rotor 3 Leftmost rotor 4 Reflector 5 Rightmost rotor
-   * (backwards) 6 Middle rotor (backwards) 7 Leftmost rotor (backwards) 8 Plugboard
+   * Encrypts the characters in the given range of the input array, and writes the result to the
+   * output array. Letters are encrypted the same way {@link EnigmaM3#translate(char) translate}
+   * does, and spaces are copied to the output without stepping the rotors.
+   *
+   * <p>
+   * The whole input is validated before any letter is encrypted, so if an exception is thrown the
+   * rotors are not moved. The input and output arrays may be the same array.
+   * </p>
+   *
+   * @param input The characters to be encrypted.
+   * @param inputOffset The position of the first character to be encrypted.
+   * @param length The number of characters to be encrypted.
+   * @param output The array the encrypted characters are written to, as lowercase letters.
+   * @param outputOffset The position of the output array the first character is written to.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.IndexOutOfBoundsException If any range is outside of its array.
+   */
+  public void translate(char[] input, int inputOffset, int length, char[] output,
+      int outputOffset)
+      throws java.lang.IllegalArgumentException, java.lang.IndexOutOfBoundsException {
+    Alphabet.checkText(input, inputOffset, length);
+    Objects.checkFromIndexSize(outputOffset, length, output.length);
+
+    byte[] buffer = this.getIndexBuffer();
+    for (int done = 0; done < length; done += BUFFER_SIZE) {
+      int count = Math.min(BUFFER_SIZE, length - done);
+      for (int i = 0; i < count; i++) {
+        char character = input[inputOffset + done + i];
+        buffer[i] =
+            character == Alphabet.SPACE ? SPACE_INDEX : (byte) Alphabet.toIndex(character);
+      }
+
+      this.translateIndices(buffer, 0, count);
+
+      for (int i = 0; i < count; i++) {
+        output[outputOffset + done + i] =
+            buffer[i] == SPACE_INDEX ? Alphabet.SPACE : Alphabet.toLetter(buffer[i]);
+      }
+    }
+  }
+
+  /**
+   * Encrypts the given text. Letters are encrypted the same way
+   * {@link EnigmaM3#translate(char) translate} does, and spaces are copied to the output without
+   * stepping the rotors.
+   *
+   * <p>
+   * The whole text is validated before any letter is encrypted, so if an exception is thrown the
+   * rotors are not moved.
+   * </p>
+   *
+   * @param text The text to be encrypted.
+   * @return The encrypted text, as lowercase letters.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.NullPointerException If the text is null.
+   */
+  public String translate(CharSequence text)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    EnigmaM3.checkNotNull(text, "Provided text is null");
+
+    char[] characters = new char[text.length()];
+    for (int i = 0; i < characters.length; i++) {
+      characters[i] = text.charAt(i);
+    }
+
+    this.translate(characters, 0, characters.length, characters, 0);
+    return new String(characters);
+  }
+
+  /**
+   * Encrypts the ASCII characters in the given range of the input array, and writes the result to
+   * the output array. Letters are encrypted the same way {@link EnigmaM3#translate(char)
+   * translate} does, and spaces are copied to the output without stepping the rotors.
    *
-   * @return The result for each encryption stage
+   * <p>
+   * The whole input is validated before any letter is encrypted, so if an exception is thrown the
+   * rotors are not moved. The input and output arrays may be the same array.
+   * </p>
+   *
+   * @param input The ASCII characters to be encrypted.
+   * @param inputOffset The position of the first character to be encrypted.
+   * @param length The number of characters to be encrypted.
+   * @param output The array the encrypted characters are written to, as lowercase letters.
+   * @param outputOffset The position of the output array the first character is written to.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.IndexOutOfBoundsException If any range is outside of its array.
    */
-  public char[] getEncryptionStagesResults() {
-    return this.encryptionStagesResults;
+  public void translate(byte[] input, int inputOffset, int length, byte[] output,
+      int outputOffset)
+      throws java.lang.IllegalArgumentException, java.lang.IndexOutOfBoundsException {
+    Alphabet.checkText(input, inputOffset, length);
+    Objects.checkFromIndexSize(outputOffset, length, output.length);
+
+    byte[] buffer = this.getIndexBuffer();
+    for (int done = 0; done < length; done += BUFFER_SIZE) {
+      int count = Math.min(BUFFER_SIZE, length - done);
+      for (int i = 0; i < count; i++) {
+        char character = (char) input[inputOffset + done + i];
+        buffer[i] =
+            character == Alphabet.SPACE ? SPACE_INDEX : (byte) Alphabet.toIndex(character);
+      }
+
+      this.translateIndices(buffer, 0, count);
+
+      for (int i = 0; i < count; i++) {
+        output[outputOffset + done + i] =
+            buffer[i] == SPACE_INDEX ? (byte) Alphabet.SPACE : (byte) Alphabet.toLetter(buffer[i]);
+      }
+    }
+  }
+
+  /**
+   * Encrypts the letter with the given index. Works the same way as
+   * {@link EnigmaM3#translate(char) translate}, but the input is not validated. The stages are
+   * not reported, to trace them use
+   * {@link EnigmaM3#translate(char, EncryptionStageListener) translate} with a listener.
+   *
+   * <p>Precondition: The index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param index The index of the letter to be encrypted.
+   * @return The index of the encrypted letter.
+   */
+  public int translateIndex(int index) {
+    this.stepRotors();
+
+    int encryptedIndex = this.plugboard.swapIndex(index);
+
+    // Forwards through rotors.
+    for (int i = this.rotors.length - 1; i > -1; i--) {
+      encryptedIndex = this.rotors[i].encryptIndex(encryptedIndex, false);
+    }
+
+    encryptedIndex = this.reflector.swapIndex(encryptedIndex);
+
+    // Backwards through rotors.
+    for (int i = 0; i < this.rotors.length; i++) {
+      encryptedIndex = this.rotors[i].encryptIndex(encryptedIndex, true);
+    }
+
+    return this.plugboard.swapIndex(encryptedIndex);
+  }
+
+  /**
+   * Encrypts a sequence of letter indices in place. Works the same way as calling
+   * {@link EnigmaM3#translateIndex(int) translateIndex} on every index, but the state of the
+   * rotors is only read before, and written after, the whole sequence is encrypted. Indices equal
+   * to -1 are left untouched and do not step the rotors.
+   *
+   * <p>Precondition: Every index must be between 0 and 25, or -1. See {@link Alphabet}.</p>
+   *
+   * @param indices The letter indices to be encrypted.
+   * @param offset The position of the first index to be encrypted.
+   * @param length The number of indices to be encrypted.
+   * @throws java.lang.IndexOutOfBoundsException If the range is outside of the array.
+   */
+  public void translateIndices(byte[] indices, int offset, int length)
+      throws java.lang.IndexOutOfBoundsException {
+    Objects.checkFromIndexSize(offset, length, indices.length);
+
+    final Rotor left = this.rotors[0];
+    final Rotor middle = this.rotors[1];
+    final Rotor right = this.rotors[2];
+
+    final byte[] plugboardTable = this.plugboard.getMappingTable();
+    final byte[] reflectorTable = this.reflector.getMappingTable();
+    final byte[] leftForward = left.getForwardTable();
+    final byte[] leftBackward = left.getBackwardTable();
+    final byte[] middleForward = middle.getForwardTable();
+    final byte[] middleBackward = middle.getBackwardTable();
+    final byte[] rightForward = right.getForwardTable();
+    final byte[] rightBackward = right.getBackwardTable();
+
+    final int leftRing = left.getRingSetting() - 'a';
+    final int middleRing = middle.getRingSetting() - 'a';
+    final int rightRing = right.getRingSetting() - 'a';
+    final SteppingTable stepping = this.getSteppingTable();
+
+    int state = SteppingTable.encode(left.getCurrentPosition() - 'a',
+        middle.getCurrentPosition() - 'a', right.getCurrentPosition() - 'a');
+
+    for (int i = offset; i < offset + length; i++) {
+      int index = indices[i];
+      if (index == SPACE_INDEX) {
+        continue;
+      }
+
+      // Step rotors, the same way as stepRotors does.
+      state = stepping.next(state);
+
+      final int leftDelta = Alphabet.wrap(SteppingTable.leftPosition(state) - leftRing);
+      final int middleDelta = Alphabet.wrap(SteppingTable.middlePosition(state) - middleRing);
+      final int rightDelta = Alphabet.wrap(SteppingTable.rightPosition(state) - rightRing);
+
+      index = plugboardTable[index];
+      index = Alphabet.wrap(rightForward[Alphabet.wrap(index + rightDelta)] - rightDelta);
+      index = Alphabet.wrap(middleForward[Alphabet.wrap(index + middleDelta)] - middleDelta);
+      index = Alphabet.wrap(leftForward[Alphabet.wrap(index + leftDelta)] - leftDelta);
+      index = reflectorTable[index];
+      index = Alphabet.wrap(leftBackward[Alphabet.wrap(index + leftDelta)] - leftDelta);
+      index = Alphabet.wrap(middleBackward[Alphabet.wrap(index + middleDelta)] - middleDelta);
+      index = Alphabet.wrap(rightBackward[Alphabet.wrap(index + rightDelta)] - rightDelta);
+      indices[i] = plugboardTable[index];
+    }
+
+    left.setCurrentPosition(Alphabet.toLetter(SteppingTable.leftPosition(state)));
+    middle.setCurrentPosition(Alphabet.toLetter(SteppingTable.middlePosition(state)));
+    right.setCurrentPosition(Alphabet.toLetter(SteppingTable.rightPosition(state)));
+  }
+
+  /**
+   * Moves the rotors to the positions they would have after the given number of key presses. The
+   * result is the same as translating that many letters, but the time taken does not depend on
+   * the number of key presses. This allows an application to start encrypting a message from any
+   * letter of it.
+   *
+   * @param keyPresses The number of key presses to skip.
+   * @throws java.lang.IllegalArgumentException If the number of key presses is negative.
+   */
+  public void advance(long keyPresses) throws java.lang.IllegalArgumentException {
+    if (keyPresses < 0) {
+      throw new java.lang.IllegalArgumentException("Number of key presses cannot be negative");
+    }
+
+    int[] positions = new int[3];
+    for (int i = 0; i < 3; i++) {
+      positions[i] = this.rotors[i].getCurrentPosition() - 'a';
+    }
+
+    RotorStepping.advance(positions, RotorStepping.turnOverMask(this.rotors[1]),
+        RotorStepping.turnOverMask(this.rotors[2]), keyPresses);
+
+    for (int i = 0; i < 3; i++) {
+      this.rotors[i].setCurrentPosition(Alphabet.toLetter(positions[i]));
+    }
+  }
+
+  /**
+   * Returns the buffer used by the bulk translate methods, creating it if needed.
+   *
+   * @return The index buffer of this machine.
+   */
+  private byte[] getIndexBuffer() {
+    if (this.indexBuffer == null) {
+      this.indexBuffer = new byte[BUFFER_SIZE];
+    }
+    return this.indexBuffer;
+  }
+
+  /**
+   * Returns the stepping table for the notches of the current middle and right rotors. The table
+   * is kept between calls, so looking it up does not allocate.
+   *
+   * @return The stepping table of this machine.
+   */
+  private SteppingTable getSteppingTable() {
+    int middleTurnOverMask = RotorStepping.turnOverMask(this.rotors[1]);
+    int rightTurnOverMask = RotorStepping.turnOverMask(this.rotors[2]);
+
+    if (this.steppingTable == null
+        || this.steppingTable.getMiddleTurnOverMask() != middleTurnOverMask
+        || this.steppingTable.getRightTurnOverMask() != rightTurnOverMask) {
+      this.steppingTable = SteppingTable.of(middleTurnOverMask, rightTurnOverMask);
+    }
+    return this.steppingTable;
+  }
+
+  /**
+   * Steps the rotors as it happens when a key is pressed, right before the letter is encrypted.
+   */
+  private void stepRotors() {
+    char rightRotorCurrentPosition = this.rotors[2].getCurrentPosition();
+    char rightRotorTurnOver = this.rotors[2].getTurnOver();
+    char rightRotorSecondTurnOver = this.rotors[2].getSecondTurnOver();
+    
+    // First rotor always rotates.
+    this.rotors[2].rotate();
+    
+    // Middle rotor rotates if the right rotor was on a turn-over letter before rotation.
+    if (rightRotorCurrentPosition == rightRotorTurnOver
+        || rightRotorCurrentPosition == rightRotorSecondTurnOver) {
+      
+      char leftRotorCurrentPosition = this.rotors[1].getCurrentPosition();
+      char leftRotorTurnOver = this.rotors[1].getTurnOver();
+      char leftRotorSecondTurnOver = this.rotors[1].getSecondTurnOver();
+      
+      this.rotors[1].rotate();
+
+      // Rotate Left rotor if and only if the second rotor is on a turn-over letter right
+      // before it rotates.
+      if (leftRotorCurrentPosition == leftRotorTurnOver
+          || leftRotorCurrentPosition == leftRotorSecondTurnOver) {
+        this.rotors[0].rotate();
+      }
+    }
   }
 
   /**
@@ -0,0 +1,351 @@
+package com.cs506.t21.enigma;
+
+import java.util.Objects;
+
+
+/**
+ * An enigma machine with any number of rotors, such as the four rotor M4 used by the German navy.
+ * Rotors are split in two groups: stepping rotors, which move as keys are pressed the same way
+ * the rotors of {@link EnigmaM3} do, and fixed rotors, which sit between the stepping rotors and
+ * the reflector and never move, such as the Beta and Gamma rotors of the M4.
+ *
+ * <p>
+ * Since fixed rotors never move, the path of a letter from the leftmost stepping rotor, through
+ * the fixed rotors, to the reflector and back is always the same. That path is computed once,
+ * when the machine is created, as a single table that takes the place of the reflector. Hence a
+ * four rotor M4 machine does the same work per key as a three rotor machine.
+ * </p>
+ *
+ * <p>
+ * The machine takes a snapshot of the plugboard, ring settings and positions of the given
+ * components, and shares their wiring tables, which are replaced rather than changed when a
+ * component is rewired. Changes made afterwards to those components are not seen by this object,
+ * and the rotors given to it are never moved.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class EnigmaMachine {
+
+  // Wiring of the plugboard, as letter indices.
+  private final byte[] plugboard;
+
+  // The path from the leftmost stepping rotor through the fixed rotors, the reflector and back.
+  private final byte[] reflector;
+
+  // Wiring, ring settings and turn over positions of the stepping rotors, the leftmost first.
+  private final byte[][] forward;
+  private final byte[][] backward;
+  private final int[] rings;
+  private final int[] turnOverMasks;
+
+  // Positions of the stepping rotors, as letter indices.
+  private final int[] positions;
+
+  /**
+   * Creates a machine with the given components.
+   *
+   * @param plugboard The plugboard of the machine.
+   * @param reflector The reflector of the machine.
+   * @param fixedRotors The rotors that never move, from the one next to the reflector to the one
+   *        next to the stepping rotors. May be empty. Their turn over letters are ignored, and
+   *        their current positions are kept for as long as the machine is used.
+   * @param steppingRotors The rotors that step as keys are pressed, from the leftmost to the
+   *        rightmost, which is the first one to encrypt a letter and steps on every key press.
+   * @throws java.lang.IllegalArgumentException If there are no stepping rotors.
+   * @throws java.lang.NullPointerException If any of the components is null.
+   */
+  public EnigmaMachine(Plugboard plugboard, Reflector reflector, Rotor[] fixedRotors,
+      Rotor... steppingRotors)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    this(plugboard, EnigmaMachine.composeReflector(reflector, fixedRotors), steppingRotors);
+  }
+
+  /**
+   * Creates a machine whose fixed rotors and reflector were already composed in a single table.
+   *
+   * @param plugboard The plugboard of the machine.
+   * @param reflector The path of every letter from the leftmost stepping rotor to the reflector
+   *        and back, as letter indices.
+   * @param steppingRotors The rotors that step as keys are pressed, from the leftmost.
+   * @throws java.lang.IllegalArgumentException If there are no stepping rotors.
+   * @throws java.lang.NullPointerException If any of the components is null.
+   */
+  private EnigmaMachine(Plugboard plugboard, byte[] reflector, Rotor[] steppingRotors)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (plugboard == null || steppingRotors == null) {
+      throw new java.lang.NullPointerException("Machine components cannot be null");
+    }
+    if (steppingRotors.length == 0) {
+      throw new java.lang.IllegalArgumentException("At least one stepping rotor is needed");
+    }
+
+    this.plugboard = plugboard.getMappingTable().clone();
+    this.reflector = reflector;
+
+    int count = steppingRotors.length;
+    this.forward = new byte[count][];
+    this.backward = new byte[count][];
+    this.rings = new int[count];
+    this.turnOverMasks = new int[count];
+    this.positions = new int[count];
+    for (int i = 0; i < count; i++) {
+      Rotor rotor = Objects.requireNonNull(steppingRotors[i], "Provided rotor is null");
+      this.forward[i] = rotor.getForwardTable();
+      this.backward[i] = rotor.getBackwardTable();
+      this.rings[i] = Alphabet.toIndex(rotor.getRingSetting());
+      this.turnOverMasks[i] = RotorStepping.turnOverMask(rotor);
+      this.positions[i] = Alphabet.toIndex(rotor.getCurrentPosition());
+    }
+  }
+
+  /**
+   * Creates a four rotor M4 machine, as used by the German navy. The fourth rotor, usually Beta
+   * or Gamma, sits next to the reflector, usually a thin one, and never moves.
+   *
+   * <p>
+   * A Beta rotor with a thin B reflector, or a Gamma rotor with a thin C reflector, both on ring
+   * setting and position 'a', work the same way as the B or C reflector of a three rotor machine.
+   * </p>
+   *
+   * @param plugboard The plugboard of the machine.
+   * @param reflector The reflector of the machine.
+   * @param fourth The type of the fourth rotor.
+   * @param fourthRingSetting The ring setting of the fourth rotor.
+   * @param fourthPosition The position of the fourth rotor.
+   * @param left The leftmost stepping rotor.
+   * @param middle The middle stepping rotor.
+   * @param right The rightmost stepping rotor.
+   * @return The machine.
+   * @throws java.lang.IllegalArgumentException If the settings of the fourth rotor are not
+   *         letters.
+   * @throws java.lang.NullPointerException If any of the components is null.
+   */
+  public static EnigmaMachine m4(Plugboard plugboard, ReflectorType reflector, RotorType fourth,
+      char fourthRingSetting, char fourthPosition, Rotor left, Rotor middle, Rotor right)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (reflector == null || fourth == null) {
+      throw new java.lang.NullPointerException("Machine components cannot be null");
+    }
+
+    // The catalog tables are shared as they are, the wiring is neither parsed nor checked again.
+    int offset = Alphabet.toIndex(fourthPosition) - Alphabet.toIndex(fourthRingSetting);
+    byte[] table = EnigmaMachine.composeReflector(reflector.getMappingTable(),
+        new byte[][] {fourth.getForwardTable()}, new byte[][] {fourth.getBackwardTable()},
+        new int[] {offset});
+    return new EnigmaMachine(plugboard, table, new Rotor[] {left, middle, right});
+  }
+
+  /**
+   * Computes the path of every letter from the leftmost stepping rotor, forwards through the
+   * fixed rotors, through the reflector, and backwards through the fixed rotors.
+   *
+   * @param reflector The reflector.
+   * @param fixedRotors The fixed rotors, from the one next to the reflector.
+   * @return The table of the whole path, as letter indices.
+   * @throws java.lang.NullPointerException If the reflector or any of the rotors is null.
+   */
+  private static byte[] composeReflector(Reflector reflector, Rotor[] fixedRotors)
+      throws java.lang.NullPointerException {
+    if (reflector == null || fixedRotors == null) {
+      throw new java.lang.NullPointerException("Machine components cannot be null");
+    }
+
+    byte[][] forward = new byte[fixedRotors.length][];
+    byte[][] backward = new byte[fixedRotors.length][];
+    int[] offsets = new int[fixedRotors.length];
+    for (int i = 0; i < fixedRotors.length; i++) {
+      Rotor rotor = Objects.requireNonNull(fixedRotors[i], "Provided rotor is null");
+      forward[i] = rotor.getForwardTable();
+      backward[i] = rotor.getBackwardTable();
+      offsets[i] = rotor.getCurrentPosition() - rotor.getRingSetting();
+    }
+    return EnigmaMachine.composeReflector(reflector.getMappingTable(), forward, backward,
+        offsets);
+  }
+
+  /**
+   * Computes the path of every letter through the given tables, the same way as
+   * {@link #composeReflector(Reflector, Rotor[])}.
+   *
+   * @param reflector The wiring of the reflector.
+   * @param forward The forward wiring of the fixed rotors, from the one next to the reflector.
+   * @param backward The backward wiring of the fixed rotors, in the same order.
+   * @param offsets The position minus the ring setting of every fixed rotor.
+   * @return The table of the whole path, as letter indices.
+   */
+  private static byte[] composeReflector(byte[] reflector, byte[][] forward, byte[][] backward,
+      int[] offsets) {
+    byte[] table = new byte[Alphabet.SIZE];
+
+    for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+      int index = letter;
+      for (int i = forward.length - 1; i > -1; i--) {
+        index = Alphabet.wrap(forward[i][Alphabet.wrap(index + offsets[i])] - offsets[i]);
+      }
+      index = reflector[index];
+      for (int i = 0; i < backward.length; i++) {
+        index = Alphabet.wrap(backward[i][Alphabet.wrap(index + offsets[i])] - offsets[i]);
+      }
+      table[letter] = (byte) index;
+    }
+
+    return table;
+  }
+
+  /**
+   * Returns the number of stepping rotors of this machine.
+   *
+   * @return The number of stepping rotors.
+   */
+  public int getRotorCount() {
+    return this.positions.length;
+  }
+
+  /**
+   * Returns the current position of the specified stepping rotor, as seen through the window of
+   * the machine.
+   *
+   * @param position The placement of the rotor, 0 being the leftmost stepping rotor.
+   * @return The letter seen through the window for that rotor, as lowercase.
+   * @throws java.lang.IllegalArgumentException If the provided position is invalid.
+   */
+  public char getRotorPosition(int position) throws java.lang.IllegalArgumentException {
+    if (position < 0 || position >= this.positions.length) {
+      throw new java.lang.IllegalArgumentException("Provided position is invalid");
+    }
+    return Alphabet.toLetter(this.positions[position]);
+  }
+
+  /**
+   * Moves the stepping rotors to the specified positions, as seen through the window of the
+   * machine.
+   *
+   * @param positions The position of every stepping rotor, the leftmost first.
+   * @throws java.lang.IllegalArgumentException If there is not a position per stepping rotor, or
+   *         any of the positions is not a letter.
+   */
+  public void setRotorPositions(char... positions) throws java.lang.IllegalArgumentException {
+    if (positions.length != this.positions.length) {
+      throw new java.lang.IllegalArgumentException("There must be a position per rotor");
+    }
+    for (char position : positions) {
+      if (!Alphabet.isLetter(position)) {
+        throw new java.lang.IllegalArgumentException("Rotor positions must be letters");
+      }
+    }
+
+    for (int i = 0; i < positions.length; i++) {
+      this.positions[i] = Alphabet.toIndex(positions[i]);
+    }
+  }
+
+  /**
+   * Encrypts the letter the same way {@link EnigmaM3#translate(char)} does, stepping the rotors
+   * before the letter is encrypted.
+   *
+   * @param letter The letter to be encrypted.
+   * @return The encrypted letter, as lowercase.
+   * @throws java.lang.IllegalArgumentException If the character is not an english letter.
+   */
+  public char translate(char letter) throws java.lang.IllegalArgumentException {
+    if (!Alphabet.isLetter(letter)) {
+      throw new java.lang.IllegalArgumentException("Only letters can be encrypted");
+    }
+    return Alphabet.toLetter(this.translateIndex(Alphabet.toIndex(letter)));
+  }
+
+  /**
+   * Encrypts the characters in the given range of the input array, and writes the result to the
+   * output array. Letters are encrypted the same way {@link EnigmaMachine#translate(char)
+   * translate} does, and spaces are copied to the output without stepping the rotors. See
+   * {@link EnigmaM3#translate(char[], int, int, char[], int)}.
+   *
+   * @param input The characters to be encrypted.
+   * @param inputOffset The position of the first character to be encrypted.
+   * @param length The number of characters to be encrypted.
+   * @param output The array the encrypted characters are written to, as lowercase letters.
+   * @param outputOffset The position of the output array the first character is written to.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.IndexOutOfBoundsException If any range is outside of its array.
+   */
+  public void translate(char[] input, int inputOffset, int length, char[] output,
+      int outputOffset)
+      throws java.lang.IllegalArgumentException, java.lang.IndexOutOfBoundsException {
+    Alphabet.checkText(input, inputOffset, length);
+    Objects.checkFromIndexSize(outputOffset, length, output.length);
+
+    for (int i = 0; i < length; i++) {
+      char character = input[inputOffset + i];
+      output[outputOffset + i] = character == Alphabet.SPACE
+          ? Alphabet.SPACE
+          : Alphabet.toLetter(this.translateIndex(Alphabet.toIndex(character)));
+    }
+  }
+
+  /**
+   * Encrypts the given text. Letters are encrypted the same way
+   * {@link EnigmaMachine#translate(char) translate} does, and spaces are copied to the output
+   * without stepping the rotors.
+   *
+   * @param text The text to be encrypted.
+   * @return The encrypted text, as lowercase letters.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.NullPointerException If the text is null.
+   */
+  public String translate(CharSequence text)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (text == null) {
+      throw new java.lang.NullPointerException("Provided text is null");
+    }
+
+    char[] characters = new char[text.length()];
+    for (int i = 0; i < characters.length; i++) {
+      characters[i] = text.charAt(i);
+    }
+
+    this.translate(characters, 0, characters.length, characters, 0);
+    return new String(characters);
+  }
+
+  /**
+   * Encrypts the letter with the given index. Works the same way as
+   * {@link EnigmaMachine#translate(char) translate}, but the input is not validated.
+   *
+   * <p>Precondition: The index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param index The index of the letter to be encrypted.
+   * @return The index of the encrypted letter.
+   */
+  public int translateIndex(int index) {
+    final int[] positions = this.positions;
+    final int count = positions.length;
+
+    // Step rotors. A rotor moves when every rotor on its right was on a turn-over letter.
+    for (int i = count - 1; i > -1; i--) {
+      boolean turnOver = (this.turnOverMasks[i] & (1 << positions[i])) != 0;
+      positions[i] = Alphabet.wrap(positions[i] + 1);
+      if (!turnOver) {
+        break;
+      }
+    }
+
+    index = this.plugboard[index];
+
+    // Forwards through rotors.
+    for (int i = count - 1; i > -1; i--) {
+      int delta = Alphabet.wrap(positions[i] - this.rings[i]);
+      index = Alphabet.wrap(this.forward[i][Alphabet.wrap(index + delta)] - delta);
+    }
+
+    index = this.reflector[index];
+
+    // Backwards through rotors.
+    for (int i = 0; i < count; i++) {
+      int delta = Alphabet.wrap(positions[i] - this.rings[i]);
+      index = Alphabet.wrap(this.backward[i][Alphabet.wrap(index + delta)] - delta);
+    }
+
+    return this.plugboard[index];
+  }
+}
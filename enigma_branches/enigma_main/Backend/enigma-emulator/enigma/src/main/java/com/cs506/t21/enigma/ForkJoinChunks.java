@@ -0,0 +1,76 @@
+package com.cs506.t21.enigma;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Runs an action for every chunk of a long input on a fork join pool. The range of chunks is split
+ * in halves until a single chunk is left, so idle threads steal the largest ranges first.
+ *
+ * <p>
+ * {@link ParallelTranslator} and {@link com.cs506.t21.enigma.io.MappedFileTranslator} use it for
+ * both of their passes, the one that counts the letters of every chunk and the one that encrypts
+ * them.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class ForkJoinChunks {
+
+  private ForkJoinChunks() {}
+
+  /**
+   * Runs the given action for every chunk on the given pool, and waits for all of them to finish.
+   * An exception thrown by the action is thrown by this method.
+   *
+   * @param pool The pool the chunks are run on.
+   * @param chunks The number of chunks.
+   * @param action The action run for every chunk, which receives the number of the chunk.
+   * @throws java.lang.IllegalArgumentException If the number of chunks is not positive.
+   * @throws java.lang.NullPointerException If the pool or the action is null.
+   */
+  public static void forEach(ForkJoinPool pool, int chunks, IntConsumer action)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (pool == null || action == null) {
+      throw new java.lang.NullPointerException("Arguments cannot be null");
+    }
+    if (chunks < 1) {
+      throw new java.lang.IllegalArgumentException("Number of chunks must be positive");
+    }
+
+    pool.invoke(new ChunkAction(0, chunks, action));
+  }
+
+  /**
+   * Task that runs an action on a range of chunks, splitting the range in halves until a single
+   * chunk is left.
+   */
+  private static final class ChunkAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final transient IntConsumer action;
+
+    ChunkAction(int from, int to, IntConsumer action) {
+      this.from = from;
+      this.to = to;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from == 1) {
+        this.action.accept(this.from);
+        return;
+      }
+
+      int middle = (this.from + this.to) >>> 1;
+      ChunkAction.invokeAll(new ChunkAction(this.from, middle, this.action),
+          new ChunkAction(middle, this.to, this.action));
+    }
+  }
+}
@@ -0,0 +1,552 @@
+package com.cs506.t21.enigma;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+
+/**
+ * A complete key of a three rotor machine built from the catalog: reflector, rotor order, ring
+ * settings, rotor positions and plugboard, packed in two {@code long} values. Keys are compared
+ * and hashed with a couple of instructions, hence they can be used as map keys, stored as two
+ * numbers in a database, or sent as 16 bytes.
+ *
+ * <p>
+ * The first value holds the settings, 5 bits per letter and 4 bits per rotor type, and the second
+ * one the plugboard. A plugboard swaps letters in pairs, and there are 532,985,208,200,576 ways to
+ * do so with any number of cables. The plugboard is stored as the rank of its pairs among all of
+ * them, so every plugboard has a single encoding and equal keys always have equal values.
+ * </p>
+ *
+ * <p>
+ * Layout of the settings, from the lowest bit: positions of the right, middle and left rotors,
+ * ring settings of the right, middle and left rotors, types of the right, middle and left rotors
+ * and type of the reflector. Types are stored as the ordinal of {@link RotorType} and
+ * {@link ReflectorType}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class MachineKey {
+
+  /**
+   * Number of bytes written by {@link MachineKey#writeTo(ByteBuffer)}.
+   */
+  public static final int BYTES = 2 * Long.BYTES;
+
+  // Bits used by a letter and by a type on the settings value.
+  private static final int LETTER_BITS = 5;
+  private static final int TYPE_BITS = 4;
+
+  // Position of the first bit of every field on the settings value.
+  private static final int POSITIONS_SHIFT = 0;
+  private static final int RINGS_SHIFT = 3 * LETTER_BITS;
+  private static final int ROTORS_SHIFT = 6 * LETTER_BITS;
+  private static final int REFLECTOR_SHIFT = ROTORS_SHIFT + 3 * TYPE_BITS;
+  private static final int SETTINGS_BITS = REFLECTOR_SHIFT + TYPE_BITS;
+
+  // Number of ways to swap n letters in pairs, for every n up to 26.
+  private static final long[] PAIRINGS = MachineKey.countPairings();
+
+  // Bit mask with a bit set for every letter.
+  private static final int ALL_LETTERS = (1 << Alphabet.SIZE) - 1;
+
+  private static final RotorType[] ROTOR_TYPES = RotorType.values();
+  private static final ReflectorType[] REFLECTOR_TYPES = ReflectorType.values();
+
+  private final long settings;
+  private final long plugboard;
+
+  /**
+   * Creates a key with the given values, which must already be valid.
+   *
+   * @param settings The settings value.
+   * @param plugboard The plugboard value.
+   */
+  private MachineKey(long settings, long plugboard) {
+    this.settings = settings;
+    this.plugboard = plugboard;
+  }
+
+  /**
+   * Creates the key of a machine with the given components and settings.
+   *
+   * @param reflector The type of the reflector.
+   * @param left The type of the leftmost rotor.
+   * @param middle The type of the middle rotor.
+   * @param right The type of the rightmost rotor.
+   * @param ringSettings The ring settings of the rotors, the leftmost first. E.g. "aaa".
+   * @param positions The positions of the rotors, the leftmost first. E.g. "abc".
+   * @param plugboard The plugboard. Its current pairs are copied.
+   * @return The key.
+   * @throws java.lang.IllegalArgumentException If any rotor type has no notches, or the ring
+   *         settings or positions are not three letters.
+   * @throws java.lang.NullPointerException If any argument is null.
+   */
+  public static MachineKey of(ReflectorType reflector, RotorType left, RotorType middle,
+      RotorType right, String ringSettings, String positions, Plugboard plugboard)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (reflector == null || left == null || middle == null || right == null
+        || ringSettings == null || positions == null || plugboard == null) {
+      throw new java.lang.NullPointerException("Key components cannot be null");
+    }
+
+    RotorType[] rotors = {left, middle, right};
+    long settings = (long) reflector.ordinal() << REFLECTOR_SHIFT;
+    for (int i = 0; i < 3; i++) {
+      if (!rotors[i].isStepping()) {
+        throw new java.lang.IllegalArgumentException("Rotor type must have at least one notch");
+      }
+      settings |= (long) rotors[i].ordinal() << MachineKey.rotorShift(i);
+    }
+    settings |= MachineKey.packLetters(ringSettings) << RINGS_SHIFT;
+    settings |= MachineKey.packLetters(positions) << POSITIONS_SHIFT;
+
+    return new MachineKey(settings, MachineKey.rankPlugboard(plugboard.getMappingTable()));
+  }
+
+  /**
+   * Creates the key of the given machine, on its current rotor positions.
+   *
+   * @param enigma The machine.
+   * @return The key.
+   * @throws java.lang.IllegalArgumentException If any rotor or the reflector of the machine is not
+   *         in the catalog, see {@link RotorType} and {@link ReflectorType}.
+   * @throws java.lang.NullPointerException If the machine is null.
+   */
+  public static MachineKey of(EnigmaM3 enigma)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (enigma == null) {
+      throw new java.lang.NullPointerException("Provided enigma machine is null");
+    }
+
+    char[] ringSettings = new char[3];
+    char[] positions = new char[3];
+    for (int i = 0; i < 3; i++) {
+      ringSettings[i] = enigma.getRotor(i).getRingSetting();
+      positions[i] = enigma.getRotor(i).getCurrentPosition();
+    }
+
+    return MachineKey.of(MachineKey.reflectorTypeOf(enigma.getReflector()),
+        MachineKey.rotorTypeOf(enigma.getRotor(0)), MachineKey.rotorTypeOf(enigma.getRotor(1)),
+        MachineKey.rotorTypeOf(enigma.getRotor(2)), new String(ringSettings),
+        new String(positions), enigma.getPlugboard());
+  }
+
+  /**
+   * Creates a key from the values returned by {@link MachineKey#getSettings()} and
+   * {@link MachineKey#getPlugboardRank()}.
+   *
+   * @param settings The settings value.
+   * @param plugboard The plugboard value.
+   * @return The key.
+   * @throws java.lang.IllegalArgumentException If the values are not a valid key.
+   */
+  public static MachineKey fromLongs(long settings, long plugboard)
+      throws java.lang.IllegalArgumentException {
+    if (settings >>> SETTINGS_BITS != 0 || plugboard < 0 || plugboard >= PAIRINGS[Alphabet.SIZE]
+        || MachineKey.field(settings, REFLECTOR_SHIFT, TYPE_BITS) >= REFLECTOR_TYPES.length) {
+      throw new java.lang.IllegalArgumentException("Provided values are not a valid key");
+    }
+    for (int i = 0; i < 3; i++) {
+      int rotor = MachineKey.field(settings, MachineKey.rotorShift(i), TYPE_BITS);
+      if (rotor >= ROTOR_TYPES.length || !ROTOR_TYPES[rotor].isStepping()
+          || MachineKey.field(settings, MachineKey.letterShift(RINGS_SHIFT, i), LETTER_BITS)
+              >= Alphabet.SIZE
+          || MachineKey.field(settings, MachineKey.letterShift(POSITIONS_SHIFT, i), LETTER_BITS)
+              >= Alphabet.SIZE) {
+        throw new java.lang.IllegalArgumentException("Provided values are not a valid key");
+      }
+    }
+
+    return new MachineKey(settings, plugboard);
+  }
+
+  /**
+   * Reads a key written by {@link MachineKey#writeTo(ByteBuffer)}.
+   *
+   * @param buffer The buffer the key is read from. Its position is moved past the key.
+   * @return The key.
+   * @throws java.lang.IllegalArgumentException If the bytes read are not a valid key.
+   * @throws java.nio.BufferUnderflowException If the buffer has less than 16 bytes left.
+   */
+  public static MachineKey readFrom(ByteBuffer buffer)
+      throws java.lang.IllegalArgumentException, java.nio.BufferUnderflowException {
+    long settings = buffer.getLong();
+    return MachineKey.fromLongs(settings, buffer.getLong());
+  }
+
+  /**
+   * Writes this key as 16 bytes, the settings value first, in the byte order of the buffer.
+   *
+   * @param buffer The buffer the key is written to. Its position is moved past the key.
+   * @throws java.nio.BufferOverflowException If the buffer has less than 16 bytes left.
+   */
+  public void writeTo(ByteBuffer buffer) throws java.nio.BufferOverflowException {
+    buffer.putLong(this.settings).putLong(this.plugboard);
+  }
+
+  /**
+   * Returns the value holding the reflector, rotor types, ring settings and positions.
+   *
+   * @return The settings value.
+   */
+  public long getSettings() {
+    return this.settings;
+  }
+
+  /**
+   * Returns the value holding the plugboard, the rank of its pairs.
+   *
+   * @return The plugboard value.
+   */
+  public long getPlugboardRank() {
+    return this.plugboard;
+  }
+
+  /**
+   * Returns the type of the reflector.
+   *
+   * @return The type of the reflector.
+   */
+  public ReflectorType getReflectorType() {
+    return REFLECTOR_TYPES[MachineKey.field(this.settings, REFLECTOR_SHIFT, TYPE_BITS)];
+  }
+
+  /**
+   * Returns the type of the specified rotor.
+   *
+   * @param position The placement of the rotor. Possible values are 0, 1, 2, where position 2
+   *        represents the rightmost rotor.
+   * @return The type of the rotor.
+   * @throws java.lang.IllegalArgumentException If the provided position is invalid.
+   */
+  public RotorType getRotorType(int position) throws java.lang.IllegalArgumentException {
+    MachineKey.checkPosition(position);
+    return ROTOR_TYPES[MachineKey.field(this.settings, MachineKey.rotorShift(position),
+        TYPE_BITS)];
+  }
+
+  /**
+   * Returns the ring setting of the specified rotor.
+   *
+   * @param position The placement of the rotor, 0 to 2 where 2 is the rightmost rotor.
+   * @return The ring setting, as lowercase.
+   * @throws java.lang.IllegalArgumentException If the provided position is invalid.
+   */
+  public char getRingSetting(int position) throws java.lang.IllegalArgumentException {
+    MachineKey.checkPosition(position);
+    return Alphabet.toLetter(MachineKey.field(this.settings,
+        MachineKey.letterShift(RINGS_SHIFT, position), LETTER_BITS));
+  }
+
+  /**
+   * Returns the position of the specified rotor, as seen through the window of the machine.
+   *
+   * @param position The placement of the rotor, 0 to 2 where 2 is the rightmost rotor.
+   * @return The position, as lowercase.
+   * @throws java.lang.IllegalArgumentException If the provided position is invalid.
+   */
+  public char getRotorPosition(int position) throws java.lang.IllegalArgumentException {
+    MachineKey.checkPosition(position);
+    return Alphabet.toLetter(MachineKey.field(this.settings,
+        MachineKey.letterShift(POSITIONS_SHIFT, position), LETTER_BITS));
+  }
+
+  /**
+   * Returns the same key on other rotor positions, such as the message key of a message sent
+   * with the daily key.
+   *
+   * @param positions The positions of the rotors, the leftmost first. E.g. "abc".
+   * @return The key with the given positions.
+   * @throws java.lang.IllegalArgumentException If the positions are not three letters.
+   * @throws java.lang.NullPointerException If the positions are null.
+   */
+  public MachineKey withRotorPositions(String positions)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (positions == null) {
+      throw new java.lang.NullPointerException("Provided positions are null");
+    }
+
+    long mask = (1L << RINGS_SHIFT) - (1L << POSITIONS_SHIFT);
+    long settings = (this.settings & ~mask) | MachineKey.packLetters(positions) << POSITIONS_SHIFT;
+    return new MachineKey(settings, this.plugboard);
+  }
+
+  /**
+   * Creates a new plugboard with the pairs of this key.
+   *
+   * @return The plugboard.
+   */
+  public Plugboard getPlugboard() {
+    return new Plugboard(MachineKey.unrankPlugboard(this.plugboard));
+  }
+
+  /**
+   * Creates a new machine with the components and settings of this key.
+   *
+   * @return The machine.
+   */
+  public EnigmaM3 toEnigma() {
+    Rotor[] rotors = new Rotor[3];
+    for (int i = 0; i < 3; i++) {
+      rotors[i] = new Rotor(this.getRotorType(i), this.getRingSetting(i),
+          this.getRotorPosition(i));
+    }
+    return new EnigmaM3(this.getPlugboard(), new Reflector(this.getReflectorType()), rotors);
+  }
+
+  /**
+   * Creates the specification of the machine of this key. The rotor positions can be taken with
+   * {@link MachineKey#toState()}.
+   *
+   * @return The specification.
+   */
+  public MachineSpec toSpec() {
+    return new MachineSpec(this.getPlugboard(), new Reflector(this.getReflectorType()),
+        new Rotor(this.getRotorType(0), this.getRingSetting(0), 'a'),
+        new Rotor(this.getRotorType(1), this.getRingSetting(1), 'a'),
+        new Rotor(this.getRotorType(2), this.getRingSetting(2), 'a'));
+  }
+
+  /**
+   * Creates the rotor positions of this key.
+   *
+   * @return The rotor positions.
+   */
+  public MachineState toState() {
+    return new MachineState(this.getRotorPosition(0), this.getRotorPosition(1),
+        this.getRotorPosition(2));
+  }
+
+  /**
+   * Counts the ways to swap n letters in pairs, for every n up to 26. The number for n letters is
+   * the number for n - 1 letters, with the first letter unplugged, plus n - 1 times the number for
+   * n - 2 letters, with the first letter plugged to any of the others.
+   *
+   * @return The number of pairings of n letters, at index n.
+   */
+  private static long[] countPairings() {
+    long[] pairings = new long[Alphabet.SIZE + 1];
+    pairings[0] = 1;
+    pairings[1] = 1;
+    for (int n = 2; n < pairings.length; n++) {
+      pairings[n] = pairings[n - 1] + (n - 1) * pairings[n - 2];
+    }
+    return pairings;
+  }
+
+  /**
+   * Computes the rank of the pairs of the given plugboard table among all the ways to swap 26
+   * letters in pairs. Letters are taken in alphabetical order: the first letter left is either
+   * unplugged, which ranks first, or plugged to the j-th of the other letters left.
+   *
+   * @param mappings The index of the letter each letter is swapped with.
+   * @return The rank, between 0 and the number of pairings of 26 letters minus 1.
+   */
+  static long rankPlugboard(byte[] mappings) {
+    long rank = 0;
+
+    int left = ALL_LETTERS;
+    while (left != 0) {
+      final int count = Integer.bitCount(left);
+      final int letter = Integer.numberOfTrailingZeros(left);
+      left &= ~(1 << letter);
+
+      int partner = mappings[letter];
+      if (partner != letter) {
+        int j = Integer.bitCount(left & ((1 << partner) - 1));
+        rank += PAIRINGS[count - 1] + j * PAIRINGS[count - 2];
+        left &= ~(1 << partner);
+      }
+    }
+
+    return rank;
+  }
+
+  /**
+   * Computes the plugboard table with the given rank. See
+   * {@link MachineKey#rankPlugboard(byte[])}.
+   *
+   * @param rank The rank, between 0 and the number of pairings of 26 letters minus 1.
+   * @return The index of the letter each letter is swapped with.
+   */
+  static byte[] unrankPlugboard(long rank) {
+    byte[] mappings = new byte[Alphabet.SIZE];
+    for (int i = 0; i < mappings.length; i++) {
+      mappings[i] = (byte) i;
+    }
+
+    long remaining = rank;
+    int left = ALL_LETTERS;
+    while (left != 0) {
+      final int count = Integer.bitCount(left);
+      final int letter = Integer.numberOfTrailingZeros(left);
+      left &= ~(1 << letter);
+
+      if (remaining >= PAIRINGS[count - 1]) {
+        remaining -= PAIRINGS[count - 1];
+        long j = remaining / PAIRINGS[count - 2];
+        remaining %= PAIRINGS[count - 2];
+
+        int others = left;
+        for (long i = 0; i < j; i++) {
+          others &= others - 1;
+        }
+        int partner = Integer.numberOfTrailingZeros(others);
+        mappings[letter] = (byte) partner;
+        mappings[partner] = (byte) letter;
+        left &= ~(1 << partner);
+      }
+    }
+
+    return mappings;
+  }
+
+  /**
+   * Packs three letters, 5 bits each, the last one on the lowest bits.
+   *
+   * @param letters The letters.
+   * @return The packed letters.
+   * @throws java.lang.IllegalArgumentException If there are not three letters.
+   */
+  private static long packLetters(String letters) throws java.lang.IllegalArgumentException {
+    if (letters.length() != 3) {
+      throw new java.lang.IllegalArgumentException("There must be a letter per rotor");
+    }
+
+    long packed = 0;
+    for (int i = 0; i < 3; i++) {
+      if (!Alphabet.isLetter(letters.charAt(i))) {
+        throw new java.lang.IllegalArgumentException("Ring settings and positions must be letters");
+      }
+      packed |= (long) Alphabet.toIndex(letters.charAt(i)) << MachineKey.letterShift(0, i);
+    }
+    return packed;
+  }
+
+  /**
+   * Returns the position of the bits of the letter of a rotor.
+   *
+   * @param shift The position of the field of the letters.
+   * @param position The placement of the rotor, 0 to 2 where 2 is the rightmost rotor.
+   * @return The position of the first bit of the letter.
+   */
+  private static int letterShift(int shift, int position) {
+    return shift + (2 - position) * LETTER_BITS;
+  }
+
+  /**
+   * Returns the position of the bits of the type of a rotor.
+   *
+   * @param position The placement of the rotor, 0 to 2 where 2 is the rightmost rotor.
+   * @return The position of the first bit of the type.
+   */
+  private static int rotorShift(int position) {
+    return ROTORS_SHIFT + (2 - position) * TYPE_BITS;
+  }
+
+  /**
+   * Reads a field of the settings value.
+   *
+   * @param settings The settings value.
+   * @param shift The position of the first bit of the field.
+   * @param bits The number of bits of the field.
+   * @return The value of the field.
+   */
+  private static int field(long settings, int shift, int bits) {
+    return (int) (settings >>> shift) & ((1 << bits) - 1);
+  }
+
+  /**
+   * Checks that a rotor placement is valid.
+   *
+   * @param position The placement of the rotor.
+   * @throws java.lang.IllegalArgumentException If the placement is not 0, 1 or 2.
+   */
+  private static void checkPosition(int position) throws java.lang.IllegalArgumentException {
+    if (position < 0 || position > 2) {
+      throw new java.lang.IllegalArgumentException("Provided position is invalid");
+    }
+  }
+
+  /**
+   * Finds the catalog type of the given rotor, by its wiring and turn over positions.
+   *
+   * @param rotor The rotor.
+   * @return The type of the rotor.
+   * @throws java.lang.IllegalArgumentException If the rotor is not in the catalog.
+   */
+  private static RotorType rotorTypeOf(Rotor rotor) throws java.lang.IllegalArgumentException {
+    int turnOverMask = RotorStepping.turnOverMask(rotor);
+    for (RotorType type : ROTOR_TYPES) {
+      int typeMask = 0;
+      for (char turnOver : type.getTurnOvers().toCharArray()) {
+        typeMask |= RotorStepping.turnOverMask(turnOver);
+      }
+      if (typeMask == turnOverMask
+          && Arrays.equals(type.getForwardTable(), rotor.getForwardTable())) {
+        return type;
+      }
+    }
+    throw new java.lang.IllegalArgumentException("Rotor " + rotor.getName()
+        + " is not in the catalog");
+  }
+
+  /**
+   * Finds the catalog type of the given reflector, by its wiring.
+   *
+   * @param reflector The reflector.
+   * @return The type of the reflector.
+   * @throws java.lang.IllegalArgumentException If the reflector is not in the catalog.
+   */
+  private static ReflectorType reflectorTypeOf(Reflector reflector)
+      throws java.lang.IllegalArgumentException {
+    for (ReflectorType type : REFLECTOR_TYPES) {
+      if (Arrays.equals(type.getMappingTable(), reflector.getMappingTable())) {
+        return type;
+      }
+    }
+    throw new java.lang.IllegalArgumentException("Reflector is not in the catalog");
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof MachineKey)) {
+      return false;
+    }
+
+    MachineKey other = (MachineKey) obj;
+    return this.settings == other.settings && this.plugboard == other.plugboard;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(this.settings * 31 + this.plugboard);
+  }
+
+  /**
+   * Returns the key in the format "UKW-B I II III aaa abc ab cd", with the reflector, rotor
+   * types, ring settings, positions and plugboard pairs.
+   */
+  @Override
+  public String toString() {
+    StringBuilder key = new StringBuilder(this.getReflectorType().getName());
+    for (int i = 0; i < 3; i++) {
+      key.append(' ').append(this.getRotorType(i).getName());
+    }
+    key.append(' ');
+    for (int i = 0; i < 3; i++) {
+      key.append(this.getRingSetting(i));
+    }
+    key.append(' ');
+    for (int i = 0; i < 3; i++) {
+      key.append(this.getRotorPosition(i));
+    }
+
+    String pairs = this.getPlugboard().toString();
+    if (!pairs.isEmpty()) {
+      key.append(' ').append(pairs);
+    }
+    return key.toString();
+  }
+}
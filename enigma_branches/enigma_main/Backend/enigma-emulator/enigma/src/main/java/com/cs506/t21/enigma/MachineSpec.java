@@ -0,0 +1,417 @@
+package com.cs506.t21.enigma;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * The immutable part of an enigma machine: the wiring, turn over positions and ring settings of
+ * its rotors, its reflector and its plugboard. A specification has no rotor positions, those are
+ * kept in a {@link MachineState}, hence a single specification can be shared by any number of
+ * threads, each one encrypting with its own state.
+ *
+ * <p>
+ * The specification shares the wiring tables of the rotors and the reflector it is created from,
+ * which are replaced rather than changed when a component is rewired, and copies the plugboard,
+ * which is changed in place. Changes made afterwards to those components are not seen by this
+ * object. Rotors step the same way as in
+ * {@link EnigmaM3#translate(char)}, hence a specification and a state produce the same output as
+ * the machine they were taken from.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class MachineSpec {
+
+  // Index marking a character translateIndices leaves untouched.
+  private static final byte SKIPPED_INDEX = -1;
+
+  // Names of the left, middle and right rotors.
+  private final String[] rotorNames;
+
+  // Wiring of the rotors, as letter indices.
+  private final byte[] leftForward;
+  private final byte[] leftBackward;
+  private final byte[] middleForward;
+  private final byte[] middleBackward;
+  private final byte[] rightForward;
+  private final byte[] rightBackward;
+
+  // Wiring of the reflector and the plugboard, as letter indices.
+  private final byte[] reflectorTable;
+  private final byte[] plugboardTable;
+
+  // Ring settings of the rotors, as letter indices.
+  private final int leftRing;
+  private final int middleRing;
+  private final int rightRing;
+
+  // Turn over positions of the middle and right rotors, see RotorStepping.
+  private final int middleTurnOverMask;
+  private final int rightTurnOverMask;
+
+  // Shared stepping table of the turn over positions, looked up once so stepping never allocates.
+  private final SteppingTable steppingTable;
+
+  // Computed once, since specifications are used as keys of CompiledMachineCache.
+  private final int hashCode;
+
+  /**
+   * Creates the specification of a machine with the given components.
+   *
+   * @param plugboard The plugboard of the machine.
+   * @param reflector The reflector of the machine.
+   * @param left The leftmost rotor.
+   * @param middle The middle rotor.
+   * @param right The rightmost rotor, the first one to encrypt a letter.
+   * @throws java.lang.NullPointerException If any of the components is null.
+   */
+  public MachineSpec(Plugboard plugboard, Reflector reflector, Rotor left, Rotor middle,
+      Rotor right) throws java.lang.NullPointerException {
+    if (plugboard == null || reflector == null || left == null || middle == null
+        || right == null) {
+      throw new java.lang.NullPointerException("Machine components cannot be null");
+    }
+
+    this.rotorNames = new String[] {left.getName(), middle.getName(), right.getName()};
+
+    this.leftForward = left.getForwardTable();
+    this.leftBackward = left.getBackwardTable();
+    this.middleForward = middle.getForwardTable();
+    this.middleBackward = middle.getBackwardTable();
+    this.rightForward = right.getForwardTable();
+    this.rightBackward = right.getBackwardTable();
+    this.reflectorTable = reflector.getMappingTable();
+    this.plugboardTable = plugboard.getMappingTable().clone();
+
+    this.leftRing = Alphabet.toIndex(left.getRingSetting());
+    this.middleRing = Alphabet.toIndex(middle.getRingSetting());
+    this.rightRing = Alphabet.toIndex(right.getRingSetting());
+
+    this.middleTurnOverMask = RotorStepping.turnOverMask(middle);
+    this.rightTurnOverMask = RotorStepping.turnOverMask(right);
+    this.steppingTable = SteppingTable.of(this.middleTurnOverMask, this.rightTurnOverMask);
+    this.hashCode = this.computeHashCode();
+  }
+
+  /**
+   * Creates the specification of the given machine. The rotor positions of the machine can be
+   * taken with {@link MachineState#of(EnigmaM3)}.
+   *
+   * @param enigma The machine.
+   * @return The specification of the machine.
+   * @throws java.lang.NullPointerException If the machine is null.
+   */
+  public static MachineSpec of(EnigmaM3 enigma) throws java.lang.NullPointerException {
+    if (enigma == null) {
+      throw new java.lang.NullPointerException("Provided enigma machine is null");
+    }
+
+    return new MachineSpec(enigma.getPlugboard(), enigma.getReflector(), enigma.getRotor(0),
+        enigma.getRotor(1), enigma.getRotor(2));
+  }
+
+  /**
+   * Returns the name of the specified rotor.
+   *
+   * @param position The placement of the rotor. Possible values are 0, 1, 2, where position 2
+   *        represents the rightmost rotor.
+   * @return The name of the rotor.
+   * @throws java.lang.IllegalArgumentException If the provided position is invalid.
+   */
+  public String getRotorName(int position) throws java.lang.IllegalArgumentException {
+    if (position < 0 || position > 2) {
+      throw new java.lang.IllegalArgumentException("Provided position is invalid");
+    }
+    return this.rotorNames[position];
+  }
+
+  /**
+   * Returns the turn over positions of the middle rotor. See {@link RotorStepping}.
+   *
+   * @return The turn over mask of the middle rotor.
+   */
+  int getMiddleTurnOverMask() {
+    return this.middleTurnOverMask;
+  }
+
+  /**
+   * Returns the turn over positions of the right rotor. See {@link RotorStepping}.
+   *
+   * @return The turn over mask of the right rotor.
+   */
+  int getRightTurnOverMask() {
+    return this.rightTurnOverMask;
+  }
+
+  /**
+   * Returns the forward wiring table of the specified rotor, as letter indices. The returned
+   * array is shared with this specification and must not be modified.
+   *
+   * @param position The placement of the rotor, 0 to 2 where 2 is the rightmost rotor.
+   * @return The wiring table as seen from the input wheel to the reflector.
+   */
+  byte[] getForwardTable(int position) {
+    return position == 0 ? this.leftForward
+        : position == 1 ? this.middleForward : this.rightForward;
+  }
+
+  /**
+   * Returns the backward wiring table of the specified rotor, as letter indices. The returned
+   * array is shared with this specification and must not be modified.
+   *
+   * @param position The placement of the rotor, 0 to 2 where 2 is the rightmost rotor.
+   * @return The wiring table as seen from the reflector to the input wheel.
+   */
+  byte[] getBackwardTable(int position) {
+    return position == 0 ? this.leftBackward
+        : position == 1 ? this.middleBackward : this.rightBackward;
+  }
+
+  /**
+   * Returns the ring setting of the specified rotor, as a letter index.
+   *
+   * @param position The placement of the rotor, 0 to 2 where 2 is the rightmost rotor.
+   * @return The ring setting, where 0 is 'a'.
+   */
+  int getRing(int position) {
+    return position == 0 ? this.leftRing : position == 1 ? this.middleRing : this.rightRing;
+  }
+
+  /**
+   * Returns the wiring table of the reflector, as letter indices. The returned array is shared
+   * with this specification and must not be modified.
+   *
+   * @return The index of the letter each letter is swapped with.
+   */
+  byte[] getReflectorTable() {
+    return this.reflectorTable;
+  }
+
+  /**
+   * Returns the wiring table of the plugboard, as letter indices. The returned array is shared
+   * with this specification and must not be modified.
+   *
+   * @return The index of the letter each letter is swapped with.
+   */
+  byte[] getPlugboardTable() {
+    return this.plugboardTable;
+  }
+
+  /**
+   * Steps the rotors of the given state as it happens when a key is pressed.
+   *
+   * @param state The state to be stepped.
+   */
+  public void step(MachineState state) {
+    if ((this.rightTurnOverMask & (1 << state.right)) != 0) {
+      if ((this.middleTurnOverMask & (1 << state.middle)) != 0) {
+        state.left = Alphabet.wrap(state.left + 1);
+      }
+      state.middle = Alphabet.wrap(state.middle + 1);
+    }
+    state.right = Alphabet.wrap(state.right + 1);
+  }
+
+  /**
+   * Moves the rotors of the given state to the positions they would have after the given number of
+   * key presses. See {@link EnigmaM3#advance(long)}.
+   *
+   * @param state The state to be moved.
+   * @param keyPresses The number of key presses to skip.
+   * @throws java.lang.IllegalArgumentException If the number of key presses is negative.
+   */
+  public void advance(MachineState state, long keyPresses)
+      throws java.lang.IllegalArgumentException {
+    if (keyPresses < 0) {
+      throw new java.lang.IllegalArgumentException("Number of key presses cannot be negative");
+    }
+
+    int[] positions = {state.left, state.middle, state.right};
+    RotorStepping.advance(positions, this.middleTurnOverMask, this.rightTurnOverMask, keyPresses);
+
+    state.left = positions[0];
+    state.middle = positions[1];
+    state.right = positions[2];
+  }
+
+  /**
+   * Encrypts the letter the same way {@link EnigmaM3#translate(char)} does, stepping the rotors
+   * of the given state before the letter is encrypted.
+   *
+   * @param state The rotor positions of the machine.
+   * @param letter The letter to be encrypted.
+   * @return The encrypted letter, as lowercase.
+   * @throws java.lang.IllegalArgumentException If the character is not an english letter.
+   */
+  public char translate(MachineState state, char letter)
+      throws java.lang.IllegalArgumentException {
+    return Alphabet.toLetter(this.translateIndex(state, Alphabet.toIndex(letter)));
+  }
+
+  /**
+   * Encrypts the characters in the given range of the input array, and writes the result to the
+   * output array, the same way {@link EnigmaM3#translate(char[], int, int, char[], int)} does.
+   * Spaces are copied to the output without stepping the rotors.
+   *
+   * <p>
+   * The whole input is validated before any letter is encrypted, so if an exception is thrown the
+   * state is not changed. The input and output ranges must either be the same range or not
+   * overlap.
+   * </p>
+   *
+   * @param state The rotor positions of the machine.
+   * @param input The characters to be encrypted.
+   * @param inputOffset The position of the first character to be encrypted.
+   * @param length The number of characters to be encrypted.
+   * @param output The array the encrypted characters are written to, as lowercase letters.
+   * @param outputOffset The position of the output array the first character is written to.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.IndexOutOfBoundsException If any range is outside of its array.
+   */
+  public void translate(MachineState state, char[] input, int inputOffset, int length,
+      char[] output, int outputOffset)
+      throws java.lang.IllegalArgumentException, java.lang.IndexOutOfBoundsException {
+    Alphabet.checkText(input, inputOffset, length);
+    Objects.checkFromIndexSize(outputOffset, length, output.length);
+
+    for (int i = 0; i < length; i++) {
+      char character = input[inputOffset + i];
+      output[outputOffset + i] = character == Alphabet.SPACE
+          ? Alphabet.SPACE
+          : Alphabet.toLetter(this.translateIndex(state, Alphabet.toIndex(character)));
+    }
+  }
+
+  /**
+   * Encrypts the letter with the given index, stepping the rotors of the given state before the
+   * letter is encrypted. Works the same way as
+   * {@link MachineSpec#translate(MachineState, char) translate}, but the input is not validated.
+   *
+   * <p>Precondition: The index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param state The rotor positions of the machine.
+   * @param index The index of the letter to be encrypted.
+   * @return The index of the encrypted letter.
+   */
+  public int translateIndex(MachineState state, int index) {
+    this.step(state);
+    return this.encryptIndex(state.left, state.middle, state.right, index);
+  }
+
+  /**
+   * Encrypts a sequence of letter indices in place, stepping the rotors of the given state. Works
+   * the same way as {@link EnigmaM3#translateIndices(byte[], int, int)}: the rotors step with a
+   * lookup in the shared {@link SteppingTable}, and indices equal to -1 are left untouched and do
+   * not step the rotors.
+   *
+   * <p>Precondition: Every index must be between 0 and 25, or -1. See {@link Alphabet}.</p>
+   *
+   * @param state The rotor positions of the machine.
+   * @param indices The letter indices to be encrypted.
+   * @param offset The position of the first index to be encrypted.
+   * @param length The number of indices to be encrypted.
+   * @throws java.lang.IndexOutOfBoundsException If the range is outside of the array.
+   */
+  public void translateIndices(MachineState state, byte[] indices, int offset, int length)
+      throws java.lang.IndexOutOfBoundsException {
+    Objects.checkFromIndexSize(offset, length, indices.length);
+
+    final SteppingTable stepping = this.steppingTable;
+    int positions = SteppingTable.encode(state.left, state.middle, state.right);
+
+    for (int i = offset; i < offset + length; i++) {
+      if (indices[i] != SKIPPED_INDEX) {
+        positions = stepping.next(positions);
+        indices[i] = (byte) this.encryptIndex(SteppingTable.leftPosition(positions),
+            SteppingTable.middlePosition(positions), SteppingTable.rightPosition(positions),
+            indices[i]);
+      }
+    }
+
+    state.left = SteppingTable.leftPosition(positions);
+    state.middle = SteppingTable.middlePosition(positions);
+    state.right = SteppingTable.rightPosition(positions);
+  }
+
+  /**
+   * Encrypts the letter with the given index on the given rotor positions, without stepping the
+   * rotors. Search tools use it to tabulate the scrambler of every rotor position.
+   *
+   * <p>Precondition: Every index and position must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param left Position of the leftmost rotor.
+   * @param middle Position of the middle rotor.
+   * @param right Position of the rightmost rotor.
+   * @param index The index of the letter to be encrypted.
+   * @return The index of the encrypted letter.
+   */
+  public int encryptIndex(int left, int middle, int right, int index) {
+    final int leftDelta = Alphabet.wrap(left - this.leftRing);
+    final int middleDelta = Alphabet.wrap(middle - this.middleRing);
+    final int rightDelta = Alphabet.wrap(right - this.rightRing);
+
+    index = this.plugboardTable[index];
+    index = Alphabet.wrap(this.rightForward[Alphabet.wrap(index + rightDelta)] - rightDelta);
+    index = Alphabet.wrap(this.middleForward[Alphabet.wrap(index + middleDelta)] - middleDelta);
+    index = Alphabet.wrap(this.leftForward[Alphabet.wrap(index + leftDelta)] - leftDelta);
+    index = this.reflectorTable[index];
+    index = Alphabet.wrap(this.leftBackward[Alphabet.wrap(index + leftDelta)] - leftDelta);
+    index = Alphabet.wrap(this.middleBackward[Alphabet.wrap(index + middleDelta)] - middleDelta);
+    index = Alphabet.wrap(this.rightBackward[Alphabet.wrap(index + rightDelta)] - rightDelta);
+    return this.plugboardTable[index];
+  }
+
+  /**
+   * Checks whether the given object is a specification with the same wiring, turn over positions
+   * and ring settings. Rotor names are not compared, since they do not change the encryption.
+   *
+   * @param obj The object to be compared.
+   * @return {@code true} if both specifications encrypt the same way.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MachineSpec)) {
+      return false;
+    }
+
+    MachineSpec other = (MachineSpec) obj;
+    return this.hashCode == other.hashCode
+        && this.leftRing == other.leftRing
+        && this.middleRing == other.middleRing
+        && this.rightRing == other.rightRing
+        && this.middleTurnOverMask == other.middleTurnOverMask
+        && this.rightTurnOverMask == other.rightTurnOverMask
+        && Arrays.equals(this.leftForward, other.leftForward)
+        && Arrays.equals(this.middleForward, other.middleForward)
+        && Arrays.equals(this.rightForward, other.rightForward)
+        && Arrays.equals(this.reflectorTable, other.reflectorTable)
+        && Arrays.equals(this.plugboardTable, other.plugboardTable);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hashCode;
+  }
+
+  /**
+   * Computes the hash code of the components compared by {@link MachineSpec#equals(Object)}. The
+   * backward tables are left out, since they follow from the forward ones.
+   *
+   * @return The hash code.
+   */
+  private int computeHashCode() {
+    int result = Arrays.hashCode(this.leftForward);
+    result = 31 * result + Arrays.hashCode(this.middleForward);
+    result = 31 * result + Arrays.hashCode(this.rightForward);
+    result = 31 * result + Arrays.hashCode(this.reflectorTable);
+    result = 31 * result + Arrays.hashCode(this.plugboardTable);
+    result = 31 * result + (this.leftRing * Alphabet.SIZE + this.middleRing) * Alphabet.SIZE
+        + this.rightRing;
+    result = 31 * result + this.middleTurnOverMask;
+    return 31 * result + this.rightTurnOverMask;
+  }
+}
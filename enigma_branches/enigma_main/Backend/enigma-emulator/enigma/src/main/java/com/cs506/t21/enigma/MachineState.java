@@ -0,0 +1,156 @@
+package com.cs506.t21.enigma;
+
+
+/**
+ * The positions of the three rotors of an enigma machine, as seen through the window of the
+ * machine. This is the only part of a machine that changes while a message is encrypted, the rest
+ * of the machine is described by a {@link MachineSpec}.
+ *
+ * <p>
+ * A state is a few bytes in size, so an application can fork a machine, for example to encrypt a
+ * message on several threads or to try different branches of a search, by copying its state and
+ * sharing the same {@link MachineSpec}. A state must not be used by several threads at once.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class MachineState {
+
+  // Positions of the left, middle and right rotors, as letter indices where 0 is 'a'.
+  int left;
+  int middle;
+  int right;
+
+  /**
+   * Creates a state with the rotors on the given positions.
+   *
+   * @param left Position of the leftmost rotor.
+   * @param middle Position of the middle rotor.
+   * @param right Position of the rightmost rotor.
+   * @throws java.lang.IllegalArgumentException If any of the positions is not an english letter.
+   */
+  public MachineState(char left, char middle, char right)
+      throws java.lang.IllegalArgumentException {
+    this.setPositions(left, middle, right);
+  }
+
+  /**
+   * Creates a state with the rotors on the given letter indices. The indices are not validated.
+   *
+   * @param left Position of the leftmost rotor, between 0 and 25.
+   * @param middle Position of the middle rotor, between 0 and 25.
+   * @param right Position of the rightmost rotor, between 0 and 25.
+   */
+  MachineState(int left, int middle, int right) {
+    this.left = left;
+    this.middle = middle;
+    this.right = right;
+  }
+
+  /**
+   * Creates a state with the current rotor positions of the given machine.
+   *
+   * @param enigma The machine whose rotor positions are copied.
+   * @return The state of the machine.
+   * @throws java.lang.NullPointerException If the machine is null.
+   */
+  public static MachineState of(EnigmaM3 enigma) throws java.lang.NullPointerException {
+    if (enigma == null) {
+      throw new java.lang.NullPointerException("Provided enigma machine is null");
+    }
+
+    return new MachineState(enigma.getRotor(0).getCurrentPosition(),
+        enigma.getRotor(1).getCurrentPosition(), enigma.getRotor(2).getCurrentPosition());
+  }
+
+  /**
+   * Returns a copy of this state, which can be stepped without changing this state.
+   *
+   * @return A copy of this state.
+   */
+  public MachineState copy() {
+    return new MachineState(this.left, this.middle, this.right);
+  }
+
+  /**
+   * Moves the rotors to the specified positions.
+   *
+   * @param left Position of the leftmost rotor.
+   * @param middle Position of the middle rotor.
+   * @param right Position of the rightmost rotor.
+   * @throws java.lang.IllegalArgumentException If any of the positions is not an english letter.
+   */
+  public void setPositions(char left, char middle, char right)
+      throws java.lang.IllegalArgumentException {
+    if (!Alphabet.isLetter(left) || !Alphabet.isLetter(middle) || !Alphabet.isLetter(right)) {
+      throw new java.lang.IllegalArgumentException("Rotor positions must be letters");
+    }
+
+    this.left = Alphabet.toIndex(left);
+    this.middle = Alphabet.toIndex(middle);
+    this.right = Alphabet.toIndex(right);
+  }
+
+  /**
+   * Returns the position of the specified rotor.
+   *
+   * @param position The placement of the rotor. Possible values are 0, 1, 2, where position 2
+   *        represents the rightmost rotor.
+   * @return The letter seen through the window for that rotor, as lowercase.
+   * @throws java.lang.IllegalArgumentException If the provided position is invalid.
+   */
+  public char getPosition(int position) throws java.lang.IllegalArgumentException {
+    switch (position) {
+      case 0:
+        return Alphabet.toLetter(this.left);
+      case 1:
+        return Alphabet.toLetter(this.middle);
+      case 2:
+        return Alphabet.toLetter(this.right);
+      default:
+        throw new java.lang.IllegalArgumentException("Provided position is invalid");
+    }
+  }
+
+  /**
+   * Copies the positions of this state to the rotors of the given machine.
+   *
+   * @param enigma The machine whose rotors are moved.
+   * @throws java.lang.NullPointerException If the machine is null.
+   */
+  public void applyTo(EnigmaM3 enigma) throws java.lang.NullPointerException {
+    if (enigma == null) {
+      throw new java.lang.NullPointerException("Provided enigma machine is null");
+    }
+
+    enigma.getRotor(0).setCurrentPosition(Alphabet.toLetter(this.left));
+    enigma.getRotor(1).setCurrentPosition(Alphabet.toLetter(this.middle));
+    enigma.getRotor(2).setCurrentPosition(Alphabet.toLetter(this.right));
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof MachineState)) {
+      return false;
+    }
+
+    MachineState other = (MachineState) obj;
+    return this.left == other.left && this.middle == other.middle && this.right == other.right;
+  }
+
+  @Override
+  public int hashCode() {
+    return (this.left * Alphabet.SIZE + this.middle) * Alphabet.SIZE + this.right;
+  }
+
+  /**
+   * Returns the rotor positions as a string of three lowercase letters, the leftmost rotor
+   * first.
+   */
+  @Override
+  public String toString() {
+    return new String(new char[] {
+        Alphabet.toLetter(this.left), Alphabet.toLetter(this.middle), Alphabet.toLetter(this.right)
+    });
+  }
+}
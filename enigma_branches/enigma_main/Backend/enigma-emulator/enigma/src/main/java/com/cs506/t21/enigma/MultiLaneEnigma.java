@@ -0,0 +1,364 @@
+package com.cs506.t21.enigma;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * Runs many independent machines, called lanes, at once. Every lane has its own
+ * {@link MachineSpec} and {@link MachineState}, so lanes may use different keys, or the same key
+ * on different rotor positions.
+ *
+ * <p>
+ * The tables and rotor positions of all the lanes are kept in flat arrays, one array per
+ * component, instead of one object per machine. A key press is done one stage at a time for all
+ * the lanes, so every stage is a short loop over contiguous arrays that the JIT compiler can
+ * unroll, and that keeps the tables of all the lanes in cache. This is meant for workloads that
+ * apply the same operations to hundreds of machines, such as key searches, or encrypting a
+ * message for many recipients.
+ * </p>
+ *
+ * <p>
+ * Lanes may also encrypt different messages, each one with the key of its lane, in a single call.
+ * Letters of all the messages are interleaved, one letter per lane on every key press, and lanes
+ * whose message is shorter stop stepping once their message is done.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class MultiLaneEnigma {
+
+  // Number of letters in the alphabet, and size of every table of a lane.
+  private static final int LETTERS = Alphabet.SIZE;
+
+  private final int lanes;
+
+  // Tables of every lane. The table of lane l starts at index l * 26.
+  private final byte[] plugboard;
+  private final byte[] reflector;
+  private final byte[] leftForward;
+  private final byte[] leftBackward;
+  private final byte[] middleForward;
+  private final byte[] middleBackward;
+  private final byte[] rightForward;
+  private final byte[] rightBackward;
+
+  // Ring settings and turn over positions of every lane, see RotorStepping.
+  private final int[] leftRing;
+  private final int[] middleRing;
+  private final int[] rightRing;
+  private final int[] middleTurnOverMask;
+  private final int[] rightTurnOverMask;
+
+  // Rotor positions of every lane, as letter indices.
+  private final int[] left;
+  private final int[] middle;
+  private final int[] right;
+
+  // Letter index each lane is working on during a key press.
+  private final int[] work;
+
+  // Whether each lane presses a key, 1, or is idle, 0, during a key press. Idle lanes do not step
+  // and their work index is ignored. Every lane presses a key unless a batch of messages is being
+  // encrypted.
+  private final int[] steps;
+
+  // Position of the next character of every message of a batch.
+  private final int[] cursors;
+
+  /**
+   * Creates an engine with a lane for every specification. Lane i uses specification i, and starts
+   * on the rotor positions of state i.
+   *
+   * @param specs The specification of every lane.
+   * @param states The starting rotor positions of every lane. Must have as many states as
+   *        specifications. The states are copied, hence they are not changed by this engine.
+   * @throws java.lang.IllegalArgumentException If there are no lanes, or the number of
+   *         specifications and states differ.
+   * @throws java.lang.NullPointerException If any specification or state is null.
+   */
+  public MultiLaneEnigma(MachineSpec[] specs, MachineState[] states)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (specs == null || states == null) {
+      throw new java.lang.NullPointerException("Specifications and states cannot be null");
+    }
+    if (specs.length == 0 || specs.length != states.length) {
+      throw new java.lang.IllegalArgumentException(
+          "There must be as many states as specifications, and at least one");
+    }
+
+    this.lanes = specs.length;
+    this.plugboard = new byte[this.lanes * LETTERS];
+    this.reflector = new byte[this.lanes * LETTERS];
+    this.leftForward = new byte[this.lanes * LETTERS];
+    this.leftBackward = new byte[this.lanes * LETTERS];
+    this.middleForward = new byte[this.lanes * LETTERS];
+    this.middleBackward = new byte[this.lanes * LETTERS];
+    this.rightForward = new byte[this.lanes * LETTERS];
+    this.rightBackward = new byte[this.lanes * LETTERS];
+    this.leftRing = new int[this.lanes];
+    this.middleRing = new int[this.lanes];
+    this.rightRing = new int[this.lanes];
+    this.middleTurnOverMask = new int[this.lanes];
+    this.rightTurnOverMask = new int[this.lanes];
+    this.left = new int[this.lanes];
+    this.middle = new int[this.lanes];
+    this.right = new int[this.lanes];
+    this.work = new int[this.lanes];
+    this.steps = new int[this.lanes];
+    this.cursors = new int[this.lanes];
+    Arrays.fill(this.steps, 1);
+
+    for (int lane = 0; lane < this.lanes; lane++) {
+      MachineSpec spec = Objects.requireNonNull(specs[lane], "Provided specification is null");
+      final MachineState state = Objects.requireNonNull(states[lane], "Provided state is null");
+      int start = lane * LETTERS;
+
+      System.arraycopy(spec.getPlugboardTable(), 0, this.plugboard, start, LETTERS);
+      System.arraycopy(spec.getReflectorTable(), 0, this.reflector, start, LETTERS);
+      System.arraycopy(spec.getForwardTable(0), 0, this.leftForward, start, LETTERS);
+      System.arraycopy(spec.getBackwardTable(0), 0, this.leftBackward, start, LETTERS);
+      System.arraycopy(spec.getForwardTable(1), 0, this.middleForward, start, LETTERS);
+      System.arraycopy(spec.getBackwardTable(1), 0, this.middleBackward, start, LETTERS);
+      System.arraycopy(spec.getForwardTable(2), 0, this.rightForward, start, LETTERS);
+      System.arraycopy(spec.getBackwardTable(2), 0, this.rightBackward, start, LETTERS);
+
+      this.leftRing[lane] = spec.getRing(0);
+      this.middleRing[lane] = spec.getRing(1);
+      this.rightRing[lane] = spec.getRing(2);
+      this.middleTurnOverMask[lane] = spec.getMiddleTurnOverMask();
+      this.rightTurnOverMask[lane] = spec.getRightTurnOverMask();
+
+      this.left[lane] = state.left;
+      this.middle[lane] = state.middle;
+      this.right[lane] = state.right;
+    }
+  }
+
+  /**
+   * Returns the number of lanes of this engine.
+   *
+   * @return The number of lanes.
+   */
+  public int getLanes() {
+    return this.lanes;
+  }
+
+  /**
+   * Returns the current rotor positions of the specified lane.
+   *
+   * @param lane The lane.
+   * @return A copy of the rotor positions of the lane.
+   * @throws java.lang.IndexOutOfBoundsException If the lane does not exist.
+   */
+  public MachineState getState(int lane) throws java.lang.IndexOutOfBoundsException {
+    Objects.checkIndex(lane, this.lanes);
+    return new MachineState(this.left[lane], this.middle[lane], this.right[lane]);
+  }
+
+  /**
+   * Presses a key on every lane. Lane i encrypts the letter with index input[i], and writes the
+   * result to output[i]. Works the same way as calling {@link EnigmaM3#translateIndex(int)} on
+   * every machine.
+   *
+   * <p>Precondition: Every index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param input The index of the letter every lane encrypts. Must have an index per lane.
+   * @param output The array the encrypted indices are written to. May be the input array.
+   * @throws java.lang.IllegalArgumentException If any array does not have an index per lane.
+   */
+  public void translateIndices(byte[] input, byte[] output)
+      throws java.lang.IllegalArgumentException {
+    if (input.length != this.lanes || output.length != this.lanes) {
+      throw new java.lang.IllegalArgumentException("Arrays must have an index per lane");
+    }
+
+    for (int lane = 0; lane < this.lanes; lane++) {
+      this.work[lane] = input[lane];
+    }
+    this.pressKey();
+    for (int lane = 0; lane < this.lanes; lane++) {
+      output[lane] = (byte) this.work[lane];
+    }
+  }
+
+  /**
+   * Encrypts the same sequence of letter indices on every lane, as when a message is sent to many
+   * recipients with a different key each. The result of lane i is written to outputs[i].
+   *
+   * <p>Precondition: Every index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param input The letter indices to be encrypted.
+   * @param offset The position of the first index to be encrypted.
+   * @param length The number of indices to be encrypted.
+   * @param outputs The arrays the encrypted indices of every lane are written to, starting on
+   *        position 0. Must have an array per lane.
+   * @throws java.lang.IllegalArgumentException If there is not an output array per lane.
+   * @throws java.lang.IndexOutOfBoundsException If the range is outside of the input array, or
+   *         any output array is shorter than the range.
+   */
+  public void translateIndices(byte[] input, int offset, int length, byte[][] outputs)
+      throws java.lang.IllegalArgumentException, java.lang.IndexOutOfBoundsException {
+    Objects.checkFromIndexSize(offset, length, input.length);
+    if (outputs.length != this.lanes) {
+      throw new java.lang.IllegalArgumentException("There must be an output array per lane");
+    }
+    for (byte[] output : outputs) {
+      Objects.checkFromIndexSize(0, length, output.length);
+    }
+
+    for (int i = 0; i < length; i++) {
+      Arrays.fill(this.work, input[offset + i]);
+      this.pressKey();
+      for (int lane = 0; lane < this.lanes; lane++) {
+        outputs[lane][i] = (byte) this.work[lane];
+      }
+    }
+  }
+
+  /**
+   * Encrypts a different message on every lane, with the key of the lane. Lane i encrypts
+   * inputs[i] and writes the result to outputs[i], the same way as calling
+   * {@link EnigmaM3#translate(char[], int, int, char[], int)} on every machine. Letters are
+   * encrypted and spaces are copied to the output without stepping the rotors.
+   *
+   * <p>
+   * The messages are interleaved: every key press encrypts the next letter of every message that
+   * is not done yet. Every character is validated before any letter is encrypted.
+   * </p>
+   *
+   * @param inputs The message of every lane. Must have a message per lane.
+   * @param outputs The arrays the encrypted messages are written to, as lowercase letters. Must
+   *        have an array per lane, at least as long as the message of the lane. Any array may be
+   *        the message of the lane.
+   * @throws java.lang.IllegalArgumentException If there is not a message and an output per lane,
+   *         or any character is neither a letter nor a space.
+   * @throws java.lang.IndexOutOfBoundsException If any output array is shorter than its message.
+   * @throws java.lang.NullPointerException If any message or output array is null.
+   */
+  public void translate(char[][] inputs, char[][] outputs)
+      throws java.lang.IllegalArgumentException, java.lang.IndexOutOfBoundsException,
+      java.lang.NullPointerException {
+    if (inputs.length != this.lanes || outputs.length != this.lanes) {
+      throw new java.lang.IllegalArgumentException("There must be a message and output per lane");
+    }
+    for (int lane = 0; lane < this.lanes; lane++) {
+      char[] input = Objects.requireNonNull(inputs[lane], "Provided message is null");
+      Objects.checkFromIndexSize(0, input.length,
+          Objects.requireNonNull(outputs[lane], "Provided output is null").length);
+      Alphabet.checkText(input, 0, input.length);
+    }
+
+    Arrays.fill(this.cursors, 0);
+    try {
+      while (this.loadNextLetters(inputs, outputs)) {
+        this.pressKey();
+        for (int lane = 0; lane < this.lanes; lane++) {
+          if (this.steps[lane] != 0) {
+            outputs[lane][this.cursors[lane]++] = Alphabet.toLetter(this.work[lane]);
+          }
+        }
+      }
+    } finally {
+      Arrays.fill(this.steps, 1);
+    }
+  }
+
+  /**
+   * Moves every message of a batch to its next letter, copying the spaces on the way to the
+   * output, and loads that letter in the work array. Lanes whose message is done are left idle.
+   *
+   * @param inputs The message of every lane.
+   * @param outputs The output array of every lane.
+   * @return {@code true} if any lane has a letter to encrypt.
+   */
+  private boolean loadNextLetters(char[][] inputs, char[][] outputs) {
+    boolean pending = false;
+
+    for (int lane = 0; lane < this.lanes; lane++) {
+      final char[] input = inputs[lane];
+      int cursor = this.cursors[lane];
+      while (cursor < input.length && input[cursor] == Alphabet.SPACE) {
+        outputs[lane][cursor++] = Alphabet.SPACE;
+      }
+      this.cursors[lane] = cursor;
+
+      if (cursor < input.length) {
+        this.work[lane] = Alphabet.toIndex(input[cursor]);
+        this.steps[lane] = 1;
+        pending = true;
+      } else {
+        this.work[lane] = 0;
+        this.steps[lane] = 0;
+      }
+    }
+
+    return pending;
+  }
+
+  /**
+   * Steps the rotors of every lane that presses a key, and encrypts the letter index of every
+   * lane on the work array, one stage at a time.
+   */
+  private void pressKey() {
+    final int lanes = this.lanes;
+    final int[] work = this.work;
+    final int[] left = this.left;
+    final int[] middle = this.middle;
+    final int[] right = this.right;
+    final int[] steps = this.steps;
+
+    // Step rotors, the same way as MachineSpec.step does. Idle lanes have a step of 0, so none of
+    // their rotors move.
+    for (int lane = 0; lane < lanes; lane++) {
+      int step = steps[lane];
+      int middleStep = step & (this.rightTurnOverMask[lane] >>> right[lane]);
+      int leftStep = middleStep & (this.middleTurnOverMask[lane] >>> middle[lane]);
+      left[lane] = Alphabet.wrap(left[lane] + leftStep);
+      middle[lane] = Alphabet.wrap(middle[lane] + middleStep);
+      right[lane] = Alphabet.wrap(right[lane] + step);
+    }
+
+    MultiLaneEnigma.substitute(work, this.plugboard, lanes);
+    MultiLaneEnigma.encrypt(work, this.rightForward, right, this.rightRing, lanes);
+    MultiLaneEnigma.encrypt(work, this.middleForward, middle, this.middleRing, lanes);
+    MultiLaneEnigma.encrypt(work, this.leftForward, left, this.leftRing, lanes);
+    MultiLaneEnigma.substitute(work, this.reflector, lanes);
+    MultiLaneEnigma.encrypt(work, this.leftBackward, left, this.leftRing, lanes);
+    MultiLaneEnigma.encrypt(work, this.middleBackward, middle, this.middleRing, lanes);
+    MultiLaneEnigma.encrypt(work, this.rightBackward, right, this.rightRing, lanes);
+    MultiLaneEnigma.substitute(work, this.plugboard, lanes);
+  }
+
+  /**
+   * Runs the letter index of every lane through a fixed substitution, such as the plugboard.
+   *
+   * @param work The letter index of every lane. Updated in place.
+   * @param tables The substitution table of every lane.
+   * @param lanes The number of lanes.
+   */
+  private static void substitute(int[] work, byte[] tables, int lanes) {
+    for (int lane = 0; lane < lanes; lane++) {
+      work[lane] = tables[lane * LETTERS + work[lane]];
+    }
+  }
+
+  /**
+   * Runs the letter index of every lane through a rotor, the same way
+   * {@link Rotor#encryptIndex(int, boolean)} does.
+   *
+   * @param work The letter index of every lane. Updated in place.
+   * @param tables The wiring table of the rotor of every lane.
+   * @param positions The position of the rotor of every lane.
+   * @param rings The ring setting of the rotor of every lane.
+   * @param lanes The number of lanes.
+   */
+  private static void encrypt(int[] work, byte[] tables, int[] positions, int[] rings,
+      int lanes) {
+    for (int lane = 0; lane < lanes; lane++) {
+      int delta = Alphabet.wrap(positions[lane] - rings[lane]);
+      int index = tables[lane * LETTERS + Alphabet.wrap(work[lane] + delta)];
+      work[lane] = Alphabet.wrap(index - delta);
+    }
+  }
+}
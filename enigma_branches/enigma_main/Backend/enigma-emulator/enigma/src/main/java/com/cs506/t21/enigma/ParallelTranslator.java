@@ -0,0 +1,160 @@
+package com.cs506.t21.enigma;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+ * Encrypts long messages on several threads. The message is split into chunks, and every chunk is
+ * encrypted with the {@link MachineSpec} of the machine and its own {@link MachineState}, which is
+ * moved to the rotor positions the machine would have on the first letter of the chunk.
+ *
+ * <p>
+ * The output, and the positions the rotors are left on, are the same as the ones of
+ * {@link EnigmaM3#translate(char[], int, int, char[], int)} when called with the same input. The
+ * components of the machine must not be changed by other threads while a message is being
+ * encrypted.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class ParallelTranslator {
+
+  /**
+   * Number of characters encrypted by a single task when no chunk size is provided.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+
+  /**
+   * Default constructor creates a translator that runs on the common fork join pool, using the
+   * default chunk size.
+   */
+  public ParallelTranslator() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Overloaded constructor creates a translator that runs on the given pool.
+   *
+   * @param pool The pool the chunks are encrypted on.
+   * @param chunkSize The number of characters encrypted by a single task.
+   * @throws java.lang.IllegalArgumentException If the chunk size is not positive.
+   * @throws java.lang.NullPointerException If the pool is null.
+   */
+  public ParallelTranslator(ForkJoinPool pool, int chunkSize)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (pool == null) {
+      throw new java.lang.NullPointerException("Provided pool is null");
+    }
+    if (chunkSize < 1) {
+      throw new java.lang.IllegalArgumentException("Chunk size must be positive");
+    }
+
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Encrypts the characters in the given range of the input array with the given machine, and
+   * writes the result to the output array. Letters are encrypted and spaces are copied, the same
+   * way {@link EnigmaM3#translate(char[], int, int, char[], int)} does.
+   *
+   * <p>
+   * The whole input is validated before any letter is encrypted, so if an exception is thrown the
+   * rotors are not moved. Unlike the sequential method, the input and output ranges must either
+   * be the same range or not overlap.
+   * </p>
+   *
+   * @param enigma The machine used to encrypt the characters.
+   * @param input The characters to be encrypted.
+   * @param inputOffset The position of the first character to be encrypted.
+   * @param length The number of characters to be encrypted.
+   * @param output The array the encrypted characters are written to, as lowercase letters.
+   * @param outputOffset The position of the output array the first character is written to.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.IndexOutOfBoundsException If any range is outside of its array.
+   * @throws java.lang.NullPointerException If the machine is null.
+   */
+  public void translate(EnigmaM3 enigma, char[] input, int inputOffset, int length,
+      char[] output, int outputOffset) throws java.lang.IllegalArgumentException,
+      java.lang.IndexOutOfBoundsException, java.lang.NullPointerException {
+    if (enigma == null) {
+      throw new java.lang.NullPointerException("Provided enigma machine is null");
+    }
+    Objects.checkFromIndexSize(inputOffset, length, input.length);
+    Objects.checkFromIndexSize(outputOffset, length, output.length);
+
+    if (length <= this.chunkSize) {
+      enigma.translate(input, inputOffset, length, output, outputOffset);
+      return;
+    }
+
+    final int chunks = (length - 1) / this.chunkSize + 1;
+
+    // First pass, validates the input and counts the letters, hence the key presses, of every
+    // chunk. Invalid characters are reported here, on the calling thread.
+    int[] letters = new int[chunks];
+    ForkJoinChunks.forEach(this.pool, chunks, chunk -> {
+      int start = inputOffset + chunk * this.chunkSize;
+      int end = Math.min(start + this.chunkSize, inputOffset + length);
+      int count = 0;
+      for (int i = start; i < end; i++) {
+        if (Alphabet.isLetter(input[i])) {
+          count++;
+        } else if (input[i] != Alphabet.SPACE) {
+          count = -1;
+          break;
+        }
+      }
+      letters[chunk] = count;
+    });
+
+    long[] keyPresses = new long[chunks + 1];
+    for (int chunk = 0; chunk < chunks; chunk++) {
+      if (letters[chunk] < 0) {
+        throw new java.lang.IllegalArgumentException(
+            "Provided text must only contain letters and spaces.");
+      }
+      keyPresses[chunk + 1] = keyPresses[chunk] + letters[chunk];
+    }
+
+    // Second pass, every chunk is encrypted with its own copy of the rotor positions, moved to
+    // the positions of the first letter of the chunk. The specification is shared.
+    final MachineSpec spec = MachineSpec.of(enigma);
+    final MachineState initialState = MachineState.of(enigma);
+    ForkJoinChunks.forEach(this.pool, chunks, chunk -> {
+      int start = chunk * this.chunkSize;
+      int count = Math.min(this.chunkSize, length - start);
+
+      MachineState state = initialState.copy();
+      spec.advance(state, keyPresses[chunk]);
+      spec.translate(state, input, inputOffset + start, count, output, outputOffset + start);
+    });
+
+    enigma.advance(keyPresses[chunks]);
+  }
+
+  /**
+   * Encrypts the given text with the given machine. Letters are encrypted and spaces are copied,
+   * the same way {@link EnigmaM3#translate(CharSequence)} does.
+   *
+   * @param enigma The machine used to encrypt the text.
+   * @param text The text to be encrypted.
+   * @return The encrypted text, as lowercase letters.
+   * @throws java.lang.IllegalArgumentException If any character is neither a letter nor a space.
+   * @throws java.lang.NullPointerException If the machine or the text is null.
+   */
+  public String translate(EnigmaM3 enigma, CharSequence text)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (text == null) {
+      throw new java.lang.NullPointerException("Provided text is null");
+    }
+
+    char[] characters = text.toString().toCharArray();
+    this.translate(enigma, characters, 0, characters.length, characters, 0);
+    return new String(characters);
+  }
+}
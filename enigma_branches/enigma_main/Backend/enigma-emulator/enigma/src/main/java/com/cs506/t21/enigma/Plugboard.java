@@ -11,8 +11,8 @@ package com.cs506.t21.enigma;
  */
 public class Plugboard {
 
-  // Maps the input charcters to a different letter
-  private char[] mappings;
+  // Maps the input letter indices to a different letter index
+  private byte[] mappings;
 
   /**
    * Default constructor. Creates an "empty" plugboard. Meaning no letters are swapped
@@ -21,6 +21,17 @@ public class Plugboard {
     this.clear();
   }
 
+  /**
+   * Creates a plugboard with the given mappings, as letter indices. The table is copied.
+   *
+   * <p>Precondition: The table must swap letters in pairs, see {@link MachineKey}.</p>
+   *
+   * @param mappings The index of the letter each letter is swapped with.
+   */
+  Plugboard(byte[] mappings) {
+    this.mappings = mappings.clone();
+  }
+
   /**
    * Creates a plugboard with predefined mappings. The format of the mappings are as follow:
    * "ab cf rd qr"
@@ -38,28 +49,44 @@ public class Plugboard {
    * Checks if a string of letter mappings is composed of pairs of letters and a space in between 
    * each pair. Format of mappings should be like the following string: "ab kd ls fk"
    *
+   * <p>The mappings are read in place, without splitting them into a string per pair.</p>
+   *
    * @param mappings Letter mappings to be checked.
    * @return {@code true} if the mappings are valid, {@code false} otherwise
    */
   private boolean checkMappings(String mappings) {
-    String[] pairs = mappings.split(" ");
-    
-    for (String pair : pairs) {
-      if (pair.length() != 2) {
-        return false;
-      }
+    // An empty string is a single empty pair. Trailing spaces are ignored.
+    if (mappings.isEmpty()) {
+      return false;
+    }
 
-      char[] characters = pair.toCharArray();
-      for (char character : characters) {
-        if (!Character.isLetter(character)) {
-          return false;
-        }
+    int end = Plugboard.mappingsEnd(mappings);
+    for (int i = 0; i < end; i += 3) {
+      if (i + 2 > end
+          || !Alphabet.isLetter(mappings.charAt(i))
+          || !Alphabet.isLetter(mappings.charAt(i + 1))
+          || (i + 2 < end && mappings.charAt(i + 2) != ' ')) {
+        return false;
       }
     }
 
     return true;
   }
 
+  /**
+   * Returns the length of the given mappings without their trailing spaces.
+   *
+   * @param mappings The letter mappings.
+   * @return The position right after the last pair of the mappings.
+   */
+  private static int mappingsEnd(String mappings) {
+    int end = mappings.length();
+    while (end > 0 && mappings.charAt(end - 1) == ' ') {
+      end--;
+    }
+    return end;
+  }
+
 
   /**
    * Checks if the given letter has a mapping.
@@ -67,8 +94,8 @@ public class Plugboard {
    * @param letter Letter to check for a mapping.
    * @return {@code true} if a mapping exists, {@code false} otherwise.
    */
-  private boolean mappingExists(char letter) {
-    return this.mappings[letter - 'a'] != letter;
+  private boolean mappingExists(int index) {
+    return this.mappings[index] != index;
   }
 
   /**
@@ -94,17 +121,18 @@ public class Plugboard {
       throw new java.lang.IllegalArgumentException("Invalid mappings format");
     }
 
-    String[] pairs = newMappings.toLowerCase().split(" ");
-    for (String pair : pairs) {
-      char[] letters = pair.toCharArray();
+    int end = Plugboard.mappingsEnd(newMappings);
+    for (int i = 0; i < end; i += 3) {
+      int first = Alphabet.toIndex(newMappings.charAt(i));
+      int second = Alphabet.toIndex(newMappings.charAt(i + 1));
 
       // If a mapping for a letter is already defined, The new mapping will not be set
-      if (mappingExists(letters[0]) || mappingExists(letters[1])) {
+      if (mappingExists(first) || mappingExists(second)) {
         continue;
       }
       
-      this.mappings[letters[0] - 'a'] = letters[1];
-      this.mappings[letters[1] - 'a'] = letters[0];
+      this.mappings[first] = (byte) second;
+      this.mappings[second] = (byte) first;
     }
   }
 
@@ -126,16 +154,16 @@ public class Plugboard {
     }
     
     for (char letter : letters) {
-      if (!Character.isLetter(letter)) {
+      if (!Alphabet.isLetter(letter)) {
         throw new java.lang.IllegalArgumentException("Provided invalid letter");
       }
     }
 
     for (char letter : letters) {
-      char lowercaseChar = Character.toLowerCase(letter);
-      char oldMapping = this.mappings[lowercaseChar - 'a'];
-      this.mappings[lowercaseChar - 'a'] = lowercaseChar;
-      this.mappings[oldMapping - 'a'] = oldMapping;
+      int index = Alphabet.toIndex(letter);
+      int oldMapping = this.mappings[index];
+      this.mappings[index] = (byte) index;
+      this.mappings[oldMapping] = (byte) oldMapping;
     }
 
   }
@@ -146,8 +174,10 @@ public class Plugboard {
    * returned.
    */
   public void clear() {
-    String alphabet = "abcdefghijklmnopqrstuvwxyz";
-    this.mappings = alphabet.toCharArray();
+    this.mappings = new byte[Alphabet.SIZE];
+    for (int i = 0; i < this.mappings.length; i++) {
+      this.mappings[i] = (byte) i;
+    }
   }
 
   /**
@@ -158,19 +188,42 @@ public class Plugboard {
    * @throws java.lang.IllegalArgumentException if the character provided is not a letter
    */
   public char swap(char character) throws java.lang.IllegalArgumentException {
-    if (!Character.isLetter(character)) {
+    if (!Alphabet.isLetter(character)) {
       throw new java.lang.IllegalArgumentException(
           "Character must be in the english alphabet"
       );
     }
-    character = Character.toLowerCase(character);
-    return this.mappings[character - 'a'];
+    return Alphabet.toLetter(this.mappings[Alphabet.toIndex(character)]);
+  }
+
+  /**
+   * Swaps the letter with the given index according to the mapping information provided. Works
+   * the same way as {@link Plugboard#swap(char) swap}, but the input is not validated.
+   *
+   * <p>Precondition: The index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param index Index of the letter to be swapped
+   * @return Index of the swapped letter
+   */
+  public int swapIndex(int index) {
+    return this.mappings[index];
   }
 
 
+  /**
+   * Returns the mappings of this plugboard as letter indices. The returned array is shared with
+   * this plugboard and must not be modified.
+   *
+   * @return The index of the letter each letter is swapped with.
+   */
+  byte[] getMappingTable() {
+    return this.mappings;
+  }
+
   /**
    * Returs a string with the letter mappings that are not to reflective. For example:
-   * "ab uf oe" if these are the only letters that are swapped with each other.
+   * "ab uf oe" if these are the only letters that are swapped with each other. Pairs are sorted by
+   * their first letter, and an empty plugboard returns an empty string.
    *
    * @return A string representing the plugboard's non-reflective mappings information.
    */
@@ -178,25 +231,21 @@ public class Plugboard {
   public String toString() {
 
     // Use StringBuilder for faster performance
-    StringBuilder plugboardSettings = new StringBuilder();
-    for (int i = 0; i < 26; i++) {
+    StringBuilder plugboardSettings = new StringBuilder(3 * Alphabet.SIZE / 2);
+    for (int i = 0; i < Alphabet.SIZE; i++) {
 
-      // Avoid reflexive mappings
-      if (((char) i + 'a') == mappings[i]) {
-        continue;
-      }
-      if (plugboardSettings.indexOf(Character.toString(mappings[i])) != -1) {
+      // Every pair is written once, from its first letter. Reflexive mappings are skipped.
+      if (mappings[i] <= i) {
         continue;
       }
 
-      plugboardSettings.append((char) ((char) i + 'a'));
-      plugboardSettings.append(mappings[i]);
-      plugboardSettings.append(' ');
+      if (plugboardSettings.length() > 0) {
+        plugboardSettings.append(' ');
+      }
+      plugboardSettings.append(Alphabet.toLetter(i));
+      plugboardSettings.append(Alphabet.toLetter(mappings[i]));
     }
 
-    // Remove trailing space
-    plugboardSettings.deleteCharAt(plugboardSettings.length() - 1);
-    
     return plugboardSettings.toString();
   }
 } 
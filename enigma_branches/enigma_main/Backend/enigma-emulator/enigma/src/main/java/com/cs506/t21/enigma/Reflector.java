@@ -9,15 +9,18 @@ package com.cs506.t21.enigma;
  * @version 2.0
  */
 public class Reflector {
-  private char[] mapping;
-  private static final int MAPPING_LENGTH = 26;
+  private byte[] mapping;
+  private static final int MAPPING_LENGTH = Alphabet.SIZE;
 
   /**
    * Default constructor intantiate the load wiring table. Making each character maps to 
    * themselves.
    */
   public Reflector() {
-    this.mapping = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+    this.mapping = new byte[MAPPING_LENGTH];
+    for (int i = 0; i < MAPPING_LENGTH; i++) {
+      this.mapping[i] = (byte) i;
+    }
   }
 
   /**
@@ -30,10 +33,23 @@ public class Reflector {
   public Reflector(
       String wiring
   ) throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
-    this.mapping = new char[MAPPING_LENGTH];
     this.load(wiring);
   }
 
+  /**
+   * Constructor creates a reflector of the given type from the catalog. The wiring table of the
+   * type is shared with the reflector, hence nothing is validated nor computed.
+   *
+   * @param type The type of the reflector.
+   * @throws java.lang.NullPointerException if the type is null
+   */
+  public Reflector(ReflectorType type) throws java.lang.NullPointerException {
+    if (type == null) {
+      throw new java.lang.NullPointerException("The reflector type provided was null");
+    }
+    this.mapping = type.getMappingTable();
+  }
+
   /**
    * Load the reflector wiring table.
    *
@@ -52,11 +68,17 @@ public class Reflector {
     if (wiring.length() != 26) {
       throw new java.lang.IllegalArgumentException("The length of the wiring should be 26");
     }
-    
-    char[] letters = wiring.toLowerCase().toCharArray();
-    for (int i = 0; i < letters.length; i++) {
-      this.mapping[i] = letters[i];
+
+    // A new table is created, since the current one may be shared with a ReflectorType.
+    byte[] newMapping = new byte[MAPPING_LENGTH];
+    for (int i = 0; i < MAPPING_LENGTH; i++) {
+      if (!Alphabet.isLetter(wiring.charAt(i))) {
+        throw new java.lang.IllegalArgumentException("The wiring should only contain letters");
+      }
+      newMapping[i] = (byte) Alphabet.toIndex(wiring.charAt(i));
     }
+
+    this.mapping = newMapping;
   }
 
   /**
@@ -67,11 +89,33 @@ public class Reflector {
    * @throws java.lang.IllegalArgumentException If the character provided is not a letter
    */
   public char swap(char letter) throws java.lang.IllegalArgumentException {
-    if (!Character.isLetter(letter)) {
+    if (!Alphabet.isLetter(letter)) {
       throw new java.lang.IllegalArgumentException("Character must be a letter");
     }
-    letter = Character.toLowerCase(letter);
-    return this.mapping[letter - 'a'];
+    return Alphabet.toLetter(this.mapping[Alphabet.toIndex(letter)]);
+  }
+
+  /**
+   * Swaps the letter with the given index according to the wiring table. Works the same way as
+   * {@link Reflector#swap(char) swap}, but the input is not validated.
+   *
+   * <p>Precondition: The index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param index Index of the letter to be swapped
+   * @return Index of the swapped letter
+   */
+  public int swapIndex(int index) {
+    return this.mapping[index];
+  }
+
+  /**
+   * Returns the wiring table of this reflector as letter indices. The returned array is shared
+   * with this reflector and must not be modified.
+   *
+   * @return The index of the letter each letter is swapped with.
+   */
+  byte[] getMappingTable() {
+    return this.mapping;
   }
 
   /**
@@ -80,7 +124,11 @@ public class Reflector {
    * @return The wiring used by this reflector
    */
   public String getWiring() {
-    return new String(this.mapping);
+    char[] wiring = new char[MAPPING_LENGTH];
+    for (int i = 0; i < MAPPING_LENGTH; i++) {
+      wiring[i] = Alphabet.toLetter(this.mapping[i]);
+    }
+    return new String(wiring);
   }
   
   /**
@@ -88,6 +136,6 @@ public class Reflector {
    */
   @Override
   public String toString() {
-    return new String(this.mapping);
+    return this.getWiring();
   }
 }
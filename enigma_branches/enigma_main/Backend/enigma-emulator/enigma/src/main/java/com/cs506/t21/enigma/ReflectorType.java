@@ -0,0 +1,70 @@
+package com.cs506.t21.enigma;
+
+
+/**
+ * Catalog of the reflectors used during World War II. The wiring of every reflector is validated,
+ * and its table computed, once when this class is loaded. Reflectors created from a type with
+ * {@link Reflector#Reflector(ReflectorType)} share this table instead of copying it.
+ *
+ * <p>
+ * The thin reflectors were used by the M4 machine, together with a Beta or Gamma rotor. See
+ * {@link RotorType}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public enum ReflectorType {
+  UKW_A("UKW-A", "EJMZALYXVBWFCRQUONTSPIKHGD"),
+  UKW_B("UKW-B", "YRUHQSLDPXNGOKMIEBFZCWVJAT"),
+  UKW_C("UKW-C", "FVPJIAOYEDRZXWGCTKUQSBNMHL"),
+  UKW_B_THIN("UKW-B thin", "ENKQAUYWJICOPBLMDXZVFTHRGS"),
+  UKW_C_THIN("UKW-C thin", "RDOBJNTKVEHMLFCWZAXGYIPSUQ");
+
+  private final String name;
+
+  // Wiring table as letter indices, shared by every reflector of this type. Never modified.
+  private final byte[] mappingTable;
+
+  /**
+   * Validates the wiring of the reflector and computes its table.
+   *
+   * @param name The name of the reflector.
+   * @param wiring The wiring of the reflector, see {@link Reflector#load(String)}.
+   */
+  ReflectorType(String name, String wiring) {
+    this.name = name;
+    this.mappingTable = new Reflector(wiring).getMappingTable();
+  }
+
+  /**
+   * Returns the name of this reflector. E.g. "UKW-B".
+   *
+   * @return The name of this reflector.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Returns the wiring of this reflector, in the format accepted by {@link Reflector#load(String)}.
+   *
+   * @return The wiring of this reflector, as lowercase letters.
+   */
+  public String getWiring() {
+    char[] wiring = new char[Alphabet.SIZE];
+    for (int i = 0; i < wiring.length; i++) {
+      wiring[i] = Alphabet.toLetter(this.mappingTable[i]);
+    }
+    return new String(wiring);
+  }
+
+  /**
+   * Returns the wiring table of this reflector, as letter indices. The returned array is shared
+   * and must not be modified.
+   *
+   * @return The index of the letter each letter is swapped with.
+   */
+  byte[] getMappingTable() {
+    return this.mappingTable;
+  }
+}
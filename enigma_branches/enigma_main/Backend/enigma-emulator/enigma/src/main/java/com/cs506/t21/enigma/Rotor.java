@@ -1,6 +1,6 @@
 package com.cs506.t21.enigma;
 
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class implements a rotor as seen in the Enigma machine used during world war II.
@@ -13,15 +13,18 @@ import java.util.UUID;
  */
 public class Rotor {
 
+  // Number of rotors created without a name, used to name them.
+  private static final AtomicInteger unnamedRotors = new AtomicInteger();
+
   // The name used to identify this rotor.
   private String name;
 
-  // The wiring table, where the letter 'a' is mapped to the character in index 0. This is the
+  // The wiring table, where the letter 'a' is mapped to the letter index in index 0. This is the
   // forward mapping. The mapping of letters as seen from the input wheel to the reflector.
-  private char[] forwardWiringTable;
+  private byte[] forwardWiringTable;
 
   // Wiring table as seen from the reflector to the input wheel.
-  private char[] backwardsWiringTable;
+  private byte[] backwardsWiringTable;
 
   // The letter that the ring marker is set to relative to the internal wiring.
   private char ringSetting;
@@ -31,6 +34,9 @@ public class Rotor {
   // cause the double step.
   private char turnOver;
 
+  // The second turn over letter, for rotors with two notches. Equal to turnOver otherwise.
+  private char secondTurnOver;
+
   // Position of the rotor. This variable can be seen as the letter that can be seen from
   // the keyboard view of the enigma machine.
   private char currentPosition;
@@ -43,7 +49,7 @@ public class Rotor {
    * position of A and a ring setting of A, If the input will be equal to the output.</p>
    */
   public Rotor() {
-    this.setName(UUID.randomUUID().toString());
+    this.setName("Rotor " + unnamedRotors.incrementAndGet());
     this.load("abcdefghijklmnopqrstuvwxyz", 'z');
     this.ringSetting = 'a';
     this.currentPosition = 'a';
@@ -73,6 +79,40 @@ public class Rotor {
     this.setCurrentPosition(startingPosition);
   }
 
+  /**
+   * This constructor creates a new rotor of the given type from the catalog, with the specified
+   * ring setting and starting position. The wiring tables of the type are shared with the rotor,
+   * hence nothing is validated nor computed other than the settings.
+   *
+   * @param type The type of the rotor. Must have at least one notch.
+   * @param ringSetting The relative position of the alphabet ring to the wiring.
+   * @param startingPosition The starting position as seen through the window of the enigma
+   *         machine for this rotor.
+   * @throws java.lang.IllegalArgumentException If the type has no notches, or any of the letters
+   *         is invalid.
+   * @throws java.lang.NullPointerException If the type is null.
+   */
+  public Rotor(
+      RotorType type, char ringSetting, char startingPosition
+  ) throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (type == null) {
+      throw new java.lang.NullPointerException("Rotor type cannot be null");
+    }
+    if (!type.isStepping()) {
+      throw new java.lang.IllegalArgumentException("Rotor type must have at least one notch");
+    }
+
+    this.setName(type.getName());
+    this.forwardWiringTable = type.getForwardTable();
+    this.backwardsWiringTable = type.getBackwardTable();
+
+    String turnOvers = type.getTurnOvers();
+    this.turnOver = turnOvers.charAt(0);
+    this.secondTurnOver = turnOvers.charAt(turnOvers.length() - 1);
+    this.setRingSetting(ringSetting);
+    this.setCurrentPosition(startingPosition);
+  }
+
   /**
    * Gets the name of this rotor.
    *
@@ -103,20 +143,18 @@ public class Rotor {
    * lampboard.
    */
   private void createBackwardMapping() {
-    this.backwardsWiringTable = new char[26];
+    this.backwardsWiringTable = new byte[Alphabet.SIZE];
 
     // Swap values and indeces.
-    // The backwards table is made with the values as the indeces shifted down by 'a' (97), and
-    // the indeces as the values shifted up by 'a' ('97').
     for (int i = 0; i < this.forwardWiringTable.length; i++) {
-      char forwardLetter = this.forwardWiringTable[i];
-      this.backwardsWiringTable[forwardLetter - 'a'] = (char) ('a' + i);
+      this.backwardsWiringTable[this.forwardWiringTable[i]] = (byte) i;
     }
   }
 
 
   /**
-   * Replaces the default wiring with the given wiring table and turnOver value.
+   * Replaces the default wiring with the given wiring table and turnOver value. The rotor will
+   * have a single notch.
    *
    * @param wiringTable The new wiring for this rotor. Format should be 26 mappings together
    *         without spaces, where the first value maps to pin A. E.g. ACHJSLROTP...
@@ -127,6 +165,24 @@ public class Rotor {
    */
   public void load(
       String wiringTable, char turnOver
+  ) throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    this.load(wiringTable, turnOver, turnOver);
+  }
+
+  /**
+   * Replaces the default wiring with the given wiring table and two turnOver values, for rotors
+   * with two notches such as rotors VI, VII and VIII. See {@link RotorType}.
+   *
+   * @param wiringTable The new wiring for this rotor. Format should be 26 mappings together
+   *         without spaces, where the first value maps to pin A. E.g. ACHJSLROTP...
+   * @param turnOver The first turnOver value for this rotor. Should be an Roman letter.
+   * @param secondTurnOver The second turnOver value for this rotor. Should be an Roman letter.
+   * @throws java.lang.IllegalArgumentException If the wiring table or turnOvers are not made of
+   *         only letters
+   * @throws java.lang.NullPointerException If the wiring table is null.
+   */
+  public void load(
+      String wiringTable, char turnOver, char secondTurnOver
   ) throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
     // Input checks
 
@@ -138,20 +194,22 @@ public class Rotor {
       throw new java.lang.IllegalArgumentException("Wiring table must have 26 mappings");
     }
 
-    if (!Character.isLetter(turnOver)) {
+    if (!Alphabet.isLetter(turnOver) || !Alphabet.isLetter(secondTurnOver)) {
       throw new java.lang.IllegalArgumentException("Turn over must be a letter");
     }
     
-    wiringTable = wiringTable.toLowerCase();
-    char[] newWiring = wiringTable.toCharArray();
-    for (char c : newWiring) {
-      if (!Character.isLetter(c)) {
+    byte[] newWiring = new byte[Alphabet.SIZE];
+    for (int i = 0; i < newWiring.length; i++) {
+      char c = wiringTable.charAt(i);
+      if (!Alphabet.isLetter(c)) {
         throw new java.lang.IllegalArgumentException("Wiring table must have only letters");
       }
+      newWiring[i] = (byte) Alphabet.toIndex(c);
     }
 
     // Create the forwards and backwards mapping tables.
     this.turnOver = Character.toLowerCase(turnOver);
+    this.secondTurnOver = Character.toLowerCase(secondTurnOver);
     this.forwardWiringTable = newWiring;
     this.createBackwardMapping();
   }
@@ -162,7 +220,31 @@ public class Rotor {
    * @return The wiring table of this rotor.
    */
   public String getWiring() {
-    return new String(this.forwardWiringTable);
+    char[] wiring = new char[this.forwardWiringTable.length];
+    for (int i = 0; i < wiring.length; i++) {
+      wiring[i] = Alphabet.toLetter(this.forwardWiringTable[i]);
+    }
+    return new String(wiring);
+  }
+
+  /**
+   * Returns the forward wiring table of this rotor, as letter indices. The returned array is
+   * shared with this rotor and must not be modified.
+   *
+   * @return The wiring table as seen from the input wheel to the reflector.
+   */
+  byte[] getForwardTable() {
+    return this.forwardWiringTable;
+  }
+
+  /**
+   * Returns the backward wiring table of this rotor, as letter indices. The returned array is
+   * shared with this rotor and must not be modified.
+   *
+   * @return The wiring table as seen from the reflector to the input wheel.
+   */
+  byte[] getBackwardTable() {
+    return this.backwardsWiringTable;
   }
 
   /**
@@ -173,7 +255,7 @@ public class Rotor {
    *                                            english letter.
    */
   public void setRingSetting(char ringSetting) throws java.lang.IllegalArgumentException {
-    if (!Character.isLetter(ringSetting)) {
+    if (!Alphabet.isLetter(ringSetting)) {
       throw new java.lang.IllegalArgumentException("Can only use letters as ring setting");
     }
 
@@ -199,7 +281,7 @@ public class Rotor {
    *                                            letter.
    */
   public void setCurrentPosition(char letter) throws java.lang.IllegalArgumentException {
-    if (!Character.isLetter(letter)) {
+    if (!Alphabet.isLetter(letter)) {
       throw new java.lang.IllegalArgumentException("Can only use letters as ring setting");
     }
 
@@ -231,46 +313,36 @@ public class Rotor {
    */
   public char encrypt(char letter, boolean backward) throws java.lang.IllegalArgumentException {
     // Check letter
-    if (!Character.isLetter(letter)) {
+    if (!Alphabet.isLetter(letter)) {
       throw new java.lang.IllegalArgumentException("Only letter arguments accepted");
     }
 
-    // Make letter lowercase
-    letter = Character.toLowerCase(letter);
-
-    char[] table;
-
-    // Changes in input/output due to ring setting and current position
-    int ringDelta = this.ringSetting - 'a';
-    int positionDelta = this.currentPosition - 'a';
+    return Alphabet.toLetter(this.encryptIndex(Alphabet.toIndex(letter), backward));
+  }
 
-    // In the case that the signal is going back towards lampboard, then table is
-    // backwards
-    // I.e. Values are indeces and indeces are values. If A mapped to E in the
-    // forward version,
+  /**
+   * Encrypts the letter with the given index. Works the same way as
+   * {@link Rotor#encrypt(char, boolean) encrypt}, but the input is not validated.
+   *
+   * <p>Precondition: The index must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param index    Index of the letter to be encrypted.
+   * @param backward If the encryption is happening from left to right (After the
+   *                 signal passes through reflector)
+   * @return The index of the encrypted letter
+   */
+  public int encryptIndex(int index, boolean backward) {
+    // In the case that the signal is going back towards lampboard, then table is backwards
+    // I.e. Values are indeces and indeces are values. If A mapped to E in the forward version,
     // then E maps to A in the backwards version.
-    if (backward) {
-      table = this.backwardsWiringTable;
-    } else {
-      table = this.forwardWiringTable;
-    }
-
-    // Shift input letter down due to ring setting
-    letter = Rotor.shiftLetterByDelta(letter, -1 * ringDelta);
-
-    // Shift input Letter up due to current position
-    letter = Rotor.shiftLetterByDelta(letter, positionDelta);
-
-    // Encrypt letter
-    letter = table[letter - 'a'];
+    byte[] table = backward ? this.backwardsWiringTable : this.forwardWiringTable;
 
-    // Shift output letter down due to ring setting
-    letter = Rotor.shiftLetterByDelta(letter, ringDelta);
-
-    // Shift output letter down due to current position
-    letter = Rotor.shiftLetterByDelta(letter, -1 * positionDelta);
+    // Changes in input/output due to ring setting and current position
+    int delta = this.currentPosition - this.ringSetting;
 
-    return letter;
+    // Shift input letter up due to current position and down due to ring setting, encrypt it,
+    // and undo the shift on the output letter.
+    return Alphabet.wrap(table[Alphabet.wrap(index + delta)] - delta);
   }
 
   /**
@@ -303,7 +375,7 @@ public class Rotor {
    * window) then after this call it should be B.
    */
   public void rotate() {
-    this.currentPosition = Rotor.shiftLetterByDelta(currentPosition, 1);
+    this.currentPosition = Alphabet.toLetter(Alphabet.wrap(this.currentPosition - 'a' + 1));
   }
 
 
@@ -317,6 +389,16 @@ public class Rotor {
     return this.turnOver;
   }
 
+  /**
+   * Returns the second Turn Over letter, for rotors with two notches. For rotors with a single
+   * notch this is the same letter returned by {@link Rotor#getTurnOver() getTurnOver}.
+   *
+   * @return The second turn over letter of this rotor.
+   */
+  public char getSecondTurnOver() {
+    return this.secondTurnOver;
+  }
+
   /**
    * Returns the state of the rotor. Output is in the following format:
    *
@@ -0,0 +1,102 @@
+package com.cs506.t21.enigma;
+
+
+/**
+ * Arithmetic on the stepping of the rotors of an enigma machine. The rotors of a machine work as
+ * an odometer: the rightmost rotor moves on every key press, and a rotor moves the rotor on its
+ * left when it steps away from one of its turn over positions. This is the stepping done by
+ * {@link EnigmaM3#translate(char)}.
+ *
+ * <p>
+ * Rotor positions and turn over positions are letter indices, where 0 is 'a'. The turn over
+ * positions of a rotor are given as a bit mask, where bit i is set if the rotor moves the next
+ * rotor when it steps away from position i.
+ * </p>
+ *
+ * @version 1.0
+ */
+final class RotorStepping {
+
+  /**
+   * Utility class, no instances allowed.
+   */
+  private RotorStepping() {}
+
+  /**
+   * Returns the bit mask for a rotor with a single turn over letter.
+   *
+   * @param turnOver The turn over letter of the rotor.
+   * @return The turn over mask of the rotor.
+   */
+  static int turnOverMask(char turnOver) {
+    return 1 << Alphabet.toIndex(turnOver);
+  }
+
+  /**
+   * Returns the bit mask for the given rotor, which may have one or two turn over letters.
+   *
+   * @param rotor The rotor.
+   * @return The turn over mask of the rotor.
+   */
+  static int turnOverMask(Rotor rotor) {
+    return RotorStepping.turnOverMask(rotor.getTurnOver())
+        | RotorStepping.turnOverMask(rotor.getSecondTurnOver());
+  }
+
+  /**
+   * Counts how many times a rotor moves the rotor on its left when it steps the given number of
+   * times.
+   *
+   * @param position The starting position of the rotor.
+   * @param turnOverMask The turn over positions of the rotor.
+   * @param steps The number of times the rotor steps. Cannot be negative.
+   * @return The number of times the rotor steps away from one of its turn over positions.
+   */
+  static long countTurnOvers(int position, int turnOverMask, long steps) {
+    long count = 0;
+
+    for (int turnOver = 0; turnOver < Alphabet.SIZE; turnOver++) {
+      if ((turnOverMask & (1 << turnOver)) == 0) {
+        continue;
+      }
+
+      // Number of steps before the rotor reaches the turn over position for the first time.
+      int distance = Alphabet.wrap(turnOver - position);
+      if (steps > distance) {
+        count += (steps - distance - 1) / Alphabet.SIZE + 1;
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns the position a rotor reaches after stepping the given number of times.
+   *
+   * @param position The starting position of the rotor.
+   * @param steps The number of times the rotor steps. Cannot be negative.
+   * @return The new position of the rotor.
+   */
+  static int advance(int position, long steps) {
+    return (int) ((position + steps % Alphabet.SIZE) % Alphabet.SIZE);
+  }
+
+  /**
+   * Computes the positions of three rotors after the given number of key presses, without
+   * stepping the rotors one key press at a time.
+   *
+   * @param positions The positions of the left, middle and right rotors. Updated in place.
+   * @param middleTurnOverMask The turn over positions of the middle rotor.
+   * @param rightTurnOverMask The turn over positions of the right rotor.
+   * @param keyPresses The number of key presses. Cannot be negative.
+   */
+  static void advance(int[] positions, int middleTurnOverMask, int rightTurnOverMask,
+      long keyPresses) {
+    long middleSteps = RotorStepping.countTurnOvers(positions[2], rightTurnOverMask, keyPresses);
+    long leftSteps = RotorStepping.countTurnOvers(positions[1], middleTurnOverMask, middleSteps);
+
+    positions[0] = RotorStepping.advance(positions[0], leftSteps);
+    positions[1] = RotorStepping.advance(positions[1], middleSteps);
+    positions[2] = RotorStepping.advance(positions[2], keyPresses);
+  }
+}
@@ -0,0 +1,114 @@
+package com.cs506.t21.enigma;
+
+
+/**
+ * Catalog of the rotors used by the German army and navy during World War II. The wiring of every
+ * rotor is validated, and its forward and backward tables computed, once when this class is
+ * loaded. Rotors created from a type with {@link Rotor#Rotor(RotorType, char, char)} share these
+ * tables instead of copying them.
+ *
+ * <p>
+ * Rotors VI, VII and VIII have two notches, hence they move the rotor on their left twice per
+ * revolution. The Beta and Gamma rotors have no notches, they were only used as the fourth,
+ * non stepping, rotor of the M4 machine.
+ * </p>
+ *
+ * @version 1.0
+ */
+public enum RotorType {
+  I("I", "EKMFLGDQVZNTOWYHXUSPAIBRCJ", "q"),
+  II("II", "AJDKSIRUXBLHWTMCQGZNPYFVOE", "e"),
+  III("III", "BDFHJLCPRTXVZNYEIWGAKMUSQO", "v"),
+  IV("IV", "ESOVPZJAYQUIRHXLNFTGKDCMWB", "j"),
+  V("V", "VZBRGITYUPSDNHLXAWMJQOFECK", "z"),
+  VI("VI", "JPGVOUMFYQBENHZRDKASXLICTW", "zm"),
+  VII("VII", "NZJHGRCXMYSWBOUFAIVLPEKQDT", "zm"),
+  VIII("VIII", "FKQHTLXOCBJSPDZRAMEWNIUYGV", "zm"),
+  BETA("Beta", "LEYJVCNIXWPBQMDRTAKZGFUHOS", ""),
+  GAMMA("Gamma", "FSOKANUERHMBTIYCWLQPZXVGJD", "");
+
+  private final String name;
+  private final String turnOvers;
+
+  // Wiring tables as letter indices, shared by every rotor of this type. Never modified.
+  private final byte[] forwardTable;
+  private final byte[] backwardTable;
+
+  /**
+   * Validates the wiring of the rotor and computes its tables.
+   *
+   * @param name The name of the rotor.
+   * @param wiring The wiring of the rotor, see {@link Rotor#load(String, char)}.
+   * @param turnOvers The turn over letters of the rotor, as lowercase.
+   */
+  RotorType(String name, String wiring, String turnOvers) {
+    this.name = name;
+    this.turnOvers = turnOvers;
+
+    // A rotor is only built to check the wiring and compute the backward table.
+    Rotor rotor = new Rotor(name, wiring, 'a', 'a', 'a');
+    this.forwardTable = rotor.getForwardTable();
+    this.backwardTable = rotor.getBackwardTable();
+  }
+
+  /**
+   * Returns the name of this rotor, as written on the rotor. E.g. "I" or "Beta".
+   *
+   * @return The name of this rotor.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Returns the wiring of this rotor, in the format accepted by {@link Rotor#load(String, char)}.
+   *
+   * @return The wiring of this rotor, as lowercase letters.
+   */
+  public String getWiring() {
+    char[] wiring = new char[Alphabet.SIZE];
+    for (int i = 0; i < wiring.length; i++) {
+      wiring[i] = Alphabet.toLetter(this.forwardTable[i]);
+    }
+    return new String(wiring);
+  }
+
+  /**
+   * Returns the turn over letters of this rotor. Empty for the rotors that have no notches.
+   *
+   * @return The turn over letters, as lowercase.
+   */
+  public String getTurnOvers() {
+    return this.turnOvers;
+  }
+
+  /**
+   * Returns whether a rotor of this type can be placed on the stepping positions of a machine,
+   * which requires at least one notch.
+   *
+   * @return {@code true} if the rotor has at least one notch.
+   */
+  public boolean isStepping() {
+    return !this.turnOvers.isEmpty();
+  }
+
+  /**
+   * Returns the forward wiring table of this rotor, as letter indices. The returned array is
+   * shared and must not be modified.
+   *
+   * @return The wiring table as seen from the input wheel to the reflector.
+   */
+  byte[] getForwardTable() {
+    return this.forwardTable;
+  }
+
+  /**
+   * Returns the backward wiring table of this rotor, as letter indices. The returned array is
+   * shared and must not be modified.
+   *
+   * @return The wiring table as seen from the reflector to the input wheel.
+   */
+  byte[] getBackwardTable() {
+    return this.backwardTable;
+  }
+}
@@ -0,0 +1,181 @@
+package com.cs506.t21.enigma;
+
+import java.util.Arrays;
+
+
+/**
+ * The sequence of rotor positions a machine goes through as keys are pressed, starting on a given
+ * position. Stepping is a permutation of the 26 * 26 * 26 rotor positions, so the machine always
+ * comes back to its starting positions, and the number of key presses it takes is the period of
+ * the machine. Every position within the cycle is kept in order, so the positions the machine
+ * has after any number of key presses is a single array lookup.
+ *
+ * <p>
+ * Rotors with a single notch go through every position before the sequence repeats. When the
+ * rightmost or middle rotor has two notches the rotor on its left moves twice per revolution, so
+ * the positions are split into shorter cycles and the period depends on the starting positions.
+ * Positions are encoded as states, see {@link SteppingTable}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class SteppingCycle {
+
+  // Marks the states of the index table that are not on this cycle.
+  private static final char NOT_ON_CYCLE = Character.MAX_VALUE;
+
+  private final SteppingTable table;
+
+  // States of the cycle, in the order the machine goes through them. The first one is the
+  // starting state.
+  private final char[] states;
+
+  // Position of every state within the cycle, or NOT_ON_CYCLE.
+  private final char[] indices;
+
+  /**
+   * Walks the stepping table from the given state until it comes back to it.
+   *
+   * @param table The stepping table of the machine.
+   * @param start The starting state.
+   */
+  private SteppingCycle(SteppingTable table, int start) {
+    this.table = table;
+
+    int period = 1;
+    for (int state = table.next(start); state != start; state = table.next(state)) {
+      period++;
+    }
+
+    this.states = new char[period];
+    this.indices = new char[SteppingTable.STATES];
+    Arrays.fill(this.indices, NOT_ON_CYCLE);
+
+    int state = start;
+    for (int i = 0; i < period; i++) {
+      this.states[i] = (char) state;
+      this.indices[state] = (char) i;
+      state = table.next(state);
+    }
+  }
+
+  /**
+   * Computes the cycle of the given stepping table that goes through the given state.
+   *
+   * @param table The stepping table of the machine.
+   * @param start The starting state.
+   * @return The cycle, starting on the given state.
+   * @throws java.lang.IllegalArgumentException If the state is invalid.
+   * @throws java.lang.NullPointerException If the table is null.
+   */
+  public static SteppingCycle of(SteppingTable table, int start)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (table == null) {
+      throw new java.lang.NullPointerException("Provided stepping table is null");
+    }
+    if (start < 0 || start >= SteppingTable.STATES) {
+      throw new java.lang.IllegalArgumentException("Provided state is invalid");
+    }
+    return new SteppingCycle(table, start);
+  }
+
+  /**
+   * Computes the cycle the given machine goes through, starting on its current rotor positions.
+   * The machine is not modified.
+   *
+   * @param enigma The machine.
+   * @return The cycle, starting on the current rotor positions of the machine.
+   * @throws java.lang.NullPointerException If the machine is null.
+   */
+  public static SteppingCycle of(EnigmaM3 enigma) throws java.lang.NullPointerException {
+    if (enigma == null) {
+      throw new java.lang.NullPointerException("Provided enigma machine is null");
+    }
+
+    SteppingTable table = SteppingTable.of(enigma.getRotor(1), enigma.getRotor(2));
+    int start = SteppingTable.encode(enigma.getRotor(0).getCurrentPosition() - 'a',
+        enigma.getRotor(1).getCurrentPosition() - 'a',
+        enigma.getRotor(2).getCurrentPosition() - 'a');
+    return new SteppingCycle(table, start);
+  }
+
+  /**
+   * Returns the stepping table this cycle was computed from.
+   *
+   * @return The stepping table.
+   */
+  public SteppingTable getTable() {
+    return this.table;
+  }
+
+  /**
+   * Returns the number of key presses it takes the machine to come back to its starting
+   * positions, which is the number of states of this cycle.
+   *
+   * @return The period of the machine.
+   */
+  public int getPeriod() {
+    return this.states.length;
+  }
+
+  /**
+   * Returns the state the machine has after the given number of key presses from the starting
+   * state.
+   *
+   * @param keyPresses The number of key presses.
+   * @return The state after the key presses.
+   * @throws java.lang.IllegalArgumentException If the number of key presses is negative.
+   */
+  public int getState(long keyPresses) throws java.lang.IllegalArgumentException {
+    if (keyPresses < 0) {
+      throw new java.lang.IllegalArgumentException("Number of key presses cannot be negative");
+    }
+    return this.states[(int) (keyPresses % this.states.length)];
+  }
+
+  /**
+   * Returns the number of key presses it takes to reach the given state from the starting state.
+   *
+   * @param state The state.
+   * @return The position of the state within the cycle, or -1 if the machine never reaches it.
+   * @throws java.lang.IllegalArgumentException If the state is invalid.
+   */
+  public int indexOf(int state) throws java.lang.IllegalArgumentException {
+    if (state < 0 || state >= SteppingTable.STATES) {
+      throw new java.lang.IllegalArgumentException("Provided state is invalid");
+    }
+    char index = this.indices[state];
+    return index == NOT_ON_CYCLE ? -1 : index;
+  }
+
+  /**
+   * Returns the state the machine has after the given number of key presses from any state of
+   * this cycle. This is the same as stepping the state one key press at a time.
+   *
+   * @param state A state of this cycle.
+   * @param keyPresses The number of key presses.
+   * @return The state after the key presses.
+   * @throws java.lang.IllegalArgumentException If the state is not on this cycle, or the number
+   *         of key presses is negative.
+   */
+  public int advance(int state, long keyPresses) throws java.lang.IllegalArgumentException {
+    int index = this.indexOf(state);
+    if (index < 0) {
+      throw new java.lang.IllegalArgumentException("Provided state is not on the cycle");
+    }
+    if (keyPresses < 0) {
+      throw new java.lang.IllegalArgumentException("Number of key presses cannot be negative");
+    }
+    return this.states[(int) ((index + keyPresses % this.states.length) % this.states.length)];
+  }
+
+  /**
+   * Returns every state of this cycle, in the order the machine goes through them. Each state is
+   * stored in a char, see {@link SteppingTable#encode(int, int, int)}.
+   *
+   * @return A copy of the states of the cycle, starting on the starting state.
+   */
+  public char[] getStates() {
+    return this.states.clone();
+  }
+}
@@ -0,0 +1,175 @@
+package com.cs506.t21.enigma;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Table of the rotor positions a machine moves to when a key is pressed, for every one of the
+ * 26 * 26 * 26 rotor positions. With this table stepping the rotors is a single array lookup,
+ * instead of comparing the positions of the rotors with their turn over letters on every key.
+ *
+ * <p>
+ * Rotor positions are encoded as a single state, {@code left * 26 * 26 + middle * 26 + right},
+ * where every position is a letter index. The stepping only depends on the notches of the middle
+ * and right rotors, hence a table is computed once for every combination of notches and shared by
+ * every machine that uses it. Rotors with two notches, such as rotors VI to VIII, are supported.
+ * Rotors step the same way as in {@link EnigmaM3#translate(char)}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class SteppingTable {
+
+  /**
+   * Number of different rotor positions (left, middle, right) a machine can be in.
+   */
+  public static final int STATES = Alphabet.SIZE * Alphabet.SIZE * Alphabet.SIZE;
+
+  // Number of letters in the alphabet, and number of positions of each rotor.
+  private static final int LETTERS = Alphabet.SIZE;
+
+  // Tables already computed, by the turn over masks of the middle and right rotors.
+  private static final Map<Long, SteppingTable> TABLES = new ConcurrentHashMap<>();
+
+  // Turn over positions of the middle and right rotors, see RotorStepping.
+  private final int middleTurnOverMask;
+  private final int rightTurnOverMask;
+
+  // The state the machine moves to after a key is pressed on state s. Every state fits in a char,
+  // which keeps the whole table in 34 KiB.
+  private final char[] nextState;
+
+  /**
+   * Computes the table for the given turn over positions.
+   *
+   * @param middleTurnOverMask The turn over positions of the middle rotor.
+   * @param rightTurnOverMask The turn over positions of the right rotor.
+   */
+  private SteppingTable(int middleTurnOverMask, int rightTurnOverMask) {
+    this.middleTurnOverMask = middleTurnOverMask;
+    this.rightTurnOverMask = rightTurnOverMask;
+    this.nextState = new char[STATES];
+
+    for (int state = 0; state < STATES; state++) {
+      int left = SteppingTable.leftPosition(state);
+      int middle = SteppingTable.middlePosition(state);
+      int right = SteppingTable.rightPosition(state);
+
+      // Middle rotor rotates if the right rotor was on a turn-over letter before rotation, and
+      // the left rotor if the middle one was on a turn-over letter as well.
+      if ((rightTurnOverMask & (1 << right)) != 0) {
+        if ((middleTurnOverMask & (1 << middle)) != 0) {
+          left = Alphabet.wrap(left + 1);
+        }
+        middle = Alphabet.wrap(middle + 1);
+      }
+      right = Alphabet.wrap(right + 1);
+
+      this.nextState[state] = (char) SteppingTable.encode(left, middle, right);
+    }
+  }
+
+  /**
+   * Returns the table for a machine with the given middle and right rotors. The leftmost rotor
+   * does not change the stepping of a machine.
+   *
+   * @param middle The middle rotor.
+   * @param right The rightmost rotor.
+   * @return The shared stepping table for the notches of the rotors.
+   * @throws java.lang.NullPointerException If any rotor is null.
+   */
+  public static SteppingTable of(Rotor middle, Rotor right) throws java.lang.NullPointerException {
+    if (middle == null || right == null) {
+      throw new java.lang.NullPointerException("Provided rotor is null");
+    }
+    return SteppingTable.of(RotorStepping.turnOverMask(middle), RotorStepping.turnOverMask(right));
+  }
+
+  /**
+   * Returns the table for the given turn over positions, computing it the first time it is used.
+   *
+   * @param middleTurnOverMask The turn over positions of the middle rotor, see RotorStepping.
+   * @param rightTurnOverMask The turn over positions of the right rotor, see RotorStepping.
+   * @return The shared stepping table for the turn over positions.
+   */
+  static SteppingTable of(int middleTurnOverMask, int rightTurnOverMask) {
+    long key = ((long) middleTurnOverMask << Integer.SIZE) | (rightTurnOverMask & 0xFFFFFFFFL);
+    return TABLES.computeIfAbsent(key,
+        k -> new SteppingTable(middleTurnOverMask, rightTurnOverMask));
+  }
+
+  /**
+   * Returns the state the machine moves to when a key is pressed on the given state.
+   *
+   * <p>Precondition: The state must be between 0 and {@link #STATES} - 1.</p>
+   *
+   * @param state The rotor positions before the key is pressed.
+   * @return The rotor positions after the key is pressed.
+   */
+  public int next(int state) {
+    return this.nextState[state];
+  }
+
+  /**
+   * Returns the turn over positions of the middle rotor this table was computed for.
+   *
+   * @return The turn over mask of the middle rotor, see RotorStepping.
+   */
+  int getMiddleTurnOverMask() {
+    return this.middleTurnOverMask;
+  }
+
+  /**
+   * Returns the turn over positions of the right rotor this table was computed for.
+   *
+   * @return The turn over mask of the right rotor, see RotorStepping.
+   */
+  int getRightTurnOverMask() {
+    return this.rightTurnOverMask;
+  }
+
+  /**
+   * Encodes the positions of the three rotors as a single state.
+   *
+   * <p>Precondition: Every position must be between 0 and 25. See {@link Alphabet}.</p>
+   *
+   * @param left Position of the leftmost rotor.
+   * @param middle Position of the middle rotor.
+   * @param right Position of the rightmost rotor.
+   * @return The state.
+   */
+  public static int encode(int left, int middle, int right) {
+    return (left * LETTERS + middle) * LETTERS + right;
+  }
+
+  /**
+   * Returns the position of the leftmost rotor on the given state.
+   *
+   * @param state The state.
+   * @return The position of the rotor, as a letter index.
+   */
+  public static int leftPosition(int state) {
+    return state / (LETTERS * LETTERS);
+  }
+
+  /**
+   * Returns the position of the middle rotor on the given state.
+   *
+   * @param state The state.
+   * @return The position of the rotor, as a letter index.
+   */
+  public static int middlePosition(int state) {
+    return (state / LETTERS) % LETTERS;
+  }
+
+  /**
+   * Returns the position of the rightmost rotor on the given state.
+   *
+   * @param state The state.
+   * @return The position of the rotor, as a letter index.
+   */
+  public static int rightPosition(int state) {
+    return state % LETTERS;
+  }
+}
@@ -0,0 +1,336 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.RotorType;
+import com.cs506.t21.enigma.SteppingTable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Turing-Welchman bombe. Tests every rotor order and rotor position against a {@link Menu}, and
+ * stops where the menu gives no contradiction.
+ *
+ * <p>
+ * On every position, the bombe assumes the test letter of the menu is steckered to 'a' and
+ * propagates that hypothesis through the menu: if letter X is steckered to a, the letter Z on the
+ * other end of an edge of X is steckered to the encryption of a by the scrambler of that edge. The
+ * diagonal board adds that a is then steckered to X. The letters every letter may be steckered to
+ * are kept as bitsets of 26 bits, one per letter, so the propagation only moves bits around.
+ * </p>
+ *
+ * <p>
+ * When the hypothesis is right, only the right partner of the test letter is reached. When it is
+ * wrong, the right partner is never reached. Hence the position is a stop unless all the 26
+ * letters are reached. The partner is then the letter whose hypothesis only reaches itself, among
+ * the letters left, and the pairs implied by it are found by propagating it. When none of them
+ * does, the stop is reported as {@link BombeStop#isConfirmed() unconfirmed}, without a partner.
+ * </p>
+ *
+ * <p>
+ * As the historical bombe, only the rightmost rotor moves along the crib: the scrambler of the
+ * letter i of the crib is on positions (left, middle, right + i + 1), with ring settings "aaa",
+ * where (left, middle, right) are the positions before the first letter of the crib is pressed.
+ * Stops are only found when the middle rotor does not step along the crib. Different ring
+ * settings give the same stop on other positions.
+ * </p>
+ *
+ * <p>
+ * Rotor orders are tested in parallel on a fork join pool. Every rotor order tabulates the
+ * scrambler of all its positions first, see {@link ScramblerTable}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class Bombe {
+
+  // Bits of every letter of the alphabet.
+  private static final int ALL_LETTERS = (1 << Alphabet.SIZE) - 1;
+
+  private final ReflectorType reflectorType;
+  private final ForkJoinPool pool;
+
+  /**
+   * Default constructor creates a bombe with the given reflector that runs on the common fork
+   * join pool.
+   *
+   * @param reflectorType The reflector of the machine that encrypted the messages.
+   * @throws java.lang.NullPointerException If the reflector type is null.
+   */
+  public Bombe(ReflectorType reflectorType) throws java.lang.NullPointerException {
+    this(reflectorType, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Overloaded constructor creates a bombe with the given reflector that runs on the given pool.
+   *
+   * @param reflectorType The reflector of the machine that encrypted the messages.
+   * @param pool The pool the rotor orders are tested on.
+   * @throws java.lang.NullPointerException If the reflector type or the pool is null.
+   */
+  public Bombe(ReflectorType reflectorType, ForkJoinPool pool)
+      throws java.lang.NullPointerException {
+    if (reflectorType == null) {
+      throw new java.lang.NullPointerException("Provided reflector type is null");
+    }
+    if (pool == null) {
+      throw new java.lang.NullPointerException("Provided pool is null");
+    }
+
+    this.reflectorType = reflectorType;
+    this.pool = pool;
+  }
+
+  /**
+   * Tests every order of three of the given rotors, on every position, and returns every stop.
+   *
+   * @param menu The menu of the crib.
+   * @param rotorTypes The rotors the machine may have. At least three different ones.
+   * @return The stops, by rotor order and then by positions.
+   * @throws java.lang.IllegalArgumentException If there are fewer than three rotors, any rotor
+   *         is repeated or has no notches, or the crib is longer than the alphabet.
+   * @throws java.lang.NullPointerException If the menu or any rotor type is null.
+   */
+  public List<BombeStop> run(Menu menu, RotorType... rotorTypes)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    return this.run(menu, Integer.MAX_VALUE, rotorTypes);
+  }
+
+  /**
+   * Tests every order of three of the given rotors, on every position, until the given number of
+   * stops is found. Which stops are returned then depends on the order the rotor orders are
+   * tested in.
+   *
+   * @param menu The menu of the crib.
+   * @param maxStops The number of stops after which the search is abandoned.
+   * @param rotorTypes The rotors the machine may have. At least three different ones.
+   * @return At most the given number of stops, by rotor order and then by positions.
+   * @throws java.lang.IllegalArgumentException If the number of stops is not positive, there are
+   *         fewer than three rotors, any rotor is repeated or has no notches, or the crib is
+   *         longer than the alphabet.
+   * @throws java.lang.NullPointerException If the menu or any rotor type is null.
+   */
+  public List<BombeStop> run(Menu menu, int maxStops, RotorType... rotorTypes)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (menu == null) {
+      throw new java.lang.NullPointerException("Provided menu is null");
+    }
+    if (maxStops < 1) {
+      throw new java.lang.IllegalArgumentException("Number of stops must be positive");
+    }
+    if (menu.getEdgeCount() > Alphabet.SIZE) {
+      throw new java.lang.IllegalArgumentException(
+          "Crib must not be longer than a revolution of the rightmost rotor");
+    }
+    List<RotorType[]> orders = RotorOrders.of(rotorTypes);
+
+    // Every rotor order keeps its own stops, so the result does not depend on the scheduling
+    // unless the search is abandoned.
+    List<List<BombeStop>> stops = new ArrayList<>();
+    for (int i = 0; i < orders.size(); i++) {
+      stops.add(new ArrayList<>());
+    }
+    AtomicInteger found = new AtomicInteger();
+    this.pool.invoke(new RotorOrders.RangeAction(0, orders.size(), order -> {
+      this.test(menu, orders.get(order), maxStops, found, stops.get(order));
+    }));
+
+    List<BombeStop> result = new ArrayList<>();
+    for (List<BombeStop> orderStops : stops) {
+      result.addAll(orderStops);
+    }
+    return result.size() > maxStops ? new ArrayList<>(result.subList(0, maxStops)) : result;
+  }
+
+  /**
+   * Tests every position of the given rotor order.
+   *
+   * @param menu The menu of the crib.
+   * @param rotorTypes The rotor order, the leftmost first.
+   * @param maxStops The number of stops after which the search is abandoned.
+   * @param found The number of stops found by every rotor order.
+   * @param stops The list the stops of this rotor order are added to.
+   */
+  private void test(Menu menu, RotorType[] rotorTypes, int maxStops, AtomicInteger found,
+      List<BombeStop> stops) {
+    Circuit circuit = new Circuit(menu, new ScramblerTable(this.reflectorType, rotorTypes));
+    for (int left = 0; left < Alphabet.SIZE; left++) {
+      if (found.get() >= maxStops) {
+        return;
+      }
+      for (int middle = 0; middle < Alphabet.SIZE; middle++) {
+        for (int right = 0; right < Alphabet.SIZE; right++) {
+          BombeStop stop = circuit.test(this.reflectorType, rotorTypes, left, middle, right);
+          if (stop != null) {
+            stops.add(stop);
+            found.incrementAndGet();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Scramblers and registers of a bombe set to a rotor order. The live letters of every letter
+   * are the letters it may be steckered to that the hypothesis reaches.
+   */
+  private static final class Circuit {
+
+    private final ScramblerTable scrambler;
+    private final int testLetter;
+    private final int[][] partners;
+    private final int[][] positions;
+
+    // Offset of the scrambler table of every edge, by letter, on the positions tested.
+    private final int[][] scramblers;
+
+    // Live letters of every letter, and the ones not propagated yet.
+    private final int[] live = new int[Alphabet.SIZE];
+    private final int[] pending = new int[Alphabet.SIZE];
+
+    // Letters with pending bits.
+    private final int[] queue = new int[Alphabet.SIZE];
+    private int queued;
+
+    Circuit(Menu menu, ScramblerTable scrambler) {
+      this.scrambler = scrambler;
+      this.testLetter = menu.getTestIndex();
+      this.partners = menu.getPartners();
+      this.positions = menu.getPositions();
+      this.scramblers = new int[Alphabet.SIZE][];
+      for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+        this.scramblers[letter] = new int[this.partners[letter].length];
+      }
+    }
+
+    /**
+     * Tests the given rotor positions.
+     *
+     * @param reflectorType The reflector of the bombe.
+     * @param rotorTypes The rotor order.
+     * @param left Position of the leftmost rotor before the first letter of the crib.
+     * @param middle Position of the middle rotor.
+     * @param right Position of the rightmost rotor.
+     * @return The stop, or null if the menu gives a contradiction.
+     */
+    BombeStop test(ReflectorType reflectorType, RotorType[] rotorTypes, int left, int middle,
+        int right) {
+      for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+        for (int edge = 0; edge < this.scramblers[letter].length; edge++) {
+          int position = (right + this.positions[letter][edge] + 1) % Alphabet.SIZE;
+          this.scramblers[letter][edge] =
+              ScramblerTable.offset(SteppingTable.encode(left, middle, position));
+        }
+      }
+
+      this.propagate(0);
+      int reached = Integer.bitCount(this.live[this.testLetter]);
+      if (reached == Alphabet.SIZE) {
+        return null;
+      }
+
+      // The hypothesis holds when it only reaches itself. Otherwise the partner is one of the
+      // letters it does not reach, and the right one only reaches itself.
+      int partner = reached == 1 ? 0 : -1;
+      int unreached = ~this.live[this.testLetter] & ALL_LETTERS;
+      while (partner < 0 && unreached != 0) {
+        int candidate = Integer.numberOfTrailingZeros(unreached);
+        unreached &= unreached - 1;
+        this.propagate(candidate);
+        if (Integer.bitCount(this.live[this.testLetter]) == 1) {
+          partner = candidate;
+        }
+      }
+
+      String positions = "" + Alphabet.toLetter(left) + Alphabet.toLetter(middle)
+          + Alphabet.toLetter(right);
+      if (partner < 0) {
+        return new BombeStop(reflectorType, rotorTypes, positions,
+            Alphabet.toLetter(this.testLetter), BombeStop.UNCONFIRMED, "");
+      }
+      return new BombeStop(reflectorType, rotorTypes, positions,
+          Alphabet.toLetter(this.testLetter), Alphabet.toLetter(partner), this.pairs());
+    }
+
+    /**
+     * Clears the registers and propagates the hypothesis that the test letter is steckered to
+     * the given letter, until every letter reached has been propagated or every letter is
+     * reached from the test letter.
+     *
+     * @param hypothesis The index of the letter the test letter is assumed to be steckered to.
+     */
+    private void propagate(int hypothesis) {
+      Arrays.fill(this.live, 0);
+      Arrays.fill(this.pending, 0);
+      this.queued = 0;
+
+      this.energize(this.testLetter, hypothesis);
+      while (this.queued > 0 && this.live[this.testLetter] != ALL_LETTERS) {
+        int letter = this.queue[--this.queued];
+        int bits = this.pending[letter];
+        this.pending[letter] = 0;
+
+        int[] letterPartners = this.partners[letter];
+        int[] letterScramblers = this.scramblers[letter];
+        while (bits != 0) {
+          int steckered = Integer.numberOfTrailingZeros(bits);
+          bits &= bits - 1;
+
+          // Diagonal board.
+          this.energize(steckered, letter);
+          for (int edge = 0; edge < letterPartners.length; edge++) {
+            this.energize(letterPartners[edge],
+                this.scrambler.encrypt(letterScramblers[edge], steckered));
+          }
+        }
+      }
+    }
+
+    /**
+     * Marks the given letter as reached from the given letter, if it was not.
+     *
+     * @param letter The index of the letter.
+     * @param steckered The index of the letter it may be steckered to.
+     */
+    private void energize(int letter, int steckered) {
+      int bit = 1 << steckered;
+      if ((this.live[letter] & bit) != 0) {
+        return;
+      }
+
+      this.live[letter] |= bit;
+      if (this.pending[letter] == 0) {
+        this.queue[this.queued++] = letter;
+      }
+      this.pending[letter] |= bit;
+    }
+
+    /**
+     * Returns the plugboard pairs the registers imply, which are the letters that only reach a
+     * single letter that only reaches them back.
+     *
+     * @return The pairs, separated by spaces.
+     */
+    private String pairs() {
+      StringBuilder pairs = new StringBuilder();
+      for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+        if (Integer.bitCount(this.live[letter]) != 1) {
+          continue;
+        }
+
+        int steckered = Integer.numberOfTrailingZeros(this.live[letter]);
+        if (steckered > letter && this.live[steckered] == 1 << letter) {
+          if (pairs.length() > 0) {
+            pairs.append(' ');
+          }
+          pairs.append(Alphabet.toLetter(letter)).append(Alphabet.toLetter(steckered));
+        }
+      }
+      return pairs.toString();
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.MachineKey;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.RotorType;
+
+
+/**
+ * Stop of a {@link Bombe}, a rotor order and rotor positions where the menu gives no
+ * contradiction. Every stop has to be checked, most of them are false stops.
+ *
+ * <p>
+ * Positions are given for ring settings "aaa", as the bombe does not find ring settings. The
+ * steckered letter is the plugboard partner of the test letter, and the plugboard pairs are the
+ * ones the menu implies from it. A stop is unconfirmed when no hypothesis on the partner holds on
+ * its own, and then has neither a partner nor pairs.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class BombeStop {
+
+  // Steckered letter of an unconfirmed stop.
+  static final char UNCONFIRMED = '?';
+
+  private final ReflectorType reflectorType;
+  private final RotorType[] rotorTypes;
+  private final String rotorPositions;
+  private final char testLetter;
+  private final char steckeredLetter;
+  private final String plugboardPairs;
+
+  /**
+   * Creates a stop.
+   *
+   * @param reflectorType The reflector of the bombe.
+   * @param rotorTypes The rotor order, the leftmost first.
+   * @param rotorPositions The positions of the rotors before the first letter of the crib.
+   * @param testLetter The test letter of the menu.
+   * @param steckeredLetter The plugboard partner of the test letter, or {@link #UNCONFIRMED}.
+   * @param plugboardPairs The plugboard pairs implied by the partner, separated by spaces.
+   */
+  BombeStop(ReflectorType reflectorType, RotorType[] rotorTypes, String rotorPositions,
+      char testLetter, char steckeredLetter, String plugboardPairs) {
+    this.reflectorType = reflectorType;
+    this.rotorTypes = rotorTypes.clone();
+    this.rotorPositions = rotorPositions;
+    this.testLetter = testLetter;
+    this.steckeredLetter = steckeredLetter;
+    this.plugboardPairs = plugboardPairs;
+  }
+
+  /**
+   * Returns the reflector of the bombe that found this stop.
+   *
+   * @return The reflector type.
+   */
+  public ReflectorType getReflectorType() {
+    return this.reflectorType;
+  }
+
+  /**
+   * Returns the type of the rotor in the given position.
+   *
+   * @param position The position of the rotor, 0 being the leftmost.
+   * @return The rotor type.
+   * @throws java.lang.IllegalArgumentException If the position is not 0, 1 or 2.
+   */
+  public RotorType getRotorType(int position) throws java.lang.IllegalArgumentException {
+    if (position < 0 || position >= this.rotorTypes.length) {
+      throw new java.lang.IllegalArgumentException("Rotor position must be 0, 1 or 2");
+    }
+    return this.rotorTypes[position];
+  }
+
+  /**
+   * Returns the positions of the rotors before the first letter of the crib is pressed, with ring
+   * settings "aaa".
+   *
+   * @return The positions, the leftmost first.
+   */
+  public String getRotorPositions() {
+    return this.rotorPositions;
+  }
+
+  /**
+   * Returns the test letter of the menu.
+   *
+   * @return The test letter, in lowercase.
+   */
+  public char getTestLetter() {
+    return this.testLetter;
+  }
+
+  /**
+   * Returns whether the partner of the test letter was deduced. An unconfirmed stop has neither a
+   * partner nor plugboard pairs.
+   *
+   * @return {@code true} if the stop has a partner.
+   */
+  public boolean isConfirmed() {
+    return this.steckeredLetter != UNCONFIRMED;
+  }
+
+  /**
+   * Returns the plugboard partner of the test letter. It is the test letter itself when the test
+   * letter is not steckered.
+   *
+   * @return The partner, in lowercase.
+   * @throws java.lang.IllegalStateException If the stop is unconfirmed.
+   */
+  public char getSteckeredLetter() throws java.lang.IllegalStateException {
+    if (!this.isConfirmed()) {
+      throw new java.lang.IllegalStateException("Stop has no partner of the test letter");
+    }
+    return this.steckeredLetter;
+  }
+
+  /**
+   * Returns the plugboard pairs implied by the partner of the test letter, in the format of
+   * {@link Plugboard#toString()}.
+   *
+   * @return The pairs, separated by spaces.
+   */
+  public String getPlugboardPairs() {
+    return this.plugboardPairs;
+  }
+
+  /**
+   * Returns the key of this stop, with ring settings "aaa" and the plugboard pairs found. The
+   * machine of the key decrypts the ciphertext from the offset of the crib.
+   *
+   * @return The key.
+   */
+  public MachineKey toKey() {
+    Plugboard plugboard = this.plugboardPairs.isEmpty()
+        ? new Plugboard() : new Plugboard(this.plugboardPairs);
+    return MachineKey.of(this.reflectorType, this.rotorTypes[0], this.rotorTypes[1],
+        this.rotorTypes[2], "aaa", this.rotorPositions, plugboard);
+  }
+
+  /**
+   * Returns the stop as rotor order, positions, the partner of the test letter and the plugboard
+   * pairs, e.g. "II I V kda e=q bn eq", or "II I V kda e=?" when the stop is unconfirmed.
+   *
+   * @return The stop.
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (RotorType rotorType : this.rotorTypes) {
+      builder.append(rotorType.getName()).append(' ');
+    }
+    builder.append(this.rotorPositions).append(' ')
+        .append(this.testLetter).append('=').append(this.steckeredLetter);
+    if (!this.plugboardPairs.isEmpty()) {
+      builder.append(' ').append(this.plugboardPairs);
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,102 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+
+
+/**
+ * Plaintext expected in a message, with the positions of each of its letters as a bit set, 64
+ * positions per {@code long}. The bit sets are computed once, so a {@link CribFilter} checks an
+ * offset with an AND per letter of the crib and word, without looking at the other letters.
+ *
+ * @version 1.0
+ */
+public final class Crib {
+
+  private final String text;
+
+  // Letters the crib has, as letter indexes, and the positions of each of them, 64 per word.
+  private final int[] letters;
+  private final long[][] positions;
+
+  /**
+   * Creates the crib of the given plaintext.
+   *
+   * @param text The plaintext expected in the message.
+   * @throws java.lang.IllegalArgumentException If the text is empty or any character is not a
+   *         letter.
+   * @throws java.lang.NullPointerException If the text is null.
+   */
+  public Crib(String text)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (text == null) {
+      throw new java.lang.NullPointerException("Provided crib is null");
+    }
+    if (text.isEmpty()) {
+      throw new java.lang.IllegalArgumentException("Provided crib is empty");
+    }
+
+    this.text = text;
+    long[][] positions = new long[Alphabet.SIZE][];
+    int count = 0;
+    for (int i = 0; i < text.length(); i++) {
+      int letter = Alphabet.toIndex(text.charAt(i));
+      if (positions[letter] == null) {
+        positions[letter] = new long[(text.length() + 63) >>> 6];
+        count++;
+      }
+      positions[letter][i >>> 6] |= 1L << i;
+    }
+
+    this.letters = new int[count];
+    this.positions = new long[count][];
+    count = 0;
+    for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+      if (positions[letter] != null) {
+        this.letters[count] = letter;
+        this.positions[count++] = positions[letter];
+      }
+    }
+  }
+
+  /**
+   * Returns the plaintext of the crib.
+   *
+   * @return The plaintext.
+   */
+  public String getText() {
+    return this.text;
+  }
+
+  /**
+   * Returns the number of letters of the crib.
+   *
+   * @return The length of the crib.
+   */
+  public int length() {
+    return this.text.length();
+  }
+
+  /**
+   * Returns the different letters of the crib.
+   *
+   * @return The letter indexes, in alphabetical order. The array must not be modified.
+   */
+  int[] getLetters() {
+    return this.letters;
+  }
+
+  /**
+   * Returns the positions of every different letter of the crib.
+   *
+   * @return A bit set per letter, in the order of {@link #getLetters()}, 64 positions per word.
+   *         The arrays must not be modified.
+   */
+  long[][] getPositions() {
+    return this.positions;
+  }
+
+  @Override
+  public String toString() {
+    return this.text;
+  }
+}
@@ -0,0 +1,193 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Finds where a crib can be placed on a ciphertext. Since a letter never encrypts to itself, the
+ * crib cannot be placed where any of its letters lines up with the same letter of the ciphertext.
+ * On long ciphertexts this rules most offsets out before any machine is simulated.
+ *
+ * <p>
+ * The ciphertext is kept as a bit set per letter, where bit {@code i} of the set of a letter
+ * tells whether the letter is at position {@code i}. Shifting the set of a crib letter by its
+ * position in the crib gives every offset where it lines up with itself, 64 offsets per
+ * {@code long}, so {@link #offsets(Crib)} rules out the offsets of the whole ciphertext with a
+ * shift and an OR per crib letter and word. A single offset is checked with an AND per different
+ * letter of the {@link Crib} and word, against the bit sets the crib computed once.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class CribFilter {
+
+  private final String ciphertext;
+  private final int length;
+
+  // Positions of every letter in the ciphertext, 64 per word.
+  private final long[][] letters;
+
+  /**
+   * Creates the filter of the given ciphertext.
+   *
+   * @param ciphertext The encrypted message.
+   * @throws java.lang.IllegalArgumentException If any character of the ciphertext is not a
+   *         letter.
+   * @throws java.lang.NullPointerException If the ciphertext is null.
+   */
+  public CribFilter(String ciphertext)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (ciphertext == null) {
+      throw new java.lang.NullPointerException("Provided ciphertext is null");
+    }
+
+    this.ciphertext = ciphertext;
+    this.length = ciphertext.length();
+    this.letters = new long[Alphabet.SIZE][CribFilter.words(this.length)];
+    for (int i = 0; i < this.length; i++) {
+      this.letters[Alphabet.toIndex(ciphertext.charAt(i))][i >>> 6] |= 1L << i;
+    }
+  }
+
+  /**
+   * Returns the number of letters of the ciphertext.
+   *
+   * @return The length of the ciphertext.
+   */
+  public int length() {
+    return this.length;
+  }
+
+  /**
+   * Returns every offset of the ciphertext where the crib can be placed, none of its letters
+   * lining up with the same letter.
+   *
+   * @param crib The plaintext expected in the message.
+   * @return The offsets, in increasing order.
+   * @throws java.lang.IllegalArgumentException If the crib is empty or any character is not a
+   *         letter.
+   * @throws java.lang.NullPointerException If the crib is null.
+   */
+  public int[] offsets(String crib)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    return this.offsets(new Crib(crib));
+  }
+
+  /**
+   * Returns every offset of the ciphertext where the crib can be placed, none of its letters
+   * lining up with the same letter.
+   *
+   * @param crib The plaintext expected in the message.
+   * @return The offsets, in increasing order.
+   * @throws java.lang.NullPointerException If the crib is null.
+   */
+  public int[] offsets(Crib crib) throws java.lang.NullPointerException {
+    if (crib == null) {
+      throw new java.lang.NullPointerException("Provided crib is null");
+    }
+    final int count = this.length - crib.length() + 1;
+    if (count <= 0) {
+      return new int[0];
+    }
+
+    // Bit o of a word is set when the crib placed at offset o lines up a letter with itself.
+    long[] rejected = new long[CribFilter.words(count)];
+    final String text = crib.getText();
+    for (int i = 0; i < text.length(); i++) {
+      long[] positions = this.letters[Alphabet.toIndex(text.charAt(i))];
+      for (int word = 0; word < rejected.length; word++) {
+        rejected[word] |= CribFilter.window(positions, (word << 6) + i);
+      }
+    }
+
+    int[] offsets = new int[count];
+    int found = 0;
+    for (int offset = 0; offset < count; offset++) {
+      if ((rejected[offset >>> 6] & 1L << offset) == 0) {
+        offsets[found++] = offset;
+      }
+    }
+    return Arrays.copyOf(offsets, found);
+  }
+
+  /**
+   * Returns whether the crib can be placed at the given offset of the ciphertext, none of its
+   * letters lining up with the same letter. The crib is checked with an AND per letter of the
+   * crib and word of 64 positions.
+   *
+   * @param crib The plaintext expected in the message.
+   * @param offset The position of the ciphertext the first letter of the crib is placed on.
+   * @return Whether the crib can be placed there, false if it does not fit in the ciphertext.
+   * @throws java.lang.NullPointerException If the crib is null.
+   */
+  public boolean accepts(Crib crib, int offset) throws java.lang.NullPointerException {
+    if (crib == null) {
+      throw new java.lang.NullPointerException("Provided crib is null");
+    }
+    if (offset < 0 || offset > this.length - crib.length()) {
+      return false;
+    }
+
+    final int[] cribLetters = crib.getLetters();
+    final long[][] cribPositions = crib.getPositions();
+    for (int i = 0; i < cribLetters.length; i++) {
+      final long[] ciphertextPositions = this.letters[cribLetters[i]];
+      for (int word = 0; word < cribPositions[i].length; word++) {
+        if ((cribPositions[i][word]
+            & CribFilter.window(ciphertextPositions, offset + (word << 6))) != 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the menu of the crib placed at every offset it can be placed at, for a
+   * {@link Bombe}.
+   *
+   * @param crib The plaintext expected in the message.
+   * @return The menus, by offset.
+   * @throws java.lang.NullPointerException If the crib is null.
+   */
+  public List<Menu> menus(Crib crib) throws java.lang.NullPointerException {
+    List<Menu> menus = new ArrayList<>();
+    for (int offset : this.offsets(crib)) {
+      menus.add(new Menu(crib.getText(), this.ciphertext, offset));
+    }
+    return menus;
+  }
+
+  /**
+   * Returns 64 bits of a bit set from the given position, reading past its end as zeros.
+   *
+   * @param bits The bit set, 64 bits per word.
+   * @param position The position of the first bit.
+   * @return The bits, the first one as the lowest.
+   */
+  private static long window(long[] bits, int position) {
+    final int word = position >>> 6;
+    final int shift = position & 63;
+    if (word >= bits.length) {
+      return 0;
+    }
+    long window = bits[word] >>> shift;
+    if (shift != 0 && word + 1 < bits.length) {
+      window |= bits[word + 1] << (64 - shift);
+    }
+    return window;
+  }
+
+  /**
+   * Returns the number of words a bit set of the given length needs.
+   *
+   * @param bits The number of bits.
+   * @return The number of words.
+   */
+  private static int words(int bits) {
+    return (bits + 63) >>> 6;
+  }
+}
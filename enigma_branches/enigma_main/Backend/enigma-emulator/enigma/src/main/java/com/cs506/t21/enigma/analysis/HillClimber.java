@@ -0,0 +1,644 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+import com.cs506.t21.enigma.MachineKey;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.RotorType;
+import com.cs506.t21.enigma.SteppingTable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Ciphertext only attack. Finds the key of a message without any known plaintext, by hill
+ * climbing the settings that give the decryption with the highest score.
+ *
+ * <p>
+ * The search has two phases for every rotor order. First, every rotor position is scored by the
+ * {@link IndexOfCoincidence} of its decryption, with ring settings "aaa" and no plugboard. The
+ * index of coincidence does not change with the plugboard, so the right positions score high
+ * before any pair is known. Then, from each of the best positions, the ring settings of the middle
+ * and right rotors and the plugboard pairs are hill climbed with the given scorer, usually an
+ * {@link NgramScorer}: every single change that raises the score is kept, until none does. The
+ * first climb from a position starts with no plugboard pairs, the other restarts with random ones.
+ * </p>
+ *
+ * <p>
+ * Rotor orders, and the climbs of every rotor order, are run on a fork join pool, where idle
+ * workers steal the work left. Keys are tried on the {@link ScramblerTable} of the rotor order,
+ * hence a trial is a few table lookups per letter and no machine is built.
+ * </p>
+ *
+ * <p>
+ * The left rotor ring setting is always "a", since it only offsets the left rotor position. The
+ * ring settings of the middle and right rotors are only climbed through settings that turn over on
+ * other key presses, see {@link RingEquivalence}, so the middle rotor ring setting is only found
+ * when the left rotor steps along the message. {@link RingEquivalence#expand(MachineKey, int)}
+ * lists every key equivalent to the key found.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class HillClimber {
+
+  /**
+   * Number of rotor positions of every rotor order that are hill climbed, by default.
+   */
+  public static final int DEFAULT_CANDIDATES = 8;
+
+  /**
+   * Number of climbs from every rotor position, by default.
+   */
+  public static final int DEFAULT_RESTARTS = 4;
+
+  /**
+   * Maximum number of plugboard pairs, by default. The army used ten pairs.
+   */
+  public static final int DEFAULT_MAX_PAIRS = 10;
+
+  private final ReflectorType reflectorType;
+  private final Scorer scorer;
+  private final ForkJoinPool pool;
+
+  private int candidates = DEFAULT_CANDIDATES;
+  private int restarts = DEFAULT_RESTARTS;
+  private int maxPairs = DEFAULT_MAX_PAIRS;
+  private long seed;
+
+  /**
+   * Default constructor creates a hill climber with the given reflector and scorer that runs on
+   * the common fork join pool.
+   *
+   * @param reflectorType The reflector of the machine that encrypted the messages.
+   * @param scorer The scorer of the decryptions the ring settings and plugboard are climbed with.
+   * @throws java.lang.NullPointerException If the reflector type or the scorer is null.
+   */
+  public HillClimber(ReflectorType reflectorType, Scorer scorer)
+      throws java.lang.NullPointerException {
+    this(reflectorType, scorer, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Overloaded constructor creates a hill climber with the given reflector and scorer that runs
+   * on the given pool.
+   *
+   * @param reflectorType The reflector of the machine that encrypted the messages.
+   * @param scorer The scorer of the decryptions the ring settings and plugboard are climbed with.
+   * @param pool The pool the search runs on.
+   * @throws java.lang.NullPointerException If the reflector type, the scorer or the pool is null.
+   */
+  public HillClimber(ReflectorType reflectorType, Scorer scorer, ForkJoinPool pool)
+      throws java.lang.NullPointerException {
+    if (reflectorType == null) {
+      throw new java.lang.NullPointerException("Provided reflector type is null");
+    }
+    if (scorer == null) {
+      throw new java.lang.NullPointerException("Provided scorer is null");
+    }
+    if (pool == null) {
+      throw new java.lang.NullPointerException("Provided pool is null");
+    }
+
+    this.reflectorType = reflectorType;
+    this.scorer = scorer;
+    this.pool = pool;
+  }
+
+  /**
+   * Sets the number of rotor positions of every rotor order that are hill climbed.
+   *
+   * @param candidates The number of positions, at least 1.
+   * @throws java.lang.IllegalArgumentException If the number is not positive.
+   */
+  public void setCandidates(int candidates) throws java.lang.IllegalArgumentException {
+    if (candidates < 1) {
+      throw new java.lang.IllegalArgumentException("Number of candidates must be positive");
+    }
+    this.candidates = candidates;
+  }
+
+  /**
+   * Sets the number of climbs from every rotor position.
+   *
+   * @param restarts The number of climbs, at least 1.
+   * @throws java.lang.IllegalArgumentException If the number is not positive.
+   */
+  public void setRestarts(int restarts) throws java.lang.IllegalArgumentException {
+    if (restarts < 1) {
+      throw new java.lang.IllegalArgumentException("Number of restarts must be positive");
+    }
+    this.restarts = restarts;
+  }
+
+  /**
+   * Sets the maximum number of plugboard pairs of the keys tried.
+   *
+   * @param maxPairs The number of pairs, between 0 and 13.
+   * @throws java.lang.IllegalArgumentException If the number is not between 0 and 13.
+   */
+  public void setMaxPairs(int maxPairs) throws java.lang.IllegalArgumentException {
+    if (maxPairs < 0 || maxPairs > Alphabet.SIZE / 2) {
+      throw new java.lang.IllegalArgumentException("Number of pairs must be between 0 and 13");
+    }
+    this.maxPairs = maxPairs;
+  }
+
+  /**
+   * Sets the seed of the random plugboards of the restarts. Searches with the same seed and
+   * settings find the same key.
+   *
+   * @param seed The seed.
+   */
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Searches the key of the given ciphertext among every order of three of the given rotors.
+   *
+   * @param ciphertext The encrypted message. Spaces are ignored.
+   * @param rotorTypes The rotors the machine may have. At least three different ones.
+   * @return The key with the highest score.
+   * @throws java.lang.IllegalArgumentException If the ciphertext has fewer than two letters or
+   *         any character other than letters and spaces, there are fewer than three rotors, or
+   *         any rotor is repeated or has no notches.
+   * @throws java.lang.NullPointerException If the ciphertext or any rotor type is null.
+   */
+  public ScoredKey search(String ciphertext, RotorType... rotorTypes)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    return this.search(ciphertext, null, rotorTypes);
+  }
+
+  /**
+   * Searches the key of the given ciphertext among every order of three of the given rotors,
+   * reporting the best key to the given listener every time it improves.
+   *
+   * @param ciphertext The encrypted message. Spaces are ignored.
+   * @param listener The listener of the best key, or null.
+   * @param rotorTypes The rotors the machine may have. At least three different ones.
+   * @return The key with the highest score.
+   * @throws java.lang.IllegalArgumentException If the ciphertext has fewer than two letters or
+   *         any character other than letters and spaces, there are fewer than three rotors, or
+   *         any rotor is repeated or has no notches.
+   * @throws java.lang.NullPointerException If the ciphertext or any rotor type is null.
+   */
+  public ScoredKey search(String ciphertext, SearchListener listener, RotorType... rotorTypes)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (ciphertext == null) {
+      throw new java.lang.NullPointerException("Provided ciphertext is null");
+    }
+
+    byte[] text = new byte[ciphertext.length()];
+    int length = 0;
+    for (int i = 0; i < ciphertext.length(); i++) {
+      char character = ciphertext.charAt(i);
+      if (character != Alphabet.SPACE) {
+        text[length++] = (byte) Alphabet.toIndex(character);
+      }
+    }
+    if (length < 2) {
+      throw new java.lang.IllegalArgumentException("Ciphertext must have at least two letters");
+    }
+
+    final List<RotorType[]> orders = RotorOrders.of(rotorTypes);
+    final Search search = new Search(Arrays.copyOf(text, length), listener);
+    this.pool.invoke(new RotorOrders.RangeAction(0, orders.size(),
+        order -> this.searchOrder(search, order, orders.get(order))));
+    return search.getBest();
+  }
+
+  /**
+   * Finds the best positions of the given rotor order, and climbs from each of them.
+   *
+   * @param search The state of the search.
+   * @param order The number of the rotor order, which seeds its restarts.
+   * @param rotorTypes The rotor order, the leftmost first.
+   */
+  private void searchOrder(Search search, int order, RotorType[] rotorTypes) {
+    final ScramblerTable table = new ScramblerTable(this.reflectorType, rotorTypes);
+    final int[] positions = HillClimber.bestPositions(table, search.text, this.candidates);
+    final int restarts = this.restarts;
+
+    new RotorOrders.RangeAction(0, positions.length * restarts, climb -> {
+      int position = positions[climb / restarts];
+      SplittableRandom random = new SplittableRandom(
+          this.seed * 0x9E3779B97F4A7C15L + ((long) order * SteppingTable.STATES + position)
+          * restarts + climb % restarts);
+      search.offer(this.climb(table, search.text, position, climb % restarts == 0 ? null
+          : random), (long) order << 32 | climb);
+    }).invoke();
+  }
+
+  /**
+   * Scores every rotor position of the rotor order by the index of coincidence of its
+   * decryption, with ring settings "aaa" and no plugboard.
+   *
+   * @param table The scrambler of the rotor order.
+   * @param text The ciphertext.
+   * @param count The number of positions to keep.
+   * @return The positions with the highest scores, as states.
+   */
+  private static int[] bestPositions(ScramblerTable table, byte[] text, int count) {
+    final SteppingTable stepping = table.getStepping();
+    int[] states = new int[count];
+    double[] scores = new double[count];
+    Arrays.fill(scores, -1);
+
+    int[] counts = new int[Alphabet.SIZE];
+    for (int start = 0; start < SteppingTable.STATES; start++) {
+      Arrays.fill(counts, 0);
+      int state = start;
+      for (byte letter : text) {
+        state = stepping.next(state);
+        counts[table.encrypt(ScramblerTable.offset(state), letter)]++;
+      }
+
+      // Replaces the lowest score kept, if this one is higher.
+      double score = IndexOfCoincidence.of(counts, text.length);
+      int lowest = 0;
+      for (int i = 1; i < count; i++) {
+        if (scores[i] < scores[lowest]) {
+          lowest = i;
+        }
+      }
+      if (score > scores[lowest]) {
+        scores[lowest] = score;
+        states[lowest] = start;
+      }
+    }
+
+    int kept = 0;
+    for (double score : scores) {
+      kept += score >= 0 ? 1 : 0;
+    }
+    return Arrays.copyOf(states, kept);
+  }
+
+  /**
+   * Climbs the ring settings and the plugboard from the given rotor positions.
+   *
+   * @param table The scrambler of the rotor order.
+   * @param text The ciphertext.
+   * @param state The rotor positions, with ring settings "aaa".
+   * @param random The generator of the first plugboard pairs, or null to start with none.
+   * @return The key reached, with its score.
+   */
+  private ScoredKey climb(ScramblerTable table, byte[] text, int state, SplittableRandom random) {
+    Trial trial = new Trial(table, text, this.scorer, this.maxPairs);
+    trial.positions[0] = SteppingTable.leftPosition(state);
+    trial.positions[1] = SteppingTable.middlePosition(state);
+    trial.positions[2] = SteppingTable.rightPosition(state);
+    if (random != null) {
+      for (int i = random.nextInt(this.maxPairs + 1); i > 0; i--) {
+        int first = random.nextInt(Alphabet.SIZE);
+        int second = random.nextInt(Alphabet.SIZE);
+        if (trial.plugboard[first] == first && trial.plugboard[second] == second) {
+          trial.connect(first, second);
+        }
+      }
+    }
+
+    trial.walk();
+    double score = trial.score();
+    score = trial.climbRings(score);
+    score = trial.climbPlugboard(score);
+    score = trial.climbRings(score);
+    return new ScoredKey(trial.toKey(this.reflectorType), score);
+  }
+
+  /**
+   * Returns the given letter indexes as letters.
+   *
+   * @param indexes The letter indexes.
+   * @return The letters.
+   */
+  private static String letters(int[] indexes) {
+    StringBuilder letters = new StringBuilder();
+    for (int index : indexes) {
+      letters.append(Alphabet.toLetter(index));
+    }
+    return letters.toString();
+  }
+
+  /**
+   * Ciphertext and best key of a search, shared by every task.
+   */
+  private static final class Search {
+
+    private final byte[] text;
+    private final SearchListener listener;
+
+    // Guarded by this. The version counts the keys kept, and the reported version is the one of
+    // the last key given to the listener.
+    private ScoredKey best;
+    private long bestClimb;
+    private long version;
+    private long reportedVersion;
+
+    // Whether a thread is calling the listener.
+    private final AtomicBoolean notifying = new AtomicBoolean();
+
+    Search(byte[] text, SearchListener listener) {
+      this.text = text;
+      this.listener = listener;
+    }
+
+    /**
+     * Keeps the given key if it scores higher than the best key, and reports it. Keys with the
+     * same score are ordered by the climb that found them, so the best key does not depend on the
+     * order the climbs end in. The listener is called after the lock is released.
+     *
+     * @param key The key reached by a climb.
+     * @param climb The number of the climb, unique within the search.
+     */
+    void offer(ScoredKey key, long climb) {
+      synchronized (this) {
+        if (this.best != null && (key.getScore() < this.best.getScore()
+            || key.getScore() == this.best.getScore() && climb > this.bestClimb)) {
+          return;
+        }
+
+        this.best = key;
+        this.bestClimb = climb;
+        this.version++;
+      }
+      this.report();
+    }
+
+    /**
+     * Gives the best key to the listener unless another thread is already calling it, in which
+     * case that thread reports it once its call returns. A thread keeps reporting until the
+     * listener has seen the latest key, so the last call is always the best key of the search.
+     */
+    private void report() {
+      if (this.listener == null) {
+        return;
+      }
+
+      while (this.notifying.compareAndSet(false, true)) {
+        try {
+          ScoredKey key;
+          while ((key = this.nextReport()) != null) {
+            this.listener.bestKeyImproved(key);
+          }
+        } finally {
+          this.notifying.set(false);
+        }
+
+        // A key kept after the last check and before the flag was cleared is reported here.
+        synchronized (this) {
+          if (this.reportedVersion == this.version) {
+            return;
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the best key if the listener has not seen it yet.
+     *
+     * @return The key to be reported, or null if the listener is up to date.
+     */
+    private synchronized ScoredKey nextReport() {
+      if (this.reportedVersion == this.version) {
+        return null;
+      }
+      this.reportedVersion = this.version;
+      return this.best;
+    }
+
+    synchronized ScoredKey getBest() {
+      return this.best;
+    }
+  }
+
+  /**
+   * Key being climbed, with the buffers its decryptions are written to.
+   */
+  private static final class Trial {
+
+    private final ScramblerTable table;
+    private final byte[] text;
+    private final Scorer scorer;
+    private final int maxPairs;
+
+    // Window positions before the first letter and ring settings, left to right.
+    private final int[] positions = new int[3];
+    private final int[] rings = new int[3];
+
+    // Plugboard as a letter swap table, and its number of pairs.
+    private final byte[] plugboard = new byte[Alphabet.SIZE];
+    private int pairs;
+
+    // Offset of the scrambler of every key press, and the decryption.
+    private final int[] offsets;
+    private final byte[] plain;
+
+    // Number of times the middle and right rotors step along the ciphertext.
+    private final int[] steps;
+
+    Trial(ScramblerTable table, byte[] text, Scorer scorer, int maxPairs) {
+      this.table = table;
+      this.text = text;
+      this.scorer = scorer;
+      this.maxPairs = maxPairs;
+      this.offsets = new int[text.length];
+      this.plain = new byte[text.length];
+      this.steps = new int[] {0,
+          RingEquivalence.middleSteps(table.getRotorTypes()[2], text.length), text.length};
+      for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+        this.plugboard[letter] = (byte) letter;
+      }
+    }
+
+    /**
+     * Computes the scramblers of every key press, after the positions or rings change.
+     */
+    void walk() {
+      this.table.walk(SteppingTable.encode(this.positions[0], this.positions[1],
+          this.positions[2]), this.rings, this.offsets, this.text.length);
+    }
+
+    /**
+     * Decrypts the ciphertext with the current key and scores the decryption.
+     *
+     * @return The score.
+     */
+    double score() {
+      for (int i = 0; i < this.text.length; i++) {
+        this.plain[i] = this.plugboard[this.table.encrypt(this.offsets[i],
+            this.plugboard[this.text[i]])];
+      }
+      return this.scorer.score(this.plain, this.plain.length);
+    }
+
+    /**
+     * Turns the ring of the right and then the middle rotor together with its position, which
+     * keeps the wiring in place and only moves the turn over. Since the rotor on the left then
+     * steps on other key presses, its position is also tried one letter before and after. Keeps
+     * the best change of each rotor. Shifts that turn the rotor over on the same key presses as a
+     * shift already tried are {@link RingEquivalence equivalent} to it, and skipped.
+     *
+     * @param score The score of the current key.
+     * @return The score of the key reached.
+     */
+    double climbRings(double score) {
+      for (int rotor = 2; rotor > 0; rotor--) {
+        final int ring = this.rings[rotor];
+        final int position = this.positions[rotor];
+        final int leftPosition = this.positions[rotor - 1];
+        final RotorType type = this.table.getRotorTypes()[rotor];
+        int[] tried = new int[Alphabet.SIZE];
+        int triedCount = 0;
+        int bestShift = 0;
+        int bestCarry = 0;
+        for (int shift = 0; shift < Alphabet.SIZE; shift++) {
+          final int turnOvers = RingEquivalence.turnOvers(type,
+              (position + shift) % Alphabet.SIZE, this.steps[rotor]);
+          if (Trial.contains(tried, triedCount, turnOvers)) {
+            continue;
+          }
+          tried[triedCount++] = turnOvers;
+          for (int carry = -1; carry <= 1; carry++) {
+            if (shift == 0 && carry == 0) {
+              continue;
+            }
+            this.rings[rotor] = (ring + shift) % Alphabet.SIZE;
+            this.positions[rotor] = (position + shift) % Alphabet.SIZE;
+            this.positions[rotor - 1] = Math.floorMod(leftPosition + carry, Alphabet.SIZE);
+            this.walk();
+            double shifted = this.score();
+            if (shifted > score) {
+              score = shifted;
+              bestShift = shift;
+              bestCarry = carry;
+            }
+          }
+        }
+        this.rings[rotor] = (ring + bestShift) % Alphabet.SIZE;
+        this.positions[rotor] = (position + bestShift) % Alphabet.SIZE;
+        this.positions[rotor - 1] = Math.floorMod(leftPosition + bestCarry, Alphabet.SIZE);
+      }
+      this.walk();
+      return score;
+    }
+
+    /**
+     * Returns whether the given value is among the first values of an array.
+     *
+     * @param values The values.
+     * @param count The number of values to look at.
+     * @param value The value looked for.
+     * @return Whether the value was found.
+     */
+    private static boolean contains(int[] values, int count, int value) {
+      for (int i = 0; i < count; i++) {
+        if (values[i] == value) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Tries to connect, or disconnect, every two letters on the plugboard, keeping every change
+     * that raises the score, until no change does.
+     *
+     * @param score The score of the current key.
+     * @return The score of the key reached.
+     */
+    double climbPlugboard(double score) {
+      byte[] saved = new byte[Alphabet.SIZE];
+      boolean improved = true;
+      while (improved) {
+        improved = false;
+        for (int first = 0; first < Alphabet.SIZE; first++) {
+          for (int second = first + 1; second < Alphabet.SIZE; second++) {
+            System.arraycopy(this.plugboard, 0, saved, 0, Alphabet.SIZE);
+            final int savedPairs = this.pairs;
+
+            if (this.plugboard[first] == second) {
+              this.disconnect(first);
+            } else {
+              this.disconnect(first);
+              this.disconnect(second);
+              if (this.pairs == this.maxPairs) {
+                System.arraycopy(saved, 0, this.plugboard, 0, Alphabet.SIZE);
+                this.pairs = savedPairs;
+                continue;
+              }
+              this.connect(first, second);
+            }
+
+            double changed = this.score();
+            if (changed > score) {
+              score = changed;
+              improved = true;
+            } else {
+              System.arraycopy(saved, 0, this.plugboard, 0, Alphabet.SIZE);
+              this.pairs = savedPairs;
+            }
+          }
+        }
+      }
+      return score;
+    }
+
+    /**
+     * Connects two letters that are not connected.
+     *
+     * @param first The first letter.
+     * @param second The second letter.
+     */
+    void connect(int first, int second) {
+      if (first == second) {
+        return;
+      }
+      this.plugboard[first] = (byte) second;
+      this.plugboard[second] = (byte) first;
+      this.pairs++;
+    }
+
+    /**
+     * Disconnects a letter from its partner, if it has one.
+     *
+     * @param letter The letter.
+     */
+    void disconnect(int letter) {
+      int partner = this.plugboard[letter];
+      if (partner == letter) {
+        return;
+      }
+      this.plugboard[letter] = (byte) letter;
+      this.plugboard[partner] = (byte) partner;
+      this.pairs--;
+    }
+
+    /**
+     * Returns the current key.
+     *
+     * @param reflectorType The reflector of the machine.
+     * @return The key.
+     */
+    MachineKey toKey(ReflectorType reflectorType) {
+      StringBuilder pairs = new StringBuilder();
+      for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+        if (this.plugboard[letter] > letter) {
+          if (pairs.length() > 0) {
+            pairs.append(' ');
+          }
+          pairs.append(Alphabet.toLetter(letter)).append(Alphabet.toLetter(this.plugboard[letter]));
+        }
+      }
+
+      RotorType[] rotorTypes = this.table.getRotorTypes();
+      return MachineKey.of(reflectorType, rotorTypes[0], rotorTypes[1], rotorTypes[2],
+          HillClimber.letters(this.rings), HillClimber.letters(this.positions),
+          pairs.length() == 0 ? new Plugboard() : new Plugboard(pairs.toString()));
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+
+
+/**
+ * Scores a text by its index of coincidence, the probability that two letters taken at random from
+ * the text are the same letter. It is about 0.038 for random letters and about 0.066 for English
+ * or German text, and it does not change when letters are swapped by a plugboard, which makes it
+ * good to find rotor orders and positions before the plugboard is known.
+ *
+ * @version 1.0
+ */
+public final class IndexOfCoincidence implements Scorer {
+
+  /**
+   * Returns the index of coincidence of the given text.
+   *
+   * @param text The letters of the text, as indexes between 0 and 25.
+   * @param length The number of letters of the text to be scored.
+   * @return The index of coincidence, or 0 if the text has fewer than two letters.
+   */
+  @Override
+  public double score(byte[] text, int length) {
+    if (length < 2) {
+      return 0;
+    }
+
+    int[] counts = new int[Alphabet.SIZE];
+    for (int i = 0; i < length; i++) {
+      counts[text[i]]++;
+    }
+    return IndexOfCoincidence.of(counts, length);
+  }
+
+  /**
+   * Returns the index of coincidence of a text with the given letter counts.
+   *
+   * @param counts The number of times every letter appears.
+   * @param length The number of letters of the text, at least two.
+   * @return The index of coincidence.
+   */
+  static double of(int[] counts, int length) {
+    long pairs = 0;
+    for (int count : counts) {
+      pairs += (long) count * (count - 1);
+    }
+    return (double) pairs / ((long) length * (length - 1));
+  }
+}
@@ -0,0 +1,231 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+
+
+/**
+ * Menu of a bombe, the graph a crib and its ciphertext make. Every letter of the crib and the
+ * letter it encrypts to are the ends of an edge, labelled with the position of the letter in the
+ * crib, which tells how far the rotors have moved.
+ *
+ * <p>
+ * The crib is placed on the ciphertext at a given offset. Since a letter never encrypts to itself,
+ * placing the crib where a letter lines up with itself is rejected.
+ * </p>
+ *
+ * <p>
+ * The test letter is the letter with the most edges, which is where the bombe makes its
+ * hypothesis. The more loops the menu has, the fewer false stops the bombe gives.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class Menu {
+
+  // Crib and the part of the ciphertext it is placed on, as letter indexes.
+  private final int[] plain;
+  private final int[] cipher;
+
+  // Position of the ciphertext the crib is placed on.
+  private final int offset;
+
+  // Edges of every letter, as the letter on the other end and the position of the edge in the
+  // crib.
+  private final int[][] partners;
+  private final int[][] positions;
+
+  private final int testLetter;
+  private final int letterCount;
+  private final int loopCount;
+
+  /**
+   * Creates the menu of the given crib placed on the given ciphertext.
+   *
+   * @param crib The plaintext expected in the message.
+   * @param ciphertext The encrypted message.
+   * @param offset The position of the ciphertext the first letter of the crib is placed on.
+   * @throws java.lang.IllegalArgumentException If the crib is empty, any character is not a
+   *         letter, the crib does not fit in the ciphertext at the offset, or a letter of the crib
+   *         lines up with the same letter.
+   * @throws java.lang.NullPointerException If the crib or the ciphertext is null.
+   */
+  public Menu(String crib, String ciphertext, int offset)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (crib == null) {
+      throw new java.lang.NullPointerException("Provided crib is null");
+    }
+    if (ciphertext == null) {
+      throw new java.lang.NullPointerException("Provided ciphertext is null");
+    }
+    if (crib.isEmpty()) {
+      throw new java.lang.IllegalArgumentException("Provided crib is empty");
+    }
+    if (offset < 0 || offset > ciphertext.length() - crib.length()) {
+      throw new java.lang.IllegalArgumentException(
+          "Provided crib does not fit in the ciphertext at offset " + offset);
+    }
+
+    this.offset = offset;
+    this.plain = new int[crib.length()];
+    this.cipher = new int[crib.length()];
+
+    int[] degrees = new int[Alphabet.SIZE];
+    for (int i = 0; i < crib.length(); i++) {
+      this.plain[i] = Alphabet.toIndex(crib.charAt(i));
+      this.cipher[i] = Alphabet.toIndex(ciphertext.charAt(offset + i));
+      if (this.plain[i] == this.cipher[i]) {
+        throw new java.lang.IllegalArgumentException(
+            "Letter " + crib.charAt(i) + " cannot encrypt to itself at position " + (offset + i));
+      }
+      degrees[this.plain[i]]++;
+      degrees[this.cipher[i]]++;
+    }
+
+    this.partners = new int[Alphabet.SIZE][];
+    this.positions = new int[Alphabet.SIZE][];
+    for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+      this.partners[letter] = new int[degrees[letter]];
+      this.positions[letter] = new int[degrees[letter]];
+    }
+
+    int[] filled = new int[Alphabet.SIZE];
+    for (int i = 0; i < this.plain.length; i++) {
+      this.addEdge(this.plain[i], this.cipher[i], i, filled);
+      this.addEdge(this.cipher[i], this.plain[i], i, filled);
+    }
+
+    int test = 0;
+    int letters = 0;
+    for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+      if (degrees[letter] > degrees[test]) {
+        test = letter;
+      }
+      if (degrees[letter] > 0) {
+        letters++;
+      }
+    }
+    this.testLetter = test;
+    this.letterCount = letters;
+
+    // Every edge beyond the ones of a spanning forest closes a loop.
+    this.loopCount = this.plain.length - letters + this.countComponents();
+  }
+
+  /**
+   * Adds the edge from a letter to another to the edges of the first letter.
+   *
+   * @param from The letter the edge is added to.
+   * @param to The letter on the other end of the edge.
+   * @param position The position of the edge in the crib.
+   * @param filled The number of edges already added to every letter.
+   */
+  private void addEdge(int from, int to, int position, int[] filled) {
+    this.partners[from][filled[from]] = to;
+    this.positions[from][filled[from]] = position;
+    filled[from]++;
+  }
+
+  /**
+   * Counts the connected parts of the menu.
+   *
+   * @return The number of connected parts.
+   */
+  private int countComponents() {
+    int components = 0;
+    int visited = 0;
+    int[] stack = new int[Alphabet.SIZE];
+    for (int letter = 0; letter < Alphabet.SIZE; letter++) {
+      if (this.partners[letter].length == 0 || (visited & 1 << letter) != 0) {
+        continue;
+      }
+
+      components++;
+      visited |= 1 << letter;
+      int size = 0;
+      stack[size++] = letter;
+      while (size > 0) {
+        int current = stack[--size];
+        for (int partner : this.partners[current]) {
+          if ((visited & 1 << partner) == 0) {
+            visited |= 1 << partner;
+            stack[size++] = partner;
+          }
+        }
+      }
+    }
+    return components;
+  }
+
+  /**
+   * Returns the number of edges of the menu, which is the length of the crib.
+   *
+   * @return The number of edges.
+   */
+  public int getEdgeCount() {
+    return this.plain.length;
+  }
+
+  /**
+   * Returns the number of different letters in the menu.
+   *
+   * @return The number of letters.
+   */
+  public int getLetterCount() {
+    return this.letterCount;
+  }
+
+  /**
+   * Returns the number of independent loops of the menu.
+   *
+   * @return The number of loops.
+   */
+  public int getLoopCount() {
+    return this.loopCount;
+  }
+
+  /**
+   * Returns the position of the ciphertext the crib is placed on.
+   *
+   * @return The position of the first letter of the crib in the ciphertext.
+   */
+  public int getOffset() {
+    return this.offset;
+  }
+
+  /**
+   * Returns the letter with the most edges, where the bombe makes its hypothesis.
+   *
+   * @return The test letter, in lowercase.
+   */
+  public char getTestLetter() {
+    return Alphabet.toLetter(this.testLetter);
+  }
+
+  /**
+   * Returns the index of the test letter.
+   *
+   * @return The index of the test letter.
+   */
+  int getTestIndex() {
+    return this.testLetter;
+  }
+
+  /**
+   * Returns the letters on the other end of the edges of every letter.
+   *
+   * @return The partners, by letter index. Do not modify.
+   */
+  int[][] getPartners() {
+    return this.partners;
+  }
+
+  /**
+   * Returns the positions in the crib of the edges of every letter, in the order of their
+   * partners.
+   *
+   * @return The positions, by letter index. Do not modify.
+   */
+  int[][] getPositions() {
+    return this.positions;
+  }
+}
@@ -0,0 +1,117 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+import java.nio.FloatBuffer;
+
+
+/**
+ * Scores a text by the sum of the log probabilities of its n-grams, the groups of n consecutive
+ * letters. The probabilities are kept in a flat table indexed by the letter indexes of the n-gram,
+ * the first letter being the most significant, e.g. {@code a * 26 * 26 + b * 26 + c} for a
+ * trigram, so scoring is a table lookup per letter. The table can be an array, or an
+ * {@link NgramTable} mapped from a file.
+ *
+ * @version 1.0
+ */
+public final class NgramScorer implements Scorer {
+
+  /**
+   * Longest n-grams supported, whose table has 26^4 entries.
+   */
+  public static final int MAX_LENGTH = 4;
+
+  private final int length;
+  private final int tableSize;
+  private final FloatBuffer logProbabilities;
+
+  /**
+   * Creates a scorer with the given table.
+   *
+   * @param length The number of letters of every n-gram, between 1 and 4.
+   * @param logProbabilities The log probability of every n-gram, 26^length entries. The table is
+   *        used as is, not copied.
+   * @throws java.lang.IllegalArgumentException If the length is not between 1 and 4, or the table
+   *         does not have an entry per n-gram.
+   * @throws java.lang.NullPointerException If the table is null.
+   */
+  public NgramScorer(int length, float[] logProbabilities)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (logProbabilities == null) {
+      throw new java.lang.NullPointerException("Provided table is null");
+    }
+
+    this.length = length;
+    this.tableSize = NgramScorer.tableSize(length);
+    if (logProbabilities.length != this.tableSize) {
+      throw new java.lang.IllegalArgumentException(
+          "Table of " + length + "-grams must have " + this.tableSize + " entries");
+    }
+    this.logProbabilities = FloatBuffer.wrap(logProbabilities);
+  }
+
+  /**
+   * Creates a scorer with the given table, which is used as is, not copied.
+   *
+   * @param table The table of log probabilities.
+   * @throws java.lang.NullPointerException If the table is null.
+   */
+  public NgramScorer(NgramTable table) throws java.lang.NullPointerException {
+    if (table == null) {
+      throw new java.lang.NullPointerException("Provided table is null");
+    }
+
+    this.length = table.getLength();
+    this.tableSize = table.size();
+    this.logProbabilities = table.getLogProbabilities();
+  }
+
+  /**
+   * Returns the number of entries of the table of n-grams of the given length.
+   *
+   * @param length The number of letters of every n-gram, between 1 and 4.
+   * @return The number of entries, 26^length.
+   * @throws java.lang.IllegalArgumentException If the length is not between 1 and 4.
+   */
+  public static int tableSize(int length) throws java.lang.IllegalArgumentException {
+    if (length < 1 || length > MAX_LENGTH) {
+      throw new java.lang.IllegalArgumentException(
+          "N-gram length must be between 1 and " + MAX_LENGTH);
+    }
+
+    int size = 1;
+    for (int i = 0; i < length; i++) {
+      size *= Alphabet.SIZE;
+    }
+    return size;
+  }
+
+  /**
+   * Returns the number of letters of every n-gram.
+   *
+   * @return The length of the n-grams.
+   */
+  public int getLength() {
+    return this.length;
+  }
+
+  /**
+   * Returns the sum of the log probabilities of every n-gram of the given text.
+   *
+   * @param text The letters of the text, as indexes between 0 and 25.
+   * @param length The number of letters of the text to be scored.
+   * @return The score, or 0 if the text is shorter than an n-gram.
+   */
+  @Override
+  public double score(byte[] text, int length) {
+    double score = 0;
+    int index = 0;
+    for (int i = 0; i < length; i++) {
+      // Dropping the letter that leaves the window keeps the index below the table size.
+      index = (index * Alphabet.SIZE + text[i]) % this.tableSize;
+      if (i >= this.length - 1) {
+        score += this.logProbabilities.get(index);
+      }
+    }
+    return score;
+  }
+}
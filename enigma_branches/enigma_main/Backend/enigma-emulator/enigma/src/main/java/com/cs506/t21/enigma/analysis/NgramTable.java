@@ -0,0 +1,161 @@
+package com.cs506.t21.enigma.analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Table of the log probabilities of every n-gram of a language, indexed the same way as in
+ * {@link NgramScorer}. Tables are stored in a compact binary file, which is memory mapped when
+ * loaded: the table is never parsed nor copied to the heap, and every process that maps the same
+ * file shares a single copy of it in the page cache.
+ *
+ * <p>
+ * The file has a 16 byte header, followed by the 26^n log probabilities as 4 byte floats. Every
+ * value is little endian. The header is made of:
+ * </p>
+ * <ul>
+ * <li>The magic number 0x4D52474E, "NGRM" in ASCII.</li>
+ * <li>The version of the format, 1.</li>
+ * <li>The length of the n-grams, between 1 and 4.</li>
+ * <li>A reserved value, 0.</li>
+ * </ul>
+ *
+ * <p>
+ * A quadgram table takes 1.8 MB. Tables are made from a corpus with {@link NgramTableBuilder}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class NgramTable {
+
+  /**
+   * Size of the header of a table file, in bytes.
+   */
+  public static final int HEADER_SIZE = 16;
+
+  // Header values.
+  private static final int MAGIC = 0x4D52474E;
+  private static final int VERSION = 1;
+
+  private final int length;
+  private final FloatBuffer logProbabilities;
+
+  /**
+   * Creates a table of n-grams of the given length.
+   *
+   * @param length The number of letters of every n-gram.
+   * @param logProbabilities The log probability of every n-gram, 26^length entries.
+   */
+  NgramTable(int length, FloatBuffer logProbabilities) {
+    this.length = length;
+    this.logProbabilities = logProbabilities;
+  }
+
+  /**
+   * Memory maps the table in the given file. The file is mapped read only, and it can be closed,
+   * but not modified, while the table is used.
+   *
+   * @param file The table file.
+   * @return The mapped table.
+   * @throws java.io.IOException If the file cannot be read, or it is not a table file.
+   * @throws java.lang.NullPointerException If the file is null.
+   */
+  public static NgramTable map(Path file) throws IOException, java.lang.NullPointerException {
+    if (file == null) {
+      throw new java.lang.NullPointerException("Provided file is null");
+    }
+
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_SIZE) {
+        throw new IOException(file + " is not an n-gram table");
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IOException(file + " is not an n-gram table");
+    }
+    int length = buffer.getInt(8);
+    if (length < 1 || length > NgramScorer.MAX_LENGTH
+        || buffer.capacity() != HEADER_SIZE + (long) Float.BYTES * NgramScorer.tableSize(length)) {
+      throw new IOException(file + " has the wrong size for its n-gram length");
+    }
+
+    return new NgramTable(length, buffer.position(HEADER_SIZE).slice()
+        .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer());
+  }
+
+  /**
+   * Writes the table to the given file, replacing its contents.
+   *
+   * @param file The file.
+   * @throws java.io.IOException If the file cannot be written.
+   * @throws java.lang.NullPointerException If the file is null.
+   */
+  public void write(Path file) throws IOException, java.lang.NullPointerException {
+    if (file == null) {
+      throw new java.lang.NullPointerException("Provided file is null");
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Float.BYTES * this.size())
+        .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(this.length).putInt(0);
+    for (int i = 0; i < this.size(); i++) {
+      buffer.putFloat(this.logProbabilities.get(i));
+    }
+    buffer.flip();
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of letters of every n-gram.
+   *
+   * @return The length of the n-grams.
+   */
+  public int getLength() {
+    return this.length;
+  }
+
+  /**
+   * Returns the number of n-grams of the table.
+   *
+   * @return The number of entries, 26^length.
+   */
+  public int size() {
+    return this.logProbabilities.capacity();
+  }
+
+  /**
+   * Returns the log probability of the n-gram with the given index.
+   *
+   * @param index The index of the n-gram, see {@link NgramScorer}.
+   * @return The log probability.
+   * @throws java.lang.IndexOutOfBoundsException If the index is not in the table.
+   */
+  public float getLogProbability(int index) throws java.lang.IndexOutOfBoundsException {
+    return this.logProbabilities.get(index);
+  }
+
+  /**
+   * Returns the log probabilities of the table.
+   *
+   * @return A buffer of the log probabilities. Do not modify.
+   */
+  FloatBuffer getLogProbabilities() {
+    return this.logProbabilities;
+  }
+}
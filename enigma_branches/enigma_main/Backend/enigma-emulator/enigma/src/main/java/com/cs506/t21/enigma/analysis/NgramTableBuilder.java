@@ -0,0 +1,172 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+
+/**
+ * Counts the n-grams of a plain text corpus, and builds the {@link NgramTable} of their log
+ * probabilities.
+ *
+ * <p>
+ * Letters are counted regardless of case, and every other character is skipped, hence n-grams
+ * run across word boundaries as they do in Enigma messages, which have no spaces. The log
+ * probabilities are base 10. N-grams that never appear in the corpus are given the log
+ * probability of a hundredth of an occurrence, so a single unseen n-gram does not rule a
+ * decryption out.
+ * </p>
+ *
+ * <p>
+ * The builder is also a command line tool:
+ * {@code java com.cs506.t21.enigma.analysis.NgramTableBuilder 4 quadgrams.bin corpus.txt}
+ * writes the quadgram table of the corpus files given.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class NgramTableBuilder {
+
+  // Occurrences given to the n-grams that never appear.
+  private static final double UNSEEN = 0.01;
+
+  private final int length;
+  private final int tableSize;
+  private final long[] counts;
+
+  // Index of the last letters read, and the number of them, up to the n-gram length.
+  private int window;
+  private int letters;
+
+  private long total;
+
+  /**
+   * Creates a builder of a table of n-grams of the given length.
+   *
+   * @param length The number of letters of every n-gram, between 1 and 4.
+   * @throws java.lang.IllegalArgumentException If the length is not between 1 and 4.
+   */
+  public NgramTableBuilder(int length) throws java.lang.IllegalArgumentException {
+    this.length = length;
+    this.tableSize = NgramScorer.tableSize(length);
+    this.counts = new long[this.tableSize];
+  }
+
+  /**
+   * Counts the n-grams of the given text, following the text added before.
+   *
+   * @param text The text.
+   * @throws java.lang.NullPointerException If the text is null.
+   */
+  public void add(CharSequence text) throws java.lang.NullPointerException {
+    if (text == null) {
+      throw new java.lang.NullPointerException("Provided text is null");
+    }
+
+    for (int i = 0; i < text.length(); i++) {
+      this.add(text.charAt(i));
+    }
+  }
+
+  /**
+   * Counts the n-grams of every character of the given reader, following the text added before.
+   * The reader is not closed.
+   *
+   * @param reader The reader of the text.
+   * @throws java.io.IOException If the reader fails.
+   * @throws java.lang.NullPointerException If the reader is null.
+   */
+  public void add(Reader reader) throws IOException, java.lang.NullPointerException {
+    if (reader == null) {
+      throw new java.lang.NullPointerException("Provided reader is null");
+    }
+
+    char[] buffer = new char[8192];
+    int read;
+    while ((read = reader.read(buffer)) != -1) {
+      for (int i = 0; i < read; i++) {
+        this.add(buffer[i]);
+      }
+    }
+  }
+
+  /**
+   * Counts the n-gram the given character ends, if it is a letter.
+   *
+   * @param character The character.
+   */
+  private void add(char character) {
+    if (!Alphabet.isLetter(character)) {
+      return;
+    }
+
+    this.window = (this.window * Alphabet.SIZE + Alphabet.toIndex(character)) % this.tableSize;
+    if (this.letters < this.length) {
+      this.letters++;
+    }
+    if (this.letters == this.length) {
+      this.counts[this.window]++;
+      this.total++;
+    }
+  }
+
+  /**
+   * Returns the number of n-grams counted.
+   *
+   * @return The number of n-grams.
+   */
+  public long getCount() {
+    return this.total;
+  }
+
+  /**
+   * Builds the table of the n-grams counted so far.
+   *
+   * @return The table.
+   * @throws java.lang.IllegalStateException If no n-gram was counted.
+   */
+  public NgramTable build() throws java.lang.IllegalStateException {
+    if (this.total == 0) {
+      throw new java.lang.IllegalStateException("No n-gram was counted");
+    }
+
+    float[] logProbabilities = new float[this.tableSize];
+    for (int i = 0; i < this.tableSize; i++) {
+      double count = this.counts[i] == 0 ? UNSEEN : this.counts[i];
+      logProbabilities[i] = (float) Math.log10(count / this.total);
+    }
+    return new NgramTable(this.length, FloatBuffer.wrap(logProbabilities));
+  }
+
+  /**
+   * Builds the table of the given corpus files and writes it to a file.
+   *
+   * @param args The length of the n-grams, the table file, and one or more corpus files, read as
+   *        UTF-8.
+   * @throws java.io.IOException If a corpus file cannot be read or the table cannot be written.
+   * @throws java.lang.IllegalArgumentException If the arguments are missing or the length is not
+   *         between 1 and 4.
+   */
+  public static void main(String[] args) throws IOException, java.lang.IllegalArgumentException {
+    if (args.length < 3) {
+      throw new java.lang.IllegalArgumentException(
+          "Usage: NgramTableBuilder <length> <table file> <corpus file>...");
+    }
+
+    NgramTableBuilder builder = new NgramTableBuilder(Integer.parseInt(args[0]));
+    for (int i = 2; i < args.length; i++) {
+      try (Reader reader = Files.newBufferedReader(Paths.get(args[i]), StandardCharsets.UTF_8)) {
+        builder.add(reader);
+      }
+    }
+
+    Path table = Paths.get(args[1]);
+    builder.build().write(table);
+    System.out.println("Wrote " + builder.getCount() + " " + args[0] + "-grams to " + table);
+  }
+}
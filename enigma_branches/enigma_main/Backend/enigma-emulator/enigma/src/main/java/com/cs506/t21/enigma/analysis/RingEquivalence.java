@@ -0,0 +1,264 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+import com.cs506.t21.enigma.MachineKey;
+import com.cs506.t21.enigma.RotorType;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Classes of ring settings and rotor positions that encrypt a message of a given length the same
+ * way. Searches only need to try a representative of every class, and expand it back to every
+ * setting of its class when reporting a key.
+ *
+ * <p>
+ * The wiring of a rotor is turned by its position minus its ring setting, its offset. The
+ * position alone only decides when the rotor turns the rotor on its left over. Hence two settings
+ * of a rotor are equivalent when they have the same offset, and they reach the turn over letters
+ * on the same steps of the rotor along the message:
+ * </p>
+ * <ul>
+ * <li>The leftmost rotor turns nothing over, so only its offset matters: 26 classes instead of
+ * 676, represented by ring setting "a".</li>
+ * <li>The rightmost rotor steps on every letter. A message shorter than the alphabet only sees
+ * some of its turn overs, and rotors with two notches repeat the same turn overs every 13
+ * steps.</li>
+ * <li>The middle rotor only steps when the rightmost rotor turns over, which happens once every
+ * 26 letters for a rotor with a notch, so most of its positions turn nothing over along a short
+ * message.</li>
+ * </ul>
+ *
+ * <p>
+ * Settings are given as {@code ring * 26 + position}, both as letter indexes. The representative
+ * of a class is the setting with the lowest ring setting.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class RingEquivalence {
+
+  private RingEquivalence() {}
+
+  /**
+   * Returns the number of times the middle rotor may step along a message of the given length.
+   * The middle rotor steps when the rightmost rotor turns over.
+   *
+   * @param right The rightmost rotor.
+   * @param length The number of letters of the message.
+   * @return The largest number of steps, for any position of the rightmost rotor.
+   * @throws java.lang.IllegalArgumentException If the length is negative.
+   * @throws java.lang.NullPointerException If the rotor type is null.
+   */
+  public static int middleSteps(RotorType right, int length)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (right == null) {
+      throw new java.lang.NullPointerException("Provided rotor type is null");
+    }
+    if (length < 0) {
+      throw new java.lang.IllegalArgumentException("Message length cannot be negative");
+    }
+
+    int steps = 0;
+    for (int position = 0; position < Alphabet.SIZE; position++) {
+      int count = 0;
+      for (char turnOver : right.getTurnOvers().toCharArray()) {
+        // Steps before the rotor first stands on the turn over letter.
+        int distance = Math.floorMod(Alphabet.toIndex(turnOver) - position, Alphabet.SIZE);
+        if (distance < length) {
+          count += (length - distance - 1) / Alphabet.SIZE + 1;
+        }
+      }
+      steps = Math.max(steps, count);
+    }
+    return steps;
+  }
+
+  /**
+   * Returns the turn overs of a rotor along the given number of its steps, which tell its class
+   * apart from the other classes with the same offset.
+   *
+   * @param rotor The rotor.
+   * @param position The position of the rotor before the message.
+   * @param steps The number of times the rotor steps along the message.
+   * @return The steps that turn the rotor on the left over, as bits. Steps past the alphabet
+   *         repeat the first ones and are left out.
+   */
+  static int turnOvers(RotorType rotor, int position, int steps) {
+    int mask = 0;
+    for (char turnOver : rotor.getTurnOvers().toCharArray()) {
+      mask |= 1 << Alphabet.toIndex(turnOver);
+    }
+
+    int turnOvers = 0;
+    for (int step = 0; step < Math.min(steps, Alphabet.SIZE); step++) {
+      if ((mask & 1 << (position + step) % Alphabet.SIZE) != 0) {
+        turnOvers |= 1 << step;
+      }
+    }
+    return turnOvers;
+  }
+
+  /**
+   * Returns a representative setting of every class of a rotor.
+   *
+   * @param rotor The rotor.
+   * @param steps The number of times the rotor steps along the message: 0 for the leftmost rotor,
+   *        {@link #middleSteps(RotorType, int)} for the middle rotor and the message length for
+   *        the rightmost rotor.
+   * @return The representatives, as {@code ring * 26 + position}.
+   * @throws java.lang.IllegalArgumentException If the number of steps is negative.
+   * @throws java.lang.NullPointerException If the rotor type is null.
+   */
+  public static int[] representatives(RotorType rotor, int steps)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    RingEquivalence.checkArguments(rotor, steps);
+
+    int[] turnOvers = new int[Alphabet.SIZE];
+    for (int position = 0; position < Alphabet.SIZE; position++) {
+      turnOvers[position] = RingEquivalence.turnOvers(rotor, position, steps);
+    }
+
+    int[] settings = new int[Alphabet.SIZE * Alphabet.SIZE];
+    int count = 0;
+    for (int offset = 0; offset < Alphabet.SIZE; offset++) {
+      // Lower rings come first, so the first setting of every class represents it.
+      int seen = 0;
+      int[] classes = new int[Alphabet.SIZE];
+      for (int ring = 0; ring < Alphabet.SIZE; ring++) {
+        int position = (offset + ring) % Alphabet.SIZE;
+        boolean found = false;
+        for (int i = 0; i < seen && !found; i++) {
+          found = classes[i] == turnOvers[position];
+        }
+        if (!found) {
+          classes[seen++] = turnOvers[position];
+          settings[count++] = ring * Alphabet.SIZE + position;
+        }
+      }
+    }
+    return java.util.Arrays.copyOf(settings, count);
+  }
+
+  /**
+   * Returns every setting of a rotor equivalent to the given one.
+   *
+   * @param rotor The rotor.
+   * @param steps The number of times the rotor steps along the message, see
+   *        {@link #representatives(RotorType, int)}.
+   * @param ring The ring setting, as a letter index.
+   * @param position The position of the rotor before the message, as a letter index.
+   * @return The settings of the class, as {@code ring * 26 + position}, by ring setting.
+   * @throws java.lang.IllegalArgumentException If the number of steps is negative, or the ring
+   *         setting or the position is not a letter index.
+   * @throws java.lang.NullPointerException If the rotor type is null.
+   */
+  public static int[] expand(RotorType rotor, int steps, int ring, int position)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    RingEquivalence.checkArguments(rotor, steps);
+    if (ring < 0 || ring >= Alphabet.SIZE || position < 0 || position >= Alphabet.SIZE) {
+      throw new java.lang.IllegalArgumentException("Ring and position must be letter indexes");
+    }
+
+    final int offset = position - ring;
+    final int turnOvers = RingEquivalence.turnOvers(rotor, position, steps);
+    int[] settings = new int[Alphabet.SIZE];
+    int count = 0;
+    for (int other = 0; other < Alphabet.SIZE; other++) {
+      int otherPosition = Math.floorMod(offset + other, Alphabet.SIZE);
+      if (RingEquivalence.turnOvers(rotor, otherPosition, steps) == turnOvers) {
+        settings[count++] = other * Alphabet.SIZE + otherPosition;
+      }
+    }
+    return java.util.Arrays.copyOf(settings, count);
+  }
+
+  /**
+   * Returns every key that encrypts a message of the given length the same way as the given key,
+   * which is how a representative found by a search is reported.
+   *
+   * @param key The key.
+   * @param length The number of letters of the message.
+   * @return The equivalent keys, the given one included.
+   * @throws java.lang.IllegalArgumentException If the length is negative.
+   * @throws java.lang.NullPointerException If the key is null.
+   */
+  public static List<MachineKey> expand(MachineKey key, int length)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (key == null) {
+      throw new java.lang.NullPointerException("Provided key is null");
+    }
+
+    int[] steps = {0, RingEquivalence.middleSteps(key.getRotorType(2), length), length};
+    int[][] settings = new int[3][];
+    for (int rotor = 0; rotor < 3; rotor++) {
+      settings[rotor] = RingEquivalence.expand(key.getRotorType(rotor), steps[rotor],
+          Alphabet.toIndex(key.getRingSetting(rotor)),
+          Alphabet.toIndex(key.getRotorPosition(rotor)));
+    }
+
+    List<MachineKey> keys = new ArrayList<>();
+    for (int left : settings[0]) {
+      for (int middle : settings[1]) {
+        for (int right : settings[2]) {
+          keys.add(MachineKey.of(key.getReflectorType(), key.getRotorType(0),
+              key.getRotorType(1), key.getRotorType(2),
+              RingEquivalence.letters(left / Alphabet.SIZE, middle / Alphabet.SIZE,
+                  right / Alphabet.SIZE),
+              RingEquivalence.letters(left % Alphabet.SIZE, middle % Alphabet.SIZE,
+                  right % Alphabet.SIZE), key.getPlugboard()));
+        }
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * Returns the number of ring settings and positions a search has to try for a rotor order and a
+   * message of the given length, out of the 26^6 there are.
+   *
+   * @param left The leftmost rotor.
+   * @param middle The middle rotor.
+   * @param right The rightmost rotor.
+   * @param length The number of letters of the message.
+   * @return The number of classes.
+   * @throws java.lang.IllegalArgumentException If the length is negative.
+   * @throws java.lang.NullPointerException If any rotor type is null.
+   */
+  public static long countClasses(RotorType left, RotorType middle, RotorType right, int length)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    return (long) RingEquivalence.representatives(left, 0).length
+        * RingEquivalence.representatives(middle, RingEquivalence.middleSteps(right, length))
+        .length * RingEquivalence.representatives(right, length).length;
+  }
+
+  /**
+   * Returns the given letter indexes as letters.
+   *
+   * @param left The index of the first letter.
+   * @param middle The index of the second letter.
+   * @param right The index of the third letter.
+   * @return The letters.
+   */
+  private static String letters(int left, int middle, int right) {
+    return "" + Alphabet.toLetter(left) + Alphabet.toLetter(middle) + Alphabet.toLetter(right);
+  }
+
+  /**
+   * Checks the arguments of a rotor class.
+   *
+   * @param rotor The rotor.
+   * @param steps The number of times the rotor steps along the message.
+   * @throws java.lang.IllegalArgumentException If the number of steps is negative.
+   * @throws java.lang.NullPointerException If the rotor type is null.
+   */
+  private static void checkArguments(RotorType rotor, int steps)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (rotor == null) {
+      throw new java.lang.NullPointerException("Provided rotor type is null");
+    }
+    if (steps < 0) {
+      throw new java.lang.IllegalArgumentException("Number of steps cannot be negative");
+    }
+  }
+}
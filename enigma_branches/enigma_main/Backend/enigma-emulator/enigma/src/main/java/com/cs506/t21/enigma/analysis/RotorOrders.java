@@ -0,0 +1,92 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.RotorType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Enumerates the rotor orders search tools try, and runs work over them on a fork join pool.
+ *
+ * @version 1.0
+ */
+final class RotorOrders {
+
+  private RotorOrders() {}
+
+  /**
+   * Returns every order of three different rotors out of the given ones.
+   *
+   * @param rotorTypes The rotors the machine may have. At least three different ones.
+   * @return The rotor orders, the leftmost rotor first.
+   * @throws java.lang.IllegalArgumentException If there are fewer than three rotors, or any
+   *         rotor is repeated or has no notches.
+   * @throws java.lang.NullPointerException If any rotor type is null.
+   */
+  static List<RotorType[]> of(RotorType... rotorTypes)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (rotorTypes.length < 3) {
+      throw new java.lang.IllegalArgumentException("Search needs at least three rotors");
+    }
+    for (int i = 0; i < rotorTypes.length; i++) {
+      if (rotorTypes[i] == null) {
+        throw new java.lang.NullPointerException("Provided rotor type is null");
+      }
+      if (!rotorTypes[i].isStepping()) {
+        throw new java.lang.IllegalArgumentException("Rotor type must have at least one notch");
+      }
+      for (int j = 0; j < i; j++) {
+        if (rotorTypes[i] == rotorTypes[j]) {
+          throw new java.lang.IllegalArgumentException("Rotor types must be different");
+        }
+      }
+    }
+
+    List<RotorType[]> orders = new ArrayList<>();
+    for (RotorType left : rotorTypes) {
+      for (RotorType middle : rotorTypes) {
+        for (RotorType right : rotorTypes) {
+          if (left != middle && left != right && middle != right) {
+            orders.add(new RotorType[] {left, middle, right});
+          }
+        }
+      }
+    }
+    return orders;
+  }
+
+  /**
+   * Task that runs an action on a range of items, splitting the range in halves until a single
+   * item is left. Idle workers steal the halves not started yet.
+   */
+  static final class RangeAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final transient IntConsumer action;
+
+    RangeAction(int from, int to, IntConsumer action) {
+      this.from = from;
+      this.to = to;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= 1) {
+        if (this.to > this.from) {
+          this.action.accept(this.from);
+        }
+        return;
+      }
+
+      int middle = (this.from + this.to) >>> 1;
+      RangeAction.invokeAll(new RangeAction(this.from, middle, this.action),
+          new RangeAction(middle, this.to, this.action));
+    }
+  }
+}
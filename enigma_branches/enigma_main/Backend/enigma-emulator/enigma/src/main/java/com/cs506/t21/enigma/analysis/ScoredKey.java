@@ -0,0 +1,59 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.MachineKey;
+
+
+/**
+ * Key found by a search, with the score of the decryption it gives.
+ *
+ * @version 1.0
+ */
+public final class ScoredKey {
+
+  private final MachineKey key;
+  private final double score;
+
+  /**
+   * Creates a scored key.
+   *
+   * @param key The key.
+   * @param score The score of the decryption of the ciphertext with the key.
+   * @throws java.lang.NullPointerException If the key is null.
+   */
+  public ScoredKey(MachineKey key, double score) throws java.lang.NullPointerException {
+    if (key == null) {
+      throw new java.lang.NullPointerException("Provided key is null");
+    }
+
+    this.key = key;
+    this.score = score;
+  }
+
+  /**
+   * Returns the key.
+   *
+   * @return The key, with the rotor positions of the first letter of the ciphertext.
+   */
+  public MachineKey getKey() {
+    return this.key;
+  }
+
+  /**
+   * Returns the score of the decryption of the ciphertext with the key.
+   *
+   * @return The score.
+   */
+  public double getScore() {
+    return this.score;
+  }
+
+  /**
+   * Returns the score followed by the key, e.g. "-1523.25 UKW-B II I V aab kdc aq bn".
+   *
+   * @return The scored key.
+   */
+  @Override
+  public String toString() {
+    return String.format("%.2f %s", this.score, this.key);
+  }
+}
@@ -0,0 +1,27 @@
+package com.cs506.t21.enigma.analysis;
+
+
+/**
+ * Scores how much a candidate decryption looks like plaintext. Search tools keep the keys whose
+ * decryptions score highest.
+ *
+ * <p>
+ * Texts are given as letter indexes, see {@link com.cs506.t21.enigma.Alphabet}, so a scorer can
+ * index its tables directly. Scorers are called from many threads at once and must not keep state
+ * between calls.
+ * </p>
+ *
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface Scorer {
+
+  /**
+   * Scores the given text. Higher scores are more likely to be plaintext.
+   *
+   * @param text The letters of the text, as indexes between 0 and 25.
+   * @param length The number of letters of the text to be scored.
+   * @return The score.
+   */
+  double score(byte[] text, int length);
+}
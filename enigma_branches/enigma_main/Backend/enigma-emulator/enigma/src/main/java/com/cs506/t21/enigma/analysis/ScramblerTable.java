@@ -0,0 +1,116 @@
+package com.cs506.t21.enigma.analysis;
+
+import com.cs506.t21.enigma.Alphabet;
+import com.cs506.t21.enigma.MachineSpec;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.Reflector;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.Rotor;
+import com.cs506.t21.enigma.RotorType;
+import com.cs506.t21.enigma.SteppingTable;
+
+
+/**
+ * Substitutions of the scrambler of a rotor order, without plugboard, for every rotor position.
+ * Search tools try keys by looking letters up in this table instead of building machines.
+ *
+ * <p>
+ * The table is computed with ring settings "aaa". A ring setting turns the wiring of its rotor the
+ * same way a position does, hence the substitution of any key is found on the positions minus the
+ * ring settings. Ring settings only change where the rotors turn over, which is handled by the
+ * stepping table of the rotor order.
+ * </p>
+ *
+ * @version 1.0
+ */
+final class ScramblerTable {
+
+  private final RotorType[] rotorTypes;
+  private final SteppingTable stepping;
+
+  // Substitution of letter i on state s is at s * 26 + i.
+  private final byte[] table;
+
+  /**
+   * Tabulates the scrambler of the given rotor order with the given reflector.
+   *
+   * @param reflectorType The reflector.
+   * @param rotorTypes The rotor order, the leftmost first.
+   */
+  ScramblerTable(ReflectorType reflectorType, RotorType[] rotorTypes) {
+    Rotor left = new Rotor(rotorTypes[0], 'a', 'a');
+    Rotor middle = new Rotor(rotorTypes[1], 'a', 'a');
+    Rotor right = new Rotor(rotorTypes[2], 'a', 'a');
+    MachineSpec spec = new MachineSpec(new Plugboard(), new Reflector(reflectorType), left,
+        middle, right);
+
+    this.rotorTypes = rotorTypes.clone();
+    this.stepping = SteppingTable.of(middle, right);
+    this.table = new byte[SteppingTable.STATES * Alphabet.SIZE];
+    for (int state = 0; state < SteppingTable.STATES; state++) {
+      for (int index = 0; index < Alphabet.SIZE; index++) {
+        this.table[state * Alphabet.SIZE + index] = (byte) spec.encryptIndex(
+            SteppingTable.leftPosition(state), SteppingTable.middlePosition(state),
+            SteppingTable.rightPosition(state), index);
+      }
+    }
+  }
+
+  /**
+   * Returns the rotor order of this table.
+   *
+   * @return The rotor order, the leftmost first. Do not modify.
+   */
+  RotorType[] getRotorTypes() {
+    return this.rotorTypes;
+  }
+
+  /**
+   * Returns the stepping of the rotor order, which does not depend on the ring settings.
+   *
+   * @return The stepping table.
+   */
+  SteppingTable getStepping() {
+    return this.stepping;
+  }
+
+  /**
+   * Returns the offset of the substitution of the given state, with ring settings "aaa".
+   *
+   * @param state The rotor positions, see {@link SteppingTable#encode(int, int, int)}.
+   * @return The offset to pass to {@link #encrypt(int, int)}.
+   */
+  static int offset(int state) {
+    return state * Alphabet.SIZE;
+  }
+
+  /**
+   * Encrypts a letter with the substitution at the given offset.
+   *
+   * @param offset The offset of the substitution.
+   * @param index The index of the letter.
+   * @return The index of the encrypted letter.
+   */
+  int encrypt(int offset, int index) {
+    return this.table[offset + index];
+  }
+
+  /**
+   * Computes the offsets of the substitutions of the given number of key presses. The rotors
+   * step before every key press, as they do in the machine.
+   *
+   * @param state The rotor positions before the first key press.
+   * @param rings The ring settings of the left, middle and right rotors, as letter indexes.
+   * @param offsets The array the offset of every key press is written to.
+   * @param length The number of key presses.
+   */
+  void walk(int state, int[] rings, int[] offsets, int length) {
+    for (int i = 0; i < length; i++) {
+      state = this.stepping.next(state);
+      offsets[i] = ScramblerTable.offset(SteppingTable.encode(
+          Math.floorMod(SteppingTable.leftPosition(state) - rings[0], Alphabet.SIZE),
+          Math.floorMod(SteppingTable.middlePosition(state) - rings[1], Alphabet.SIZE),
+          Math.floorMod(SteppingTable.rightPosition(state) - rings[2], Alphabet.SIZE)));
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.cs506.t21.enigma.analysis;
+
+
+/**
+ * Receives the best key of a search every time it improves, so an application can show progress
+ * while the search runs.
+ *
+ * <p>
+ * Calls come from the threads of the search, one at a time, with increasing scores, and are made
+ * outside the locks of the search, so a slow listener only holds up the thread calling it. Keys
+ * found while the listener runs are not queued: once the call returns, only the best of them is
+ * reported, and the last call is always the best key of the search. A key with the same score as
+ * the best key is also reported when it replaces the best key, which happens when it was found
+ * by a climb that comes first in the search, so the best key does not depend on scheduling.
+ * </p>
+ *
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface SearchListener {
+
+  /**
+   * Called when a key with a higher score than every key found before is found, or a key with
+   * the same score replaces the best key.
+   *
+   * @param key The new best key.
+   */
+  void bestKeyImproved(ScoredKey key);
+}
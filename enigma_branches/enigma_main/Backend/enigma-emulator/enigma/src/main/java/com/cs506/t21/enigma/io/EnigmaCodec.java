@@ -0,0 +1,167 @@
+package com.cs506.t21.enigma.io;
+
+import com.cs506.t21.enigma.Alphabet;
+import com.cs506.t21.enigma.EnigmaM3;
+
+
+/**
+ * Encrypts blocks of characters for the streams of this package. Letters are converted to letter
+ * indices and encrypted at once with {@link EnigmaM3#translateIndices(byte[], int, int)}, and the
+ * characters that are not letters are handled according to a {@link NonLetterPolicy}.
+ *
+ * <p>
+ * The codec keeps track of the letters written to the current group of five letters, hence a
+ * single codec must be used for the whole output of a stream.
+ * </p>
+ *
+ * @version 1.0
+ */
+final class EnigmaCodec {
+
+  /**
+   * Maximum number of characters encrypted by a single call to encode.
+   */
+  static final int BLOCK_SIZE = 4096;
+
+  // Number of letters in a group, for the GROUP_FIVE policy.
+  private static final int GROUP_SIZE = 5;
+
+  // Index used to mark the characters that are not letters.
+  private static final byte NOT_LETTER = -1;
+
+  private final EnigmaM3 enigma;
+  private final NonLetterPolicy policy;
+  private final byte[] indices;
+
+  // Number of letters written to the current group, for the GROUP_FIVE policy.
+  private int groupLength;
+
+  /**
+   * Creates a codec that encrypts with the given machine.
+   *
+   * @param enigma The machine used to encrypt the letters.
+   * @param policy What to do with the characters that are not letters.
+   * @throws java.lang.NullPointerException If the machine or the policy is null.
+   */
+  EnigmaCodec(EnigmaM3 enigma, NonLetterPolicy policy) throws java.lang.NullPointerException {
+    if (enigma == null) {
+      throw new java.lang.NullPointerException("Provided enigma machine is null");
+    }
+    if (policy == null) {
+      throw new java.lang.NullPointerException("Provided policy is null");
+    }
+
+    this.enigma = enigma;
+    this.policy = policy;
+    this.indices = new byte[BLOCK_SIZE];
+  }
+
+  /**
+   * Returns the maximum number of characters written by encode for the given number of input
+   * characters.
+   *
+   * @param length The number of input characters.
+   * @return The size the output buffer must have.
+   */
+  static int maxOutputLength(int length) {
+    return length + length / GROUP_SIZE + 1;
+  }
+
+  /**
+   * Encrypts a block of characters.
+   *
+   * @param input The characters to be encrypted.
+   * @param offset The position of the first character to be encrypted.
+   * @param length The number of characters to be encrypted, at most {@link #BLOCK_SIZE}.
+   * @param output The array the output is written to. Must have room for
+   *        {@link #maxOutputLength(int)} characters.
+   * @param outputOffset The position of the output array the first character is written to.
+   * @return The number of characters written to the output.
+   */
+  int encode(char[] input, int offset, int length, char[] output, int outputOffset) {
+    for (int i = 0; i < length; i++) {
+      char character = input[offset + i];
+      this.indices[i] = Alphabet.isLetter(character)
+          ? (byte) Alphabet.toIndex(character) : NOT_LETTER;
+    }
+
+    this.enigma.translateIndices(this.indices, 0, length);
+
+    int written = outputOffset;
+    for (int i = 0; i < length; i++) {
+      int index = this.indices[i];
+      if (index == NOT_LETTER) {
+        if (this.policy == NonLetterPolicy.PASS_THROUGH) {
+          output[written++] = input[offset + i];
+        }
+        continue;
+      }
+
+      if (this.startsGroup()) {
+        output[written++] = ' ';
+      }
+      output[written++] = Alphabet.toLetter(index);
+    }
+
+    return written - outputOffset;
+  }
+
+  /**
+   * Encrypts a block of ASCII characters. Bytes that are not ASCII letters are handled as
+   * characters that are not letters.
+   *
+   * @param input The characters to be encrypted.
+   * @param offset The position of the first character to be encrypted.
+   * @param length The number of characters to be encrypted, at most {@link #BLOCK_SIZE}.
+   * @param output The array the output is written to. Must have room for
+   *        {@link #maxOutputLength(int)} characters.
+   * @param outputOffset The position of the output array the first character is written to.
+   * @return The number of characters written to the output.
+   */
+  int encode(byte[] input, int offset, int length, byte[] output, int outputOffset) {
+    for (int i = 0; i < length; i++) {
+      char character = (char) (input[offset + i] & 0xFF);
+      this.indices[i] = Alphabet.isLetter(character)
+          ? (byte) Alphabet.toIndex(character) : NOT_LETTER;
+    }
+
+    this.enigma.translateIndices(this.indices, 0, length);
+
+    int written = outputOffset;
+    for (int i = 0; i < length; i++) {
+      int index = this.indices[i];
+      if (index == NOT_LETTER) {
+        if (this.policy == NonLetterPolicy.PASS_THROUGH) {
+          output[written++] = input[offset + i];
+        }
+        continue;
+      }
+
+      if (this.startsGroup()) {
+        output[written++] = ' ';
+      }
+      output[written++] = (byte) Alphabet.toLetter(index);
+    }
+
+    return written - outputOffset;
+  }
+
+  /**
+   * Counts a letter that is about to be written, and returns whether a space must be written
+   * before it to start a new group.
+   *
+   * @return {@code true} if a space must be written before the letter.
+   */
+  private boolean startsGroup() {
+    if (this.policy != NonLetterPolicy.GROUP_FIVE) {
+      return false;
+    }
+
+    if (this.groupLength == GROUP_SIZE) {
+      this.groupLength = 1;
+      return true;
+    }
+    this.groupLength++;
+    return false;
+  }
+}
@@ -0,0 +1,141 @@
+package com.cs506.t21.enigma.io;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+
+/**
+ * An input stream that encrypts the ASCII characters read from another input stream. Bytes are
+ * read and encrypted a block at a time, hence inputs of any size can be encrypted using a
+ * constant amount of memory.
+ *
+ * <p>
+ * Letters are encrypted the same way {@link EnigmaM3#translate(char)} does, and written as
+ * lowercase ASCII letters. Other bytes do not step the rotors, and are handled according to the
+ * given {@link NonLetterPolicy}. The rotors of the machine are moved as the bytes are read.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class EnigmaInputStream extends InputStream {
+
+  private final InputStream in;
+  private final EnigmaCodec codec;
+
+  // Bytes read from the underlying stream.
+  private final byte[] inputBuffer;
+
+  // Encrypted bytes not yet returned by read, between pendingStart and pendingEnd.
+  private final byte[] pending;
+  private int pendingStart;
+  private int pendingEnd;
+
+  private boolean closed;
+
+  /**
+   * Creates a stream that encrypts with the given machine, copying bytes that are not letters
+   * unchanged.
+   *
+   * @param in The stream the characters to be encrypted are read from.
+   * @param enigma The machine used to encrypt the letters.
+   * @throws java.lang.NullPointerException If any of the arguments is null.
+   */
+  public EnigmaInputStream(InputStream in, EnigmaM3 enigma)
+      throws java.lang.NullPointerException {
+    this(in, enigma, NonLetterPolicy.PASS_THROUGH);
+  }
+
+  /**
+   * Creates a stream that encrypts with the given machine.
+   *
+   * @param in The stream the characters to be encrypted are read from.
+   * @param enigma The machine used to encrypt the letters.
+   * @param policy What to do with the bytes that are not letters.
+   * @throws java.lang.NullPointerException If any of the arguments is null.
+   */
+  public EnigmaInputStream(InputStream in, EnigmaM3 enigma, NonLetterPolicy policy)
+      throws java.lang.NullPointerException {
+    if (in == null) {
+      throw new java.lang.NullPointerException("Provided stream is null");
+    }
+
+    this.in = in;
+    this.codec = new EnigmaCodec(enigma, policy);
+    this.inputBuffer = new byte[EnigmaCodec.BLOCK_SIZE];
+    this.pending = new byte[EnigmaCodec.maxOutputLength(EnigmaCodec.BLOCK_SIZE)];
+  }
+
+  @Override
+  public int read() throws IOException {
+    this.ensureOpen();
+    if (!this.fillPending()) {
+      return -1;
+    }
+    return this.pending[this.pendingStart++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    Objects.checkFromIndexSize(off, len, b.length);
+    this.ensureOpen();
+    if (len == 0) {
+      return 0;
+    }
+
+    if (!this.fillPending()) {
+      return -1;
+    }
+
+    int count = Math.min(len, this.pendingEnd - this.pendingStart);
+    System.arraycopy(this.pending, this.pendingStart, b, off, count);
+    this.pendingStart += count;
+    return count;
+  }
+
+  @Override
+  public int available() throws IOException {
+    this.ensureOpen();
+    return this.pendingEnd - this.pendingStart;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!this.closed) {
+      this.closed = true;
+      this.in.close();
+    }
+  }
+
+  /**
+   * Reads and encrypts blocks from the underlying stream until there are encrypted bytes pending,
+   * or the end of the stream is reached.
+   *
+   * @return {@code false} if the end of the stream was reached with no bytes pending.
+   * @throws java.io.IOException If the underlying stream fails.
+   */
+  private boolean fillPending() throws IOException {
+    // Some blocks, such as blocks of spaces with the STRIP policy, produce no output.
+    while (this.pendingStart == this.pendingEnd) {
+      int read = this.in.read(this.inputBuffer, 0, this.inputBuffer.length);
+      if (read < 0) {
+        return false;
+      }
+      this.pendingStart = 0;
+      this.pendingEnd = this.codec.encode(this.inputBuffer, 0, read, this.pending, 0);
+    }
+    return true;
+  }
+
+  /**
+   * Checks that this stream has not been closed.
+   *
+   * @throws java.io.IOException If this stream has been closed.
+   */
+  private void ensureOpen() throws IOException {
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.cs506.t21.enigma.io;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+
+/**
+ * An output stream that encrypts the ASCII characters written to it, and writes the result to
+ * another output stream. Bytes are encrypted a block at a time and kept on an internal buffer
+ * until it is full, or until the stream is flushed, hence outputs of any size can be encrypted
+ * using a constant amount of memory.
+ *
+ * <p>
+ * Letters are encrypted the same way {@link EnigmaM3#translate(char)} does, and written as
+ * lowercase ASCII letters. Other bytes do not step the rotors, and are handled according to the
+ * given {@link NonLetterPolicy}. The rotors of the machine are moved as the bytes are written.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class EnigmaOutputStream extends OutputStream {
+
+  private final OutputStream out;
+  private final EnigmaCodec codec;
+
+  // Encrypted bytes not yet written to the underlying stream.
+  private final byte[] buffer;
+  private int bufferLength;
+
+  // Holds the byte written by write(int).
+  private final byte[] single = new byte[1];
+
+  private boolean closed;
+
+  /**
+   * Creates a stream that encrypts with the given machine, copying bytes that are not letters
+   * unchanged.
+   *
+   * @param out The stream the encrypted characters are written to.
+   * @param enigma The machine used to encrypt the letters.
+   * @throws java.lang.NullPointerException If any of the arguments is null.
+   */
+  public EnigmaOutputStream(OutputStream out, EnigmaM3 enigma)
+      throws java.lang.NullPointerException {
+    this(out, enigma, NonLetterPolicy.PASS_THROUGH);
+  }
+
+  /**
+   * Creates a stream that encrypts with the given machine.
+   *
+   * @param out The stream the encrypted characters are written to.
+   * @param enigma The machine used to encrypt the letters.
+   * @param policy What to do with the bytes that are not letters.
+   * @throws java.lang.NullPointerException If any of the arguments is null.
+   */
+  public EnigmaOutputStream(OutputStream out, EnigmaM3 enigma, NonLetterPolicy policy)
+      throws java.lang.NullPointerException {
+    if (out == null) {
+      throw new java.lang.NullPointerException("Provided stream is null");
+    }
+
+    this.out = out;
+    this.codec = new EnigmaCodec(enigma, policy);
+    this.buffer = new byte[2 * EnigmaCodec.maxOutputLength(EnigmaCodec.BLOCK_SIZE)];
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    this.single[0] = (byte) b;
+    this.write(this.single, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    Objects.checkFromIndexSize(off, len, b.length);
+    this.ensureOpen();
+
+    for (int done = 0; done < len; done += EnigmaCodec.BLOCK_SIZE) {
+      int count = Math.min(EnigmaCodec.BLOCK_SIZE, len - done);
+      if (this.bufferLength + EnigmaCodec.maxOutputLength(count) > this.buffer.length) {
+        this.flushBuffer();
+      }
+      this.bufferLength += this.codec.encode(b, off + done, count, this.buffer,
+          this.bufferLength);
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    this.ensureOpen();
+    this.flushBuffer();
+    this.out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!this.closed) {
+      try {
+        this.flushBuffer();
+      } finally {
+        this.closed = true;
+        this.out.close();
+      }
+    }
+  }
+
+  /**
+   * Writes the encrypted bytes on the internal buffer to the underlying stream.
+   *
+   * @throws java.io.IOException If the underlying stream fails.
+   */
+  private void flushBuffer() throws IOException {
+    if (this.bufferLength > 0) {
+      this.out.write(this.buffer, 0, this.bufferLength);
+      this.bufferLength = 0;
+    }
+  }
+
+  /**
+   * Checks that this stream has not been closed.
+   *
+   * @throws java.io.IOException If this stream has been closed.
+   */
+  private void ensureOpen() throws IOException {
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+}
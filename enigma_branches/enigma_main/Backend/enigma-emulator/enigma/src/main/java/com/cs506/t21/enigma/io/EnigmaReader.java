@@ -0,0 +1,117 @@
+package com.cs506.t21.enigma.io;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+
+
+/**
+ * A reader that encrypts the characters read from another reader. Characters are read and
+ * encrypted a block at a time, hence inputs of any size can be encrypted using a constant amount
+ * of memory.
+ *
+ * <p>
+ * Letters are encrypted the same way {@link EnigmaM3#translate(char)} does, and written as
+ * lowercase letters. Other characters do not step the rotors, and are handled according to the
+ * given {@link NonLetterPolicy}. The rotors of the machine are moved as the characters are read.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class EnigmaReader extends Reader {
+
+  private final Reader in;
+  private final EnigmaCodec codec;
+
+  // Characters read from the underlying reader.
+  private final char[] inputBuffer;
+
+  // Encrypted characters not yet returned by read, between pendingStart and pendingEnd.
+  private final char[] pending;
+  private int pendingStart;
+  private int pendingEnd;
+
+  private boolean closed;
+
+  /**
+   * Creates a reader that encrypts with the given machine, copying characters that are not
+   * letters unchanged.
+   *
+   * @param in The reader the characters to be encrypted are read from.
+   * @param enigma The machine used to encrypt the letters.
+   * @throws java.lang.NullPointerException If any of the arguments is null.
+   */
+  public EnigmaReader(Reader in, EnigmaM3 enigma) throws java.lang.NullPointerException {
+    this(in, enigma, NonLetterPolicy.PASS_THROUGH);
+  }
+
+  /**
+   * Creates a reader that encrypts with the given machine.
+   *
+   * @param in The reader the characters to be encrypted are read from.
+   * @param enigma The machine used to encrypt the letters.
+   * @param policy What to do with the characters that are not letters.
+   * @throws java.lang.NullPointerException If any of the arguments is null.
+   */
+  public EnigmaReader(Reader in, EnigmaM3 enigma, NonLetterPolicy policy)
+      throws java.lang.NullPointerException {
+    if (in == null) {
+      throw new java.lang.NullPointerException("Provided reader is null");
+    }
+
+    this.in = in;
+    this.codec = new EnigmaCodec(enigma, policy);
+    this.inputBuffer = new char[EnigmaCodec.BLOCK_SIZE];
+    this.pending = new char[EnigmaCodec.maxOutputLength(EnigmaCodec.BLOCK_SIZE)];
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) throws IOException {
+    Objects.checkFromIndexSize(off, len, cbuf.length);
+    this.ensureOpen();
+    if (len == 0) {
+      return 0;
+    }
+
+    // Some blocks, such as blocks of spaces with the STRIP policy, produce no output.
+    while (this.pendingStart == this.pendingEnd) {
+      int read = this.in.read(this.inputBuffer, 0, this.inputBuffer.length);
+      if (read < 0) {
+        return -1;
+      }
+      this.pendingStart = 0;
+      this.pendingEnd = this.codec.encode(this.inputBuffer, 0, read, this.pending, 0);
+    }
+
+    int count = Math.min(len, this.pendingEnd - this.pendingStart);
+    System.arraycopy(this.pending, this.pendingStart, cbuf, off, count);
+    this.pendingStart += count;
+    return count;
+  }
+
+  @Override
+  public boolean ready() throws IOException {
+    this.ensureOpen();
+    return this.pendingStart < this.pendingEnd || this.in.ready();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!this.closed) {
+      this.closed = true;
+      this.in.close();
+    }
+  }
+
+  /**
+   * Checks that this reader has not been closed.
+   *
+   * @throws java.io.IOException If this reader has been closed.
+   */
+  private void ensureOpen() throws IOException {
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.cs506.t21.enigma.io;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+
+/**
+ * A writer that encrypts the characters written to it, and writes the result to another writer.
+ * Characters are encrypted a block at a time and kept on an internal buffer until it is full, or
+ * until the writer is flushed, hence outputs of any size can be encrypted using a constant amount
+ * of memory.
+ *
+ * <p>
+ * Letters are encrypted the same way {@link EnigmaM3#translate(char)} does, and written as
+ * lowercase letters. Other characters do not step the rotors, and are handled according to the
+ * given {@link NonLetterPolicy}. The rotors of the machine are moved as the characters are
+ * written.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class EnigmaWriter extends Writer {
+
+  private final Writer out;
+  private final EnigmaCodec codec;
+
+  // Encrypted characters not yet written to the underlying writer.
+  private final char[] buffer;
+  private int bufferLength;
+
+  private boolean closed;
+
+  /**
+   * Creates a writer that encrypts with the given machine, copying characters that are not
+   * letters unchanged.
+   *
+   * @param out The writer the encrypted characters are written to.
+   * @param enigma The machine used to encrypt the letters.
+   * @throws java.lang.NullPointerException If any of the arguments is null.
+   */
+  public EnigmaWriter(Writer out, EnigmaM3 enigma) throws java.lang.NullPointerException {
+    this(out, enigma, NonLetterPolicy.PASS_THROUGH);
+  }
+
+  /**
+   * Creates a writer that encrypts with the given machine.
+   *
+   * @param out The writer the encrypted characters are written to.
+   * @param enigma The machine used to encrypt the letters.
+   * @param policy What to do with the characters that are not letters.
+   * @throws java.lang.NullPointerException If any of the arguments is null.
+   */
+  public EnigmaWriter(Writer out, EnigmaM3 enigma, NonLetterPolicy policy)
+      throws java.lang.NullPointerException {
+    if (out == null) {
+      throw new java.lang.NullPointerException("Provided writer is null");
+    }
+
+    this.out = out;
+    this.codec = new EnigmaCodec(enigma, policy);
+    this.buffer = new char[2 * EnigmaCodec.maxOutputLength(EnigmaCodec.BLOCK_SIZE)];
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    Objects.checkFromIndexSize(off, len, cbuf.length);
+    this.ensureOpen();
+
+    for (int done = 0; done < len; done += EnigmaCodec.BLOCK_SIZE) {
+      int count = Math.min(EnigmaCodec.BLOCK_SIZE, len - done);
+      if (this.bufferLength + EnigmaCodec.maxOutputLength(count) > this.buffer.length) {
+        this.flushBuffer();
+      }
+      this.bufferLength += this.codec.encode(cbuf, off + done, count, this.buffer,
+          this.bufferLength);
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    this.ensureOpen();
+    this.flushBuffer();
+    this.out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!this.closed) {
+      try {
+        this.flushBuffer();
+      } finally {
+        this.closed = true;
+        this.out.close();
+      }
+    }
+  }
+
+  /**
+   * Writes the encrypted characters on the internal buffer to the underlying writer.
+   *
+   * @throws java.io.IOException If the underlying writer fails.
+   */
+  private void flushBuffer() throws IOException {
+    if (this.bufferLength > 0) {
+      this.out.write(this.buffer, 0, this.bufferLength);
+      this.bufferLength = 0;
+    }
+  }
+
+  /**
+   * Checks that this writer has not been closed.
+   *
+   * @throws java.io.IOException If this writer has been closed.
+   */
+  private void ensureOpen() throws IOException {
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+}
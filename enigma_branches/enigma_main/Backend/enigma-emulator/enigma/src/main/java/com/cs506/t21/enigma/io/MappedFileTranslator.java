@@ -0,0 +1,279 @@
+package com.cs506.t21.enigma.io;
+
+import com.cs506.t21.enigma.Alphabet;
+import com.cs506.t21.enigma.EnigmaM3;
+import com.cs506.t21.enigma.ForkJoinChunks;
+import com.cs506.t21.enigma.MachineSpec;
+import com.cs506.t21.enigma.MachineState;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Encrypts ASCII files into other files by memory mapping them with
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)}. The files are never read whole: every
+ * thread copies its region 4096 bytes at a time into a pair of heap buffers, allocated once per
+ * thread and file, hence the memory used does not grow with the size of the files.
+ *
+ * <p>
+ * The files are split into regions, which are mapped and encrypted in parallel on a fork join
+ * pool by {@link ForkJoinChunks}, the same way {@link com.cs506.t21.enigma.ParallelTranslator}
+ * splits a message into chunks. A first pass counts the letters of every region, which gives the
+ * rotor positions the machine has on the first letter of each region. Every region is then read
+ * into a buffer of letter indices a block at a time, which is encrypted by
+ * {@link MachineSpec#translateIndices(MachineState, byte[], int, int)}.
+ * </p>
+ *
+ * <p>
+ * Letters are encrypted the same way {@link EnigmaM3#translate(char)} does, and written as
+ * lowercase ASCII letters. Every other byte is copied unchanged and does not step the rotors, as
+ * with {@link NonLetterPolicy#PASS_THROUGH}, hence the output file has the same size as the input
+ * file.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class MappedFileTranslator {
+
+  // Number of bytes converted to letter indices at a time.
+  private static final int BUFFER_SIZE = 4096;
+
+  // Index used on the index buffer to mark a byte that is not a letter.
+  private static final byte NON_LETTER_INDEX = -1;
+
+  // Letter index of every byte value, or NON_LETTER_INDEX if it is not an ASCII letter.
+  private static final byte[] ASCII_INDICES = MappedFileTranslator.createAsciiIndices();
+
+  /**
+   * Number of bytes mapped and encrypted by a single task when no region size is provided.
+   */
+  public static final int DEFAULT_REGION_SIZE = 1 << 26;
+
+  private final ForkJoinPool pool;
+  private final int regionSize;
+
+  /**
+   * Default constructor creates a translator that runs on the common fork join pool, using the
+   * default region size.
+   */
+  public MappedFileTranslator() {
+    this(ForkJoinPool.commonPool(), DEFAULT_REGION_SIZE);
+  }
+
+  /**
+   * Overloaded constructor creates a translator that runs on the given pool.
+   *
+   * @param pool The pool the regions are encrypted on.
+   * @param regionSize The number of bytes mapped and encrypted by a single task.
+   * @throws java.lang.IllegalArgumentException If the region size is not positive.
+   * @throws java.lang.NullPointerException If the pool is null.
+   */
+  public MappedFileTranslator(ForkJoinPool pool, int regionSize)
+      throws java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (pool == null) {
+      throw new java.lang.NullPointerException("Provided pool is null");
+    }
+    if (regionSize < 1) {
+      throw new java.lang.IllegalArgumentException("Region size must be positive");
+    }
+
+    this.pool = pool;
+    this.regionSize = regionSize;
+  }
+
+  /**
+   * Encrypts the input file with the given machine, and writes the result to the output file.
+   * The output file is created, or replaced if it exists. The rotors of the machine are left on
+   * the positions they have after the last letter of the file.
+   *
+   * @param enigma The machine used to encrypt the file.
+   * @param input The file to be encrypted.
+   * @param output The file the result is written to. Must not be the input file.
+   * @return The number of letters encrypted, which is the number of key presses.
+   * @throws java.io.IOException If any of the files cannot be read or written.
+   * @throws java.lang.IllegalArgumentException If both paths are the same file.
+   * @throws java.lang.NullPointerException If any of the arguments is null.
+   */
+  public long translate(EnigmaM3 enigma, Path input, Path output) throws IOException,
+      java.lang.IllegalArgumentException, java.lang.NullPointerException {
+    if (enigma == null || input == null || output == null) {
+      throw new java.lang.NullPointerException("Arguments cannot be null");
+    }
+    if (Files.exists(output) && Files.isSameFile(input, output)) {
+      throw new java.lang.IllegalArgumentException("Input and output must be different files");
+    }
+
+    try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+        FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      return this.translate(enigma, in, out);
+    }
+  }
+
+  /**
+   * Encrypts the whole input channel with the given machine, and writes the result to the output
+   * channel, starting on position 0. See {@link #translate(EnigmaM3, Path, Path)}.
+   *
+   * @param enigma The machine used to encrypt the file.
+   * @param input A channel of the file to be encrypted, open for reading.
+   * @param output A channel of the file the result is written to, open for reading and writing.
+   * @return The number of letters encrypted, which is the number of key presses.
+   * @throws java.io.IOException If any of the files cannot be read or written.
+   */
+  private long translate(EnigmaM3 enigma, FileChannel input, FileChannel output)
+      throws IOException {
+    final long size = input.size();
+    if (size == 0) {
+      return 0;
+    }
+
+    // Every region maps its part of the output, so the file gets its final size up front.
+    output.write(ByteBuffer.wrap(new byte[1]), size - 1);
+
+    final int regions = (int) ((size - 1) / this.regionSize + 1);
+
+    // First pass, counts the letters, hence the key presses, of every region.
+    long[] letters = new long[regions];
+    this.forEachRegion(regions, region -> {
+      MappedByteBuffer in = this.map(input, FileChannel.MapMode.READ_ONLY, region, size);
+      letters[region] = MappedFileTranslator.countLetters(in);
+    });
+
+    long[] keyPresses = new long[regions + 1];
+    for (int region = 0; region < regions; region++) {
+      keyPresses[region + 1] = keyPresses[region] + letters[region];
+    }
+
+    // Second pass, every region is encrypted with its own copy of the rotor positions, moved to
+    // the positions of the first letter of the region.
+    final MachineSpec spec = MachineSpec.of(enigma);
+    final MachineState initialState = MachineState.of(enigma);
+    final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+    this.forEachRegion(regions, region -> {
+      MappedByteBuffer in = this.map(input, FileChannel.MapMode.READ_ONLY, region, size);
+      MappedByteBuffer out = this.map(output, FileChannel.MapMode.READ_WRITE, region, size);
+
+      MachineState state = initialState.copy();
+      spec.advance(state, keyPresses[region]);
+      MappedFileTranslator.encrypt(spec, state, in, out, buffers.get());
+    });
+
+    enigma.advance(keyPresses[regions]);
+    return keyPresses[regions];
+  }
+
+  /**
+   * Maps a region of the given channel.
+   *
+   * @param channel The channel to be mapped.
+   * @param mode The mode of the mapping.
+   * @param region The number of the region.
+   * @param size The size of the file.
+   * @return The mapped region.
+   * @throws java.io.UncheckedIOException If the region cannot be mapped.
+   */
+  private MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, int region,
+      long size) throws UncheckedIOException {
+    long start = (long) region * this.regionSize;
+    try {
+      return channel.map(mode, start, Math.min(this.regionSize, size - start));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Computes the letter index of every byte value, so a byte is converted with a single lookup.
+   *
+   * @return The index of every byte value, or -1 if it is not an ASCII letter.
+   */
+  private static byte[] createAsciiIndices() {
+    byte[] indices = new byte[256];
+    for (int value = 0; value < indices.length; value++) {
+      indices[value] = Alphabet.isLetter((char) value)
+          ? (byte) Alphabet.toIndex((char) value) : NON_LETTER_INDEX;
+    }
+    return indices;
+  }
+
+  /**
+   * Counts the ASCII letters of the given buffer.
+   *
+   * @param buffer The buffer.
+   * @return The number of letters between 0 and the limit of the buffer.
+   */
+  private static long countLetters(ByteBuffer buffer) {
+    long count = 0;
+    for (int i = 0; i < buffer.limit(); i++) {
+      if (ASCII_INDICES[buffer.get(i) & 0xFF] != NON_LETTER_INDEX) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Encrypts the letters of the input buffer into the output buffer, copying every other byte.
+   *
+   * @param spec The specification of the machine.
+   * @param state The rotor positions on the first letter of the buffer.
+   * @param input The bytes to be encrypted.
+   * @param output The buffer the result is written to, as large as the input buffer.
+   * @param buffers The buffers of the current thread.
+   */
+  private static void encrypt(MachineSpec spec, MachineState state, ByteBuffer input,
+      ByteBuffer output, Buffers buffers) {
+    final byte[] bytes = buffers.bytes;
+    final byte[] indices = buffers.indices;
+    for (int done = 0; done < input.limit(); done += BUFFER_SIZE) {
+      int count = Math.min(BUFFER_SIZE, input.limit() - done);
+      input.get(done, bytes, 0, count);
+      for (int i = 0; i < count; i++) {
+        indices[i] = ASCII_INDICES[bytes[i] & 0xFF];
+      }
+
+      spec.translateIndices(state, indices, 0, count);
+
+      for (int i = 0; i < count; i++) {
+        if (indices[i] != NON_LETTER_INDEX) {
+          bytes[i] = (byte) Alphabet.toLetter(indices[i]);
+        }
+      }
+      output.put(done, bytes, 0, count);
+    }
+  }
+
+  /**
+   * Runs the given action for every region on the pool of this translator, and waits for all of
+   * them to finish.
+   *
+   * @param regions The number of regions.
+   * @param action The action run for every region, which receives the number of the region.
+   * @throws java.io.IOException If the action fails to map a region.
+   */
+  private void forEachRegion(int regions, IntConsumer action) throws IOException {
+    try {
+      ForkJoinChunks.forEach(this.pool, regions, action);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Buffers a thread copies a block of a region to, and converts it to letter indices in.
+   */
+  private static final class Buffers {
+
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+    private final byte[] indices = new byte[BUFFER_SIZE];
+  }
+}
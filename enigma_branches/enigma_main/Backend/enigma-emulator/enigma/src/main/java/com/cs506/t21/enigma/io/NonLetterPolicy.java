@@ -0,0 +1,27 @@
+package com.cs506.t21.enigma.io;
+
+
+/**
+ * What the streams of this package do with the characters that are not letters. Characters that
+ * are not letters never step the rotors of the machine.
+ *
+ * @version 1.0
+ */
+public enum NonLetterPolicy {
+
+  /**
+   * Characters that are not letters are copied to the output unchanged.
+   */
+  PASS_THROUGH,
+
+  /**
+   * Characters that are not letters are removed from the output.
+   */
+  STRIP,
+
+  /**
+   * Characters that are not letters are removed, and the encrypted letters are written in groups
+   * of five letters separated by a space, as messages were transmitted during World War II.
+   */
+  GROUP_FIVE
+}
@@ -0,0 +1,148 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the translate methods do not allocate memory. Every test encrypts a large message a
+ * few times to warm up, so buffers are created and the JIT compiler is done with the loops, then
+ * measures the bytes allocated by the current thread while encrypting it again, which must be
+ * zero.
+ */
+public class AllocationTests {
+
+  private static final int LETTERS = 200_000;
+
+  // Plugboard of the machine, which has two notch rotors.
+  private static final String PLUGBOARD = "ab cd ef gh ij";
+
+  // Runs done before measuring.
+  private static final int WARM_UP_RUNS = 5;
+
+  private static ThreadMXBean threads;
+
+  /**
+   * Skips the tests if the JVM cannot count the bytes allocated by a thread.
+   */
+  @BeforeAll
+  public static void enableAllocationCounting() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean,
+        "Allocation counting is not supported by this JVM");
+    threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported(),
+        "Allocation counting is not supported by this JVM");
+    threads.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  /**
+   * Runs the action a few times to warm up, and returns the bytes allocated by one more run.
+   *
+   * @param action The action to be measured.
+   * @return The number of bytes allocated by the current thread during the second run.
+   */
+  private static long allocatedBytes(Runnable action) {
+    for (int i = 0; i < WARM_UP_RUNS; i++) {
+      action.run();
+    }
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    action.run();
+    return threads.getCurrentThreadAllocatedBytes() - before;
+  }
+
+  /**
+   * Creates a message of letters with a space every five letters.
+   *
+   * @return The message.
+   */
+  private static char[] createMessage() {
+    char[] message = new char[LETTERS];
+    for (int i = 0; i < message.length; i++) {
+      message[i] = i % 6 == 5 ? ' ' : (char) ('a' + (i * 7) % 26);
+    }
+    return message;
+  }
+
+  @Test
+  public void translateLetterDoesNotAllocate() {
+    EnigmaM3 enigma = TestMachines.createEnigma(PLUGBOARD, "bdf", "ceg",
+        RotorType.I, RotorType.VI, RotorType.VIII);
+
+    long allocated = AllocationTests.allocatedBytes(() -> {
+      for (int i = 0; i < LETTERS; i++) {
+        enigma.translate((char) ('a' + i % 26));
+        enigma.translateIndex(i % 26);
+      }
+    });
+    assertEquals(0, allocated, "translate(char) and translateIndex allocated memory");
+  }
+
+  @Test
+  public void translateArraysDoesNotAllocate() {
+    EnigmaM3 enigma = TestMachines.createEnigma(PLUGBOARD, "bdf", "ceg",
+        RotorType.I, RotorType.VI, RotorType.VIII);
+    char[] message = AllocationTests.createMessage();
+    char[] output = new char[LETTERS];
+    byte[] ascii = new byte[LETTERS];
+    for (int i = 0; i < LETTERS; i++) {
+      ascii[i] = (byte) message[i];
+    }
+
+    long allocated = AllocationTests.allocatedBytes(() -> {
+      enigma.translate(message, 0, LETTERS, output, 0);
+      enigma.translate(ascii, 0, LETTERS, ascii, 0);
+    });
+    assertEquals(0, allocated, "Bulk translate methods allocated memory");
+  }
+
+  @Test
+  public void compiledMachineDoesNotAllocate() {
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(TestMachines.createEnigma(PLUGBOARD,
+        "bdf", "ceg", RotorType.I, RotorType.VI, RotorType.VIII));
+
+    long allocated = AllocationTests.allocatedBytes(() -> {
+      for (int i = 0; i < LETTERS; i++) {
+        compiled.translate((char) ('a' + i % 26));
+      }
+    });
+    assertEquals(0, allocated, "CompiledEnigmaM3 allocated memory");
+  }
+
+  @Test
+  public void specificationDoesNotAllocate() {
+    EnigmaM3 enigma = TestMachines.createEnigma(PLUGBOARD, "bdf", "ceg",
+        RotorType.I, RotorType.VI, RotorType.VIII);
+    MachineSpec spec = MachineSpec.of(enigma);
+    MachineState state = MachineState.of(enigma);
+    char[] message = AllocationTests.createMessage();
+    char[] output = new char[LETTERS];
+
+    long allocated = AllocationTests.allocatedBytes(
+        () -> spec.translate(state, message, 0, LETTERS, output, 0));
+    assertEquals(0, allocated, "MachineSpec allocated memory");
+  }
+
+  @Test
+  public void specificationIndicesDoNotAllocate() {
+    EnigmaM3 enigma = TestMachines.createEnigma(PLUGBOARD, "bdf", "ceg",
+        RotorType.I, RotorType.VI, RotorType.VIII);
+    MachineSpec spec = MachineSpec.of(enigma);
+    MachineState state = MachineState.of(enigma);
+    byte[] indices = new byte[LETTERS];
+    for (int i = 0; i < LETTERS; i++) {
+      indices[i] = (byte) (i % 6 == 5 ? -1 : i % 26);
+    }
+
+    long allocated = AllocationTests.allocatedBytes(() -> {
+      for (int done = 0; done < LETTERS; done += 4096) {
+        spec.translateIndices(state, indices, done, Math.min(4096, LETTERS - done));
+      }
+    });
+    assertEquals(0, allocated, "MachineSpec.translateIndices allocated memory");
+  }
+}
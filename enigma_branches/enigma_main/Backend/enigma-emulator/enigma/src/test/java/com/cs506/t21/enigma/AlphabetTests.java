@@ -0,0 +1,69 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the conversions between letters and letter indices done by the Alphabet class.
+ */
+public class AlphabetTests {
+
+  @Test
+  public void toIndexIsCaseInsensitive() {
+    assertEquals(0, Alphabet.toIndex('a'), "A should have index 0");
+    assertEquals(0, Alphabet.toIndex('A'), "A should have index 0");
+    assertEquals(25, Alphabet.toIndex('z'), "Z should have index 25");
+    assertEquals(25, Alphabet.toIndex('Z'), "Z should have index 25");
+  }
+
+  @Test
+  public void toLetterReturnsLowercaseLetters() {
+    for (int i = 0; i < Alphabet.SIZE; i++) {
+      assertEquals((char) ('a' + i), Alphabet.toLetter(i), "Wrong letter for index " + i);
+    }
+  }
+
+  @Test
+  public void isLetterOnlyAcceptsEnglishLetters() {
+    assertTrue(Alphabet.isLetter('q'), "q is a letter");
+    assertTrue(Alphabet.isLetter('Q'), "Q is a letter");
+    assertFalse(Alphabet.isLetter('@'), "@ is not a letter");
+    assertFalse(Alphabet.isLetter('['), "[ is not a letter");
+    assertFalse(Alphabet.isLetter('é'), "Only english letters are accepted");
+  }
+
+  @Test
+  public void toIndexThrowsIllegalArgumentExceptionIfCharacterIsNotLetter() {
+    Exception e = assertThrows(java.lang.IllegalArgumentException.class,
+        () -> Alphabet.toIndex('1'),
+        "toIndex should throw an IllegalArgumentException if the character is not a letter");
+    assertEquals("Provided character must be a letter.", e.getMessage(),
+        "Message from error is not as expected");
+  }
+
+  @Test
+  public void wrapKeepsValuesInsideTheAlphabet() {
+    assertEquals(25, Alphabet.wrap(-1), "-1 should wrap to 25");
+    assertEquals(0, Alphabet.wrap(26), "26 should wrap to 0");
+    assertEquals(13, Alphabet.wrap(13), "13 should not change");
+  }
+
+  @Test
+  public void checkTextOnlyAcceptsLettersAndSpaces() {
+    Alphabet.checkText("ab C".toCharArray(), 0, 4);
+    Alphabet.checkText("x1ab".getBytes(java.nio.charset.StandardCharsets.US_ASCII), 2, 2);
+
+    Exception e = assertThrows(java.lang.IllegalArgumentException.class,
+        () -> Alphabet.checkText("ab-c".toCharArray(), 0, 4), "Dash is not a letter");
+    assertEquals("Provided text must only contain letters and spaces.", e.getMessage(),
+        "Message from error is not as expected");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> Alphabet.checkText(new byte[] {'a', '.'}, 0, 2), "Dot is not a letter");
+    assertThrows(java.lang.IndexOutOfBoundsException.class,
+        () -> Alphabet.checkText("abc".toCharArray(), 2, 2), "Range is outside of the text");
+  }
+}
@@ -0,0 +1,108 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the BitSlicedEnigma class against a machine per lane.
+ */
+public class BitSlicedEnigmaTests {
+
+  @Test
+  public void everyLaneMatchesItsMachine() {
+    EnigmaM3[] machines = TestMachines.createSharedLanes(BitSlicedEnigma.MAX_LANES);
+    BitSlicedEnigma engine = new BitSlicedEnigma(TestMachines.specsOf(machines),
+        TestMachines.statesOf(machines));
+    Random random = new Random(21);
+
+    long[] planes = new long[26];
+    for (int press = 0; press < 2000; press++) {
+      int index = random.nextInt(26);
+      engine.translateIndex(index, planes);
+
+      for (int lane = 0; lane < machines.length; lane++) {
+        char expected = machines[lane].translate(Alphabet.toLetter(index));
+        assertEquals(Alphabet.toIndex(expected), BitSlicedEnigma.indexOf(planes, lane),
+            "Lane " + lane + " differs from its machine on key " + press);
+      }
+    }
+
+    for (int lane = 0; lane < machines.length; lane++) {
+      assertEquals(MachineState.of(machines[lane]), engine.getState(lane),
+          "Rotor positions of lane " + lane + " differ from its machine");
+    }
+  }
+
+  @Test
+  public void matchIndexReturnsLanesWithExpectedLetter() {
+    final int lanes = 40;
+    EnigmaM3[] machines = TestMachines.createSharedLanes(lanes);
+    BitSlicedEnigma engine = new BitSlicedEnigma(TestMachines.specsOf(machines),
+        TestMachines.statesOf(machines));
+
+    for (int press = 0; press < 500; press++) {
+      int index = press % 26;
+      int expected = (press * 7) % 26;
+      long matches = engine.matchIndex(index, expected);
+
+      long expectedMatches = 0;
+      for (int lane = 0; lane < lanes; lane++) {
+        if (machines[lane].translateIndex(index) == expected) {
+          expectedMatches |= 1L << lane;
+        }
+      }
+      assertEquals(expectedMatches, matches, "Wrong lanes matched on key " + press);
+    }
+  }
+
+  @Test
+  public void unusedLanesHoldNoLetter() {
+    EnigmaM3[] machines = TestMachines.createSharedLanes(3);
+    BitSlicedEnigma engine = new BitSlicedEnigma(TestMachines.specsOf(machines),
+        TestMachines.statesOf(machines));
+    long[] planes = new long[26];
+    engine.translateIndex(0, planes);
+
+    assertEquals(3, engine.getLanes(), "Wrong number of lanes");
+    assertEquals(-1, BitSlicedEnigma.indexOf(planes, 3), "Unused lane should hold no letter");
+  }
+
+  @Test
+  public void methodsThrowOnInvalidArguments() {
+    EnigmaM3[] machines = TestMachines.createSharedLanes(2);
+    BitSlicedEnigma engine = new BitSlicedEnigma(TestMachines.specsOf(machines),
+        TestMachines.statesOf(machines));
+    final MachineSpec spec = MachineSpec.of(machines[0]);
+    final MachineState state = MachineState.of(machines[0]);
+    final MachineSpec other = MachineSpec.of(new EnigmaM3(new Plugboard("ab"),
+        new Reflector(ReflectorType.UKW_B), new Rotor[] {
+            new Rotor(RotorType.VI, 'a', 'a'), new Rotor(RotorType.II, 'a', 'a'),
+            new Rotor(RotorType.VIII, 'a', 'a')
+        }));
+
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> engine.translateIndex(0, new long[25]),
+        "translateIndex should throw an exception if there is not a plane per letter");
+    assertThrows(java.lang.IndexOutOfBoundsException.class, () -> engine.getState(2),
+        "getState should throw an exception if the lane does not exist");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new BitSlicedEnigma(new MachineSpec[0], new MachineState[0]),
+        "Constructor should throw an exception if there are no lanes");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new BitSlicedEnigma(new MachineSpec[65], new MachineState[65]),
+        "Constructor should throw an exception if there are more than 64 lanes");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new BitSlicedEnigma(new MachineSpec[] {spec, other},
+            new MachineState[] {state, state}),
+        "Constructor should throw an exception if the lanes have different components");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new BitSlicedEnigma(new MachineSpec[1], new MachineState[1]),
+        "Constructor should throw an exception if a specification is null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new BitSlicedEnigma(null, null),
+        "Constructor should throw an exception if the arrays are null");
+  }
+}
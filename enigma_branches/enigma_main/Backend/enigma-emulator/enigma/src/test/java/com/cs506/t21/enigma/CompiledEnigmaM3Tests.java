@@ -0,0 +1,193 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the CompiledEnigmaM3 class and checks that it produces the same output as the EnigmaM3
+ * machine it was compiled from.
+ */
+public class CompiledEnigmaM3Tests {
+
+  private EnigmaM3 enigma;
+
+  /**
+   * Creates an Enigma I machine with rotors I, II, III, reflector UKW-B, and an empty plugboard.
+   */
+  @BeforeEach
+  public void setUp() {
+    Rotor left = new Rotor("I", "EKMFLGDQVZNTOWYHXUSPAIBRCJ", 'Q', 'a', 'a');
+    Rotor middle = new Rotor("II", "AJDKSIRUXBLHWTMCQGZNPYFVOE", 'E', 'a', 'a');
+    Rotor right = new Rotor("III", "BDFHJLCPRTXVZNYEIWGAKMUSQO", 'V', 'a', 'a');
+    Reflector reflector = new Reflector("YRUHQSLDPXNGOKMIEBFZCWVJAT");
+
+    this.enigma = new EnigmaM3(new Plugboard(), reflector, left, middle, right);
+  }
+
+  @Test
+  public void translateMatchesHistoricalEnigmaOutput() {
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(this.enigma);
+
+    StringBuilder result = new StringBuilder();
+    for (char c : "AAAAA".toCharArray()) {
+      result.append(compiled.translate(c));
+    }
+
+    assertEquals("bdzgo", result.toString(), "Rotors I, II, III on AAA should encrypt as BDZGO");
+  }
+
+  @Test
+  public void translateMatchesEnigmaM3OnLongMessages() {
+    this.enigma.setPlugboard(new Plugboard("ab cz op lg"));
+    this.enigma.getRotor(0).setRingSetting('f');
+    this.enigma.getRotor(1).setRingSetting('k');
+    this.enigma.getRotor(1).setCurrentPosition('d');
+    this.enigma.getRotor(2).setCurrentPosition('u');
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(this.enigma);
+
+    Random random = new Random(506);
+    for (int i = 0; i < 20000; i++) {
+      char letter = (char) ('a' + random.nextInt(26));
+      assertEquals(this.enigma.translate(letter), compiled.translate(letter),
+          "Compiled machine differs from the original machine on key " + i);
+    }
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(this.enigma.getRotor(i).getCurrentPosition(), compiled.getRotorPosition(i),
+          "Rotor positions differ from the original machine");
+    }
+  }
+
+  @Test
+  public void compilingDoesNotChangeTheOriginalMachine() {
+    this.enigma.getRotor(2).setCurrentPosition('q');
+    new CompiledEnigmaM3(this.enigma);
+
+    assertEquals('a', this.enigma.getRotor(0).getCurrentPosition(), "Left rotor was moved");
+    assertEquals('a', this.enigma.getRotor(1).getCurrentPosition(), "Middle rotor was moved");
+    assertEquals('q', this.enigma.getRotor(2).getCurrentPosition(), "Right rotor was moved");
+  }
+
+  @Test
+  public void setRotorPositionsMovesAllRotors() {
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(this.enigma);
+    compiled.setRotorPositions('X', 'b', 'z');
+
+    assertEquals('x', compiled.getRotorPosition(0), "Left rotor position was not set");
+    assertEquals('b', compiled.getRotorPosition(1), "Middle rotor position was not set");
+    assertEquals('z', compiled.getRotorPosition(2), "Right rotor position was not set");
+  }
+
+  @Test
+  public void translateThrowsIllegalArgumentExceptionIfCharacterIsNotLetter() {
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(this.enigma);
+
+    Exception e = assertThrows(java.lang.IllegalArgumentException.class,
+        () -> compiled.translate('7'),
+        "translate should throw an IllegalArgumentException if the character is not a letter");
+    assertEquals("Provided character must be a letter.", e.getMessage(),
+        "Message from error is not as expected");
+  }
+
+  @Test
+  public void getRotorPositionThrowsIllegalArgumentExceptionIfPositionIsInvalid() {
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(this.enigma);
+
+    assertThrows(java.lang.IllegalArgumentException.class, () -> compiled.getRotorPosition(3),
+        "getRotorPosition should throw an exception for positions other than 0, 1, 2");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> compiled.setRotorPositions('a', '1', 'a'),
+        "setRotorPositions should throw an exception if a position is not a letter");
+  }
+
+  @Test
+  public void constructorThrowsNullPointerExceptionIfMachineIsNull() {
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new CompiledEnigmaM3((EnigmaM3) null),
+        "Constructor should throw a NullPointerException if the machine is null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new CompiledEnigmaM3((MachineSpec) null),
+        "Constructor should throw a NullPointerException if the specification is null");
+  }
+
+  @Test
+  public void specificationCompilesOnFirstPositions() {
+    this.enigma.getRotor(1).setRingSetting('k');
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(MachineSpec.of(this.enigma));
+    this.enigma.getRotor(2).setCurrentPosition('q');
+    compiled.setRotorPositions('a', 'a', 'q');
+
+    assertEquals('a', new CompiledEnigmaM3(MachineSpec.of(this.enigma)).getRotorPosition(2),
+        "Compiled specification should start on positions aaa");
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(this.enigma.translateIndex(i % 26), compiled.translateIndex(i % 26),
+          "Compiled specification differs from the machine on key " + i);
+    }
+  }
+
+  @Test
+  public void copiesStepIndependently() {
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(this.enigma);
+    compiled.setRotorPositions('a', 'b', 'c');
+    CompiledEnigmaM3 copy = compiled.copy();
+
+    assertEquals(CompiledEnigmaM3.TABLE_SIZE, copy.getTableSize(), "Wrong table size");
+    assertEquals(compiled.getTableSize(), copy.getTableSize(), "Copy should share the tables");
+    assertEquals('c', copy.getRotorPosition(2), "Copy should start on the same positions");
+    String encrypted = CompiledEnigmaM3Tests.translate(copy, "hello world");
+    assertEquals('c', compiled.getRotorPosition(2), "Original should not step with the copy");
+    assertEquals(encrypted, CompiledEnigmaM3Tests.translate(compiled, "hello world"),
+        "Copy should encrypt the same way as the original");
+  }
+
+  @Test
+  public void translateArrayMatchesEnigmaM3() {
+    this.enigma.setPlugboard(new Plugboard("ab cz op lg"));
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(this.enigma);
+    String text = "The quick brown fox jumps over the lazy dog ".repeat(50);
+
+    assertEquals(this.enigma.translate(text), CompiledEnigmaM3Tests.translate(compiled, text),
+        "Compiled machine differs from the original machine");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> CompiledEnigmaM3Tests.translate(compiled, "hi!"),
+        "translate should throw an exception if a character is not a letter nor a space");
+    assertEquals(this.enigma.getRotor(2).getCurrentPosition(), compiled.getRotorPosition(2),
+        "Rotors should not move if the text is invalid");
+  }
+
+  /**
+   * Encrypts the text with the array method of the compiled machine.
+   *
+   * @param compiled The compiled machine.
+   * @param text The text to be encrypted.
+   * @return The encrypted text.
+   */
+  private static String translate(CompiledEnigmaM3 compiled, String text) {
+    char[] characters = text.toCharArray();
+    compiled.translate(characters, 0, characters.length, characters, 0);
+    return new String(characters);
+  }
+
+  @Test
+  public void advanceMatchesTranslatingEveryLetter() {
+    this.enigma.getRotor(2).setCurrentPosition('t');
+    CompiledEnigmaM3 expected = new CompiledEnigmaM3(this.enigma);
+    CompiledEnigmaM3 actual = new CompiledEnigmaM3(this.enigma);
+
+    for (int i = 0; i < 5000; i++) {
+      expected.translateIndex(0);
+    }
+    actual.advance(5000);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(expected.getRotorPosition(i), actual.getRotorPosition(i),
+          "Rotor " + i + " is on the wrong position");
+    }
+    assertThrows(java.lang.IllegalArgumentException.class, () -> actual.advance(-5),
+        "advance should throw an IllegalArgumentException on negative key presses");
+  }
+}
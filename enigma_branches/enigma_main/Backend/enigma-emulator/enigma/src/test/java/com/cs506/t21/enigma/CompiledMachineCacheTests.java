@@ -0,0 +1,108 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the CompiledMachineCache class.
+ */
+public class CompiledMachineCacheTests {
+
+  // Size of the tables of a compiled machine.
+  private static final long TABLE_SIZE = SteppingTable.STATES * Alphabet.SIZE;
+
+  /**
+   * Creates the specification of a machine with rotors I, II, III and the given ring setting on
+   * the rightmost rotor.
+   *
+   * @param ringSetting The ring setting of the rightmost rotor.
+   * @return The specification.
+   */
+  private static MachineSpec createSpec(char ringSetting) {
+    return new MachineSpec(new Plugboard("ab cd"), new Reflector(ReflectorType.UKW_B),
+        new Rotor(RotorType.I, 'a', 'a'), new Rotor(RotorType.II, 'a', 'a'),
+        new Rotor(RotorType.III, ringSetting, 'a'));
+  }
+
+  @Test
+  public void machinesAreCompiledOnce() {
+    CompiledMachineCache cache = new CompiledMachineCache(10, Long.MAX_VALUE);
+
+    CompiledEnigmaM3 first = cache.get(CompiledMachineCacheTests.createSpec('a'));
+    first.translate('a');
+    final CompiledEnigmaM3 second = cache.get(CompiledMachineCacheTests.createSpec('a'));
+
+    assertEquals(1, cache.getMissCount(), "Machine should be compiled on the first lookup");
+    assertEquals(1, cache.getHitCount(), "Machine should be found on the second lookup");
+    assertEquals(1, cache.size(), "Cache should hold a single machine");
+    assertEquals(TABLE_SIZE, cache.getMemoryUsage(), "Wrong memory usage");
+    assertEquals('a', second.getRotorPosition(2), "Machines should start on positions aaa");
+    assertEquals('b', first.getRotorPosition(2), "Machines should step independently");
+  }
+
+  @Test
+  public void cachedMachinesMatchEnigmaM3() {
+    CompiledMachineCache cache = new CompiledMachineCache(10, Long.MAX_VALUE);
+    EnigmaM3 enigma = new EnigmaM3(new Plugboard("qw er"), new Reflector(ReflectorType.UKW_C),
+        new Rotor(RotorType.IV, 'b', 'x'), new Rotor(RotorType.V, 'c', 'y'),
+        new Rotor(RotorType.VI, 'd', 'z'));
+
+    cache.get(enigma);
+    CompiledEnigmaM3 compiled = cache.get(enigma);
+    assertEquals(1, cache.getHitCount(), "Machine should be found on the second lookup");
+    for (int i = 0; i < 2000; i++) {
+      assertEquals(enigma.translateIndex(i % 26), compiled.translateIndex(i % 26),
+          "Cached machine differs from the original machine on key " + i);
+    }
+  }
+
+  @Test
+  public void leastRecentlyUsedMachinesAreEvicted() {
+    CompiledMachineCache cache = new CompiledMachineCache(2, Long.MAX_VALUE);
+
+    cache.get(CompiledMachineCacheTests.createSpec('a'));
+    cache.get(CompiledMachineCacheTests.createSpec('b'));
+    cache.get(CompiledMachineCacheTests.createSpec('a'));
+    cache.get(CompiledMachineCacheTests.createSpec('c'));
+    assertEquals(1, cache.getEvictionCount(), "Cache should only hold two machines");
+
+    cache.get(CompiledMachineCacheTests.createSpec('a'));
+    assertEquals(2, cache.getHitCount(), "Machine used last should be kept");
+    cache.get(CompiledMachineCacheTests.createSpec('b'));
+    assertEquals(4, cache.getMissCount(), "Machine used least recently should be evicted");
+    assertEquals(2, cache.size(), "Cache should only hold two machines");
+  }
+
+  @Test
+  public void memoryBoundEvictsMachines() {
+    CompiledMachineCache cache = new CompiledMachineCache(10, 2 * TABLE_SIZE);
+
+    for (char ring = 'a'; ring < 'e'; ring++) {
+      cache.get(CompiledMachineCacheTests.createSpec(ring));
+    }
+    assertEquals(2, cache.size(), "Cache should only hold the tables that fit in its memory");
+    assertEquals(2 * TABLE_SIZE, cache.getMemoryUsage(), "Wrong memory usage");
+    assertEquals(2, cache.getEvictionCount(), "Wrong number of evictions");
+
+    cache.clear();
+    assertEquals(0, cache.size(), "Cache should be empty after being cleared");
+    assertEquals(0, cache.getMemoryUsage(), "Cache should take no memory after being cleared");
+    assertEquals(4, cache.getMissCount(), "Statistics should be kept after clearing the cache");
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    CompiledMachineCache cache = new CompiledMachineCache(1, 1);
+
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new CompiledMachineCache(0, 1), "Should not accept a cache of no machines");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new CompiledMachineCache(1, 0), "Should not accept a cache of no memory");
+    assertThrows(java.lang.NullPointerException.class, () -> cache.get((MachineSpec) null),
+        "Should not accept a null specification");
+    assertThrows(java.lang.NullPointerException.class, () -> cache.get((EnigmaM3) null),
+        "Should not accept a null machine");
+  }
+}
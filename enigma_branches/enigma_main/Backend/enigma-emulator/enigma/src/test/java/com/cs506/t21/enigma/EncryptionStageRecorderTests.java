@@ -0,0 +1,41 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the EncryptionStageRecorder class, which keeps the results of each encryption stage.
+ */
+public class EncryptionStageRecorderTests {
+
+  @Test
+  public void recorderKeepsTheResultOfEveryStage() {
+    EncryptionStageRecorder recorder = new EncryptionStageRecorder();
+    for (int stage = 0; stage < EncryptionStageListener.ENCRYPTION_STAGES; stage++) {
+      recorder.stageCompleted(stage, (char) ('a' + stage));
+    }
+
+    assertArrayEquals("abcdefghi".toCharArray(), recorder.getEncryptionStagesResults(),
+        "Recorder did not keep the result of every stage");
+  }
+
+  @Test
+  public void recorderOnlyKeepsTheLastTranslatedLetter() {
+    EnigmaM3 enigma = new EnigmaM3(new Plugboard(), new Reflector("YRUHQSLDPXNGOKMIEBFZCWVJAT"),
+        new Rotor("I", "EKMFLGDQVZNTOWYHXUSPAIBRCJ", 'Q', 'a', 'a'),
+        new Rotor("II", "AJDKSIRUXBLHWTMCQGZNPYFVOE", 'E', 'a', 'a'),
+        new Rotor("III", "BDFHJLCPRTXVZNYEIWGAKMUSQO", 'V', 'a', 'a'));
+    EncryptionStageRecorder recorder = new EncryptionStageRecorder();
+
+    enigma.translate('a', recorder);
+    char last = enigma.translate('a', recorder);
+
+    char[] stages = recorder.getEncryptionStagesResults();
+    assertEquals('a', stages[0], "Empty plugboard should not change the letter");
+    assertEquals(last, stages[EncryptionStageListener.ENCRYPTION_STAGES - 1],
+        "Last stage should be the encrypted letter");
+    assertEquals('d', last, "Second A on AAA should encrypt as D");
+  }
+}
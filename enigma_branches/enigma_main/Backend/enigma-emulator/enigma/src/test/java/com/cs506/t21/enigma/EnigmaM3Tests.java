@@ -1,6 +1,8 @@
 package com.cs506.t21.enigma;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyChar;
 import static org.mockito.Mockito.atLeastOnce;
@@ -268,4 +270,179 @@ public class EnigmaM3Tests {
     verifyNoMoreInteractions(plugboard, reflector, leftRotor);
   }
 
+  @Test
+  public void translateIndexMatchesTranslate() {
+    EnigmaM3 expected = TestMachines.createEnigma("ab cz");
+    EnigmaM3 actual = TestMachines.createEnigma("ab cz");
+
+    for (int i = 0; i < 2000; i++) {
+      int index = (i * 7) % 26;
+      assertEquals(expected.translate(Alphabet.toLetter(index)) - 'a', actual.translateIndex(index),
+          "translateIndex differs from translate on key " + i);
+    }
+  }
+
+  @Test
+  public void bulkTranslateOnCharArrayMatchesTranslate() {
+    EnigmaM3 expected = TestMachines.createEnigma("ab cz");
+    EnigmaM3 actual = TestMachines.createEnigma("ab cz");
+
+    char[] input = new char[10000];
+    for (int i = 0; i < input.length; i++) {
+      input[i] = i % 11 == 10 ? ' ' : (char) ('A' + (i * 7) % 26);
+    }
+    char[] output = new char[input.length + 2];
+    actual.translate(input, 0, input.length, output, 2);
+
+    for (int i = 0; i < input.length; i++) {
+      char expectedLetter = input[i] == ' ' ? ' ' : expected.translate(input[i]);
+      assertEquals(expectedLetter, output[i + 2], "Bulk translate differs on character " + i);
+    }
+    for (int i = 0; i < 3; i++) {
+      assertEquals(expected.getRotor(i).getCurrentPosition(),
+          actual.getRotor(i).getCurrentPosition(), "Rotor positions differ after bulk translate");
+    }
+  }
+
+  @Test
+  public void bulkTranslateOnTextKeepsSpaces() {
+    EnigmaM3 expected = TestMachines.createEnigma("ab cz");
+    EnigmaM3 actual = TestMachines.createEnigma("ab cz");
+
+    String message = "Hello World  from the enigma";
+    StringBuilder result = new StringBuilder();
+    for (char c : message.toCharArray()) {
+      result.append(c == ' ' ? ' ' : expected.translate(c));
+    }
+
+    assertEquals(result.toString(), actual.translate(message),
+        "Bulk translate on text differs from translate");
+  }
+
+  @Test
+  public void bulkTranslateOnAsciiBytesMatchesTranslateOnText() {
+    EnigmaM3 expected = TestMachines.createEnigma("ab cz");
+    EnigmaM3 actual = TestMachines.createEnigma("ab cz");
+
+    String message = "ATTACK AT DAWN";
+    byte[] bytes = message.getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+    actual.translate(bytes, 0, bytes.length, bytes, 0);
+
+    assertEquals(expected.translate(message),
+        new String(bytes, java.nio.charset.StandardCharsets.US_ASCII),
+        "Bulk translate on bytes differs from translate on text");
+  }
+
+  @Test
+  public void bulkTranslateDoesNotMoveRotorsIfInputIsInvalid() {
+    EnigmaM3 machine = TestMachines.createEnigma("ab cz");
+
+    Exception e = assertThrows(java.lang.IllegalArgumentException.class,
+        () -> machine.translate("abc1"),
+        "Bulk translate should throw an IllegalArgumentException on invalid characters");
+
+    assertEquals("Provided text must only contain letters and spaces.", e.getMessage(),
+        "Message from error is not as expected");
+    assertEquals('r', machine.getRotor(2).getCurrentPosition(), "Rotors should not be moved");
+  }
+
+  @Test
+  public void tracedTranslateReportsEveryStageInOrder() {
+    when(rightRotor.getCurrentPosition()).thenReturn('g');
+    when(rightRotor.getTurnOver()).thenReturn('r');
+
+    when(plugboard.swap(anyChar())).thenReturn('b').thenReturn('c');
+    when(rightRotor.encrypt(anyChar(), anyBoolean())).thenReturn('g').thenReturn('v');
+    when(middleRotor.encrypt(anyChar(), anyBoolean())).thenReturn('k').thenReturn('d');
+    when(leftRotor.encrypt(anyChar(), anyBoolean())).thenReturn('p').thenReturn('q');
+    when(reflector.swap(anyChar())).thenReturn('j');
+
+    EncryptionStageRecorder recorder = new EncryptionStageRecorder();
+    char result = this.enigma.translate('a', recorder);
+
+    assertEquals('c', result, "Traced translate should return the last plugboard output");
+    assertEquals("bgkpjqdvc", new String(recorder.getEncryptionStagesResults()),
+        "Stages were not reported in the order the signal passes through the components");
+  }
+
+  @Test
+  public void tracedTranslateThrowsNullPointerExceptionIfListenerIsNull() {
+    Exception e = assertThrows(java.lang.NullPointerException.class,
+        () -> this.enigma.translate('a', null),
+        "Traced translate should throw a NullPointerException if the listener is null");
+
+    assertEquals("Provided listener is null", e.getMessage(),
+        "Message from error is not as expected");
+    verify(rightRotor, never()).rotate();
+  }
+
+  @Test
+  public void advanceMovesRotorsAsIfLettersWereTranslated() {
+    EnigmaM3 expected = TestMachines.createEnigma("ab cz");
+    EnigmaM3 actual = TestMachines.createEnigma("ab cz");
+
+    for (int i = 0; i < 1000; i++) {
+      expected.translate('a');
+    }
+    actual.advance(1000);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(expected.getRotor(i).getCurrentPosition(),
+          actual.getRotor(i).getCurrentPosition(), "Rotor " + i + " is on the wrong position");
+    }
+    assertEquals(expected.translate("continue from here"), actual.translate("continue from here"),
+        "Machines should keep encrypting the same way after advance");
+  }
+
+  @Test
+  public void advanceThrowsIllegalArgumentExceptionIfKeyPressesAreNegative() {
+    EnigmaM3 machine = TestMachines.createEnigma("ab cz");
+
+    assertThrows(java.lang.IllegalArgumentException.class, () -> machine.advance(-1),
+        "advance should throw an IllegalArgumentException on negative key presses");
+  }
+
+  @Test
+  public void rotorsWithTwoNotchesStepTheNextRotorTwicePerRevolution() {
+    EnigmaM3 machine = new EnigmaM3(new Plugboard(), new Reflector(ReflectorType.UKW_B),
+        new Rotor(RotorType.VIII, 'a', 'a'), new Rotor(RotorType.VII, 'a', 'a'),
+        new Rotor(RotorType.VI, 'a', 'a'));
+
+    for (int i = 0; i < 26; i++) {
+      machine.translate('a');
+    }
+    assertEquals('c', machine.getRotor(1).getCurrentPosition(),
+        "Middle rotor should step on M and on Z");
+
+    machine.getRotor(1).setCurrentPosition('m');
+    machine.getRotor(2).setCurrentPosition('z');
+    machine.translate('a');
+    assertEquals('b', machine.getRotor(0).getCurrentPosition(),
+        "Left rotor should step when the middle rotor leaves M");
+  }
+
+  @Test
+  public void rotorsWithTwoNotchesEncryptTheSameWayOnEveryEngine() {
+    EnigmaM3 machine = new EnigmaM3(new Plugboard("ab cz"), new Reflector(ReflectorType.UKW_C),
+        new Rotor(RotorType.VI, 'c', 'x'), new Rotor(RotorType.VII, 'k', 'l'),
+        new Rotor(RotorType.VIII, 'a', 'y'));
+    CompiledEnigmaM3 compiled = new CompiledEnigmaM3(machine);
+    MachineSpec spec = MachineSpec.of(machine);
+    MachineState state = MachineState.of(machine);
+    EnigmaM3 advanced = new EnigmaM3(machine.getPlugboard(), machine.getReflector(),
+        new Rotor(RotorType.VI, 'c', 'x'), new Rotor(RotorType.VII, 'k', 'l'),
+        new Rotor(RotorType.VIII, 'a', 'y'));
+
+    char[] text = new char[5000];
+    for (int i = 0; i < text.length; i++) {
+      text[i] = (char) ('a' + (i * 7) % 26);
+      char expected = machine.translate(text[i]);
+      assertEquals(expected, compiled.translate(text[i]), "Compiled machine differs on " + i);
+      assertEquals(expected, spec.translate(state, text[i]), "Specification differs on " + i);
+    }
+
+    advanced.advance(text.length);
+    assertEquals(MachineState.of(machine), MachineState.of(advanced),
+        "advance differs from stepping one key press at a time");
+  }
 }
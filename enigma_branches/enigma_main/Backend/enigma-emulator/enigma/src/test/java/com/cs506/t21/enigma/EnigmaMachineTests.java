@@ -0,0 +1,220 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the EnigmaMachine class against EnigmaM3.
+ */
+public class EnigmaMachineTests {
+
+  // Plugboard used by every machine.
+  private static final String PLUGBOARD = "ab cd ef gh ij kl";
+
+  // Text long enough to step every rotor of a three rotor machine.
+  private static final String TEXT = "the quick brown fox jumps over the lazy dog ".repeat(20);
+
+  /**
+   * Creates the rotors of a three rotor machine, the leftmost first.
+   *
+   * @return The rotors, on positions "qdv".
+   */
+  private static Rotor[] createRotors() {
+    return new Rotor[] {
+        new Rotor(RotorType.IV, 'c', 'q'),
+        new Rotor(RotorType.II, 'k', 'd'),
+        new Rotor(RotorType.VI, 'x', 'v')
+    };
+  }
+
+  /**
+   * Encrypts the text with an EnigmaM3 with the given reflector.
+   *
+   * @param reflector The reflector of the machine.
+   * @return The encrypted text.
+   */
+  private static String translateM3(ReflectorType reflector) {
+    return new EnigmaM3(new Plugboard(PLUGBOARD), new Reflector(reflector),
+        EnigmaMachineTests.createRotors()).translate(TEXT);
+  }
+
+  @Test
+  public void threeRotorsMatchEnigmaM3() {
+    Rotor[] rotors = EnigmaMachineTests.createRotors();
+    EnigmaMachine machine = new EnigmaMachine(new Plugboard(PLUGBOARD),
+        new Reflector(ReflectorType.UKW_B), new Rotor[0], rotors);
+
+    assertEquals(EnigmaMachineTests.translateM3(ReflectorType.UKW_B), machine.translate(TEXT),
+        "Should encrypt the same way as EnigmaM3");
+    assertEquals('q', rotors[0].getCurrentPosition(), "Rotors given should not move");
+  }
+
+  @Test
+  public void translateIndexMatchesEnigmaM3() {
+    EnigmaM3 enigma = new EnigmaM3(new Plugboard(PLUGBOARD), new Reflector(ReflectorType.UKW_C),
+        EnigmaMachineTests.createRotors());
+    EnigmaMachine machine = new EnigmaMachine(new Plugboard(PLUGBOARD),
+        new Reflector(ReflectorType.UKW_C), new Rotor[0], EnigmaMachineTests.createRotors());
+
+    for (int i = 0; i < 2000; i++) {
+      int index = i % Alphabet.SIZE;
+      assertEquals(enigma.translateIndex(index), machine.translateIndex(index),
+          "Wrong index on key press " + i);
+    }
+    for (int i = 0; i < 3; i++) {
+      assertEquals(enigma.getRotor(i).getCurrentPosition(), machine.getRotorPosition(i),
+          "Wrong position of rotor " + i);
+    }
+  }
+
+  @Test
+  public void thinReflectorWithBetaMatchesReflectorB() {
+    Rotor[] rotors = EnigmaMachineTests.createRotors();
+    EnigmaMachine machine = EnigmaMachine.m4(new Plugboard(PLUGBOARD), ReflectorType.UKW_B_THIN,
+        RotorType.BETA, 'a', 'a', rotors[0], rotors[1], rotors[2]);
+
+    assertEquals(EnigmaMachineTests.translateM3(ReflectorType.UKW_B), machine.translate(TEXT),
+        "Beta with the thin B reflector should work as the B reflector");
+  }
+
+  @Test
+  public void thinReflectorWithGammaMatchesReflectorC() {
+    Rotor[] rotors = EnigmaMachineTests.createRotors();
+    EnigmaMachine machine = EnigmaMachine.m4(new Plugboard(PLUGBOARD), ReflectorType.UKW_C_THIN,
+        RotorType.GAMMA, 'a', 'a', rotors[0], rotors[1], rotors[2]);
+
+    assertEquals(EnigmaMachineTests.translateM3(ReflectorType.UKW_C), machine.translate(TEXT),
+        "Gamma with the thin C reflector should work as the C reflector");
+  }
+
+  @Test
+  public void fourthRotorPositionChangesEncryption() {
+    Rotor[] rotors = EnigmaMachineTests.createRotors();
+    EnigmaMachine machine = EnigmaMachine.m4(new Plugboard(PLUGBOARD), ReflectorType.UKW_B_THIN,
+        RotorType.BETA, 'a', 'm', rotors[0], rotors[1], rotors[2]);
+    String encrypted = machine.translate(TEXT);
+
+    assertNotEquals(EnigmaMachineTests.translateM3(ReflectorType.UKW_B), encrypted,
+        "Fourth rotor position should change the encryption");
+    assertEquals(3, machine.getRotorCount(), "Fourth rotor should not step");
+
+    machine.setRotorPositions('q', 'd', 'v');
+    assertEquals(TEXT, machine.translate(encrypted), "Decryption should give back the text");
+  }
+
+  @Test
+  public void m4MatchesFixedRotorWithTheSameWiring() {
+    Rotor[] rotors = EnigmaMachineTests.createRotors();
+    EnigmaMachine m4 = EnigmaMachine.m4(new Plugboard(PLUGBOARD), ReflectorType.UKW_C_THIN,
+        RotorType.GAMMA, 'h', 'm', rotors[0], rotors[1], rotors[2]);
+    Rotor fixed = new Rotor("Gamma", RotorType.GAMMA.getWiring(), 'a', 'h', 'm');
+    EnigmaMachine machine = new EnigmaMachine(new Plugboard(PLUGBOARD),
+        new Reflector(ReflectorType.UKW_C_THIN), new Rotor[] {fixed},
+        EnigmaMachineTests.createRotors());
+
+    assertEquals(machine.translate(TEXT), m4.translate(TEXT),
+        "Fourth rotor from the catalog should work as a rotor with the same wiring");
+  }
+
+  @Test
+  public void fixedRotorMatchesStationaryRotorOfEnigmaM3() {
+    // A left rotor never moves when the middle rotor never reaches its notch.
+    EnigmaM3 enigma = new EnigmaM3(new Plugboard(PLUGBOARD), new Reflector(ReflectorType.UKW_B),
+        new Rotor(RotorType.V, 'g', 'r'), new Rotor(RotorType.I, 'k', 'd'),
+        new Rotor(RotorType.VI, 'x', 'v'));
+    EnigmaMachine machine = new EnigmaMachine(new Plugboard(PLUGBOARD),
+        new Reflector(ReflectorType.UKW_B), new Rotor[] {new Rotor(RotorType.V, 'g', 'r')},
+        new Rotor(RotorType.I, 'k', 'd'), new Rotor(RotorType.VI, 'x', 'v'));
+    String text = TEXT.substring(0, 100);
+
+    assertEquals(enigma.translate(text), machine.translate(text),
+        "Fixed rotor should work as a rotor that does not move");
+  }
+
+  @Test
+  public void manyRotorsStepAsOdometer() {
+    Rotor[] rotors = new Rotor[5];
+    for (int i = 0; i < rotors.length; i++) {
+      rotors[i] = new Rotor(RotorType.I, 'a', 'q');
+    }
+    EnigmaMachine machine = new EnigmaMachine(new Plugboard(),
+        new Reflector(ReflectorType.UKW_B), new Rotor[0], rotors);
+
+    machine.translate('a');
+    assertEquals("rrrrr", EnigmaMachineTests.positionsOf(machine),
+        "Every rotor should step when the ones on its right are on their notch");
+    machine.translate('a');
+    assertEquals("rrrrs", EnigmaMachineTests.positionsOf(machine),
+        "Only the rightmost rotor should step");
+
+    machine.setRotorPositions('a', 'b', 'q', 'q', 'q');
+    machine.translate('a');
+    assertEquals("acrrr", EnigmaMachineTests.positionsOf(machine),
+        "Carry should stop at the first rotor not on its notch");
+  }
+
+  /**
+   * Returns the positions of every stepping rotor of the machine.
+   *
+   * @param machine The machine.
+   * @return The positions, the leftmost first.
+   */
+  private static String positionsOf(EnigmaMachine machine) {
+    StringBuilder positions = new StringBuilder();
+    for (int i = 0; i < machine.getRotorCount(); i++) {
+      positions.append(machine.getRotorPosition(i));
+    }
+    return positions.toString();
+  }
+
+  @Test
+  public void spacesAreNotEncrypted() {
+    EnigmaMachine machine = new EnigmaMachine(new Plugboard(),
+        new Reflector(ReflectorType.UKW_B), new Rotor[0], EnigmaMachineTests.createRotors());
+    char[] output = new char[5];
+
+    machine.translate("ab de".toCharArray(), 0, 5, output, 0);
+    assertEquals(' ', output[2], "Space should be copied");
+    assertEquals('z', machine.getRotorPosition(2), "Rotors should step once per letter");
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    Plugboard plugboard = new Plugboard();
+    Reflector reflector = new Reflector(ReflectorType.UKW_B);
+    final EnigmaMachine machine = new EnigmaMachine(plugboard, reflector, new Rotor[0],
+        EnigmaMachineTests.createRotors());
+
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new EnigmaMachine(plugboard, reflector, new Rotor[0]),
+        "Should need a stepping rotor");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new EnigmaMachine(plugboard, null, new Rotor[0], new Rotor()),
+        "Should not accept a null reflector");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new EnigmaMachine(plugboard, reflector, new Rotor[] {null}, new Rotor()),
+        "Should not accept a null fixed rotor");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> EnigmaMachine.m4(plugboard, ReflectorType.UKW_B_THIN, null, 'a', 'a', new Rotor(),
+            new Rotor(), new Rotor()),
+        "Should not accept a null fourth rotor");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> machine.translate('1'),
+        "Should only encrypt letters");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> machine.translate("ab1"),
+        "Should only encrypt letters and spaces");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> machine.translate((CharSequence) null), "Should not accept null text");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> machine.getRotorPosition(3),
+        "Should only have three rotors");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> machine.setRotorPositions('a', 'b'), "Should need a position per rotor");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> machine.setRotorPositions('a', 'b', '1'), "Should only accept letters");
+    assertThrows(java.lang.IndexOutOfBoundsException.class,
+        () -> machine.translate(new char[2], 1, 2, new char[2], 0),
+        "Should check the input range");
+  }
+}
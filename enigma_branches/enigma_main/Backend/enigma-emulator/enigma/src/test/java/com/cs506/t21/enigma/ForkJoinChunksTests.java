@@ -0,0 +1,58 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ForkJoinChunks class.
+ */
+public class ForkJoinChunksTests {
+
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  public void setUp() {
+    this.pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    this.pool.shutdown();
+  }
+
+  @Test
+  public void forEachRunsEveryChunkOnce() {
+    AtomicIntegerArray runs = new AtomicIntegerArray(37);
+    ForkJoinChunks.forEach(this.pool, runs.length(), runs::incrementAndGet);
+
+    for (int chunk = 0; chunk < runs.length(); chunk++) {
+      assertEquals(1, runs.get(chunk), "Chunk " + chunk + " should run once");
+    }
+  }
+
+  @Test
+  public void forEachThrowsTheExceptionOfTheAction() {
+    assertThrows(java.lang.IllegalStateException.class, () -> ForkJoinChunks.forEach(this.pool,
+        8, chunk -> {
+          if (chunk == 5) {
+            throw new java.lang.IllegalStateException("Chunk failed");
+          }
+        }), "Exception of a chunk should be thrown to the caller");
+  }
+
+  @Test
+  public void forEachThrowsOnInvalidArguments() {
+    assertThrows(java.lang.NullPointerException.class,
+        () -> ForkJoinChunks.forEach(null, 1, chunk -> { }), "Null pool should throw");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> ForkJoinChunks.forEach(this.pool, 1, null), "Null action should throw");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> ForkJoinChunks.forEach(this.pool, 0, chunk -> { }), "No chunks should throw");
+  }
+}
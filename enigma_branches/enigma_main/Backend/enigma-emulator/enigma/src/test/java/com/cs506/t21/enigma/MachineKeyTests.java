@@ -0,0 +1,163 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the MachineKey class.
+ */
+public class MachineKeyTests {
+
+  // Number of ways to swap 26 letters in pairs.
+  private static final long PAIRINGS = 532_985_208_200_576L;
+
+  /**
+   * Creates a key with rotors IV, VI, II, reflector UKW-C and a few plugboard pairs.
+   *
+   * @return The key.
+   */
+  private static MachineKey createKey() {
+    return MachineKey.of(ReflectorType.UKW_C, RotorType.IV, RotorType.VI, RotorType.II, "bxz",
+        "qev", new Plugboard("az by cx mn"));
+  }
+
+  @Test
+  public void keyKeepsEverySetting() {
+    MachineKey key = MachineKeyTests.createKey();
+
+    assertEquals(ReflectorType.UKW_C, key.getReflectorType(), "Wrong reflector");
+    assertEquals(RotorType.IV, key.getRotorType(0), "Wrong left rotor");
+    assertEquals(RotorType.VI, key.getRotorType(1), "Wrong middle rotor");
+    assertEquals(RotorType.II, key.getRotorType(2), "Wrong right rotor");
+    assertEquals("bxz", "" + key.getRingSetting(0) + key.getRingSetting(1)
+        + key.getRingSetting(2), "Wrong ring settings");
+    assertEquals("qev", "" + key.getRotorPosition(0) + key.getRotorPosition(1)
+        + key.getRotorPosition(2), "Wrong positions");
+    assertEquals("az by cx mn", key.getPlugboard().toString(), "Wrong plugboard");
+    assertEquals("UKW-C IV VI II bxz qev az by cx mn", key.toString(), "Wrong string");
+  }
+
+  @Test
+  public void keyOfMachineEncryptsAsTheMachine() {
+    EnigmaM3 enigma = new EnigmaM3(new Plugboard("qw er ty"), new Reflector(ReflectorType.UKW_B),
+        new Rotor(RotorType.VIII, 'c', 'x'), new Rotor(RotorType.I, 'k', 'q'),
+        new Rotor(RotorType.V, 'a', 'z'));
+    MachineKey key = MachineKey.of(enigma);
+
+    String text = "the quick brown fox jumps over the lazy dog";
+    assertEquals(enigma.translate(text), key.toEnigma().translate(text),
+        "Machine of the key should encrypt as the original machine");
+    assertEquals(MachineSpec.of(key.toEnigma()), key.toSpec(), "Wrong specification");
+    assertEquals("xqz", key.toState().toString(), "Wrong state");
+
+    MachineKey moved = key.withRotorPositions(MachineState.of(enigma).toString().toUpperCase());
+    assertEquals(MachineKey.of(enigma), moved, "Only the positions should change");
+    assertEquals(MachineKey.of(enigma).hashCode(), moved.hashCode(), "Wrong hash code");
+  }
+
+  @Test
+  public void equalKeysHaveEqualValues() {
+    MachineKey key = MachineKeyTests.createKey();
+    MachineKey same = MachineKey.of(ReflectorType.UKW_C, RotorType.IV, RotorType.VI,
+        RotorType.II, "BXZ", "QEV", new Plugboard("nm xc yb za"));
+
+    assertEquals(key, same, "Order and case of the settings should not matter");
+    assertEquals(key.getSettings(), same.getSettings(), "Settings values should be equal");
+    assertEquals(key.getPlugboardRank(), same.getPlugboardRank(), "Plugboard values differ");
+    assertNotEquals(key, key.withRotorPositions("qew"), "Keys with other positions differ");
+    assertNotEquals(key, "key", "Key should not be equal to other objects");
+  }
+
+  @Test
+  public void keysRoundTripThroughLongsAndBytes() {
+    MachineKey key = MachineKeyTests.createKey();
+    ByteBuffer buffer = ByteBuffer.allocate(MachineKey.BYTES);
+
+    key.writeTo(buffer);
+    buffer.flip();
+    assertEquals(key, MachineKey.readFrom(buffer), "Key read differs from the key written");
+    assertEquals(key, MachineKey.fromLongs(key.getSettings(), key.getPlugboardRank()),
+        "Key from values differs from the original key");
+  }
+
+  @Test
+  public void plugboardRanksAreDenseAndUnique() {
+    assertEquals(0, MachineKey.rankPlugboard(new Plugboard().getMappingTable()),
+        "Empty plugboard should rank first");
+    assertEquals(PAIRINGS - 1, MachineKey.rankPlugboard(new Plugboard(
+        "az by cx dw ev fu gt hs ir jq kp lo mn").getMappingTable()),
+        "Last letter pairs should rank last");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.fromLongs(0, PAIRINGS), "Ranks past the last one are invalid");
+
+    for (long rank = 0; rank < 1000; rank++) {
+      assertEquals(rank, MachineKey.rankPlugboard(MachineKey.unrankPlugboard(rank)),
+          "Rank should survive a round trip");
+    }
+
+    Random random = new Random(506);
+    for (int i = 0; i < 1000; i++) {
+      long rank = Math.floorMod(random.nextLong(), PAIRINGS);
+      byte[] mappings = MachineKey.unrankPlugboard(rank);
+      for (int letter = 0; letter < mappings.length; letter++) {
+        assertEquals(letter, mappings[mappings[letter]], "Plugboard should swap in pairs");
+      }
+      assertEquals(rank, MachineKey.rankPlugboard(mappings), "Rank should survive a round trip");
+      assertArrayEquals(mappings, new Plugboard(mappings).getMappingTable(),
+          "Plugboard should copy the table");
+    }
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    final MachineKey key = MachineKeyTests.createKey();
+    Plugboard plugboard = new Plugboard();
+
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.of(ReflectorType.UKW_B, RotorType.BETA, RotorType.I, RotorType.II,
+            "aaa", "aaa", plugboard), "Rotors without notches cannot step");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.of(ReflectorType.UKW_B, RotorType.I, RotorType.I, RotorType.II, "aa",
+            "aaa", plugboard), "There must be three ring settings");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.of(ReflectorType.UKW_B, RotorType.I, RotorType.I, RotorType.II, "aaa",
+            "a1a", plugboard), "Positions must be letters");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> MachineKey.of(null, RotorType.I, RotorType.I, RotorType.II, "aaa", "aaa",
+            plugboard), "Components cannot be null");
+    assertThrows(java.lang.NullPointerException.class, () -> MachineKey.of(null),
+        "Machine cannot be null");
+    assertThrows(java.lang.NullPointerException.class, () -> key.withRotorPositions(null),
+        "Positions cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> key.getRotorType(3),
+        "There are only three rotors");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> key.getRingSetting(-1),
+        "There are only three rotors");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.fromLongs(-1L, 0), "Unused bits must be clear");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.fromLongs(key.getSettings() | 31, 0), "Positions must be letters");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.fromLongs(key.getSettings() | 31L << 15, 0),
+        "Ring settings must be letters");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.fromLongs(key.getSettings() | 15L << 30, 0),
+        "Rotor types must exist");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.fromLongs(key.getSettings() | 15L << 42, 0),
+        "Reflector types must exist");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.of(new EnigmaM3(plugboard, new Reflector(ReflectorType.UKW_B),
+            new Rotor(), new Rotor(), new Rotor())), "Rotors must be in the catalog");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> MachineKey.of(new EnigmaM3(plugboard, new Reflector(),
+            new Rotor(RotorType.I, 'a', 'a'), new Rotor(RotorType.I, 'a', 'a'),
+            new Rotor(RotorType.I, 'a', 'a'))), "Reflector must be in the catalog");
+  }
+}
@@ -0,0 +1,177 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the MachineSpec class against the EnigmaM3 machine it was taken from.
+ */
+public class MachineSpecTests {
+
+  private EnigmaM3 enigma;
+
+  /**
+   * Creates an Enigma I machine with rotors I, II, III, reflector UKW-B, and some plugboard
+   * connections.
+   */
+  @BeforeEach
+  public void setUp() {
+    Rotor left = new Rotor("I", "EKMFLGDQVZNTOWYHXUSPAIBRCJ", 'Q', 'f', 'a');
+    Rotor middle = new Rotor("II", "AJDKSIRUXBLHWTMCQGZNPYFVOE", 'E', 'k', 'd');
+    Rotor right = new Rotor("III", "BDFHJLCPRTXVZNYEIWGAKMUSQO", 'V', 'a', 'u');
+    Reflector reflector = new Reflector("YRUHQSLDPXNGOKMIEBFZCWVJAT");
+
+    this.enigma = new EnigmaM3(new Plugboard("ab cz op lg"), reflector, left, middle, right);
+  }
+
+  @Test
+  public void translateMatchesEnigmaM3() {
+    MachineSpec spec = MachineSpec.of(this.enigma);
+    MachineState state = MachineState.of(this.enigma);
+
+    Random random = new Random(506);
+    for (int i = 0; i < 20000; i++) {
+      char letter = (char) ('a' + random.nextInt(26));
+      assertEquals(this.enigma.translate(letter), spec.translate(state, letter),
+          "Specification differs from the original machine on key " + i);
+    }
+    assertEquals(MachineState.of(this.enigma), state, "Rotor positions differ");
+  }
+
+  @Test
+  public void translateIndicesMatchesEnigmaM3() {
+    MachineSpec spec = MachineSpec.of(this.enigma);
+    MachineState state = MachineState.of(this.enigma);
+
+    Random random = new Random(506);
+    byte[] indices = new byte[20000];
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = (byte) (random.nextInt(8) == 0 ? -1 : random.nextInt(26));
+    }
+    byte[] expected = indices.clone();
+    this.enigma.translateIndices(expected, 0, expected.length);
+    spec.translateIndices(state, indices, 0, indices.length);
+
+    assertArrayEquals(expected, indices, "Specification differs from the original machine");
+    assertEquals(MachineState.of(this.enigma), state, "Rotor positions differ");
+  }
+
+  @Test
+  public void forkedStatesEncryptIndependently() {
+    MachineSpec spec = MachineSpec.of(this.enigma);
+    MachineState state = MachineState.of(this.enigma);
+    MachineState fork = state.copy();
+
+    char[] first = "hello world".toCharArray();
+    char[] second = "hello world".toCharArray();
+    spec.translate(state, first, 0, first.length, first, 0);
+    spec.translate(fork, second, 0, second.length, second, 0);
+
+    assertEquals(new String(first), new String(second), "Forks should encrypt the same way");
+    assertEquals(this.enigma.translate("hello world"), new String(first),
+        "Specification differs from the original machine");
+  }
+
+  @Test
+  public void specificationDoesNotSeeLaterChangesToComponents() {
+    MachineSpec spec = MachineSpec.of(this.enigma);
+    MachineState state = MachineState.of(this.enigma);
+    char expected = this.enigma.translate('a');
+
+    this.enigma.getPlugboard().clear();
+    this.enigma.getRotor(2).setCurrentPosition('u');
+
+    assertEquals(expected, spec.translate(state, 'a'), "Specification should be immutable");
+  }
+
+  @Test
+  public void specificationDoesNotSeeRotorsRewiredLater() {
+    MachineSpec spec = MachineSpec.of(this.enigma);
+    MachineState state = MachineState.of(this.enigma);
+    char expected = this.enigma.translate('a');
+
+    this.enigma.getRotor(2).load("abcdefghijklmnopqrstuvwxyz", 'z');
+
+    assertEquals(expected, spec.translate(state, 'a'), "Rotor tables should not be changed");
+  }
+
+  @Test
+  public void advanceMatchesStepping() {
+    MachineSpec spec = MachineSpec.of(this.enigma);
+    MachineState expected = MachineState.of(this.enigma);
+    MachineState actual = expected.copy();
+
+    for (int i = 0; i < 1000; i++) {
+      spec.step(expected);
+    }
+    spec.advance(actual, 1000);
+
+    assertEquals(expected, actual, "advance should match stepping one key press at a time");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> spec.advance(actual, -1),
+        "advance should throw an IllegalArgumentException on negative key presses");
+  }
+
+  @Test
+  public void translateThrowsIllegalArgumentExceptionOnInvalidCharacters() {
+    MachineSpec spec = MachineSpec.of(this.enigma);
+    MachineState state = MachineState.of(this.enigma);
+    char[] text = "ab1".toCharArray();
+
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> spec.translate(state, text, 0, text.length, text, 0),
+        "translate should throw an IllegalArgumentException on characters other than letters");
+    assertEquals(MachineState.of(this.enigma), state, "State should not be changed");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> spec.translate(state, '#'),
+        "translate should throw an IllegalArgumentException on characters other than letters");
+  }
+
+  @Test
+  public void getRotorNameReturnsTheNamesOfTheRotors() {
+    MachineSpec spec = MachineSpec.of(this.enigma);
+
+    assertEquals("I", spec.getRotorName(0), "Wrong name for the left rotor");
+    assertEquals("III", spec.getRotorName(2), "Wrong name for the right rotor");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> spec.getRotorName(3),
+        "getRotorName should throw an exception for positions other than 0, 1, 2");
+  }
+
+  @Test
+  public void equalSpecificationsHaveTheSameComponents() {
+    MachineSpec spec = MachineSpec.of(this.enigma);
+    Rotor left = new Rotor(RotorType.I, 'f', 'z');
+    Rotor middle = new Rotor(RotorType.II, 'k', 'z');
+    Rotor right = new Rotor(RotorType.III, 'a', 'z');
+    MachineSpec same = new MachineSpec(new Plugboard("lg op cz ab"),
+        new Reflector(ReflectorType.UKW_B), left, middle, right);
+
+    assertEquals(spec, same, "Positions and rotor names should not be compared");
+    assertEquals(spec.hashCode(), same.hashCode(), "Equal specifications should have equal hashes");
+    assertEquals(spec, spec, "Specification should be equal to itself");
+    assertNotEquals(spec, null, "Specification should not be equal to null");
+
+    right.setRingSetting('b');
+    assertNotEquals(spec, new MachineSpec(new Plugboard("ab cz op lg"),
+        new Reflector(ReflectorType.UKW_B), left, middle, right), "Ring settings differ");
+    assertNotEquals(spec, new MachineSpec(new Plugboard("ab cz op"),
+        new Reflector(ReflectorType.UKW_B), left, middle, new Rotor(RotorType.III, 'a', 'a')),
+        "Plugboards differ");
+    assertNotEquals(spec, new MachineSpec(new Plugboard("ab cz op lg"),
+        new Reflector(ReflectorType.UKW_C), left, middle, new Rotor(RotorType.III, 'a', 'a')),
+        "Reflectors differ");
+  }
+
+  @Test
+  public void constructorsThrowNullPointerExceptionOnNullArguments() {
+    assertThrows(java.lang.NullPointerException.class, () -> MachineSpec.of(null),
+        "of should throw a NullPointerException if the machine is null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new MachineSpec(null, new Reflector(), new Rotor(), new Rotor(), new Rotor()),
+        "Constructor should throw a NullPointerException if a component is null");
+  }
+}
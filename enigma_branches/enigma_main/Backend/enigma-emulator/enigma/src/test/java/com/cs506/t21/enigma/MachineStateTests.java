@@ -0,0 +1,61 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the MachineState class.
+ */
+public class MachineStateTests {
+
+  @Test
+  public void constructorSetsPositionsAsLowercase() {
+    MachineState state = new MachineState('X', 'b', 'Z');
+
+    assertEquals('x', state.getPosition(0), "Left rotor position was not set");
+    assertEquals('b', state.getPosition(1), "Middle rotor position was not set");
+    assertEquals('z', state.getPosition(2), "Right rotor position was not set");
+    assertEquals("xbz", state.toString(), "String representation is not as expected");
+  }
+
+  @Test
+  public void copyIsIndependentOfTheOriginal() {
+    MachineState state = new MachineState('a', 'b', 'c');
+    MachineState copy = state.copy();
+
+    assertEquals(state, copy, "Copy should be equal to the original");
+    assertEquals(state.hashCode(), copy.hashCode(), "Equal states should have equal hash codes");
+
+    copy.setPositions('a', 'b', 'd');
+    assertNotEquals(state, copy, "Changing the copy should not change the original");
+    assertNotEquals(state, "abc", "A state is never equal to other types");
+  }
+
+  @Test
+  public void applyToMovesTheRotorsOfTheMachine() {
+    EnigmaM3 enigma = new EnigmaM3(new Plugboard(), new Reflector(), new Rotor(), new Rotor(),
+        new Rotor());
+
+    new MachineState('q', 'r', 's').applyTo(enigma);
+
+    assertEquals(new MachineState('q', 'r', 's'), MachineState.of(enigma),
+        "Rotors were not moved");
+  }
+
+  @Test
+  public void methodsThrowOnInvalidArguments() {
+    MachineState state = new MachineState('a', 'a', 'a');
+
+    assertThrows(java.lang.IllegalArgumentException.class, () -> state.setPositions('a', '1', 'a'),
+        "setPositions should throw an exception if a position is not a letter");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> state.getPosition(-1),
+        "getPosition should throw an exception for positions other than 0, 1, 2");
+    assertThrows(java.lang.NullPointerException.class, () -> state.applyTo(null),
+        "applyTo should throw a NullPointerException if the machine is null");
+    assertThrows(java.lang.NullPointerException.class, () -> MachineState.of(null),
+        "of should throw a NullPointerException if the machine is null");
+  }
+}
@@ -0,0 +1,135 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the MultiLaneEnigma class against a machine per lane.
+ */
+public class MultiLaneEnigmaTests {
+
+  private static final int LANES = 37;
+
+  @Test
+  public void everyLaneMatchesItsMachine() {
+    EnigmaM3[] machines = TestMachines.createMixedLanes(LANES);
+    MultiLaneEnigma engine = new MultiLaneEnigma(TestMachines.specsOf(machines),
+        TestMachines.statesOf(machines));
+    Random random = new Random(21);
+
+    byte[] input = new byte[LANES];
+    byte[] output = new byte[LANES];
+    for (int press = 0; press < 2000; press++) {
+      for (int lane = 0; lane < LANES; lane++) {
+        input[lane] = (byte) random.nextInt(26);
+      }
+      engine.translateIndices(input, output);
+
+      for (int lane = 0; lane < LANES; lane++) {
+        assertEquals(machines[lane].translateIndex(input[lane]), output[lane],
+            "Lane " + lane + " differs from its machine on key " + press);
+      }
+    }
+
+    for (int lane = 0; lane < LANES; lane++) {
+      assertEquals(MachineState.of(machines[lane]), engine.getState(lane),
+          "Rotor positions of lane " + lane + " differ from its machine");
+    }
+  }
+
+  @Test
+  public void messageIsEncryptedOnEveryLane() {
+    EnigmaM3[] machines = TestMachines.createMixedLanes(LANES);
+    MultiLaneEnigma engine = new MultiLaneEnigma(TestMachines.specsOf(machines),
+        TestMachines.statesOf(machines));
+    byte[] message = new byte[500];
+    for (int i = 0; i < message.length; i++) {
+      message[i] = (byte) ((i * 11) % 26);
+    }
+
+    byte[][] outputs = new byte[LANES][message.length];
+    engine.translateIndices(message, 0, message.length, outputs);
+
+    for (int lane = 0; lane < LANES; lane++) {
+      byte[] expected = message.clone();
+      machines[lane].translateIndices(expected, 0, expected.length);
+      for (int i = 0; i < message.length; i++) {
+        assertEquals(expected[i], outputs[lane][i], "Lane " + lane + " differs on letter " + i);
+      }
+    }
+  }
+
+  @Test
+  public void everyLaneEncryptsItsOwnMessage() {
+    EnigmaM3[] machines = TestMachines.createMixedLanes(LANES);
+    MultiLaneEnigma engine = new MultiLaneEnigma(TestMachines.specsOf(machines),
+        TestMachines.statesOf(machines));
+    Random random = new Random(7);
+
+    char[][] messages = new char[LANES][];
+    for (int lane = 0; lane < LANES; lane++) {
+      messages[lane] = new char[random.nextInt(300)];
+      for (int i = 0; i < messages[lane].length; i++) {
+        int letter = random.nextInt(30);
+        messages[lane][i] = letter < 26 ? (char) ('A' + letter) : ' ';
+      }
+    }
+
+    char[][] outputs = new char[LANES][];
+    for (int lane = 0; lane < LANES; lane++) {
+      outputs[lane] = lane % 2 == 0 ? messages[lane].clone() : new char[300];
+    }
+    engine.translate(messages, outputs);
+
+    for (int lane = 0; lane < LANES; lane++) {
+      String expected = machines[lane].translate(new String(messages[lane]));
+      assertEquals(expected, new String(outputs[lane], 0, messages[lane].length),
+          "Lane " + lane + " differs from its machine");
+      assertEquals(MachineState.of(machines[lane]), engine.getState(lane),
+          "Rotor positions of lane " + lane + " differ from its machine");
+    }
+
+    byte[] input = new byte[LANES];
+    byte[] output = new byte[LANES];
+    engine.translateIndices(input, output);
+    for (int lane = 0; lane < LANES; lane++) {
+      assertEquals(machines[lane].translateIndex(0), output[lane],
+          "Every lane should press a key after a batch, lane " + lane);
+    }
+  }
+
+  @Test
+  public void methodsThrowOnInvalidArguments() {
+    EnigmaM3[] machines = TestMachines.createMixedLanes(LANES);
+    MultiLaneEnigma engine = new MultiLaneEnigma(TestMachines.specsOf(machines),
+        TestMachines.statesOf(machines));
+
+    assertEquals(LANES, engine.getLanes(), "Wrong number of lanes");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> engine.translateIndices(new byte[LANES], new byte[1]),
+        "translateIndices should throw an exception if there is not an index per lane");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> engine.translateIndices(new byte[5], 0, 5, new byte[1][5]),
+        "translateIndices should throw an exception if there is not an output per lane");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> engine.translate(new char[LANES][1], new char[1][1]),
+        "translate should throw an exception if there is not an output per lane");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> engine.translate(new char[LANES][1], new char[LANES][1]),
+        "translate should throw an exception if a message has invalid characters");
+    assertThrows(java.lang.IndexOutOfBoundsException.class,
+        () -> engine.translate(new char[LANES][2], new char[LANES][1]),
+        "translate should throw an exception if an output is too short");
+    assertThrows(java.lang.IndexOutOfBoundsException.class, () -> engine.getState(LANES),
+        "getState should throw an exception if the lane does not exist");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new MultiLaneEnigma(new MachineSpec[0], new MachineState[0]),
+        "Constructor should throw an exception if there are no lanes");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new MultiLaneEnigma(new MachineSpec[1], new MachineState[1]),
+        "Constructor should throw an exception if a specification is null");
+  }
+}
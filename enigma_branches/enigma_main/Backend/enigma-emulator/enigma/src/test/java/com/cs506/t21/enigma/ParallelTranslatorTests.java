@@ -0,0 +1,117 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ParallelTranslator class against the sequential translate methods of EnigmaM3.
+ */
+public class ParallelTranslatorTests {
+
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  public void setUp() {
+    this.pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    this.pool.shutdown();
+  }
+
+  /**
+   * Creates a random text of letters and spaces.
+   *
+   * @param length The length of the text.
+   * @return The text.
+   */
+  private static String createText(int length) {
+    Random random = new Random(506);
+    StringBuilder text = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      text.append(random.nextInt(6) == 0 ? ' ' : (char) ('A' + random.nextInt(26)));
+    }
+    return text.toString();
+  }
+
+  @Test
+  public void translateMatchesSequentialTranslate() {
+    String text = ParallelTranslatorTests.createText(100_000);
+    EnigmaM3 sequential = TestMachines.createEnigma("ab cz op lg");
+    EnigmaM3 parallel = TestMachines.createEnigma("ab cz op lg");
+    ParallelTranslator translator = new ParallelTranslator(this.pool, 777);
+
+    assertEquals(sequential.translate(text), translator.translate(parallel, text),
+        "Parallel translation differs from sequential translation");
+    for (int i = 0; i < 3; i++) {
+      assertEquals(sequential.getRotor(i).getCurrentPosition(),
+          parallel.getRotor(i).getCurrentPosition(), "Rotor " + i + " is on the wrong position");
+    }
+  }
+
+  @Test
+  public void translateWritesToTheGivenRangeOfTheOutput() {
+    char[] input = ParallelTranslatorTests.createText(5000).toCharArray();
+    char[] expected = new char[5010];
+    char[] actual = new char[5010];
+
+    TestMachines.createEnigma("ab cz op lg").translate(input, 10, 4000, expected, 3);
+    new ParallelTranslator(this.pool, 300)
+        .translate(TestMachines.createEnigma("ab cz op lg"), input, 10, 4000, actual, 3);
+
+    assertEquals(new String(expected), new String(actual),
+        "Parallel translation differs from sequential translation");
+  }
+
+  @Test
+  public void translateUsesTheMachineDirectlyOnShortTexts() {
+    EnigmaM3 sequential = TestMachines.createEnigma("ab cz op lg");
+    EnigmaM3 parallel = TestMachines.createEnigma("ab cz op lg");
+
+    assertEquals(sequential.translate("hello world"),
+        new ParallelTranslator().translate(parallel, "hello world"),
+        "Parallel translation differs from sequential translation");
+  }
+
+  @Test
+  public void translateThrowsIllegalArgumentExceptionWithoutMovingRotors() {
+    char[] text = ParallelTranslatorTests.createText(10_000).toCharArray();
+    text[9000] = '7';
+    EnigmaM3 enigma = TestMachines.createEnigma("ab cz op lg");
+    ParallelTranslator translator = new ParallelTranslator(this.pool, 1000);
+
+    Exception e = assertThrows(java.lang.IllegalArgumentException.class,
+        () -> translator.translate(enigma, text, 0, text.length, text, 0),
+        "translate should throw an IllegalArgumentException on characters other than letters");
+    assertEquals("Provided text must only contain letters and spaces.", e.getMessage(),
+        "Message from error is not as expected");
+    assertEquals('r', enigma.getRotor(2).getCurrentPosition(), "Rotors should not be moved");
+  }
+
+  @Test
+  public void constructorThrowsOnInvalidArguments() {
+    assertThrows(java.lang.NullPointerException.class, () -> new ParallelTranslator(null, 10),
+        "Constructor should throw a NullPointerException if the pool is null");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new ParallelTranslator(this.pool, 0),
+        "Constructor should throw an IllegalArgumentException if the chunk size is not positive");
+  }
+
+  @Test
+  public void translateThrowsNullPointerExceptionOnNullArguments() {
+    ParallelTranslator translator = new ParallelTranslator(this.pool, 10);
+
+    assertThrows(java.lang.NullPointerException.class, () -> translator.translate(null, "abc"),
+        "translate should throw a NullPointerException if the machine is null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> translator.translate(TestMachines.createEnigma("ab cz op lg"), null),
+        "translate should throw a NullPointerException if the text is null");
+  }
+}
@@ -66,6 +66,13 @@ public class PlugboardTests {
     assertEquals(mappings.toLowerCase(), p.toString(), "To String Does not reflect given mappings");
   }
 
+  @Test
+  public void toStringShouldBeEmptyOnEmptyPlugboard() {
+    assertEquals("", new Plugboard().toString(), "Empty plugboard should have no mappings");
+    assertEquals("ab dz", new Plugboard("zd ba").toString(),
+        "Pairs should be sorted by their first letter");
+  }
+
   @Test
   public void setMappingsShouldCorrectlyChangeLetterMappings() {
     Plugboard p = new Plugboard();
@@ -152,4 +159,30 @@ public class PlugboardTests {
     assertEquals('a', p.swap('b'), "B should map to A");
     assertEquals('c', p.swap('c'), "C should not be swaped");
   }
+
+  @Test
+  public void swapIndexSwapsLettersAccordingToMappings() {
+    Plugboard p = new Plugboard("aZ cd");
+
+    assertEquals(25, p.swapIndex(0), "A should be swapped with Z");
+    assertEquals(0, p.swapIndex(25), "Z should be swapped with A");
+    assertEquals(3, p.swapIndex(2), "C should be swapped with D");
+    assertEquals(4, p.swapIndex(4), "E should not be swapped");
+  }
+
+  @Test
+  public void setMappingsReadsPairsSeparatedBySingleSpaces() {
+    Plugboard p = new Plugboard("qw er  ");
+
+    assertEquals('w', p.swap('q'), "Q should map to W");
+    assertEquals('r', p.swap('e'), "E should map to R");
+
+    Plugboard empty = new Plugboard(" ");
+    assertEquals('q', empty.swap('q'), "A single space should leave every letter unmapped");
+
+    for (String mappings : new String[] {"", " ab", "ab  cd", "abc", "a", "ab c"}) {
+      assertThrows(java.lang.IllegalArgumentException.class, () -> new Plugboard(mappings),
+          "Mappings \"" + mappings + "\" should be rejected");
+    }
+  }
 }
@@ -96,4 +96,24 @@ public class ReflectorTests {
         "Message thrown when swapping a character that is not a letter is incorrect");
   }
 
+  @Test
+  public void testSwapIndexSwitchesLettersAccordingToWiring() {
+    Reflector r = new Reflector("acbdegfhijklmnopqrstuvwxyz");
+    assertEquals(2, r.swapIndex(1), "B should be swapped with C");
+    assertEquals(1, r.swapIndex(2), "C should be swapped with B");
+    assertEquals(0, r.swapIndex(0), "A should not be swapped");
+  }
+
+  @Test
+  public void testLoadFailsIfWiringContainsCharactersThatAreNotLetters() {
+    Reflector r = new Reflector();
+    String wiring = "acbdegfhijklmnopqrstuvwxy1";
+    Exception e = assertThrows(java.lang.IllegalArgumentException.class, () -> r.load(wiring),
+        "Load should throw an IllegalArgumentException if wiring contains non letters");
+
+    assertEquals("The wiring should only contain letters", e.getMessage(),
+        "Message thrown when loading wiring with invalid letters is incorrect");
+    assertEquals(ReflectorTests.ALPHABET, r.getWiring(),
+        "Wiring should not be changed if wiring contains non letters");
+  }
 }
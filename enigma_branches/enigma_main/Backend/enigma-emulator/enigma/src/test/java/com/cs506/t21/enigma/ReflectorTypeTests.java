@@ -0,0 +1,48 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the catalog of reflectors, and the reflectors created from it.
+ */
+public class ReflectorTypeTests {
+
+  @Test
+  public void everyReflectorIsAnInvolutionWithoutFixedPoints() {
+    for (ReflectorType type : ReflectorType.values()) {
+      Reflector reflector = new Reflector(type);
+
+      for (int i = 0; i < Alphabet.SIZE; i++) {
+        int swapped = reflector.swapIndex(i);
+        assertEquals(i, reflector.swapIndex(swapped), type.getName() + " is not symmetric");
+        assertNotEquals(i, swapped, type.getName() + " maps a letter to itself");
+      }
+    }
+  }
+
+  @Test
+  public void reflectorsFromTheCatalogShareTheirTable() {
+    Reflector first = new Reflector(ReflectorType.UKW_B);
+    Reflector second = new Reflector(ReflectorType.UKW_B);
+
+    assertSame(first.getMappingTable(), second.getMappingTable(), "Tables should be shared");
+    assertEquals("yruhqsldpxngokmiebfzcwvjat", first.getWiring(), "Wiring is not as expected");
+    assertEquals("UKW-B", ReflectorType.UKW_B.getName(), "Name is not as expected");
+  }
+
+  @Test
+  public void loadDoesNotChangeTheCatalog() {
+    Reflector reflector = new Reflector(ReflectorType.UKW_C);
+    reflector.load("YRUHQSLDPXNGOKMIEBFZCWVJAT");
+
+    assertEquals("fvpjiaoyedrzxwgctkuqsbnmhl", ReflectorType.UKW_C.getWiring(),
+        "Loading a new wiring should not change the catalog");
+    assertThrows(java.lang.NullPointerException.class, () -> new Reflector((ReflectorType) null),
+        "Constructor should throw a NullPointerException if the type is null");
+  }
+}
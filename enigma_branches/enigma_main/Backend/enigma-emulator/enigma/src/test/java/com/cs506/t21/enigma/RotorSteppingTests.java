@@ -0,0 +1,66 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the stepping arithmetic of the RotorStepping class against stepping the rotors one key
+ * press at a time.
+ */
+public class RotorSteppingTests {
+
+  @Test
+  public void countTurnOversMatchesSteppingEveryPosition() {
+    int turnOverMask = (1 << 12) | (1 << 25);
+
+    for (int position = 0; position < Alphabet.SIZE; position++) {
+      long expected = 0;
+      int current = position;
+      for (int steps = 0; steps < 200; steps++) {
+        assertEquals(expected, RotorStepping.countTurnOvers(position, turnOverMask, steps),
+            "Wrong number of turn overs from position " + position + " after " + steps);
+        if ((turnOverMask & (1 << current)) != 0) {
+          expected++;
+        }
+        current = Alphabet.wrap(current + 1);
+      }
+    }
+  }
+
+  @Test
+  public void advanceMatchesSteppingForEveryKeyPress() {
+    int middleTurnOverMask = RotorStepping.turnOverMask('E');
+    int rightTurnOverMask = RotorStepping.turnOverMask('V');
+    int[] expected = {3, 2, 17};
+
+    for (int keyPresses = 0; keyPresses < 20000; keyPresses++) {
+      int[] actual = {3, 2, 17};
+      RotorStepping.advance(actual, middleTurnOverMask, rightTurnOverMask, keyPresses);
+      assertArrayEquals(expected, actual, "Wrong positions after " + keyPresses + " key presses");
+
+      if (expected[2] == 21) {
+        if (expected[1] == 4) {
+          expected[0] = Alphabet.wrap(expected[0] + 1);
+        }
+        expected[1] = Alphabet.wrap(expected[1] + 1);
+      }
+      expected[2] = Alphabet.wrap(expected[2] + 1);
+    }
+  }
+
+  @Test
+  public void advanceHandlesVeryLargeNumbersOfKeyPresses() {
+    int middleTurnOverMask = RotorStepping.turnOverMask('E');
+    int rightTurnOverMask = RotorStepping.turnOverMask('V');
+    long keyPresses = 1_000_000_000_000L;
+
+    int[] expected = {7, 4, 21};
+    RotorStepping.advance(expected, middleTurnOverMask, rightTurnOverMask, keyPresses % 17576);
+    int[] actual = {7, 4, 21};
+    RotorStepping.advance(actual, middleTurnOverMask, rightTurnOverMask, keyPresses);
+
+    assertArrayEquals(expected, actual, "Machine with one notch per rotor repeats every 26^3");
+  }
+}
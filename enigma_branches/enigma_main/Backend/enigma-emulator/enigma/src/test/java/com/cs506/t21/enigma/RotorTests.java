@@ -1,6 +1,7 @@
 package com.cs506.t21.enigma;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
@@ -349,5 +350,41 @@ public class RotorTests {
 
     assertEquals('a', r.encrypt('w', true), "A should encrypt as W.");
   }
-}
 
+  @Test
+  public void encryptIndexMatchesEncryptForEveryLetterAndPosition() {
+    Rotor r = new Rotor();
+    r.load("EKMFLGDQVZNTOWYHXUSPAIBRCJ", 'Q');
+    r.setRingSetting('F');
+
+    for (char position : RotorTests.ALPHABET.toCharArray()) {
+      r.setCurrentPosition(position);
+      for (int i = 0; i < 26; i++) {
+        char letter = RotorTests.ALPHABET.charAt(i);
+        assertEquals(r.encrypt(letter, false) - 'a', r.encryptIndex(i, false),
+            "encryptIndex differs from encrypt on position " + position);
+        assertEquals(r.encrypt(letter, true) - 'a', r.encryptIndex(i, true),
+            "Backward encryptIndex differs from encrypt on position " + position);
+      }
+    }
+  }
+
+  @Test
+  public void loadWithTwoTurnOversSavesBothTurnOverLetters() {
+    Rotor r = new Rotor();
+
+    r.load(RotorTests.ALPHABET, 'Z', 'M');
+
+    assertEquals('z', r.getTurnOver(), "First turn over letter was not saved");
+    assertEquals('m', r.getSecondTurnOver(), "Second turn over letter was not saved");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> r.load(RotorTests.ALPHABET, 'z', '1'),
+        "load should throw an IllegalArgumentException if a turn over is not a letter");
+  }
+
+  @Test
+  public void constructorGivesDifferentNamesToUnnamedRotors() {
+    assertNotEquals(new Rotor().getName(), new Rotor().getName(),
+        "Rotors created without a name should have different names");
+  }
+}
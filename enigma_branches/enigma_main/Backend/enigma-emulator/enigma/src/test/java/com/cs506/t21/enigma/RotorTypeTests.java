@@ -0,0 +1,78 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the catalog of rotors, and the rotors created from it.
+ */
+public class RotorTypeTests {
+
+  @Test
+  public void rotorsFromTheCatalogMatchRotorsLoadedFromTheirWiring() {
+    for (RotorType type : RotorType.values()) {
+      if (!type.isStepping()) {
+        continue;
+      }
+
+      Rotor expected = new Rotor(type.getName(), type.getWiring(), type.getTurnOvers().charAt(0),
+          'c', 'x');
+      Rotor actual = new Rotor(type, 'c', 'x');
+
+      assertEquals(expected.getName(), actual.getName(), "Rotor names differ");
+      assertEquals(expected.getWiring(), actual.getWiring(), "Rotor wirings differ");
+      for (int i = 0; i < Alphabet.SIZE; i++) {
+        assertEquals(expected.encryptIndex(i, false), actual.encryptIndex(i, false),
+            "Forward encryption of rotor " + type + " differs");
+        assertEquals(expected.encryptIndex(i, true), actual.encryptIndex(i, true),
+            "Backward encryption of rotor " + type + " differs");
+      }
+    }
+  }
+
+  @Test
+  public void rotorsFromTheCatalogShareTheirTables() {
+    Rotor first = new Rotor(RotorType.III, 'a', 'a');
+    Rotor second = new Rotor(RotorType.III, 'b', 'q');
+
+    assertSame(first.getForwardTable(), second.getForwardTable(), "Tables should be shared");
+    assertSame(first.getBackwardTable(), second.getBackwardTable(), "Tables should be shared");
+  }
+
+  @Test
+  public void rotorsWithTwoNotchesHaveTwoTurnOvers() {
+    Rotor rotor = new Rotor(RotorType.VII, 'a', 'a');
+
+    assertEquals('z', rotor.getTurnOver(), "First turn over should be Z");
+    assertEquals('m', rotor.getSecondTurnOver(), "Second turn over should be M");
+    assertEquals('q', new Rotor(RotorType.I, 'a', 'a').getSecondTurnOver(),
+        "Rotors with a single notch should repeat their turn over");
+  }
+
+  @Test
+  public void rotorsWithoutNotchesCannotStep() {
+    assertFalse(RotorType.BETA.isStepping(), "Beta has no notches");
+    assertTrue(RotorType.VIII.isStepping(), "Rotor VIII has notches");
+    assertEquals("Gamma", RotorType.GAMMA.getName(), "Name is not as expected");
+
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new Rotor(RotorType.GAMMA, 'a', 'a'),
+        "Rotors without notches cannot be placed on a stepping position");
+    assertThrows(java.lang.NullPointerException.class, () -> new Rotor((RotorType) null, 'a', 'a'),
+        "Constructor should throw a NullPointerException if the type is null");
+  }
+
+  @Test
+  public void loadDoesNotChangeTheCatalog() {
+    Rotor rotor = new Rotor(RotorType.I, 'a', 'a');
+    rotor.load("abcdefghijklmnopqrstuvwxyz", 'a');
+
+    assertEquals("ekmflgdqvzntowyhxuspaibrcj", RotorType.I.getWiring(),
+        "Loading a new wiring should not change the catalog");
+  }
+}
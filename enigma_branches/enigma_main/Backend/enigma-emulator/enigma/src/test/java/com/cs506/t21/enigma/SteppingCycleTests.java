@@ -0,0 +1,126 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the SteppingCycle class against the stepping of EnigmaM3.
+ */
+public class SteppingCycleTests {
+
+  /**
+   * Returns the state of the rotor positions of the given machine.
+   *
+   * @param enigma The machine.
+   * @return The encoded rotor positions.
+   */
+  private static int stateOf(EnigmaM3 enigma) {
+    return SteppingTable.encode(enigma.getRotor(0).getCurrentPosition() - 'a',
+        enigma.getRotor(1).getCurrentPosition() - 'a',
+        enigma.getRotor(2).getCurrentPosition() - 'a');
+  }
+
+  /**
+   * Checks that the cycle lists every state the machine goes through, in order, until the
+   * machine comes back to its starting positions.
+   *
+   * @param enigma The machine.
+   */
+  private static void assertMatchesMachine(EnigmaM3 enigma) {
+    SteppingCycle cycle = SteppingCycle.of(enigma);
+    int start = SteppingCycleTests.stateOf(enigma);
+    char[] states = cycle.getStates();
+
+    assertEquals(start, cycle.getState(0), "Cycle should start on the machine positions");
+    for (int i = 1; i <= cycle.getPeriod(); i++) {
+      enigma.translate('a');
+      int state = SteppingCycleTests.stateOf(enigma);
+      assertEquals(state, cycle.getState(i), "Wrong state after " + i + " key presses");
+      if (i < cycle.getPeriod()) {
+        assertEquals(state, states[i], "Wrong state at index " + i);
+        assertEquals(i, cycle.indexOf(state), "Wrong index of state " + state);
+      }
+    }
+    assertEquals(start, SteppingCycleTests.stateOf(enigma),
+        "Machine should be back on its starting positions after a period");
+  }
+
+  @Test
+  public void singleNotchesGoThroughEveryPosition() {
+    EnigmaM3 enigma = TestMachines.createEnigma("", "aaa", "bcd", RotorType.I, RotorType.II,
+        RotorType.III);
+    SteppingCycle cycle = SteppingCycle.of(enigma);
+
+    assertEquals(SteppingTable.STATES, cycle.getPeriod(), "Wrong period");
+    SteppingCycleTests.assertMatchesMachine(enigma);
+  }
+
+  @Test
+  public void twoNotchesSplitPositionsInShorterCycles() {
+    EnigmaM3 enigma = TestMachines.createEnigma("", "aaa", "bcd", RotorType.I, RotorType.II,
+        RotorType.VI);
+    SteppingCycle cycle = SteppingCycle.of(enigma);
+
+    assertTrue(cycle.getPeriod() < SteppingTable.STATES, "Period should be shorter");
+    assertEquals(0, SteppingTable.STATES % cycle.getPeriod(),
+        "Every cycle should have the same length");
+
+    int missing = -1;
+    for (int state = 0; state < SteppingTable.STATES && missing < 0; state++) {
+      if (cycle.indexOf(state) < 0) {
+        missing = state;
+      }
+    }
+    assertTrue(missing >= 0, "Some states should not be on the cycle");
+    final int outside = missing;
+    assertThrows(java.lang.IllegalArgumentException.class, () -> cycle.advance(outside, 1),
+        "advance should throw an exception if the state is not on the cycle");
+
+    SteppingCycleTests.assertMatchesMachine(enigma);
+  }
+
+  @Test
+  public void advanceMatchesMachine() {
+    EnigmaM3 enigma = TestMachines.createEnigma("", "aaa", "bcd", RotorType.I, RotorType.VIII,
+        RotorType.VII);
+    SteppingCycle cycle = SteppingCycle.of(enigma);
+    int start = cycle.getState(0);
+
+    for (long keyPresses : new long[] {0, 1, 25, 676, 17_575, 1_000_003, 987_654_321_987L}) {
+      EnigmaM3 copy = TestMachines.createEnigma("", "aaa", "bcd", RotorType.I, RotorType.VIII,
+          RotorType.VII);
+      copy.advance(keyPresses);
+      assertEquals(SteppingCycleTests.stateOf(copy), cycle.getState(keyPresses),
+          "Wrong state after " + keyPresses + " key presses");
+      assertEquals(cycle.getState(keyPresses + 5), cycle.advance(cycle.getState(5), keyPresses),
+          "Wrong state when advancing " + keyPresses + " key presses from index 5");
+    }
+    assertEquals(start, cycle.advance(start, cycle.getPeriod()), "Period should be a full loop");
+  }
+
+  @Test
+  public void methodsThrowOnInvalidArguments() {
+    SteppingTable table = SteppingTable.of(new Rotor(RotorType.II, 'a', 'a'),
+        new Rotor(RotorType.III, 'a', 'a'));
+    SteppingCycle cycle = SteppingCycle.of(table, 0);
+
+    assertSame(table, cycle.getTable(), "Wrong stepping table");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> cycle.getState(-1),
+        "getState should throw an exception if the key presses are negative");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> cycle.advance(0, -1),
+        "advance should throw an exception if the key presses are negative");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> cycle.indexOf(SteppingTable.STATES),
+        "indexOf should throw an exception if the state is invalid");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> SteppingCycle.of(table, -1),
+        "of should throw an exception if the state is invalid");
+    assertThrows(java.lang.NullPointerException.class, () -> SteppingCycle.of(null, 0),
+        "of should throw an exception if the table is null");
+    assertThrows(java.lang.NullPointerException.class, () -> SteppingCycle.of(null),
+        "of should throw an exception if the machine is null");
+  }
+}
@@ -0,0 +1,73 @@
+package com.cs506.t21.enigma;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the SteppingTable class against the stepping of EnigmaM3.
+ */
+public class SteppingTableTests {
+
+  /**
+   * Checks that the table moves every state to the positions EnigmaM3 steps to.
+   *
+   * @param middle The type of the middle rotor.
+   * @param right The type of the rightmost rotor.
+   */
+  private static void assertMatchesMachine(RotorType middle, RotorType right) {
+    Rotor[] rotors = {
+        new Rotor(RotorType.I, 'a', 'a'), new Rotor(middle, 'a', 'a'), new Rotor(right, 'a', 'a')
+    };
+    EnigmaM3 enigma = new EnigmaM3(new Plugboard(), new Reflector(ReflectorType.UKW_B), rotors);
+    SteppingTable table = SteppingTable.of(rotors[1], rotors[2]);
+
+    for (int state = 0; state < SteppingTable.STATES; state++) {
+      new MachineState(SteppingTable.leftPosition(state), SteppingTable.middlePosition(state),
+          SteppingTable.rightPosition(state)).applyTo(enigma);
+      enigma.translate('a');
+
+      int expected = SteppingTable.encode(rotors[0].getCurrentPosition() - 'a',
+          rotors[1].getCurrentPosition() - 'a', rotors[2].getCurrentPosition() - 'a');
+      assertEquals(expected, table.next(state), "Wrong next state for state " + state);
+    }
+  }
+
+  @Test
+  public void tableMatchesMachineWithSingleNotches() {
+    SteppingTableTests.assertMatchesMachine(RotorType.II, RotorType.III);
+  }
+
+  @Test
+  public void tableMatchesMachineWithTwoNotches() {
+    SteppingTableTests.assertMatchesMachine(RotorType.VII, RotorType.VI);
+  }
+
+  @Test
+  public void tablesAreSharedByNotches() {
+    SteppingTable table = SteppingTable.of(new Rotor(RotorType.II, 'c', 'a'),
+        new Rotor(RotorType.III, 'q', 'f'));
+
+    assertSame(table, SteppingTable.of(new Rotor(RotorType.II, 'a', 'z'),
+        new Rotor(RotorType.III, 'a', 'a')), "Same notches should share a table");
+    assertEquals(RotorStepping.turnOverMask('e'), table.getMiddleTurnOverMask(),
+        "Wrong middle turn over mask");
+    assertEquals(RotorStepping.turnOverMask('v'), table.getRightTurnOverMask(),
+        "Wrong right turn over mask");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> SteppingTable.of(null, new Rotor(RotorType.III, 'a', 'a')),
+        "of should throw an exception if a rotor is null");
+  }
+
+  @Test
+  public void statesEncodeRotorPositions() {
+    int state = SteppingTable.encode(23, 1, 25);
+
+    assertEquals(23 * 676 + 26 + 25, state, "Wrong encoded state");
+    assertEquals(23, SteppingTable.leftPosition(state), "Wrong left position");
+    assertEquals(1, SteppingTable.middlePosition(state), "Wrong middle position");
+    assertEquals(25, SteppingTable.rightPosition(state), "Wrong right position");
+  }
+}
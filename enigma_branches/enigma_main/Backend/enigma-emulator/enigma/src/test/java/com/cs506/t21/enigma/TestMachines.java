@@ -0,0 +1,135 @@
+package com.cs506.t21.enigma;
+
+import java.util.Random;
+
+/**
+ * Machines shared by the tests, so every test that compares an engine with EnigmaM3 builds its
+ * machines the same way. Public only so the tests of the analysis and io packages can use it.
+ */
+public final class TestMachines {
+
+  private TestMachines() {}
+
+  /**
+   * Creates an Enigma I machine with rotors I, II and III built from their wiring, reflector
+   * UKW-B, ring settings "cka" and positions "xdr".
+   *
+   * @param plugboard The plugboard connections.
+   * @return The machine.
+   */
+  public static EnigmaM3 createEnigma(String plugboard) {
+    return new EnigmaM3(new Plugboard(plugboard), new Reflector("YRUHQSLDPXNGOKMIEBFZCWVJAT"),
+        new Rotor("I", "EKMFLGDQVZNTOWYHXUSPAIBRCJ", 'Q', 'c', 'x'),
+        new Rotor("II", "AJDKSIRUXBLHWTMCQGZNPYFVOE", 'E', 'k', 'd'),
+        new Rotor("III", "BDFHJLCPRTXVZNYEIWGAKMUSQO", 'V', 'a', 'r'));
+  }
+
+  /**
+   * Creates a machine with reflector UKW-B and the given rotors from the catalog.
+   *
+   * @param plugboard The plugboard connections, may be empty.
+   * @param rings The ring settings, the leftmost first.
+   * @param positions The rotor positions, the leftmost first.
+   * @param left The type of the leftmost rotor.
+   * @param middle The type of the middle rotor.
+   * @param right The type of the rightmost rotor.
+   * @return The machine.
+   */
+  public static EnigmaM3 createEnigma(String plugboard, String rings, String positions,
+      RotorType left, RotorType middle, RotorType right) {
+    return new EnigmaM3(plugboard.isEmpty() ? new Plugboard() : new Plugboard(plugboard),
+        new Reflector(ReflectorType.UKW_B),
+        new Rotor(left, rings.charAt(0), positions.charAt(0)),
+        new Rotor(middle, rings.charAt(1), positions.charAt(1)),
+        new Rotor(right, rings.charAt(2), positions.charAt(2)));
+  }
+
+  /**
+   * Creates a machine for every lane, all with rotors VI, II and VIII, reflector UKW-B and the
+   * same plugboard, and random ring settings and rotor positions.
+   *
+   * @param lanes The number of lanes.
+   * @return The machines.
+   */
+  static EnigmaM3[] createSharedLanes(int lanes) {
+    Random random = new Random(506);
+    EnigmaM3[] machines = new EnigmaM3[lanes];
+    for (int lane = 0; lane < lanes; lane++) {
+      machines[lane] = TestMachines.createEnigma("ab cd ef gh",
+          TestMachines.letters(random), TestMachines.letters(random),
+          RotorType.VI, RotorType.II, RotorType.VIII);
+    }
+    return machines;
+  }
+
+  /**
+   * Creates a different machine for every lane, with random rotors and settings, and plugboards
+   * and reflectors that differ between lanes.
+   *
+   * @param lanes The number of lanes.
+   * @return The machines.
+   */
+  static EnigmaM3[] createMixedLanes(int lanes) {
+    Random random = new Random(506);
+    RotorType[] types = {
+        RotorType.I, RotorType.II, RotorType.III, RotorType.IV, RotorType.V, RotorType.VI,
+        RotorType.VII, RotorType.VIII
+    };
+
+    EnigmaM3[] machines = new EnigmaM3[lanes];
+    for (int lane = 0; lane < lanes; lane++) {
+      Rotor[] rotors = new Rotor[3];
+      for (int i = 0; i < 3; i++) {
+        rotors[i] = new Rotor(types[random.nextInt(types.length)],
+            (char) ('a' + random.nextInt(26)), (char) ('a' + random.nextInt(26)));
+      }
+      Plugboard plugboard = new Plugboard(lane % 2 == 0 ? "ab cd ef" : "qw er ty ui");
+      Reflector reflector = new Reflector(lane % 3 == 0 ? ReflectorType.UKW_C
+          : ReflectorType.UKW_B);
+      machines[lane] = new EnigmaM3(plugboard, reflector, rotors);
+    }
+    return machines;
+  }
+
+  /**
+   * Returns the specification of every machine.
+   *
+   * @param machines The machines.
+   * @return The specifications, in the same order.
+   */
+  static MachineSpec[] specsOf(EnigmaM3[] machines) {
+    MachineSpec[] specs = new MachineSpec[machines.length];
+    for (int lane = 0; lane < machines.length; lane++) {
+      specs[lane] = MachineSpec.of(machines[lane]);
+    }
+    return specs;
+  }
+
+  /**
+   * Returns the rotor positions of every machine.
+   *
+   * @param machines The machines.
+   * @return The states, in the same order.
+   */
+  static MachineState[] statesOf(EnigmaM3[] machines) {
+    MachineState[] states = new MachineState[machines.length];
+    for (int lane = 0; lane < machines.length; lane++) {
+      states[lane] = MachineState.of(machines[lane]);
+    }
+    return states;
+  }
+
+  /**
+   * Returns three random letters.
+   *
+   * @param random The source of random numbers.
+   * @return The letters, as lowercase.
+   */
+  private static String letters(Random random) {
+    char[] letters = new char[3];
+    for (int i = 0; i < letters.length; i++) {
+      letters[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(letters);
+  }
+}
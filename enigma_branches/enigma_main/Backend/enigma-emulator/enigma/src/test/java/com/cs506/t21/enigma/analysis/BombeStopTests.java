@@ -0,0 +1,63 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cs506.t21.enigma.MachineKey;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.RotorType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the BombeStop class.
+ */
+public class BombeStopTests {
+
+  /**
+   * Creates a stop with rotors II, I and V on positions "kda".
+   *
+   * @param pairs The plugboard pairs of the stop.
+   * @return The stop.
+   */
+  private static BombeStop createStop(String pairs) {
+    return new BombeStop(ReflectorType.UKW_B,
+        new RotorType[] {RotorType.II, RotorType.I, RotorType.V}, "kda", 'e', 'w', pairs);
+  }
+
+  @Test
+  public void stopGivesItsKey() {
+    BombeStop stop = BombeStopTests.createStop("bn ew");
+
+    assertEquals("II I V kda e=w bn ew", stop.toString(), "Wrong string");
+    assertEquals(ReflectorType.UKW_B, stop.getReflectorType(), "Wrong reflector");
+    assertEquals('e', stop.getTestLetter(), "Wrong test letter");
+    assertEquals(MachineKey.of(ReflectorType.UKW_B, RotorType.II, RotorType.I, RotorType.V,
+        "aaa", "kda", new Plugboard("bn ew")), stop.toKey(), "Wrong key");
+  }
+
+  @Test
+  public void stopWithoutPairsHasAnEmptyPlugboard() {
+    BombeStop stop = BombeStopTests.createStop("");
+
+    assertEquals("II I V kda e=w", stop.toString(), "Wrong string");
+    assertEquals("", stop.toKey().getPlugboard().toString(), "Plugboard should be empty");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> stop.getRotorType(3),
+        "There are only three rotors");
+  }
+
+  @Test
+  public void unconfirmedStopHasNoPartner() {
+    BombeStop stop = new BombeStop(ReflectorType.UKW_B,
+        new RotorType[] {RotorType.II, RotorType.I, RotorType.V}, "kda", 'e',
+        BombeStop.UNCONFIRMED, "");
+
+    assertFalse(stop.isConfirmed(), "Stop should be unconfirmed");
+    assertTrue(BombeStopTests.createStop("").isConfirmed(), "Stop with a partner is confirmed");
+    assertEquals("II I V kda e=?", stop.toString(), "Wrong string");
+    assertThrows(java.lang.IllegalStateException.class, stop::getSteckeredLetter,
+        "Unconfirmed stop has no partner");
+  }
+}
@@ -0,0 +1,117 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.Reflector;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.Rotor;
+import com.cs506.t21.enigma.RotorType;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Bombe class with a crib encrypted by a known key.
+ */
+public class BombeTests {
+
+  // Plugboard of the key.
+  private static final String PLUGBOARD = "aq bn ew ry tz";
+
+  // Crib, placed after the first two letters of the message.
+  private static final String CRIB = "wettervorhersagebisk";
+
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  public void setUp() {
+    this.pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    this.pool.shutdown();
+  }
+
+  /**
+   * Encrypts a message that has the crib on position 2, with rotors II, I and V on positions
+   * "kda" and ring settings "aaa". The middle rotor does not step along the message.
+   *
+   * @return The ciphertext.
+   */
+  private static String encrypt() {
+    EnigmaM3 enigma = new EnigmaM3(new Plugboard(PLUGBOARD), new Reflector(ReflectorType.UKW_B),
+        new Rotor(RotorType.II, 'a', 'k'), new Rotor(RotorType.I, 'a', 'd'),
+        new Rotor(RotorType.V, 'a', 'a'));
+    return enigma.translate("an" + CRIB + "vier");
+  }
+
+  @Test
+  public void positionsOfTheCribAreStopped() {
+    String ciphertext = BombeTests.encrypt();
+    Menu menu = new Menu(CRIB, ciphertext, 2);
+    List<BombeStop> stops = new Bombe(ReflectorType.UKW_B, this.pool).run(menu, RotorType.I,
+        RotorType.II, RotorType.V);
+
+    BombeStop stop = stops.stream().filter(s -> s.getRotorType(0) == RotorType.II
+        && s.getRotorType(1) == RotorType.I && s.getRotorType(2) == RotorType.V
+        && s.getRotorPositions().equals("kdc")).findFirst().orElse(null);
+    assertTrue(stop != null, "Positions before the crib should be a stop");
+    assertTrue(stops.size() < 100, "Menu should rule out most positions, got " + stops.size());
+
+    char partner = new Plugboard(PLUGBOARD).swap(menu.getTestLetter());
+    assertTrue(stop.isConfirmed(), "Stop of the key should have a partner");
+    assertEquals(partner, stop.getSteckeredLetter(), "Wrong partner of the test letter");
+    for (String pair : stop.getPlugboardPairs().split(" ")) {
+      assertTrue(PLUGBOARD.contains(pair), "Pair " + pair + " should be in the plugboard");
+    }
+
+    String decrypted =
+        stop.toKey().toEnigma().translate(ciphertext.substring(2, 2 + CRIB.length()));
+    assertEquals(CRIB, decrypted, "Key should decrypt the whole crib");
+  }
+
+  @Test
+  public void searchStopsAfterTheGivenNumberOfStops() {
+    Menu menu = new Menu(CRIB, BombeTests.encrypt(), 2);
+    Bombe bombe = new Bombe(ReflectorType.UKW_B, this.pool);
+
+    assertEquals(1, bombe.run(menu, 1, RotorType.I, RotorType.II, RotorType.V).size(),
+        "Should return a single stop");
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    final Menu menu = new Menu("ab", "ba", 0);
+    Bombe bombe = new Bombe(ReflectorType.UKW_B);
+
+    assertThrows(java.lang.NullPointerException.class, () -> new Bombe(null),
+        "Reflector type cannot be null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new Bombe(ReflectorType.UKW_B, null), "Pool cannot be null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> bombe.run(null, RotorType.I, RotorType.II, RotorType.III), "Menu cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> bombe.run(menu, 0, RotorType.I, RotorType.II, RotorType.III),
+        "Number of stops should be positive");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> bombe.run(menu, RotorType.I, RotorType.II), "Should need three rotors");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> bombe.run(menu, RotorType.I, RotorType.II, RotorType.I),
+        "Rotors should be different");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> bombe.run(menu, RotorType.I, RotorType.II, RotorType.BETA),
+        "Rotors should have notches");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> bombe.run(menu, RotorType.I, RotorType.II, null), "Rotors cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> bombe.run(new Menu("b".repeat(27), "a".repeat(27), 0), RotorType.I,
+            RotorType.II, RotorType.III), "Crib should not be longer than the alphabet");
+  }
+}
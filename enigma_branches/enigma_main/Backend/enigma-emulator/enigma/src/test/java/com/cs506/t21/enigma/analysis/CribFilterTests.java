@@ -0,0 +1,118 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cs506.t21.enigma.MachineKey;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.RotorType;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the CribFilter class.
+ */
+public class CribFilterTests {
+
+  private static final String MESSAGE = HillClimberTests.CORPUS.substring(0, 300);
+
+  /**
+   * Encrypts the message with a fixed key.
+   *
+   * @return The ciphertext.
+   */
+  private static String createCiphertext() {
+    return MachineKey.of(ReflectorType.UKW_B, RotorType.II, RotorType.I, RotorType.III, "abc",
+        "kdx", new Plugboard("aq bn ew")).toEnigma().translate(MESSAGE);
+  }
+
+  /**
+   * Returns whether no letter of the crib lines up with itself at the offset, letter by letter.
+   *
+   * @param crib The crib.
+   * @param ciphertext The ciphertext.
+   * @param offset The offset of the crib.
+   * @return Whether the crib can be placed at the offset.
+   */
+  private static boolean fits(String crib, String ciphertext, int offset) {
+    for (int i = 0; i < crib.length(); i++) {
+      if (crib.charAt(i) == ciphertext.charAt(offset + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Test
+  public void offsetsMatchLetterByLetterChecks() {
+    String ciphertext = CribFilterTests.createCiphertext();
+    CribFilter filter = new CribFilter(ciphertext);
+    assertEquals(ciphertext.length(), filter.length(), "Wrong ciphertext length");
+
+    // Cribs shorter and longer than a word of offsets.
+    for (String crib : new String[] {"e", "wetter", MESSAGE.substring(100, 170)}) {
+      int[] expected = IntStream.rangeClosed(0, ciphertext.length() - crib.length())
+          .filter(offset -> CribFilterTests.fits(crib, ciphertext, offset)).toArray();
+      assertArrayEquals(expected, filter.offsets(crib), "Wrong offsets of crib " + crib);
+      Crib compiled = new Crib(crib);
+      for (int offset = 0; offset <= ciphertext.length() - crib.length(); offset++) {
+        assertEquals(CribFilterTests.fits(crib, ciphertext, offset),
+            filter.accepts(compiled, offset),
+            "Wrong check of crib " + crib + " at offset " + offset);
+      }
+    }
+  }
+
+  @Test
+  public void plaintextOffsetSurvives() {
+    String ciphertext = CribFilterTests.createCiphertext();
+    CribFilter filter = new CribFilter(ciphertext);
+    String crib = MESSAGE.substring(130, 150);
+
+    int[] offsets = filter.offsets(crib);
+    assertTrue(IntStream.of(offsets).anyMatch(offset -> offset == 130),
+        "Offset of the plaintext should never be rejected");
+    assertTrue(offsets.length < ciphertext.length() - crib.length() + 1,
+        "Some offsets should be rejected");
+
+    List<Menu> menus = filter.menus(new Crib(crib));
+    assertEquals(offsets.length, menus.size(), "Should have a menu per offset");
+    for (int i = 0; i < offsets.length; i++) {
+      assertEquals(offsets[i], menus.get(i).getOffset(), "Wrong offset of menu " + i);
+    }
+  }
+
+  @Test
+  public void cribLongerThanCiphertextHasNoOffsets() {
+    CribFilter filter = new CribFilter("abc");
+
+    assertEquals(0, filter.offsets("bcda").length, "Crib should not fit");
+    assertFalse(filter.accepts(new Crib("bc"), 2), "Crib should not fit at the end");
+    assertFalse(filter.accepts(new Crib("bc"), -1), "Offset cannot be negative");
+    assertTrue(filter.accepts(new Crib("ca"), 1), "Crib lines up with other letters");
+    assertFalse(filter.accepts(new Crib("xb"), 0), "Letter b lines up with itself");
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    CribFilter filter = new CribFilter("abc");
+
+    assertThrows(java.lang.NullPointerException.class, () -> new CribFilter(null),
+        "Ciphertext cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> new CribFilter("ab c"),
+        "Ciphertext should only have letters");
+    assertThrows(java.lang.NullPointerException.class, () -> filter.offsets((String) null),
+        "Crib cannot be null");
+    assertThrows(java.lang.NullPointerException.class, () -> filter.offsets((Crib) null),
+        "Crib cannot be null");
+    assertThrows(java.lang.NullPointerException.class, () -> filter.accepts(null, 0),
+        "Crib cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> filter.offsets(""),
+        "Crib cannot be empty");
+  }
+}
@@ -0,0 +1,37 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Crib class.
+ */
+public class CribTests {
+
+  @Test
+  public void positionsAreKeptPerDifferentLetter() {
+    Crib crib = new Crib("abA" + "c".repeat(64) + "b");
+
+    assertEquals(68, crib.length(), "Wrong crib length");
+    assertArrayEquals(new int[] {0, 1, 2}, crib.getLetters(), "Letters should be in order");
+    assertArrayEquals(new long[] {0b101L, 0}, crib.getPositions()[0], "Wrong positions of a");
+    assertArrayEquals(new long[] {0b10L, 0b1000L}, crib.getPositions()[1],
+        "Wrong positions of b");
+    assertArrayEquals(new long[] {~0b111L, 0b111L}, crib.getPositions()[2],
+        "Wrong positions of c");
+    assertEquals(crib.getText(), crib.toString(), "Crib should print its text");
+  }
+
+  @Test
+  public void invalidCribsAreRejected() {
+    assertThrows(java.lang.NullPointerException.class, () -> new Crib(null),
+        "Crib cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> new Crib(""),
+        "Crib cannot be empty");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> new Crib("a1"),
+        "Crib should only have letters");
+  }
+}
@@ -0,0 +1,176 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.Reflector;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.RotorType;
+import com.cs506.t21.enigma.TestMachines;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the HillClimber class by finding the key of a message encrypted with a known key.
+ */
+public class HillClimberTests {
+
+  // English text the trigram table is built from. The message is its beginning.
+  static final String CORPUS = ("the weather report for the evening is expected to arrive"
+      + " at the usual hour and the convoy will sail at first light unless the wind turns"
+      + " against us there is no sign of the enemy in the northern sector and the patrols"
+      + " have returned without any losses the supply ships are waiting in the harbour for"
+      + " the order to leave and the crews have been told to stay on board until the signal"
+      + " is given the commander wants a full report of the position of every ship before"
+      + " the end of the day and he asks that all the messages are sent with the new keys"
+      + " which were given to the operators this morning the old keys must be burned and"
+      + " nobody should write them down again the radio station on the coast will listen"
+      + " for our signals during the night and it will answer every hour on the hour when"
+      + " the weather is bad the boats should stay in the bay and wait for better news from"
+      + " the station the men are tired but they know that the work they do is important"
+      + " and that the war will not be won without the information they bring back home")
+      .replace(" ", "");
+
+  // Plugboard of the key.
+  private static final String PLUGBOARD = "aq bn ew ry tz";
+
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  public void setUp() {
+    this.pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    this.pool.shutdown();
+  }
+
+  /**
+   * Creates a trigram scorer from the corpus.
+   *
+   * @return The scorer.
+   */
+  static NgramScorer createScorer() {
+    int[] counts = new int[NgramScorer.tableSize(3)];
+    for (int i = 0; i + 3 <= CORPUS.length(); i++) {
+      counts[((CORPUS.charAt(i) - 'a') * 26 + CORPUS.charAt(i + 1) - 'a') * 26
+          + CORPUS.charAt(i + 2) - 'a']++;
+    }
+
+    float[] logProbabilities = new float[counts.length];
+    for (int i = 0; i < counts.length; i++) {
+      logProbabilities[i] = (float) Math.log((counts[i] + 0.01) / CORPUS.length());
+    }
+    return new NgramScorer(3, logProbabilities);
+  }
+
+  @Test
+  public void searchFindsKeyThatDecryptsTheMessage() {
+    String message = CORPUS.substring(0, 400);
+    String ciphertext = TestMachines.createEnigma(PLUGBOARD, "abc", "kdx", RotorType.II,
+        RotorType.I, RotorType.III).translate(message);
+
+    HillClimber climber = new HillClimber(ReflectorType.UKW_B, HillClimberTests.createScorer(),
+        this.pool);
+    climber.setCandidates(4);
+    climber.setRestarts(2);
+    List<ScoredKey> improvements = new ArrayList<>();
+    ScoredKey best = climber.search(ciphertext, improvements::add, RotorType.I, RotorType.II,
+        RotorType.III);
+
+    assertEquals(message, best.getKey().toEnigma().translate(ciphertext),
+        "Key found should decrypt the message, found " + best);
+    assertEquals(RotorType.II, best.getKey().getRotorType(0), "Wrong left rotor");
+    assertEquals(best, improvements.get(improvements.size() - 1),
+        "Last key reported should be the best key");
+    for (int i = 1; i < improvements.size(); i++) {
+      assertTrue(improvements.get(i).getScore() >= improvements.get(i - 1).getScore(),
+          "Keys should be reported with increasing scores, or the same score on ties");
+    }
+  }
+
+  @Test
+  public void searchesWithTheSameSeedFindTheSameKey() {
+    String ciphertext = TestMachines.createEnigma(PLUGBOARD, "abc", "kdx", RotorType.II,
+        RotorType.I, RotorType.III).translate(CORPUS.substring(0, 60));
+    HillClimber climber = new HillClimber(ReflectorType.UKW_B, new IndexOfCoincidence(),
+        this.pool);
+    climber.setCandidates(1);
+    climber.setMaxPairs(2);
+    climber.setSeed(506);
+
+    ScoredKey first = climber.search(ciphertext, RotorType.I, RotorType.II, RotorType.III);
+    ScoredKey second = climber.search(ciphertext, RotorType.I, RotorType.II, RotorType.III);
+    assertEquals(first.getScore(), second.getScore(), "Scores should be equal");
+    assertEquals(first.getKey(), second.getKey(), "Keys should be equal");
+  }
+
+  @Test
+  public void slowListenerIsCalledByOneThreadWithTheBestKeyLast() {
+    String ciphertext = TestMachines.createEnigma(PLUGBOARD, "abc", "kdx", RotorType.II,
+        RotorType.I, RotorType.III).translate(CORPUS.substring(0, 60));
+    HillClimber climber = new HillClimber(ReflectorType.UKW_B, new IndexOfCoincidence(),
+        this.pool);
+    climber.setCandidates(2);
+    climber.setMaxPairs(2);
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicBoolean overlapped = new AtomicBoolean();
+    List<ScoredKey> reported = new CopyOnWriteArrayList<>();
+    ScoredKey best = climber.search(ciphertext, key -> {
+      overlapped.compareAndSet(false, running.incrementAndGet() > 1);
+      try {
+        Thread.sleep(2);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      reported.add(key);
+      running.decrementAndGet();
+    }, RotorType.I, RotorType.II, RotorType.III);
+
+    assertFalse(overlapped.get(), "Listener should be called by one thread at a time");
+    assertEquals(best, reported.get(reported.size() - 1),
+        "Last key reported should be the best key");
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    final HillClimber climber = new HillClimber(ReflectorType.UKW_B, new IndexOfCoincidence());
+    Scorer scorer = new IndexOfCoincidence();
+
+    assertThrows(java.lang.NullPointerException.class, () -> new HillClimber(null, scorer),
+        "Reflector type cannot be null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new HillClimber(ReflectorType.UKW_B, null), "Scorer cannot be null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new HillClimber(ReflectorType.UKW_B, scorer, null), "Pool cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> climber.setCandidates(0),
+        "Number of candidates should be positive");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> climber.setRestarts(0),
+        "Number of restarts should be positive");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> climber.setMaxPairs(14),
+        "There are only 13 pairs");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> climber.search(null, RotorType.I, RotorType.II, RotorType.III),
+        "Ciphertext cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> climber.search("a ", RotorType.I, RotorType.II, RotorType.III),
+        "Ciphertext should have two letters");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> climber.search("ab1", RotorType.I, RotorType.II, RotorType.III),
+        "Ciphertext should only have letters and spaces");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> climber.search("ab", RotorType.I, RotorType.II), "Should need three rotors");
+  }
+}
@@ -0,0 +1,25 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the IndexOfCoincidence class.
+ */
+public class IndexOfCoincidenceTests {
+
+  @Test
+  public void indexIsTheProbabilityOfTwoEqualLetters() {
+    IndexOfCoincidence scorer = new IndexOfCoincidence();
+
+    assertEquals(1.0 / 3, scorer.score(new byte[] {0, 0, 1, 1}, 4), 1e-12,
+        "Wrong index of two pairs");
+    assertEquals(1.0, scorer.score(new byte[] {5, 5, 5, 9}, 3), 1e-12,
+        "Only the given length should be scored");
+    assertEquals(0.0, scorer.score(new byte[] {0, 1, 2}, 3), 1e-12,
+        "Different letters never coincide");
+    assertEquals(0.0, scorer.score(new byte[] {0}, 1), 1e-12,
+        "A single letter has no pairs");
+  }
+}
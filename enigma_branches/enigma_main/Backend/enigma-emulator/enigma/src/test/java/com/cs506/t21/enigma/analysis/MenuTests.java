@@ -0,0 +1,54 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Menu class.
+ */
+public class MenuTests {
+
+  @Test
+  public void menuHasAnEdgePerLetterOfTheCrib() {
+    // Edges a-b, b-c, c-a and a-d, a single loop.
+    Menu menu = new Menu("abca", "xbcad", 1);
+
+    assertEquals(4, menu.getEdgeCount(), "Every letter of the crib should make an edge");
+    assertEquals(4, menu.getLetterCount(), "Wrong number of letters");
+    assertEquals(1, menu.getLoopCount(), "Wrong number of loops");
+    assertEquals(1, menu.getOffset(), "Wrong offset");
+    assertEquals('a', menu.getTestLetter(), "Letter with the most edges should be tested");
+    assertArrayEquals(new int[] {1, 2, 3}, menu.getPartners()[0], "Wrong partners of a");
+    assertArrayEquals(new int[] {0, 2, 3}, menu.getPositions()[0], "Wrong positions of a");
+  }
+
+  @Test
+  public void loopsOfEveryPartAreCounted() {
+    // Two parts: a-b twice, and c-d, d-e, e-c.
+    Menu menu = new Menu("ABCDE", "BADEC", 0);
+
+    assertEquals(5, menu.getLetterCount(), "Wrong number of letters");
+    assertEquals(2, menu.getLoopCount(), "Wrong number of loops");
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    assertThrows(java.lang.IllegalArgumentException.class, () -> new Menu("ab", "ba", 1),
+        "Crib should fit in the ciphertext");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> new Menu("ab", "ba", -1),
+        "Offset should not be negative");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> new Menu("", "ba", 0),
+        "Crib should not be empty");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> new Menu("ab", "cb", 0),
+        "Letter cannot encrypt to itself");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> new Menu("a1", "ba", 0),
+        "Crib should only have letters");
+    assertThrows(java.lang.NullPointerException.class, () -> new Menu(null, "ba", 0),
+        "Crib cannot be null");
+    assertThrows(java.lang.NullPointerException.class, () -> new Menu("ab", null, 0),
+        "Ciphertext cannot be null");
+  }
+}
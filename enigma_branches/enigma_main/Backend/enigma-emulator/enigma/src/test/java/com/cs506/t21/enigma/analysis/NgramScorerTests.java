@@ -0,0 +1,49 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the NgramScorer class.
+ */
+public class NgramScorerTests {
+
+  @Test
+  public void scoreIsTheSumOfEveryNgram() {
+    float[] table = new float[NgramScorer.tableSize(2)];
+    table[0 * 26 + 1] = -1;
+    table[1 * 26 + 2] = -2;
+    table[2 * 26 + 25] = -4;
+    NgramScorer scorer = new NgramScorer(2, table);
+
+    assertEquals(2, scorer.getLength(), "Wrong length");
+    assertEquals(-7, scorer.score(new byte[] {0, 1, 2, 25}, 4), 1e-6, "Wrong score of abcz");
+    assertEquals(-3, scorer.score(new byte[] {0, 1, 2, 25}, 3), 1e-6, "Wrong score of abc");
+    assertEquals(0, scorer.score(new byte[] {0}, 1), 1e-6, "Single letter has no bigrams");
+  }
+
+  @Test
+  public void quadgramsIndexEveryLetter() {
+    float[] table = new float[NgramScorer.tableSize(4)];
+    table[table.length - 1] = 1;
+    NgramScorer scorer = new NgramScorer(4, table);
+
+    assertEquals(456976, table.length, "Wrong number of quadgrams");
+    assertEquals(3, scorer.score(new byte[] {25, 25, 25, 25, 25, 25}, 6), 1e-6,
+        "Every window of zzzzzz should be scored");
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    assertThrows(java.lang.IllegalArgumentException.class, () -> NgramScorer.tableSize(0),
+        "N-grams should have a letter");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> NgramScorer.tableSize(5),
+        "Quadgrams should be the longest n-grams");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new NgramScorer(2, new float[26]), "Table should have an entry per n-gram");
+    assertThrows(java.lang.NullPointerException.class, () -> new NgramScorer(2, null),
+        "Table cannot be null");
+  }
+}
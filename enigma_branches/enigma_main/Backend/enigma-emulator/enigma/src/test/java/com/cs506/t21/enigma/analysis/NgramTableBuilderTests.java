@@ -0,0 +1,68 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the NgramTableBuilder class.
+ */
+public class NgramTableBuilderTests {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void ngramsRunAcrossWordsAndCase() throws IOException {
+    NgramTableBuilder builder = new NgramTableBuilder(3);
+    builder.add("The t");
+    builder.add(new StringReader("HE, the!"));
+    NgramTable table = builder.build();
+
+    // Letters "thethethe" have the three times, het and eth twice.
+    assertEquals(7, builder.getCount(), "Every letter after the second ends a trigram");
+    assertEquals((float) Math.log10(3.0 / 7), table.getLogProbability(19 * 676 + 7 * 26 + 4),
+        "Wrong log probability of the");
+    assertEquals((float) Math.log10(0.01 / 7), table.getLogProbability(0),
+        "Unseen trigrams should have a hundredth of an occurrence");
+  }
+
+  @Test
+  public void mainWritesTheTableOfTheCorpus() throws IOException {
+    Path corpus = Files.writeString(this.directory.resolve("corpus.txt"), "abcabc");
+    Path table = this.directory.resolve("bigrams.bin");
+
+    NgramTableBuilder.main(new String[] {"2", table.toString(), corpus.toString(),
+        corpus.toString()});
+    NgramTable mapped = NgramTable.map(table);
+    assertEquals(2, mapped.getLength(), "Wrong n-gram length");
+    assertEquals((float) Math.log10(4.0 / 11), mapped.getLogProbability(1),
+        "Both corpus files should be counted, as a single text");
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    NgramTableBuilder builder = new NgramTableBuilder(1);
+
+    assertThrows(java.lang.IllegalStateException.class, builder::build,
+        "Empty corpus should have no table");
+    assertThrows(java.lang.IllegalArgumentException.class, () -> new NgramTableBuilder(5),
+        "Quadgrams should be the longest n-grams");
+    assertThrows(java.lang.NullPointerException.class, () -> builder.add((CharSequence) null),
+        "Text cannot be null");
+    assertThrows(java.lang.NullPointerException.class, () -> builder.add((StringReader) null),
+        "Reader cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> NgramTableBuilder.main(new String[] {"2", "table.bin"}),
+        "Should need a corpus file");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> NgramTableBuilder.main(new String[] {"two", "table.bin", "corpus.txt"}),
+        "Length should be a number");
+  }
+}
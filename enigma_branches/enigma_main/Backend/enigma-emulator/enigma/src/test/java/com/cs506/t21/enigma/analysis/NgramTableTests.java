@@ -0,0 +1,79 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the NgramTable class.
+ */
+public class NgramTableTests {
+
+  @TempDir
+  Path directory;
+
+  /**
+   * Builds the bigram table of a short text.
+   *
+   * @return The table.
+   */
+  private static NgramTable createTable() {
+    NgramTableBuilder builder = new NgramTableBuilder(2);
+    builder.add("abab");
+    return builder.build();
+  }
+
+  @Test
+  public void mappedTableMatchesTheTableWritten() throws IOException {
+    NgramTable table = NgramTableTests.createTable();
+    Path file = this.directory.resolve("bigrams.bin");
+    table.write(file);
+
+    assertEquals(NgramTable.HEADER_SIZE + 4 * 676, Files.size(file), "Wrong file size");
+    NgramTable mapped = NgramTable.map(file);
+    assertEquals(2, mapped.getLength(), "Wrong n-gram length");
+    assertEquals(676, mapped.size(), "Wrong number of n-grams");
+    for (int i = 0; i < table.size(); i++) {
+      assertEquals(table.getLogProbability(i), mapped.getLogProbability(i),
+          "Wrong log probability of n-gram " + i);
+    }
+
+    byte[] text = {0, 1, 0, 1, 2};
+    assertEquals(new NgramScorer(table).score(text, text.length),
+        new NgramScorer(mapped).score(text, text.length), 1e-6,
+        "Mapped table should score as the table written");
+  }
+
+  @Test
+  public void invalidFilesAreRejected() throws IOException {
+    Path empty = Files.write(this.directory.resolve("empty.bin"), new byte[0]);
+    Path text = Files.write(this.directory.resolve("text.bin"), new byte[32]);
+    Path table = this.directory.resolve("table.bin");
+    NgramTableTests.createTable().write(table);
+    byte[] bytes = Files.readAllBytes(table);
+    Path truncated = Files.write(this.directory.resolve("truncated.bin"),
+        Arrays.copyOf(bytes, bytes.length - 4));
+
+    assertThrows(java.io.IOException.class, () -> NgramTable.map(empty),
+        "File without header should be rejected");
+    assertThrows(java.io.IOException.class, () -> NgramTable.map(text),
+        "File without magic number should be rejected");
+    assertThrows(java.io.IOException.class, () -> NgramTable.map(truncated),
+        "File of the wrong size should be rejected");
+    assertThrows(java.io.IOException.class,
+        () -> NgramTable.map(this.directory.resolve("missing.bin")),
+        "Missing file should be rejected");
+    assertThrows(java.lang.NullPointerException.class, () -> NgramTable.map(null),
+        "File cannot be null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> NgramTableTests.createTable().write(null), "File cannot be null");
+    assertThrows(java.lang.NullPointerException.class, () -> new NgramScorer((NgramTable) null),
+        "Table cannot be null");
+  }
+}
@@ -0,0 +1,92 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cs506.t21.enigma.MachineKey;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.RotorType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the RingEquivalence class.
+ */
+public class RingEquivalenceTests {
+
+  private static final String MESSAGE = HillClimberTests.CORPUS.substring(0, 60);
+
+  @Test
+  public void equivalentKeysEncryptTheSameWay() {
+    MachineKey key = MachineKey.of(ReflectorType.UKW_B, RotorType.II, RotorType.I,
+        RotorType.III, "abc", "kdx", new Plugboard("aq bn ew"));
+    String ciphertext = key.toEnigma().translate(MESSAGE);
+
+    List<MachineKey> keys = RingEquivalence.expand(key, MESSAGE.length());
+    assertTrue(keys.contains(key), "Key should be equivalent to itself");
+    // Left rotor: every ring. Middle rotor: steps three times at most, so position d turns nothing
+    // over as 22 other positions. Right rotor: 60 letters see every position, so only itself.
+    assertEquals(26 * 23, keys.size(), "Wrong number of equivalent keys");
+    for (MachineKey other : keys) {
+      assertEquals(ciphertext, other.toEnigma().translate(MESSAGE),
+          "Equivalent key " + other + " should encrypt as " + key);
+    }
+  }
+
+  @Test
+  public void everyClassHasOneRepresentative() {
+    int[] representatives = RingEquivalence.representatives(RotorType.VI, 5);
+    for (int ring = 0; ring < 26; ring++) {
+      for (int position = 0; position < 26; position++) {
+        int found = 0;
+        for (int setting : RingEquivalence.expand(RotorType.VI, 5, ring, position)) {
+          for (int representative : representatives) {
+            found += setting == representative ? 1 : 0;
+          }
+        }
+        assertEquals(1, found,
+            "Setting " + ring + " " + position + " should have a single representative");
+      }
+    }
+  }
+
+  @Test
+  public void classesShrinkTheSearch() {
+    assertEquals(26, RingEquivalence.representatives(RotorType.I, 0).length,
+        "Rotor that does not step should only have its offsets");
+    assertEquals(676, RingEquivalence.representatives(RotorType.I, 26).length,
+        "Rotor that steps through the alphabet should have every setting");
+    assertEquals(338, RingEquivalence.representatives(RotorType.VI, 100).length,
+        "Rotor with two notches should turn over the same way every 13 positions");
+    assertEquals(52, RingEquivalence.representatives(RotorType.I, 1).length,
+        "Single step should only tell the turn over position apart");
+
+    assertEquals(0, RingEquivalence.middleSteps(RotorType.I, 0), "Empty message has no steps");
+    assertEquals(1, RingEquivalence.middleSteps(RotorType.I, 26), "Wrong middle rotor steps");
+    assertEquals(2, RingEquivalence.middleSteps(RotorType.I, 27), "Wrong middle rotor steps");
+    assertEquals(3, RingEquivalence.middleSteps(RotorType.VI, 27), "Wrong middle rotor steps");
+    assertEquals(26L * 78 * 676,
+        RingEquivalence.countClasses(RotorType.I, RotorType.II, RotorType.III, 30),
+        "Wrong number of classes");
+  }
+
+  @Test
+  public void invalidArgumentsThrow() {
+    assertThrows(java.lang.NullPointerException.class,
+        () -> RingEquivalence.representatives(null, 0), "Rotor type cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> RingEquivalence.representatives(RotorType.I, -1), "Steps cannot be negative");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> RingEquivalence.expand(RotorType.I, 0, 26, 0), "Ring must be a letter index");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> RingEquivalence.expand(RotorType.I, 0, 0, -1), "Position must be a letter index");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> RingEquivalence.middleSteps(null, 1), "Rotor type cannot be null");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> RingEquivalence.middleSteps(RotorType.I, -1), "Length cannot be negative");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> RingEquivalence.expand(null, 1), "Key cannot be null");
+  }
+}
@@ -0,0 +1,29 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cs506.t21.enigma.MachineKey;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.RotorType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ScoredKey class.
+ */
+public class ScoredKeyTests {
+
+  @Test
+  public void scoredKeyShowsScoreAndKey() {
+    MachineKey key = MachineKey.of(ReflectorType.UKW_B, RotorType.II, RotorType.I, RotorType.V,
+        "aab", "kdc", new Plugboard("aq bn"));
+    ScoredKey scored = new ScoredKey(key, -1523.25);
+
+    assertEquals(key, scored.getKey(), "Wrong key");
+    assertEquals(-1523.25, scored.getScore(), "Wrong score");
+    assertEquals("-1523.25 UKW-B II I V aab kdc aq bn", scored.toString(), "Wrong string");
+    assertThrows(java.lang.NullPointerException.class, () -> new ScoredKey(null, 0),
+        "Key cannot be null");
+  }
+}
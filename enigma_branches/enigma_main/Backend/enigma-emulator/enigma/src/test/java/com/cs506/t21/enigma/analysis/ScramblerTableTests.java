@@ -0,0 +1,39 @@
+package com.cs506.t21.enigma.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.cs506.t21.enigma.Alphabet;
+import com.cs506.t21.enigma.EnigmaM3;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.Reflector;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.Rotor;
+import com.cs506.t21.enigma.RotorType;
+import com.cs506.t21.enigma.SteppingTable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ScramblerTable class against EnigmaM3.
+ */
+public class ScramblerTableTests {
+
+  @Test
+  public void walkMatchesEnigmaM3WithRingSettings() {
+    RotorType[] rotorTypes = {RotorType.VI, RotorType.II, RotorType.VIII};
+    EnigmaM3 enigma = new EnigmaM3(new Plugboard(), new Reflector(ReflectorType.UKW_C),
+        new Rotor(rotorTypes[0], 'b', 'x'), new Rotor(rotorTypes[1], 'q', 'd'),
+        new Rotor(rotorTypes[2], 'k', 'v'));
+    ScramblerTable table = new ScramblerTable(ReflectorType.UKW_C, rotorTypes);
+
+    int length = 2000;
+    int[] offsets = new int[length];
+    table.walk(SteppingTable.encode(Alphabet.toIndex('x'), Alphabet.toIndex('d'),
+        Alphabet.toIndex('v')), new int[] {1, 16, 10}, offsets, length);
+    for (int i = 0; i < length; i++) {
+      int index = i % Alphabet.SIZE;
+      assertEquals(enigma.translateIndex(index), table.encrypt(offsets[i], index),
+          "Wrong substitution on key press " + i);
+    }
+    assertEquals(RotorType.VIII, table.getRotorTypes()[2], "Wrong rotor order");
+  }
+}
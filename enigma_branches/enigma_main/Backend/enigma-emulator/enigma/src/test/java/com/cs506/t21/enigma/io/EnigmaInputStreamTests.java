@@ -0,0 +1,67 @@
+package com.cs506.t21.enigma.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the EnigmaInputStream class against the EnigmaReader class.
+ */
+public class EnigmaInputStreamTests {
+
+  @Test
+  public void streamMatchesReaderForEveryPolicy() throws IOException {
+    String text = EnigmaReaderTests.createText();
+
+    for (NonLetterPolicy policy : NonLetterPolicy.values()) {
+      StringWriter expected = new StringWriter();
+      new EnigmaReader(new StringReader(text), EnigmaReaderTests.createEnigma(), policy)
+          .transferTo(expected);
+
+      InputStream stream = new EnigmaInputStream(
+          new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)),
+          EnigmaReaderTests.createEnigma(), policy);
+
+      assertEquals(expected.toString(),
+          new String(stream.readAllBytes(), StandardCharsets.US_ASCII),
+          "Stream differs from reader with policy " + policy);
+    }
+  }
+
+  @Test
+  public void bytesThatAreNotAsciiAreNotLetters() throws IOException {
+    byte[] text = {(byte) 0xC3, (byte) 0xA1, 'a'};
+    InputStream stream = new EnigmaInputStream(new ByteArrayInputStream(text),
+        EnigmaReaderTests.createEnigma());
+
+    assertEquals(0xC3, stream.read(), "Bytes that are not ASCII should be copied");
+    assertEquals(2, stream.available(), "Two bytes should be pending");
+    assertEquals(0xA1, stream.read(), "Bytes that are not ASCII should be copied");
+    assertEquals(EnigmaReaderTests.createEnigma().translate('a'), stream.read(),
+        "Letter should be encrypted on the first position");
+    assertEquals(-1, stream.read(), "End of stream should be reported");
+  }
+
+  @Test
+  public void readThrowsIoExceptionAfterClose() throws IOException {
+    InputStream stream = new EnigmaInputStream(new ByteArrayInputStream(new byte[1]),
+        EnigmaReaderTests.createEnigma());
+    stream.close();
+    stream.close();
+
+    assertThrows(IOException.class, () -> stream.read(),
+        "read should throw an IOException after the stream is closed");
+    assertThrows(IOException.class, () -> stream.available(),
+        "available should throw an IOException after the stream is closed");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new EnigmaInputStream(null, EnigmaReaderTests.createEnigma()),
+        "Constructor should throw a NullPointerException if the stream is null");
+  }
+}
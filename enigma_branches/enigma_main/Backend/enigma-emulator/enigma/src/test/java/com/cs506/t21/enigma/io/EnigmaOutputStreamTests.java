@@ -0,0 +1,70 @@
+package com.cs506.t21.enigma.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the EnigmaOutputStream class against the EnigmaInputStream class.
+ */
+public class EnigmaOutputStreamTests {
+
+  @Test
+  public void streamMatchesInputStreamForEveryPolicy() throws IOException {
+    byte[] text = EnigmaReaderTests.createText().getBytes(StandardCharsets.US_ASCII);
+
+    for (NonLetterPolicy policy : NonLetterPolicy.values()) {
+      byte[] expected = new EnigmaInputStream(new ByteArrayInputStream(text),
+          EnigmaReaderTests.createEnigma(), policy).readAllBytes();
+
+      ByteArrayOutputStream result = new ByteArrayOutputStream();
+      try (OutputStream stream = new EnigmaOutputStream(result, EnigmaReaderTests.createEnigma(),
+          policy)) {
+        stream.write(text[0]);
+        for (int i = 1; i < text.length; i += 5000) {
+          stream.write(text, i, Math.min(5000, text.length - i));
+        }
+      }
+
+      assertEquals(new String(expected, StandardCharsets.US_ASCII),
+          new String(result.toByteArray(), StandardCharsets.US_ASCII),
+          "Output stream differs from input stream with policy " + policy);
+    }
+  }
+
+  @Test
+  public void flushWritesBufferedBytes() throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    OutputStream stream = new EnigmaOutputStream(result, EnigmaReaderTests.createEnigma());
+
+    stream.write(new byte[] {'a', 'a', 'a'});
+    assertEquals(0, result.size(), "Bytes should be buffered");
+
+    stream.flush();
+    assertEquals(EnigmaReaderTests.createEnigma().translate("aaa"),
+        result.toString(StandardCharsets.US_ASCII),
+        "Flush should write the buffered bytes");
+  }
+
+  @Test
+  public void writeThrowsIoExceptionAfterClose() throws IOException {
+    OutputStream stream = new EnigmaOutputStream(new ByteArrayOutputStream(),
+        EnigmaReaderTests.createEnigma());
+    stream.close();
+    stream.close();
+
+    assertThrows(IOException.class, () -> stream.write('a'),
+        "write should throw an IOException after the stream is closed");
+    assertThrows(IOException.class, () -> stream.flush(),
+        "flush should throw an IOException after the stream is closed");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new EnigmaOutputStream(null, EnigmaReaderTests.createEnigma()),
+        "Constructor should throw a NullPointerException if the stream is null");
+  }
+}
@@ -0,0 +1,145 @@
+package com.cs506.t21.enigma.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import com.cs506.t21.enigma.Plugboard;
+import com.cs506.t21.enigma.Reflector;
+import com.cs506.t21.enigma.ReflectorType;
+import com.cs506.t21.enigma.Rotor;
+import com.cs506.t21.enigma.RotorType;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the EnigmaReader class against the translate methods of EnigmaM3.
+ */
+public class EnigmaReaderTests {
+
+  /**
+   * Creates an Enigma I machine with rotors I, II, III on AAA and reflector UKW-B.
+   *
+   * @return The machine.
+   */
+  static EnigmaM3 createEnigma() {
+    return new EnigmaM3(new Plugboard("ab cz"), new Reflector(ReflectorType.UKW_B),
+        new Rotor(RotorType.I, 'a', 'a'), new Rotor(RotorType.II, 'a', 'a'),
+        new Rotor(RotorType.III, 'a', 'a'));
+  }
+
+  /**
+   * Creates a text of letters, spaces and punctuation longer than the internal buffers.
+   *
+   * @return The text.
+   */
+  static String createText() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append("Attack at dawn, ").append(i).append("!\n");
+    }
+    return text.toString();
+  }
+
+  /**
+   * Reads everything from the given reader.
+   *
+   * @param reader The reader.
+   * @return The characters read.
+   * @throws IOException If the reader fails.
+   */
+  private static String readAll(Reader reader) throws IOException {
+    StringBuilder result = new StringBuilder();
+    char[] buffer = new char[1000];
+    int read;
+    while ((read = reader.read(buffer, 0, buffer.length)) >= 0) {
+      result.append(buffer, 0, read);
+    }
+    return result.toString();
+  }
+
+  @Test
+  public void passThroughCopiesCharactersThatAreNotLetters() throws IOException {
+    String text = EnigmaReaderTests.createText();
+    EnigmaM3 expected = EnigmaReaderTests.createEnigma();
+
+    String actual;
+    try (Reader reader = new EnigmaReader(new StringReader(text),
+        EnigmaReaderTests.createEnigma())) {
+      actual = EnigmaReaderTests.readAll(reader);
+    }
+
+    assertEquals(text.length(), actual.length(), "Every character should be kept");
+    for (int i = 0; i < text.length(); i++) {
+      char character = text.charAt(i);
+      char expectedCharacter = Character.isLetter(character)
+          ? expected.translate(character) : character;
+      assertEquals(expectedCharacter, actual.charAt(i), "Wrong character at " + i);
+    }
+  }
+
+  @Test
+  public void stripRemovesCharactersThatAreNotLetters() throws IOException {
+    String text = "  Hello, World!  ";
+    EnigmaM3 expected = EnigmaReaderTests.createEnigma();
+
+    Reader reader = new EnigmaReader(new StringReader(text), EnigmaReaderTests.createEnigma(),
+        NonLetterPolicy.STRIP);
+
+    assertEquals(expected.translate("HelloWorld"), EnigmaReaderTests.readAll(reader),
+        "Only the encrypted letters should be read");
+  }
+
+  @Test
+  public void groupFiveWritesGroupsOfFiveLetters() throws IOException {
+    String text = "aaaaa aaaa, aaaa!";
+    Reader reader = new EnigmaReader(new StringReader(text), EnigmaReaderTests.createEnigma(),
+        NonLetterPolicy.GROUP_FIVE);
+
+    String result = EnigmaReaderTests.readAll(reader);
+
+    assertEquals(
+        EnigmaReaderTests.createEnigma().translate("aaaaa aaaaa aaa"), result,
+        "Letters should be written in groups of five");
+  }
+
+  @Test
+  public void readReturnsSingleCharacters() throws IOException {
+    String expected = EnigmaReaderTests.createEnigma().translate("aaa");
+    Reader reader = new EnigmaReader(new StringReader("aaa"), EnigmaReaderTests.createEnigma());
+
+    assertEquals(true, reader.ready(), "Reader should be ready");
+    assertEquals(expected.charAt(0), reader.read(), "Wrong first character");
+    assertEquals(0, reader.read(new char[3], 0, 0), "Reading nothing should return 0");
+    assertEquals(expected.substring(1), EnigmaReaderTests.readAll(reader),
+        "Wrong remaining characters");
+    assertEquals(-1, reader.read(), "End of stream should be reported");
+  }
+
+  @Test
+  public void readThrowsIoExceptionAfterClose() throws IOException {
+    Reader reader = new EnigmaReader(new StringReader("aaa"), EnigmaReaderTests.createEnigma());
+    reader.close();
+    reader.close();
+
+    assertThrows(IOException.class, () -> reader.read(),
+        "read should throw an IOException after the reader is closed");
+    assertThrows(IOException.class, () -> reader.ready(),
+        "ready should throw an IOException after the reader is closed");
+  }
+
+  @Test
+  public void constructorThrowsNullPointerExceptionOnNullArguments() {
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new EnigmaReader(null, EnigmaReaderTests.createEnigma()),
+        "Constructor should throw a NullPointerException if the reader is null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new EnigmaReader(new StringReader(""), null),
+        "Constructor should throw a NullPointerException if the machine is null");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new EnigmaReader(new StringReader(""), EnigmaReaderTests.createEnigma(), null),
+        "Constructor should throw a NullPointerException if the policy is null");
+  }
+}
@@ -0,0 +1,85 @@
+package com.cs506.t21.enigma.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the EnigmaWriter class against the EnigmaReader class.
+ */
+public class EnigmaWriterTests {
+
+  /**
+   * Encrypts the given text with an EnigmaReader.
+   *
+   * @param text The text to be encrypted.
+   * @param policy What to do with characters that are not letters.
+   * @return The encrypted text.
+   * @throws IOException If the reader fails.
+   */
+  private static String readEncrypted(String text, NonLetterPolicy policy) throws IOException {
+    StringWriter result = new StringWriter();
+    new EnigmaReader(new StringReader(text), EnigmaReaderTests.createEnigma(), policy)
+        .transferTo(result);
+    return result.toString();
+  }
+
+  @Test
+  public void writerMatchesReaderForEveryPolicy() throws IOException {
+    String text = EnigmaReaderTests.createText();
+
+    for (NonLetterPolicy policy : NonLetterPolicy.values()) {
+      StringWriter result = new StringWriter();
+      try (Writer writer = new EnigmaWriter(result, EnigmaReaderTests.createEnigma(), policy)) {
+        // Uneven pieces, so the internal buffer is filled and flushed at different points.
+        for (int i = 0; i < text.length(); i += 777) {
+          writer.write(text, i, Math.min(777, text.length() - i));
+        }
+        writer.write(text.toCharArray(), 0, text.length());
+      }
+
+      assertEquals(EnigmaWriterTests.readEncrypted(text + text, policy), result.toString(),
+          "Writer differs from reader with policy " + policy);
+    }
+  }
+
+  @Test
+  public void flushWritesBufferedCharacters() throws IOException {
+    StringWriter result = new StringWriter();
+    EnigmaM3 enigma = EnigmaReaderTests.createEnigma();
+    Writer writer = new EnigmaWriter(result, enigma);
+
+    writer.write('a');
+    writer.write("aa");
+    assertEquals("", result.toString(), "Characters should be buffered");
+
+    writer.flush();
+    assertEquals(EnigmaReaderTests.createEnigma().translate("aaa"), result.toString(),
+        "Flush should write the buffered characters");
+  }
+
+  @Test
+  public void writeThrowsIoExceptionAfterClose() throws IOException {
+    Writer writer = new EnigmaWriter(new StringWriter(), EnigmaReaderTests.createEnigma());
+    writer.close();
+    writer.close();
+
+    assertThrows(IOException.class, () -> writer.write("abc"),
+        "write should throw an IOException after the writer is closed");
+    assertThrows(IOException.class, () -> writer.flush(),
+        "flush should throw an IOException after the writer is closed");
+  }
+
+  @Test
+  public void constructorThrowsNullPointerExceptionOnNullArguments() {
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new EnigmaWriter(null, EnigmaReaderTests.createEnigma()),
+        "Constructor should throw a NullPointerException if the writer is null");
+  }
+}
@@ -0,0 +1,102 @@
+package com.cs506.t21.enigma.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.cs506.t21.enigma.EnigmaM3;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the MappedFileTranslator class against the EnigmaInputStream class.
+ */
+public class MappedFileTranslatorTests {
+
+  @TempDir
+  Path directory;
+
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  public void setUp() {
+    this.pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    this.pool.shutdown();
+  }
+
+  @Test
+  public void translateMatchesInputStreamOnEveryRegion() throws IOException {
+    byte[] text = EnigmaReaderTests.createText().getBytes(StandardCharsets.US_ASCII);
+    Path input = Files.write(this.directory.resolve("input.txt"), text);
+    Path output = this.directory.resolve("output.txt");
+
+    EnigmaM3 expectedMachine = EnigmaReaderTests.createEnigma();
+    byte[] expected = new EnigmaInputStream(Files.newInputStream(input), expectedMachine)
+        .readAllBytes();
+    EnigmaM3 actualMachine = EnigmaReaderTests.createEnigma();
+    long letters = new MappedFileTranslator(this.pool, 1001)
+        .translate(actualMachine, input, output);
+
+    assertEquals(new String(expected, StandardCharsets.US_ASCII),
+        new String(Files.readAllBytes(output), StandardCharsets.US_ASCII),
+        "Mapped translation differs from stream translation");
+    assertEquals(expectedMachine.toString(), actualMachine.toString(),
+        "Rotors should be left after the last letter");
+    assertEquals(EnigmaReaderTests.createText().chars().filter(Character::isLetter).count(),
+        letters, "Wrong number of letters encrypted");
+  }
+
+  @Test
+  public void translateReplacesExistingOutputFiles() throws IOException {
+    Path input = Files.writeString(this.directory.resolve("input.txt"), "aaa\n");
+    Path output = Files.writeString(this.directory.resolve("output.txt"), "a much longer file");
+
+    new MappedFileTranslator().translate(EnigmaReaderTests.createEnigma(), input, output);
+
+    assertEquals(EnigmaReaderTests.createEnigma().translate("aaa") + "\n",
+        Files.readString(output), "Output file should be replaced");
+  }
+
+  @Test
+  public void translateHandlesEmptyFiles() throws IOException {
+    Path input = Files.write(this.directory.resolve("input.txt"), new byte[0]);
+    Path output = this.directory.resolve("output.txt");
+
+    assertEquals(0, new MappedFileTranslator().translate(EnigmaReaderTests.createEnigma(), input,
+        output), "No letters should be encrypted");
+    assertEquals(0, Files.size(output), "Output file should be empty");
+  }
+
+  @Test
+  public void translateThrowsOnInvalidArguments() throws IOException {
+    Path input = Files.writeString(this.directory.resolve("input.txt"), "abc");
+    MappedFileTranslator translator = new MappedFileTranslator(this.pool, 10);
+
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> translator.translate(EnigmaReaderTests.createEnigma(), input, input),
+        "translate should not encrypt a file into itself");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> translator.translate(null, input, this.directory.resolve("output.txt")),
+        "translate should throw a NullPointerException if the machine is null");
+    assertThrows(IOException.class,
+        () -> translator.translate(EnigmaReaderTests.createEnigma(),
+            this.directory.resolve("missing.txt"), this.directory.resolve("output.txt")),
+        "translate should throw an IOException if the input file does not exist");
+    assertThrows(java.lang.IllegalArgumentException.class,
+        () -> new MappedFileTranslator(this.pool, 0),
+        "Constructor should throw an IllegalArgumentException if the region size is invalid");
+    assertThrows(java.lang.NullPointerException.class,
+        () -> new MappedFileTranslator(null, 10),
+        "Constructor should throw a NullPointerException if the pool is null");
+  }
+}